@@ -15,8 +15,11 @@
  */
 package de.learnlib.algorithm.aaar;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
@@ -34,6 +37,7 @@ import net.automatalib.automaton.MutableDeterministic;
 import net.automatalib.automaton.UniversalDeterministicAutomaton;
 import net.automatalib.word.Word;
 import net.automatalib.word.WordBuilder;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * Base implementation of the learner presented in "Automata Learning with Automated Alphabet Abstraction Refinement" by
@@ -69,12 +73,41 @@ public abstract class AbstractAAARLearner<L extends LearningAlgorithm<CM, CI, D>
 
     private final L learner;
     private final MembershipOracle<CI, D> oracle;
+    private final int batchSize;
 
     private final GrowingAlphabet<CI> rep;
     private final GrowingAlphabet<AI> abs;
 
     public AbstractAAARLearner(LearnerConstructor<L, CI, D> learnerConstructor, MembershipOracle<CI, D> o) {
+        this(learnerConstructor, o, 1);
+    }
+
+    /**
+     * Constructor.
+     * <p>
+     * During refinement, each position of a counterexample is lifted to its abstract symbol and lowered to the
+     * respective representative. The test words of consecutive positions overlap (the "old" test word of one position
+     * is the "new" test word of the next position), so that a counterexample of length {@code n} requires at most
+     * {@code n + 1} queries. The {@code batchSize} parameter determines for how many consecutive positions these test
+     * words are answered speculatively in a single batch. A value of {@code 1} answers positions one by one, whereas a
+     * value of {@link Integer#MAX_VALUE} answers the test words of all positions at once.
+     *
+     * @param learnerConstructor
+     *         the provider for constructing the internal (concrete) learner
+     * @param o
+     *         the (concrete) membership oracle
+     * @param batchSize
+     *         the number of consecutive counterexample positions whose test words are answered in a single batch
+     */
+    public AbstractAAARLearner(LearnerConstructor<L, CI, D> learnerConstructor,
+                               MembershipOracle<CI, D> o,
+                               int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+
         this.oracle = o;
+        this.batchSize = batchSize;
         this.rep = new GrowingMapAlphabet<>();
         this.abs = new GrowingMapAlphabet<>();
 
@@ -97,35 +130,69 @@ public abstract class AbstractAAARLearner<L extends LearningAlgorithm<CM, CI, D>
     public boolean refineHypothesis(DefaultQuery<CI, D> query) {
 
         final Word<CI> input = query.getInput();
-        final WordBuilder<CI> wb = new WordBuilder<>(input.size());
+        final int length = input.size();
+        final WordBuilder<CI> wb = new WordBuilder<>(length);
 
-        Word<CI> prefix = Word.epsilon();
+        // the test word for position i consists of the representatives of positions [0, i) followed by the concrete
+        // symbols of positions [i, length). The test word of position 0 is the counterexample itself
+        @Nullable D outPrev = null;
+        int pos = 0;
 
-        for (int i = 0; i < input.size(); i++) {
-            final CI cur = input.getSymbol(i);
-            // lift & lower
-            final AbstractAbstractionTree<AI, CI, D> tree = getTreeForRepresentative(cur);
-            final AI a = tree.getAbstractSymbol(cur);
-            final CI r = tree.getRepresentative(a);
+        while (pos < length) {
+            final int windowSize = Math.min(batchSize, length - pos);
+            final int end = pos + windowSize;
 
-            final Word<CI> suffix = input.suffix(input.size() - i - 1);
+            final List<AbstractAbstractionTree<AI, CI, D>> trees = new ArrayList<>(windowSize);
+            final List<CI> reps = new ArrayList<>(windowSize);
+            final List<Word<CI>> prefixes = new ArrayList<>(windowSize);
+            final List<DefaultQuery<CI, D>> queries = new ArrayList<>(windowSize + 1);
+
+            if (pos == 0) {
+                queries.add(new DefaultQuery<>(input));
+            }
 
-            final Word<CI> testOld = prefix.append(r).concat(suffix);
-            final Word<CI> testNew = prefix.append(cur).concat(suffix);
+            for (int i = pos; i < end; i++) {
+                final CI cur = input.getSymbol(i);
+                // lift & lower
+                final AbstractAbstractionTree<AI, CI, D> tree = getTreeForRepresentative(cur);
+                final AI a = tree.getAbstractSymbol(cur);
+                final CI r = tree.getRepresentative(a);
 
-            final D outOld = oracle.answerQuery(testOld);
-            final D outNew = oracle.answerQuery(testNew);
+                trees.add(tree);
+                reps.add(r);
+                prefixes.add(wb.toWord());
 
-            if (!Objects.equals(outOld, outNew)) { // add new abstraction
-                final AI newA = tree.splitLeaf(r, cur, prefix, suffix, outOld);
-                abs.addSymbol(newA);
-                rep.addSymbol(cur);
-                learner.addAlphabetSymbol(cur);
-                return true;
-            } else {
-                prefix = prefix.append(r);
                 wb.append(r);
+                queries.add(new DefaultQuery<>(wb.toWord().concat(input.suffix(length - i - 1))));
             }
+
+            oracle.processQueries(queries);
+
+            final Iterator<DefaultQuery<CI, D>> iter = queries.iterator();
+
+            if (pos == 0) {
+                outPrev = iter.next().getOutput();
+            }
+
+            for (int i = pos; i < end; i++) {
+                final D outOld = iter.next().getOutput();
+
+                if (!Objects.equals(outOld, outPrev)) { // add new abstraction
+                    final int idx = i - pos;
+                    final CI cur = input.getSymbol(i);
+                    final CI r = reps.get(idx);
+                    final Word<CI> suffix = input.suffix(length - i - 1);
+                    final AI newA = trees.get(idx).splitLeaf(r, cur, prefixes.get(idx), suffix, outOld);
+                    abs.addSymbol(newA);
+                    rep.addSymbol(cur);
+                    learner.addAlphabetSymbol(cur);
+                    return true;
+                }
+
+                outPrev = outOld;
+            }
+
+            pos = end;
         }
 
         final int prefixLen = query.getPrefix().length();
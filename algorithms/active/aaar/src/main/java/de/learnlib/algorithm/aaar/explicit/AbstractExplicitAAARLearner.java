@@ -81,7 +81,31 @@ public abstract class AbstractExplicitAAARLearner<L extends LearningAlgorithm<CM
                                        MembershipOracle<CI, D> oracle,
                                        ExplicitInitialAbstraction<AI, CI> explicitInitialAbstraction,
                                        Function<AI, AI> incrementor) {
-        super(learnerConstructor, oracle);
+        this(learnerConstructor, oracle, explicitInitialAbstraction, incrementor, 1);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param learnerConstructor
+     *         the provider for constructing the internal (concrete) learner
+     * @param oracle
+     *         the (concrete) membership oracle
+     * @param explicitInitialAbstraction
+     *         the initial mapping between concrete and abstract input symbols
+     * @param incrementor
+     *         the function for creating new abstract input symbols given concrete one. This function only receives
+     *         input symbols from the provided explicitInitialAbstraction
+     * @param batchSize
+     *         the number of consecutive counterexample positions whose test words are answered in a single batch
+     *         during counterexample analysis
+     */
+    public AbstractExplicitAAARLearner(LearnerConstructor<L, CI, D> learnerConstructor,
+                                       MembershipOracle<CI, D> oracle,
+                                       ExplicitInitialAbstraction<AI, CI> explicitInitialAbstraction,
+                                       Function<AI, AI> incrementor,
+                                       int batchSize) {
+        super(learnerConstructor, oracle, batchSize);
 
         this.explicitInitialAbstraction = explicitInitialAbstraction;
         this.trees = new HashMap<>(HashUtil.capacity(explicitInitialAbstraction.getInitialAbstracts().size()));
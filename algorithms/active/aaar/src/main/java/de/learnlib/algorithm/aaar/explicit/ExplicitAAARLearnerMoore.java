@@ -59,7 +59,31 @@ public class ExplicitAAARLearnerMoore<L extends MooreLearner<CI, O> & SupportsGr
                                     MembershipOracle<CI, Word<O>> oracle,
                                     ExplicitInitialAbstraction<AI, CI> explicitInitialAbstraction,
                                     Function<AI, AI> incrementor) {
-        super(learnerConstructor, oracle, explicitInitialAbstraction, incrementor);
+        this(learnerConstructor, oracle, explicitInitialAbstraction, incrementor, 1);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param learnerConstructor
+     *         the provider for constructing the internal (concrete) learner
+     * @param oracle
+     *         the (concrete) membership oracle
+     * @param explicitInitialAbstraction
+     *         the initial mapping between concrete and abstract input symbols
+     * @param incrementor
+     *         the function for creating new abstract input symbols given concrete one. This function only receives
+     *         input symbols from the provided explicitInitialAbstraction
+     * @param batchSize
+     *         the number of consecutive counterexample positions whose test words are answered in a single batch
+     *         during counterexample analysis
+     */
+    public ExplicitAAARLearnerMoore(LearnerConstructor<L, CI, Word<O>> learnerConstructor,
+                                    MembershipOracle<CI, Word<O>> oracle,
+                                    ExplicitInitialAbstraction<AI, CI> explicitInitialAbstraction,
+                                    Function<AI, AI> incrementor,
+                                    int batchSize) {
+        super(learnerConstructor, oracle, explicitInitialAbstraction, incrementor, batchSize);
     }
 
     @Override
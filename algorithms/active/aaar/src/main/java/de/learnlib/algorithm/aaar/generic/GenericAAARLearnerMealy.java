@@ -58,7 +58,31 @@ public class GenericAAARLearnerMealy<L extends MealyLearner<CI, O> & SupportsGro
                                    MembershipOracle<CI, Word<O>> oracle,
                                    CI initialConcrete,
                                    Function<CI, AI> abstractor) {
-        super(learnerConstructor, oracle, initialConcrete, abstractor);
+        this(learnerConstructor, oracle, initialConcrete, abstractor, 1);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param learnerConstructor
+     *         the provider for constructing the internal (concrete) learner
+     * @param oracle
+     *         the (concrete) membership oracle
+     * @param initialConcrete
+     *         the initial (concrete) input symbol used for starting the learning process
+     * @param abstractor
+     *         the function for creating new abstract input symbols given concrete one. This function only receives
+     *         input symbols from the provided (concrete) counterexamples
+     * @param batchSize
+     *         the number of consecutive counterexample positions whose test words are answered in a single batch
+     *         during counterexample analysis
+     */
+    public GenericAAARLearnerMealy(LearnerConstructor<L, CI, Word<O>> learnerConstructor,
+                                   MembershipOracle<CI, Word<O>> oracle,
+                                   CI initialConcrete,
+                                   Function<CI, AI> abstractor,
+                                   int batchSize) {
+        super(learnerConstructor, oracle, initialConcrete, abstractor, batchSize);
     }
 
     @Override
@@ -49,6 +49,13 @@ public class GenericAAARLearnerDFAIT extends AbstractDFALearnerIT {
                                                                                                    firstSym,
                                                                                                    Function.identity())),
                                        maxRounds);
+            variants.addLearnerVariant(name + ",batched",
+                                       new TranslatingLearnerWrapper<>(new GenericAAARLearnerDFA<>(learner,
+                                                                                                   mqo,
+                                                                                                   firstSym,
+                                                                                                   Function.identity(),
+                                                                                                   Integer.MAX_VALUE)),
+                                       maxRounds);
         }
     }
 }
@@ -50,6 +50,13 @@ public class GenericAAARLearnerMealyIT extends AbstractMealyLearnerIT {
                                                                                                      firstSym,
                                                                                                      Function.identity())),
                                        maxRounds);
+            variants.addLearnerVariant(name + ",batched",
+                                       new TranslatingLearnerWrapper<>(new GenericAAARLearnerMealy<>(learner,
+                                                                                                     mqo,
+                                                                                                     firstSym,
+                                                                                                     Function.identity(),
+                                                                                                     Integer.MAX_VALUE)),
+                                       maxRounds);
         }
     }
 }
@@ -50,6 +50,13 @@ public class GenericAAARLearnerMooreIT extends AbstractMooreLearnerIT {
                                                                                                      firstSym,
                                                                                                      Function.identity())),
                                        maxRounds);
+            variants.addLearnerVariant(name + ",batched",
+                                       new TranslatingLearnerWrapper<>(new GenericAAARLearnerMoore<>(learner,
+                                                                                                     mqo,
+                                                                                                     firstSym,
+                                                                                                     Function.identity(),
+                                                                                                     Integer.MAX_VALUE)),
+                                       maxRounds);
         }
     }
 }
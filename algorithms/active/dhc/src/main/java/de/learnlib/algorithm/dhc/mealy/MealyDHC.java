@@ -15,7 +15,6 @@
  */
 package de.learnlib.algorithm.dhc.mealy;
 
-import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -24,7 +23,6 @@ import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Queue;
 import java.util.Set;
 
 import de.learnlib.AccessSequenceTransformer;
@@ -43,11 +41,14 @@ import net.automatalib.common.util.HashUtil;
 import net.automatalib.common.util.mapping.MapMapping;
 import net.automatalib.common.util.mapping.MutableMapping;
 import net.automatalib.word.Word;
-import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * The DHC learner.
+ * <p>
+ * The learner explores the hypothesis in a breadth-first manner and poses the queries of all states of a level in a
+ * single batch. Answers are memorized per access sequence, so that re-exploring the hypothesis after new splitters
+ * have been added only queries the new splitters.
  *
  * @param <I>
  *         input symbol type
@@ -65,6 +66,7 @@ public class MealyDHC<I, O> implements MealyLearner<I, O>,
     private Set<Word<I>> splitters = new LinkedHashSet<>();
     private CompactMealy<I, O> hypothesis;
     private MutableMapping<Integer, QueueElement<I, O>> accessSequences;
+    private Map<Word<I>, List<@Nullable Word<O>>> observations = new HashMap<>();
     private final GlobalSuffixFinder<? super I, ? super Word<O>> suffixFinder;
 
     /**
@@ -141,61 +143,89 @@ public class MealyDHC<I, O> implements MealyLearner<I, O>,
     @Override
     public void startLearning() {
         // initialize structure to store state output signatures
-        Map<List<Word<O>>, Integer> signatures = new HashMap<>();
+        Map<List<@Nullable Word<O>>, Integer> signatures = new HashMap<>();
 
         // set up new hypothesis machine
         hypothesis = new CompactMealy<>(alphabet);
 
-        // initialize exploration queue
-        Queue<QueueElement<I, O>> queue = new ArrayDeque<>();
-
         // initialize storage for access sequences
         accessSequences = hypothesis.createDynamicStateMapping();
 
-        // first element to be explored represents the initial state with no predecessor
-        queue.add(new QueueElement<>(null, null, null, null));
-
-        while (!queue.isEmpty()) {
-            // get element to be explored from queue
-            @SuppressWarnings("nullness") // false positive https://github.com/typetools/checker-framework/issues/399
-            @NonNull QueueElement<I, O> elem = queue.poll();
+        // first level to be explored consists of the initial state with no predecessor
+        List<QueueElement<I, O>> level = Collections.singletonList(new QueueElement<>(null, null, null, null));
 
-            // determine access sequence for state
-            Word<I> access = assembleAccessSequence(elem);
+        while (!level.isEmpty()) {
+            final List<List<@Nullable Word<O>>> levelSignatures = querySignatures(level);
+            final List<QueueElement<I, O>> nextLevel = new ArrayList<>(level.size() * alphabet.size());
 
-            // assemble queries
-            ArrayList<DefaultQuery<I, Word<O>>> queries = new ArrayList<>(splitters.size());
-            for (Word<I> suffix : splitters) {
-                queries.add(new DefaultQuery<>(access, suffix));
+            for (int i = 0; i < level.size(); i++) {
+                processElement(level.get(i), levelSignatures.get(i), signatures, nextLevel);
             }
 
-            // retrieve answers
-            oracle.processQueries(queries);
+            level = nextLevel;
+        }
+    }
+
+    private List<List<@Nullable Word<O>>> querySignatures(List<QueueElement<I, O>> level) {
+        final List<Word<I>> suffixes = new ArrayList<>(splitters);
+        final List<List<@Nullable Word<O>>> result = new ArrayList<>(level.size());
+        final List<DefaultQuery<I, Word<O>>> queries = new ArrayList<>();
 
-            // assemble output signature
-            List<Word<O>> sig = new ArrayList<>(splitters.size());
-            for (DefaultQuery<I, Word<O>> query : queries) {
-                sig.add(query.getOutput());
+        // assemble queries for all splitters whose outputs have not been observed yet
+        for (QueueElement<I, O> elem : level) {
+            final Word<I> access = assembleAccessSequence(elem);
+            final List<@Nullable Word<O>> sig =
+                    observations.computeIfAbsent(access, k -> new ArrayList<>(suffixes.size()));
+
+            for (int i = 0; i < suffixes.size(); i++) {
+                if (i == sig.size()) {
+                    sig.add(null);
+                }
+                if (sig.get(i) == null) {
+                    queries.add(new DefaultQuery<>(access, suffixes.get(i)));
+                }
             }
 
-            Integer sibling = signatures.get(sig);
-
-            if (sibling != null) {
-                // this element does not possess a new output signature
-                // create a transition from parent state to sibling
-                hypothesis.addTransition(elem.parentState, elem.transIn, sibling, elem.transOut);
-            } else {
-                // this is actually an observably distinct state! Progress!
-                // Create state and connect via transition to parent
-                Integer state = elem.parentElement == null ? hypothesis.addInitialState() : hypothesis.addState();
-                if (elem.parentElement != null) {
-                    hypothesis.addTransition(elem.parentState, elem.transIn, state, elem.transOut);
+            result.add(sig);
+        }
+
+        // retrieve answers for the whole level at once
+        oracle.processQueries(queries);
+
+        // complete output signatures (in the same order as the queries have been assembled)
+        final Iterator<DefaultQuery<I, Word<O>>> queryIter = queries.iterator();
+        for (List<@Nullable Word<O>> sig : result) {
+            for (int i = 0; i < sig.size(); i++) {
+                if (sig.get(i) == null) {
+                    sig.set(i, queryIter.next().getOutput());
                 }
-                signatures.put(sig, state);
-                accessSequences.put(state, elem);
+            }
+        }
+
+        return result;
+    }
 
-                scheduleSuccessors(elem, state, queue, sig);
+    private void processElement(QueueElement<I, O> elem,
+                                List<@Nullable Word<O>> sig,
+                                Map<List<@Nullable Word<O>>, Integer> signatures,
+                                List<QueueElement<I, O>> nextLevel) {
+        Integer sibling = signatures.get(sig);
+
+        if (sibling != null) {
+            // this element does not possess a new output signature
+            // create a transition from parent state to sibling
+            hypothesis.addTransition(elem.parentState, elem.transIn, sibling, elem.transOut);
+        } else {
+            // this is actually an observably distinct state! Progress!
+            // Create state and connect via transition to parent
+            Integer state = elem.parentElement == null ? hypothesis.addInitialState() : hypothesis.addState();
+            if (elem.parentElement != null) {
+                hypothesis.addTransition(elem.parentState, elem.transIn, state, elem.transOut);
             }
+            signatures.put(sig, state);
+            accessSequences.put(state, elem);
+
+            scheduleSuccessors(elem, state, nextLevel, sig);
         }
     }
 
@@ -216,15 +246,16 @@ public class MealyDHC<I, O> implements MealyLearner<I, O>,
 
     private void scheduleSuccessors(QueueElement<I, O> elem,
                                     Integer state,
-                                    Queue<QueueElement<I, O>> queue,
-                                    List<Word<O>> sig) {
+                                    List<QueueElement<I, O>> nextLevel,
+                                    List<@Nullable Word<O>> sig) {
         for (int i = 0; i < alphabet.size(); ++i) {
             // retrieve I/O for transition
             I input = alphabet.getSymbol(i);
+            @SuppressWarnings("nullness") // signatures are complete after querySignatures
             O output = sig.get(i).getSymbol(0);
 
             // create successor element and schedule for exploration
-            queue.add(new QueueElement<>(state, elem, input, output));
+            nextLevel.add(new QueueElement<>(state, elem, input, output));
         }
     }
 
@@ -262,6 +293,14 @@ public class MealyDHC<I, O> implements MealyLearner<I, O>,
 
             newSplitters.add(Word.fromLetter(symbol));
 
+            // the new splitter has not been observed for any access sequence yet
+            final int index = this.alphabet.size() - 1;
+            for (List<@Nullable Word<O>> sig : this.observations.values()) {
+                if (index < sig.size()) {
+                    sig.add(index, null);
+                }
+            }
+
             while (splitterIterator.hasNext()) {
                 newSplitters.add(splitterIterator.next());
             }
@@ -282,6 +321,7 @@ public class MealyDHC<I, O> implements MealyLearner<I, O>,
         this.splitters = state.getSplitters();
         this.accessSequences = new MapMapping<>(state.getAccessSequences());
         this.hypothesis = state.getHypothesis();
+        this.observations = new HashMap<>();
     }
 
     @Override
@@ -15,15 +15,19 @@
  */
 package de.learnlib.algorithm.dhc.mealy;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Random;
+import java.util.Set;
 
 import de.learnlib.oracle.MembershipOracle.MealyMembershipOracle;
 import de.learnlib.oracle.equivalence.MealySimulatorEQOracle;
 import de.learnlib.oracle.membership.MealySimulatorOracle;
 import de.learnlib.query.DefaultQuery;
+import de.learnlib.query.Query;
 import de.learnlib.testsupport.example.mealy.ExampleCoffeeMachine;
 import de.learnlib.testsupport.example.mealy.ExampleCoffeeMachine.Input;
 import de.learnlib.testsupport.example.mealy.ExampleGrid;
@@ -114,6 +118,44 @@ public class MealyDHCTest {
 
     }
 
+    @Test
+    public void testMealyDHCBatching() {
+        ExampleStack stackExample = ExampleStack.createExample();
+        MealyMachine<?, ExampleStack.Input, ?, ExampleStack.Output> fm = stackExample.getReferenceAutomaton();
+        Alphabet<ExampleStack.Input> alphabet = stackExample.getAlphabet();
+
+        MealySimulatorOracle<ExampleStack.Input, ExampleStack.Output> simoracle = new MealySimulatorOracle<>(fm);
+
+        List<Integer> batchSizes = new ArrayList<>();
+        Set<List<Word<ExampleStack.Input>>> posedQueries = new HashSet<>();
+
+        MealyMembershipOracle<ExampleStack.Input, ExampleStack.Output> oracle = queries -> {
+            batchSizes.add(queries.size());
+            for (Query<ExampleStack.Input, ?> q : queries) {
+                // no query should be asked twice
+                Assert.assertTrue(posedQueries.add(Arrays.asList(q.getPrefix(), q.getSuffix())));
+            }
+            simoracle.processQueries(queries);
+        };
+
+        MealyDHC<ExampleStack.Input, ExampleStack.Output> dhc = new MealyDHC<>(alphabet, oracle);
+
+        dhc.startLearning();
+
+        // one batch per level of the breadth-first exploration
+        Assert.assertTrue(batchSizes.size() <= dhc.getHypothesisModel().size() + 1);
+
+        MealySimulatorEQOracle<ExampleStack.Input, ExampleStack.Output> eqoracle = new MealySimulatorEQOracle<>(fm);
+        DefaultQuery<ExampleStack.Input, Word<ExampleStack.Output>> cexQuery =
+                eqoracle.findCounterExample(dhc.getHypothesisModel(), alphabet);
+
+        Assert.assertNotNull(cexQuery);
+
+        // re-exploration only queries the new splitters for known access sequences
+        Assert.assertTrue(dhc.addGlobalSuffixes(cexQuery.getInput().suffixes(false)));
+        Assert.assertEquals(dhc.getHypothesisModel().size(), fm.size());
+    }
+
     @Test
     public void testMealyDHCCoffee() {
 
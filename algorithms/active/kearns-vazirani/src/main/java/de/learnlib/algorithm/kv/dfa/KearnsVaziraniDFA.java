@@ -15,10 +15,8 @@
  */
 package de.learnlib.algorithm.kv.dfa;
 
-import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
 import java.util.function.BooleanSupplier;
@@ -36,6 +34,7 @@ import de.learnlib.logging.Category;
 import de.learnlib.oracle.MembershipOracle;
 import de.learnlib.query.DefaultQuery;
 import de.learnlib.tooling.annotation.builder.GenerateBuilder;
+import de.learnlib.util.statistic.SimpleProfiler;
 import net.automatalib.alphabet.Alphabet;
 import net.automatalib.alphabet.SupportsGrowingAlphabet;
 import net.automatalib.automaton.fsa.DFA;
@@ -55,11 +54,23 @@ import org.slf4j.LoggerFactory;
 public class KearnsVaziraniDFA<I>
         implements DFALearner<I>, SupportsGrowingAlphabet<I>, Resumable<KearnsVaziraniDFAState<I>> {
 
+    /**
+     * The key under which the (cumulated) time for analyzing counterexamples is {@link SimpleProfiler profiled}.
+     */
+    public static final String COUNTEREXAMPLE_PROFILE_KEY = "Counterexample analysis";
+
+    /**
+     * The key under which the (cumulated) time for sifting prefixes into the discrimination tree is
+     * {@link SimpleProfiler profiled}.
+     */
+    public static final String SIFTING_PROFILE_KEY = "Sifting";
+
     private static final Logger LOGGER = LoggerFactory.getLogger(KearnsVaziraniDFA.class);
 
     private final Alphabet<I> alphabet;
     private final MembershipOracle<I, Boolean> oracle;
     private final boolean repeatedCounterexampleEvaluation;
+    private final boolean eagerCounterexampleEvaluation;
     private final AcexAnalyzer ceAnalyzer;
     private BinaryDTree<I, StateInfo<I, Boolean>> discriminationTree;
     protected List<StateInfo<I, Boolean>> stateInfos = new ArrayList<>();
@@ -77,16 +88,41 @@ public class KearnsVaziraniDFA<I>
      * @param counterexampleAnalyzer
      *         the counterexample analyzer
      */
+    public KearnsVaziraniDFA(Alphabet<I> alphabet,
+                             MembershipOracle<I, Boolean> oracle,
+                             boolean repeatedCounterexampleEvaluation,
+                             AcexAnalyzer counterexampleAnalyzer) {
+        this(alphabet, oracle, repeatedCounterexampleEvaluation, false, counterexampleAnalyzer);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param alphabet
+     *         the learning alphabet
+     * @param oracle
+     *         the membership oracle
+     * @param repeatedCounterexampleEvaluation
+     *         a flag whether counterexamples should be analyzed exhaustively
+     * @param eagerCounterexampleEvaluation
+     *         a flag whether the effects of all indices of a counterexample should be evaluated in a single batch prior
+     *         to its analysis. This may pose more queries than necessary, but allows (parallel) oracles to process them
+     *         at once
+     * @param counterexampleAnalyzer
+     *         the counterexample analyzer
+     */
     @GenerateBuilder(defaults = BuilderDefaults.class)
     public KearnsVaziraniDFA(Alphabet<I> alphabet,
                              MembershipOracle<I, Boolean> oracle,
                              boolean repeatedCounterexampleEvaluation,
+                             boolean eagerCounterexampleEvaluation,
                              AcexAnalyzer counterexampleAnalyzer) {
         this.alphabet = alphabet;
         this.hypothesis = new CompactDFA<>(alphabet);
         this.discriminationTree = new BinaryDTree<>(oracle);
         this.oracle = oracle;
         this.repeatedCounterexampleEvaluation = repeatedCounterexampleEvaluation;
+        this.eagerCounterexampleEvaluation = eagerCounterexampleEvaluation;
         this.ceAnalyzer = counterexampleAnalyzer;
     }
 
@@ -135,7 +171,17 @@ public class KearnsVaziraniDFA<I>
         }
 
         KVAbstractCounterexample acex = new KVAbstractCounterexample(input, output, oracle);
-        int idx = ceAnalyzer.analyzeAbstractCounterexample(acex, 1);
+        final int idx;
+
+        SimpleProfiler.start(COUNTEREXAMPLE_PROFILE_KEY);
+        try {
+            if (eagerCounterexampleEvaluation) {
+                acex.computeEffects(1, acex.getLength() - 1);
+            }
+            idx = ceAnalyzer.analyzeAbstractCounterexample(acex, 1);
+        } finally {
+            SimpleProfiler.stop(COUNTEREXAMPLE_PROFILE_KEY);
+        }
 
         Word<I> prefix = input.prefix(idx);
         StateInfo<I, Boolean> srcStateInfo = acex.getStateInfo(idx);
@@ -273,8 +319,15 @@ public class KearnsVaziraniDFA<I>
     private List<StateInfo<I, Boolean>> sift(List<AbstractWordBasedDTNode<I, Boolean, StateInfo<I, Boolean>>> starts,
                                              List<Word<I>> prefixes) {
 
-        final List<AbstractWordBasedDTNode<I, Boolean, StateInfo<I, Boolean>>> leaves =
-                discriminationTree.sift(starts, prefixes);
+        final List<AbstractWordBasedDTNode<I, Boolean, StateInfo<I, Boolean>>> leaves;
+
+        SimpleProfiler.start(SIFTING_PROFILE_KEY);
+        try {
+            leaves = discriminationTree.sift(starts, prefixes);
+        } finally {
+            SimpleProfiler.stop(SIFTING_PROFILE_KEY);
+        }
+
         final ArrayStorage<StateInfo<I, Boolean>> result = new ArrayStorage<>(leaves.size());
 
         for (int i = 0; i < leaves.size(); i++) {
@@ -367,6 +420,10 @@ public class KearnsVaziraniDFA<I>
             return true;
         }
 
+        public static boolean eagerCounterexampleEvaluation() {
+            return false;
+        }
+
         public static AcexAnalyzer counterexampleAnalyzer() {
             return AcexAnalyzers.LINEAR_FWD;
         }
@@ -399,6 +456,7 @@ public class KearnsVaziraniDFA<I>
 
             // Acceptance/Non-acceptance separates hypothesis from target
             lcas[m] = new LCAInfo<>(discriminationTree.getRoot(), !output, output);
+            super.setEffect(m, false);
         }
 
         public StateInfo<I, Boolean> getStateInfo(int idx) {
@@ -411,33 +469,88 @@ public class KearnsVaziraniDFA<I>
 
         @Override
         protected Boolean computeEffect(int index) {
-            Word<I> prefix = ceWord.prefix(index);
-            StateInfo<I, Boolean> info = states[index];
+            final List<AbstractWordBasedDTNode<I, Boolean, StateInfo<I, Boolean>>> path = getPath(index);
+            final List<DefaultQuery<I, Boolean>> queries = createQueries(index, path);
+            oracle.processQueries(queries);
+            return evaluateEffect(index, path, queries);
+        }
+
+        /**
+         * Computes the effects of all indices within the given range that have not been computed yet. In contrast to
+         * {@link #effect(int)}, the queries of all indices are posed in a single batch.
+         *
+         * @param low
+         *         the lower bound (inclusive) of the range
+         * @param high
+         *         the upper bound (inclusive) of the range
+         */
+        public void computeEffects(int low, int high) {
+            final List<Integer> indices = new ArrayList<>(high - low + 1);
+            final List<List<AbstractWordBasedDTNode<I, Boolean, StateInfo<I, Boolean>>>> paths =
+                    new ArrayList<>(high - low + 1);
+            final List<List<DefaultQuery<I, Boolean>>> queries = new ArrayList<>(high - low + 1);
+            final List<DefaultQuery<I, Boolean>> batch = new ArrayList<>();
+
+            for (int i = low; i <= high; i++) {
+                if (!hasEffect(i)) {
+                    final List<AbstractWordBasedDTNode<I, Boolean, StateInfo<I, Boolean>>> path = getPath(i);
+                    final List<DefaultQuery<I, Boolean>> qs = createQueries(i, path);
+                    indices.add(i);
+                    paths.add(path);
+                    queries.add(qs);
+                    batch.addAll(qs);
+                }
+            }
+
+            oracle.processQueries(batch);
+
+            for (int i = 0; i < indices.size(); i++) {
+                final int idx = indices.get(i);
+                setEffect(idx, evaluateEffect(idx, paths.get(i), queries.get(i)));
+            }
+        }
+
+        /**
+         * Returns the nodes on the path from the root (exclusive) to the leaf (inclusive) representing the hypothesis
+         * state of the given index.
+         */
+        private List<AbstractWordBasedDTNode<I, Boolean, StateInfo<I, Boolean>>> getPath(int index) {
+            final List<AbstractWordBasedDTNode<I, Boolean, StateInfo<I, Boolean>>> path = new ArrayList<>();
 
-            // Save the expected outcomes on the path from the leaf representing the state
-            // to the root on a stack
-            AbstractWordBasedDTNode<I, Boolean, StateInfo<I, Boolean>> node = info.dtNode;
-            Deque<Boolean> expect = new ArrayDeque<>();
+            AbstractWordBasedDTNode<I, Boolean, StateInfo<I, Boolean>> node = states[index].dtNode;
             while (!node.isRoot()) {
-                Boolean parentOutcome = node.getParentOutcome();
-                assert parentOutcome != null;
-                expect.push(parentOutcome);
+                path.add(node);
                 node = node.getParent();
             }
 
-            AbstractWordBasedDTNode<I, Boolean, StateInfo<I, Boolean>> currNode = discriminationTree.getRoot();
+            Collections.reverse(path);
+            return path;
+        }
+
+        private List<DefaultQuery<I, Boolean>> createQueries(int index,
+                                                             List<AbstractWordBasedDTNode<I, Boolean, StateInfo<I, Boolean>>> path) {
+            final Word<I> prefix = ceWord.prefix(index);
+            final List<DefaultQuery<I, Boolean>> result = new ArrayList<>(path.size());
+
+            for (AbstractWordBasedDTNode<I, Boolean, StateInfo<I, Boolean>> node : path) {
+                result.add(new DefaultQuery<>(prefix, node.getParent().getDiscriminator()));
+            }
+
+            return result;
+        }
 
-            while (!expect.isEmpty()) {
-                Word<I> suffix = currNode.getDiscriminator();
-                boolean out = oracle.answerQuery(prefix, suffix);
-                if (out != expect.pop()) {
-                    lcas[index] = new LCAInfo<>(currNode, !out, out);
+        private boolean evaluateEffect(int index,
+                                       List<AbstractWordBasedDTNode<I, Boolean, StateInfo<I, Boolean>>> path,
+                                       List<DefaultQuery<I, Boolean>> queries) {
+            for (int i = 0; i < path.size(); i++) {
+                final AbstractWordBasedDTNode<I, Boolean, StateInfo<I, Boolean>> node = path.get(i);
+                final boolean out = queries.get(i).getOutput();
+                if (out != node.getParentOutcome()) {
+                    lcas[index] = new LCAInfo<>(node.getParent(), !out, out);
                     return false;
                 }
-                currNode = currNode.child(out);
             }
 
-            assert currNode.isLeaf() && expect.isEmpty();
             return true;
         }
 
@@ -15,10 +15,8 @@
  */
 package de.learnlib.algorithm.kv.mealy;
 
-import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
@@ -37,6 +35,7 @@ import de.learnlib.oracle.MembershipOracle;
 import de.learnlib.query.DefaultQuery;
 import de.learnlib.tooling.annotation.builder.GenerateBuilder;
 import de.learnlib.util.mealy.MealyUtil;
+import de.learnlib.util.statistic.SimpleProfiler;
 import net.automatalib.alphabet.Alphabet;
 import net.automatalib.alphabet.SupportsGrowingAlphabet;
 import net.automatalib.automaton.impl.CompactTransition;
@@ -58,25 +57,62 @@ import org.slf4j.LoggerFactory;
 public class KearnsVaziraniMealy<I, O>
         implements MealyLearner<I, O>, SupportsGrowingAlphabet<I>, Resumable<KearnsVaziraniMealyState<I, O>> {
 
+    /**
+     * The key under which the (cumulated) time for analyzing counterexamples is {@link SimpleProfiler profiled}.
+     */
+    public static final String COUNTEREXAMPLE_PROFILE_KEY = "Counterexample analysis";
+
+    /**
+     * The key under which the (cumulated) time for sifting prefixes into the discrimination tree is
+     * {@link SimpleProfiler profiled}.
+     */
+    public static final String SIFTING_PROFILE_KEY = "Sifting";
+
     private static final Logger LOGGER = LoggerFactory.getLogger(KearnsVaziraniMealy.class);
 
     private final Alphabet<I> alphabet;
     private final MembershipOracle<I, Word<O>> oracle;
     private final boolean repeatedCounterexampleEvaluation;
+    private final boolean eagerCounterexampleEvaluation;
     private final AcexAnalyzer ceAnalyzer;
     private MultiDTree<I, Word<O>, StateInfo<I, Word<O>>> discriminationTree;
     protected List<StateInfo<I, Word<O>>> stateInfos = new ArrayList<>();
     private CompactMealy<I, O> hypothesis;
 
+    public KearnsVaziraniMealy(Alphabet<I> alphabet,
+                               MembershipOracle<I, Word<O>> oracle,
+                               boolean repeatedCounterexampleEvaluation,
+                               AcexAnalyzer counterexampleAnalyzer) {
+        this(alphabet, oracle, repeatedCounterexampleEvaluation, false, counterexampleAnalyzer);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param alphabet
+     *         the learning alphabet
+     * @param oracle
+     *         the membership oracle
+     * @param repeatedCounterexampleEvaluation
+     *         a flag whether counterexamples should be analyzed exhaustively
+     * @param eagerCounterexampleEvaluation
+     *         a flag whether the effects of all indices of a counterexample should be evaluated in a single batch prior
+     *         to its analysis. This may pose more queries than necessary, but allows (parallel) oracles to process them
+     *         at once
+     * @param counterexampleAnalyzer
+     *         the counterexample analyzer
+     */
     @GenerateBuilder(defaults = BuilderDefaults.class)
     public KearnsVaziraniMealy(Alphabet<I> alphabet,
                                MembershipOracle<I, Word<O>> oracle,
                                boolean repeatedCounterexampleEvaluation,
+                               boolean eagerCounterexampleEvaluation,
                                AcexAnalyzer counterexampleAnalyzer) {
         this.alphabet = alphabet;
         this.hypothesis = new CompactMealy<>(alphabet);
         this.oracle = oracle;
         this.repeatedCounterexampleEvaluation = repeatedCounterexampleEvaluation;
+        this.eagerCounterexampleEvaluation = eagerCounterexampleEvaluation;
         this.discriminationTree = new MultiDTree<>(oracle);
         this.ceAnalyzer = counterexampleAnalyzer;
     }
@@ -131,7 +167,17 @@ public class KearnsVaziraniMealy<I, O>
         Word<O> effOutput = output.prefix(mismatchIdx + 1);
 
         KVAbstractCounterexample acex = new KVAbstractCounterexample(effInput, effOutput, oracle);
-        int idx = ceAnalyzer.analyzeAbstractCounterexample(acex, 0);
+        final int idx;
+
+        SimpleProfiler.start(COUNTEREXAMPLE_PROFILE_KEY);
+        try {
+            if (eagerCounterexampleEvaluation) {
+                acex.computeEffects(0, acex.getLength() - 1);
+            }
+            idx = ceAnalyzer.analyzeAbstractCounterexample(acex, 0);
+        } finally {
+            SimpleProfiler.stop(COUNTEREXAMPLE_PROFILE_KEY);
+        }
 
         Word<I> prefix = effInput.prefix(idx);
         StateInfo<I, Word<O>> srcStateInfo = acex.getStateInfo(idx);
@@ -288,8 +334,15 @@ public class KearnsVaziraniMealy<I, O>
     private List<StateInfo<I, Word<O>>> sift(List<AbstractWordBasedDTNode<I, Word<O>, StateInfo<I, Word<O>>>> starts,
                                              List<Word<I>> prefixes) {
 
-        final List<AbstractWordBasedDTNode<I, Word<O>, StateInfo<I, Word<O>>>> leaves =
-                discriminationTree.sift(starts, prefixes);
+        final List<AbstractWordBasedDTNode<I, Word<O>, StateInfo<I, Word<O>>>> leaves;
+
+        SimpleProfiler.start(SIFTING_PROFILE_KEY);
+        try {
+            leaves = discriminationTree.sift(starts, prefixes);
+        } finally {
+            SimpleProfiler.stop(SIFTING_PROFILE_KEY);
+        }
+
         final List<StateInfo<I, Word<O>>> result = new ArrayList<>(leaves.size());
 
         for (int i = 0; i < leaves.size(); i++) {
@@ -382,6 +435,10 @@ public class KearnsVaziraniMealy<I, O>
             return true;
         }
 
+        public static boolean eagerCounterexampleEvaluation() {
+            return false;
+        }
+
         public static AcexAnalyzer counterexampleAnalyzer() {
             return AcexAnalyzers.LINEAR_FWD;
         }
@@ -428,34 +485,89 @@ public class KearnsVaziraniMealy<I, O>
 
         @Override
         protected Boolean computeEffect(int index) {
-            Word<I> prefix = ceWord.prefix(index);
-            StateInfo<I, Word<O>> info = states[index];
+            final List<AbstractWordBasedDTNode<I, Word<O>, StateInfo<I, Word<O>>>> path = getPath(index);
+            final List<DefaultQuery<I, Word<O>>> queries = createQueries(index, path);
+            oracle.processQueries(queries);
+            return evaluateEffect(index, path, queries);
+        }
+
+        /**
+         * Computes the effects of all indices within the given range that have not been computed yet. In contrast to
+         * {@link #effect(int)}, the queries of all indices are posed in a single batch.
+         *
+         * @param low
+         *         the lower bound (inclusive) of the range
+         * @param high
+         *         the upper bound (inclusive) of the range
+         */
+        public void computeEffects(int low, int high) {
+            final List<Integer> indices = new ArrayList<>(high - low + 1);
+            final List<List<AbstractWordBasedDTNode<I, Word<O>, StateInfo<I, Word<O>>>>> paths =
+                    new ArrayList<>(high - low + 1);
+            final List<List<DefaultQuery<I, Word<O>>>> queries = new ArrayList<>(high - low + 1);
+            final List<DefaultQuery<I, Word<O>>> batch = new ArrayList<>();
+
+            for (int i = low; i <= high; i++) {
+                if (!hasEffect(i)) {
+                    final List<AbstractWordBasedDTNode<I, Word<O>, StateInfo<I, Word<O>>>> path = getPath(i);
+                    final List<DefaultQuery<I, Word<O>>> qs = createQueries(i, path);
+                    indices.add(i);
+                    paths.add(path);
+                    queries.add(qs);
+                    batch.addAll(qs);
+                }
+            }
+
+            oracle.processQueries(batch);
+
+            for (int i = 0; i < indices.size(); i++) {
+                final int idx = indices.get(i);
+                setEffect(idx, evaluateEffect(idx, paths.get(i), queries.get(i)));
+            }
+        }
+
+        /**
+         * Returns the nodes on the path from the root (exclusive) to the leaf (inclusive) representing the hypothesis
+         * state of the given index.
+         */
+        private List<AbstractWordBasedDTNode<I, Word<O>, StateInfo<I, Word<O>>>> getPath(int index) {
+            final List<AbstractWordBasedDTNode<I, Word<O>, StateInfo<I, Word<O>>>> path = new ArrayList<>();
 
-            // Save the expected outcomes on the path from the leaf representing the state
-            // to the root on a stack
-            AbstractWordBasedDTNode<I, Word<O>, StateInfo<I, Word<O>>> node = info.dtNode;
-            Deque<Word<O>> expect = new ArrayDeque<>();
+            AbstractWordBasedDTNode<I, Word<O>, StateInfo<I, Word<O>>> node = states[index].dtNode;
             while (!node.isRoot()) {
-                Word<O> parentOutcome = node.getParentOutcome();
-                assert parentOutcome != null;
-                expect.push(parentOutcome);
+                path.add(node);
                 node = node.getParent();
             }
 
-            AbstractWordBasedDTNode<I, Word<O>, StateInfo<I, Word<O>>> currNode = discriminationTree.getRoot();
+            Collections.reverse(path);
+            return path;
+        }
+
+        private List<DefaultQuery<I, Word<O>>> createQueries(int index,
+                                                             List<AbstractWordBasedDTNode<I, Word<O>, StateInfo<I, Word<O>>>> path) {
+            final Word<I> prefix = ceWord.prefix(index);
+            final List<DefaultQuery<I, Word<O>>> result = new ArrayList<>(path.size());
+
+            for (AbstractWordBasedDTNode<I, Word<O>, StateInfo<I, Word<O>>> node : path) {
+                result.add(new DefaultQuery<>(prefix, node.getParent().getDiscriminator()));
+            }
+
+            return result;
+        }
 
-            while (!expect.isEmpty()) {
-                Word<I> suffix = currNode.getDiscriminator();
-                Word<O> out = oracle.answerQuery(prefix, suffix);
-                Word<O> e = expect.pop();
+        private boolean evaluateEffect(int index,
+                                       List<AbstractWordBasedDTNode<I, Word<O>, StateInfo<I, Word<O>>>> path,
+                                       List<DefaultQuery<I, Word<O>>> queries) {
+            for (int i = 0; i < path.size(); i++) {
+                final AbstractWordBasedDTNode<I, Word<O>, StateInfo<I, Word<O>>> node = path.get(i);
+                final Word<O> out = queries.get(i).getOutput();
+                final Word<O> e = node.getParentOutcome();
                 if (!Objects.equals(out, e)) {
-                    lcas[index] = new LCAInfo<>(currNode, e, out);
+                    lcas[index] = new LCAInfo<>(node.getParent(), e, out);
                     return false;
                 }
-                currNode = currNode.child(out);
             }
 
-            assert currNode.isLeaf() && expect.isEmpty();
             return true;
         }
 
@@ -43,10 +43,17 @@ public class KearnsVaziraniDFAIT extends AbstractDFALearnerIT {
         for (boolean repeatedEval : BOOLEAN_VALUES) {
             builder.setRepeatedCounterexampleEvaluation(repeatedEval);
 
-            for (AbstractNamedAcexAnalyzer acexAnalyzer : AcexAnalyzers.getAllAnalyzers()) {
-                builder.setCounterexampleAnalyzer(acexAnalyzer);
-                String name = String.format("repeatedEval=%s,ceAnalyzer=%s", repeatedEval, acexAnalyzer.getName());
-                variants.addLearnerVariant(name, builder.create());
+            for (boolean eagerEval : BOOLEAN_VALUES) {
+                builder.setEagerCounterexampleEvaluation(eagerEval);
+
+                for (AbstractNamedAcexAnalyzer acexAnalyzer : AcexAnalyzers.getAllAnalyzers()) {
+                    builder.setCounterexampleAnalyzer(acexAnalyzer);
+                    String name = String.format("repeatedEval=%s,eagerEval=%s,ceAnalyzer=%s",
+                                                repeatedEval,
+                                                eagerEval,
+                                                acexAnalyzer.getName());
+                    variants.addLearnerVariant(name, builder.create());
+                }
             }
         }
     }
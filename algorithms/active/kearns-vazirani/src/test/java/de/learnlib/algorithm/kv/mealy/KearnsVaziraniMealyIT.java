@@ -42,10 +42,16 @@ public class KearnsVaziraniMealyIT extends AbstractMealyLearnerIT {
 
         for (boolean repeatedEval : BOOLEAN_VALUES) {
             builder.setRepeatedCounterexampleEvaluation(repeatedEval);
-            for (AbstractNamedAcexAnalyzer analyzer : AcexAnalyzers.getAllAnalyzers()) {
-                builder.setCounterexampleAnalyzer(analyzer);
-                String name = String.format("repeatedEval=%s,ceAnalyzer=%s", repeatedEval, analyzer.getName());
-                variants.addLearnerVariant(name, builder.create());
+            for (boolean eagerEval : BOOLEAN_VALUES) {
+                builder.setEagerCounterexampleEvaluation(eagerEval);
+                for (AbstractNamedAcexAnalyzer analyzer : AcexAnalyzers.getAllAnalyzers()) {
+                    builder.setCounterexampleAnalyzer(analyzer);
+                    String name = String.format("repeatedEval=%s,eagerEval=%s,ceAnalyzer=%s",
+                                                repeatedEval,
+                                                eagerEval,
+                                                analyzer.getName());
+                    variants.addLearnerVariant(name, builder.create());
+                }
             }
         }
     }
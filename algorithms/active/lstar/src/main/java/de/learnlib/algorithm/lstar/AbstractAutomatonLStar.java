@@ -25,6 +25,7 @@ import de.learnlib.datastructure.observationtable.Row;
 import de.learnlib.logging.Category;
 import de.learnlib.oracle.MembershipOracle;
 import de.learnlib.query.DefaultQuery;
+import de.learnlib.util.statistic.SimpleProfiler;
 import net.automatalib.alphabet.Alphabet;
 import net.automatalib.alphabet.SupportsGrowingAlphabet;
 import net.automatalib.automaton.MutableDeterministic;
@@ -51,6 +52,11 @@ import org.slf4j.LoggerFactory;
 public abstract class AbstractAutomatonLStar<A, I, D, S, T, SP, TP, AI extends MutableDeterministic<S, I, T, SP, TP> & SupportsGrowingAlphabet<I>>
         extends AbstractLStar<A, I, D> implements Resumable<AutomatonLStarState<I, D, AI, S>> {
 
+    /**
+     * The key under which the (cumulated) time for constructing hypotheses is {@link SimpleProfiler profiled}.
+     */
+    public static final String HYPOTHESIS_PROFILE_KEY = "Hypothesis construction";
+
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractAutomatonLStar.class);
 
     protected AI internalHyp;
@@ -83,9 +89,18 @@ public abstract class AbstractAutomatonLStar<A, I, D, S, T, SP, TP, AI extends M
      * #stateProperty(ObservationTable, Row)} and {@link #transitionProperty(ObservationTable, Row, int)} methods are
      * used to derive the respective properties.
      */
+    protected void updateInternalHypothesis() {
+        SimpleProfiler.start(HYPOTHESIS_PROFILE_KEY);
+        try {
+            doUpdateInternalHypothesis();
+        } finally {
+            SimpleProfiler.stop(HYPOTHESIS_PROFILE_KEY);
+        }
+    }
+
     @SuppressWarnings("argument.type.incompatible")
     // all added nulls to stateInfos will be correctly set to non-null values
-    protected void updateInternalHypothesis() {
+    private void doUpdateInternalHypothesis() {
         if (!table.isInitialized()) {
             throw new IllegalStateException("Cannot update internal hypothesis: not initialized");
         }
@@ -23,8 +23,11 @@ import de.learnlib.algorithm.lstar.ce.ObservationTableCEXHandlers;
 import de.learnlib.algorithm.lstar.closing.ClosingStrategies;
 import de.learnlib.algorithm.lstar.closing.ClosingStrategy;
 import de.learnlib.datastructure.observationtable.Row;
+import de.learnlib.jfr.Event;
+import de.learnlib.jfr.EventType;
 import de.learnlib.oracle.MembershipOracle;
 import de.learnlib.query.DefaultQuery;
+import de.learnlib.util.statistic.SimpleProfiler;
 import net.automatalib.alphabet.Alphabet;
 import net.automatalib.alphabet.SupportsGrowingAlphabet;
 import net.automatalib.automaton.MutableDeterministic;
@@ -54,7 +57,20 @@ public abstract class AbstractExtensibleAutomatonLStar<A, I, D, S, T, SP, TP, AI
 
     @Override
     protected void refineHypothesisInternal(DefaultQuery<I, D> ceQuery) {
-        List<List<Row<I>>> unclosed = cexHandler.handleCounterexample(ceQuery, table, hypothesisOutput(), oracle);
+        final List<List<Row<I>>> unclosed;
+
+        final Event event = EventType.COUNTEREXAMPLE_ANALYSIS.begin();
+        SimpleProfiler.start(COUNTEREXAMPLE_PROFILE_KEY);
+        try {
+            unclosed = cexHandler.handleCounterexample(ceQuery, table, hypothesisOutput(), oracle);
+        } finally {
+            SimpleProfiler.stop(COUNTEREXAMPLE_PROFILE_KEY);
+        }
+
+        if (event.isEnabled()) {
+            event.set("learner", getClass().getName()).set("length", ceQuery.getInput().length()).commit();
+        }
+
         completeConsistentTable(unclosed, cexHandler.needsConsistencyCheck());
     }
 
@@ -28,9 +28,12 @@ import de.learnlib.datastructure.observationtable.Inconsistency;
 import de.learnlib.datastructure.observationtable.OTLearner;
 import de.learnlib.datastructure.observationtable.ObservationTable;
 import de.learnlib.datastructure.observationtable.Row;
+import de.learnlib.jfr.Event;
+import de.learnlib.jfr.EventType;
 import de.learnlib.oracle.MembershipOracle;
 import de.learnlib.query.DefaultQuery;
 import de.learnlib.util.MQUtil;
+import de.learnlib.util.statistic.SimpleProfiler;
 import net.automatalib.alphabet.Alphabet;
 import net.automatalib.alphabet.SupportsGrowingAlphabet;
 import net.automatalib.automaton.concept.SuffixOutput;
@@ -53,6 +56,17 @@ import net.automatalib.word.Word;
 public abstract class AbstractLStar<A, I, D>
         implements OTLearner<A, I, D>, GlobalSuffixLearner<A, I, D>, SupportsGrowingAlphabet<I> {
 
+    /**
+     * The key under which the (cumulated) time for closing and making consistent the observation table is
+     * {@link SimpleProfiler profiled}.
+     */
+    public static final String CLOSING_PROFILE_KEY = "Closing table";
+
+    /**
+     * The key under which the (cumulated) time for incorporating counterexamples is {@link SimpleProfiler profiled}.
+     */
+    public static final String COUNTEREXAMPLE_PROFILE_KEY = "Counterexample analysis";
+
     protected final Alphabet<I> alphabet;
     protected final MembershipOracle<I, D> oracle;
     protected GenericObservationTable<I, D> table;
@@ -94,7 +108,20 @@ public abstract class AbstractLStar<A, I, D>
     protected abstract SuffixOutput<I, D> hypothesisOutput();
 
     protected void doRefineHypothesis(DefaultQuery<I, D> ceQuery) {
-        List<List<Row<I>>> unclosed = incorporateCounterExample(ceQuery);
+        final List<List<Row<I>>> unclosed;
+
+        final Event event = EventType.COUNTEREXAMPLE_ANALYSIS.begin();
+        SimpleProfiler.start(COUNTEREXAMPLE_PROFILE_KEY);
+        try {
+            unclosed = incorporateCounterExample(ceQuery);
+        } finally {
+            SimpleProfiler.stop(COUNTEREXAMPLE_PROFILE_KEY);
+        }
+
+        if (event.isEnabled()) {
+            event.set("learner", getClass().getName()).set("length", ceQuery.getInput().length()).commit();
+        }
+
         completeConsistentTable(unclosed, true);
     }
 
@@ -134,6 +161,15 @@ public abstract class AbstractLStar<A, I, D>
      * @return {@code true} if unclosed rows have been closed, {@code false} otherwise
      */
     protected boolean completeConsistentTable(List<List<Row<I>>> unclosed, boolean checkConsistency) {
+        SimpleProfiler.start(CLOSING_PROFILE_KEY);
+        try {
+            return doCompleteConsistentTable(unclosed, checkConsistency);
+        } finally {
+            SimpleProfiler.stop(CLOSING_PROFILE_KEY);
+        }
+    }
+
+    private boolean doCompleteConsistentTable(List<List<Row<I>>> unclosed, boolean checkConsistency) {
         boolean refined = false;
         List<List<Row<I>>> unclosedIter = unclosed;
         do {
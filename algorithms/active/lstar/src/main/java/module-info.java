@@ -37,6 +37,7 @@ open module de.learnlib.algorithm.lstar {
     requires de.learnlib.common.counterexample;
     requires de.learnlib.common.util;
     requires de.learnlib.datastructure.observationtable;
+    requires de.learnlib.jfr;
     requires net.automatalib.api;
     requires net.automatalib.common.util;
     requires net.automatalib.core;
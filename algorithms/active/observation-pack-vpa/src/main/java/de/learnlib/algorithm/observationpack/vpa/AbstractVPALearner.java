@@ -17,6 +17,7 @@ package de.learnlib.algorithm.observationpack.vpa;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 
@@ -37,8 +38,6 @@ import de.learnlib.oracle.MembershipOracle;
 import de.learnlib.query.DefaultQuery;
 import net.automatalib.alphabet.VPAlphabet;
 import net.automatalib.automaton.vpa.OneSEVPA;
-import net.automatalib.common.smartcollection.ElementReference;
-import net.automatalib.common.smartcollection.UnorderedCollection;
 import net.automatalib.word.Word;
 
 public abstract class AbstractVPALearner<I> implements LearningAlgorithm<OneSEVPA<?, I>, I, Boolean> {
@@ -134,10 +133,8 @@ public abstract class AbstractVPALearner<I> implements LearningAlgorithm<OneSEVP
     }
 
     protected void closeTransitions() {
-        UnorderedCollection<DTNode<I>> newStateNodes = new UnorderedCollection<>();
-
         do {
-            newStateNodes.addAll(closeTransitions(openTransitions, false));
+            final List<DTNode<I>> newStateNodes = closeTransitions(openTransitions, false);
             if (!newStateNodes.isEmpty()) {
                 addNewStates(newStateNodes);
             }
@@ -186,31 +183,40 @@ public abstract class AbstractVPALearner<I> implements LearningAlgorithm<OneSEVP
         return result;
     }
 
-    private void addNewStates(UnorderedCollection<DTNode<I>> newStateNodes) {
-        DTNode<I> minTransNode = null;
-        AbstractHypTrans<I> minTrans = null;
-        int minAsLen = Integer.MAX_VALUE;
-        ElementReference minTransNodeRef = null;
-        for (ElementReference ref : newStateNodes.references()) {
-            DTNode<I> newStateNode = newStateNodes.get(ref);
+    /**
+     * Creates a new location for each of the given (unlinked) leaves. The locations are created in the order of the
+     * lengths of their access sequences, so that the transitions of all new locations can be sifted in a single round
+     * afterwards.
+     *
+     * @param newStateNodes
+     *         the leaves that require a new location
+     */
+    private void addNewStates(List<DTNode<I>> newStateNodes) {
+        final List<AbstractHypTrans<I>> minTransitions = new ArrayList<>(newStateNodes.size());
+
+        for (DTNode<I> newStateNode : newStateNodes) {
+            AbstractHypTrans<I> minTrans = null;
+            int minAsLen = Integer.MAX_VALUE;
             for (AbstractHypTrans<I> trans : newStateNode.getIncoming()) {
-                Word<I> as = trans.getAccessSequence();
-                int asLen = as.length();
+                int asLen = trans.getAccessSequence().length();
                 if (asLen < minAsLen) {
-                    minTransNode = newStateNode;
                     minTrans = trans;
                     minAsLen = asLen;
-                    minTransNodeRef = ref;
                 }
             }
+            assert minTrans != null;
+            minTransitions.add(minTrans);
         }
 
-        assert minTransNode != null;
-        newStateNodes.remove(minTransNodeRef);
-        assert minTrans.getNonTreeTarget().getData() == null;
-        HypLoc<I> newLoc = makeTree(minTrans);
-        link(minTransNode, newLoc);
-        initializeLocation(newLoc);
+        minTransitions.sort(Comparator.comparingInt(t -> t.getAccessSequence().length()));
+
+        for (AbstractHypTrans<I> minTrans : minTransitions) {
+            DTNode<I> newStateNode = minTrans.getNonTreeTarget();
+            assert newStateNode.getData() == null;
+            HypLoc<I> newLoc = makeTree(minTrans);
+            link(newStateNode, newLoc);
+            initializeLocation(newLoc);
+        }
     }
 
     protected List<DTNode<I>> updateDTTargets(List<AbstractHypTrans<I>> trans, boolean hard) {
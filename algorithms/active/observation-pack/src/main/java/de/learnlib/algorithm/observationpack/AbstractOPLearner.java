@@ -33,6 +33,7 @@ import de.learnlib.oracle.MembershipOracle;
 import de.learnlib.query.DefaultQuery;
 import de.learnlib.query.Query;
 import de.learnlib.util.MQUtil;
+import de.learnlib.util.statistic.SimpleProfiler;
 import net.automatalib.alphabet.Alphabet;
 import net.automatalib.alphabet.SupportsGrowingAlphabet;
 import net.automatalib.automaton.concept.SuffixOutput;
@@ -42,6 +43,17 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 public abstract class AbstractOPLearner<M extends SuffixOutput<I, D>, I, D, SP, TP>
         implements LearningAlgorithm<M, I, D>, SupportsGrowingAlphabet<I>, Resumable<OPLearnerState<I, D, SP, TP>> {
 
+    /**
+     * The key under which the (cumulated) time for analyzing counterexamples is {@link SimpleProfiler profiled}.
+     */
+    public static final String COUNTEREXAMPLE_PROFILE_KEY = "Counterexample analysis";
+
+    /**
+     * The key under which the (cumulated) time for sifting transitions into the discrimination tree is
+     * {@link SimpleProfiler profiled}.
+     */
+    public static final String SIFTING_PROFILE_KEY = "Sifting";
+
     private final Alphabet<I> alphabet;
     private final MembershipOracle<I, D> oracle;
     private final LocalSuffixFinder<? super I, ? super D> suffixFinder;
@@ -95,7 +107,14 @@ public abstract class AbstractOPLearner<M extends SuffixOutput<I, D>, I, D, SP,
             return false;
         }
 
-        int suffixIdx = suffixFinder.findSuffixIndex(ceQuery, hypothesis, getHypothesisModel(), oracle);
+        final int suffixIdx;
+
+        SimpleProfiler.start(COUNTEREXAMPLE_PROFILE_KEY);
+        try {
+            suffixIdx = suffixFinder.findSuffixIndex(ceQuery, hypothesis, getHypothesisModel(), oracle);
+        } finally {
+            SimpleProfiler.stop(COUNTEREXAMPLE_PROFILE_KEY);
+        }
 
         if (suffixIdx == -1) {
             throw new AssertionError("Suffix finder does not work correctly, found no suffix for valid counterexample");
@@ -187,7 +206,14 @@ public abstract class AbstractOPLearner<M extends SuffixOutput<I, D>, I, D, SP,
 
         openTransitions.clear();
 
-        final List<AbstractWordBasedDTNode<I, D, HState<I, D, SP, TP>>> results = dtree.sift(nodes, prefixes);
+        final List<AbstractWordBasedDTNode<I, D, HState<I, D, SP, TP>>> results;
+
+        SimpleProfiler.start(SIFTING_PROFILE_KEY);
+        try {
+            results = dtree.sift(nodes, prefixes);
+        } finally {
+            SimpleProfiler.stop(SIFTING_PROFILE_KEY);
+        }
 
         for (int i = 0; i < transitionsToSift.size(); i++) {
             final HTransition<I, D, SP, TP> trans = transitionsToSift.get(i);
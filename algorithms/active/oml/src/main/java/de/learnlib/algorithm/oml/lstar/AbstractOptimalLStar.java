@@ -17,8 +17,10 @@ package de.learnlib.algorithm.oml.lstar;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -113,8 +115,7 @@ abstract class AbstractOptimalLStar<M, I, D> implements LearningAlgorithm<M, I,
 
     private void initTable() {
         Word<I> epsilon = Word.epsilon();
-        List<D> rowData = initRow(epsilon);
-        rows.put(epsilon, rowData);
+        initRows(Collections.singletonList(epsilon));
         addShortPrefix(epsilon);
     }
 
@@ -130,11 +131,15 @@ abstract class AbstractOptimalLStar<M, I, D> implements LearningAlgorithm<M, I,
             Word<I> prefix = ceInput.prefix(mid);
             Word<I> suffix = ceInput.suffix(ceInput.length() - mid);
             List<D> rowData = rowForState(prefix);
+            List<DefaultQuery<I, D>> queries = buildQueries(getShortPrefixes(rowData), suffix);
+            ceqs.processQueries(queries);
+
+            D hypSuffixOut = suffix(hypOut, suffix.size());
             boolean stillCe = false;
-            for (Word<I> u : getShortPrefixes(rowData)) {
-                D sysOut = suffix(ceqs.answerQuery(u, suffix), suffix.length());
-                if (!Objects.equals(sysOut, suffix(hypOut, suffix.size()))) {
-                    ua = u.append(suffix.firstSymbol());
+            for (DefaultQuery<I, D> q : queries) {
+                D sysOut = suffix(q.getOutput(), suffix.length());
+                if (!Objects.equals(sysOut, hypSuffixOut)) {
+                    ua = q.getPrefix().append(suffix.firstSymbol());
                     lower = mid;
                     stillCe = true;
                     break;
@@ -155,10 +160,11 @@ abstract class AbstractOptimalLStar<M, I, D> implements LearningAlgorithm<M, I,
         int mid = (upper + lower) / 2;
         Word<I> sprime = ceInput.suffix(ceInput.length() - (mid + 1));
         List<D> rnext = getRow(ua);
-        for (Word<I> uprime : getShortPrefixes(rnext)) {
-            witnesses.add(new DefaultQuery<>(uprime, sprime, ceqs.answerQuery(uprime, sprime)));
-        }
-        witnesses.add(new DefaultQuery<>(ua, sprime, ceqs.answerQuery(ua, sprime)));
+        List<Word<I>> witnessPrefixes = new ArrayList<>(getShortPrefixes(rnext));
+        witnessPrefixes.add(ua);
+        List<DefaultQuery<I, D>> witnessQueries = buildQueries(witnessPrefixes, sprime);
+        ceqs.processQueries(witnessQueries);
+        witnesses.addAll(witnessQueries);
 
         addShortPrefix(ua);
     }
@@ -256,43 +262,73 @@ abstract class AbstractOptimalLStar<M, I, D> implements LearningAlgorithm<M, I,
     }
 
     private void completeObservations() {
+        List<Entry<Word<I>, List<D>>> incompleteRows = new ArrayList<>();
+        List<DefaultQuery<I, D>> queries = new ArrayList<>();
+
         for (Entry<Word<I>, List<D>> e : rows.entrySet()) {
-            List<D> rowData = completeRow(e.getKey(), e.getValue());
-            e.setValue(rowData);
+            int rowSize = e.getValue().size();
+            if (rowSize < suffixes.size()) {
+                incompleteRows.add(e);
+                addQueries(queries, e.getKey(), rowSize);
+            }
         }
+
+        mqs.processQueries(queries);
+
+        Iterator<DefaultQuery<I, D>> answers = queries.iterator();
+        for (Entry<Word<I>, List<D>> e : incompleteRows) {
+            e.setValue(completeRow(e.getValue(), answers));
+        }
+        assert !answers.hasNext();
     }
 
-    private List<D> initRow(Word<I> prefix) {
-        List<D> rowData = new ArrayList<>(suffixes.size());
-        for (Word<I> suffix : suffixes) {
-            rowData.add(suffix(mqs.answerQuery(prefix, suffix), suffix.size()));
+    private void initRows(List<Word<I>> prefixes) {
+        List<DefaultQuery<I, D>> queries = new ArrayList<>(prefixes.size() * suffixes.size());
+        for (Word<I> prefix : prefixes) {
+            addQueries(queries, prefix, 0);
+        }
+
+        mqs.processQueries(queries);
 
+        Iterator<DefaultQuery<I, D>> answers = queries.iterator();
+        for (Word<I> prefix : prefixes) {
+            rows.put(prefix, completeRow(Collections.emptyList(), answers));
         }
-        return rowData;
+        assert !answers.hasNext();
     }
 
-    private List<D> completeRow(Word<I> prefix, List<D> oldData) {
-        if (suffixes.size() == oldData.size()) {
-            return oldData;
+    private void addQueries(List<DefaultQuery<I, D>> queries, Word<I> prefix, int fromSuffix) {
+        for (int i = fromSuffix; i < suffixes.size(); i++) {
+            queries.add(new DefaultQuery<>(prefix, suffixes.get(i)));
         }
+    }
 
+    private List<D> completeRow(List<D> oldData, Iterator<DefaultQuery<I, D>> answers) {
         List<D> rowData = new ArrayList<>(suffixes.size());
         rowData.addAll(oldData);
         for (int i = oldData.size(); i < suffixes.size(); i++) {
-            rowData.add(suffix(mqs.answerQuery(prefix, suffixes.get(i)), suffixes.get(i).size()));
+            rowData.add(suffix(answers.next().getOutput(), suffixes.get(i).size()));
         }
         return rowData;
     }
 
+    private static <I, D> List<DefaultQuery<I, D>> buildQueries(List<Word<I>> prefixes, Word<I> suffix) {
+        List<DefaultQuery<I, D>> queries = new ArrayList<>(prefixes.size());
+        for (Word<I> prefix : prefixes) {
+            queries.add(new DefaultQuery<>(prefix, suffix));
+        }
+        return queries;
+    }
+
     private void addShortPrefix(Word<I> shortPrefix) {
         assert !shortPrefixes.contains(shortPrefix) && rows.containsKey(shortPrefix);
 
         shortPrefixes.add(shortPrefix);
+        List<Word<I>> newPrefixes = new ArrayList<>(alphabet.size());
         for (I a : alphabet) {
-            Word<I> newPrefix = shortPrefix.append(a);
-            List<D> rowData = initRow(newPrefix);
-            rows.put(newPrefix, rowData);
+            newPrefixes.add(shortPrefix.append(a));
         }
+        initRows(newPrefixes);
     }
 
     @Override
@@ -15,14 +15,18 @@
  */
 package de.learnlib.algorithm.oml.lstar;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
 import de.learnlib.algorithm.LearningAlgorithm.MealyLearner;
 import de.learnlib.oracle.MembershipOracle;
+import de.learnlib.query.DefaultQuery;
 import net.automatalib.alphabet.Alphabet;
 import net.automatalib.automaton.transducer.MealyMachine;
 import net.automatalib.automaton.transducer.impl.CompactMealy;
@@ -74,8 +78,11 @@ public class OptimalLStarMealy<I, O> extends AbstractOptimalLStar<MealyMachine<?
     @Override
     boolean symbolInconsistency(Word<I> u1, Word<I> u2, I a) {
         final Word<I> suff = Word.fromLetter(a);
-        final O o1 = mqs.answerQuery(u1, suff).lastSymbol();
-        final O o2 = mqs.answerQuery(u2, suff).lastSymbol();
+        final DefaultQuery<I, Word<O>> q1 = new DefaultQuery<>(u1, suff);
+        final DefaultQuery<I, Word<O>> q2 = new DefaultQuery<>(u2, suff);
+        mqs.processQueries(Arrays.asList(q1, q2));
+        final O o1 = q1.getOutput().lastSymbol();
+        final O o2 = q2.getOutput().lastSymbol();
         if (!Objects.equals(o1, o2)) {
             addSuffix(suff);
             return true;
@@ -104,18 +111,33 @@ public class OptimalLStarMealy<I, O> extends AbstractOptimalLStar<MealyMachine<?
 
         hypStateMap = this.hypothesis.createStaticStateMapping();
 
+        List<Integer> states = new ArrayList<>(stateMap.size());
+        List<DefaultQuery<I, Word<O>>> queries = new ArrayList<>(stateMap.size() * alphabet.size());
+
         for (Map.Entry<List<Word<O>>, Integer> e : stateMap.entrySet()) {
             List<Word<O>> sig = e.getKey();
             Integer state = e.getValue();
 
             hypStateMap.put(state, sig);
+            states.add(state);
             Word<I> u = getShortPrefixes(sig).get(0);
             for (I a : alphabet) {
-                Word<I> ua = u.append(a);
+                queries.add(new DefaultQuery<>(u.append(a)));
+            }
+        }
+
+        // the transition outputs of all states are posed in a single batch
+        mqs.processQueries(queries);
+
+        Iterator<DefaultQuery<I, Word<O>>> answers = queries.iterator();
+        for (Integer state : states) {
+            for (I a : alphabet) {
+                DefaultQuery<I, Word<O>> q = answers.next();
+                Word<I> ua = q.getInput();
                 List<Word<O>> destData = getRow(ua);
                 assert destData != null;
                 Integer dst = stateMap.get(destData);
-                O o = mqs.answerQuery(ua).lastSymbol();
+                O o = q.getOutput().lastSymbol();
                 this.hypothesis.setTransition(state, a, dst, o);
             }
         }
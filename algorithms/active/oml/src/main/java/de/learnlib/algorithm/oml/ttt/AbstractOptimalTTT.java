@@ -15,6 +15,7 @@
  */
 package de.learnlib.algorithm.oml.ttt;
 
+import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
@@ -45,8 +46,8 @@ public abstract class AbstractOptimalTTT<M, I, D>
         this.alphabet = alphabet;
         this.ceqs = ceqs;
 
-        this.strie = new SuffixTrie<>();
-        this.ptree = new PrefixTree<>();
+        this.strie = new SuffixTrie<>(alphabet);
+        this.ptree = new PrefixTree<>(alphabet);
     }
 
     protected abstract int maxSearchIndex(int ceLength);
@@ -147,7 +148,7 @@ public abstract class AbstractOptimalTTT<M, I, D>
         PTNode<I, D> cur = ptree.root();
         int i = 0;
         do {
-            cur = cur.succ(ce.getSymbol(i++));
+            cur = cur.succ(alphabet.getSymbolIndex(ce.getSymbol(i++)));
             assert cur != null;
         } while (cur.state().getShortPrefixes().contains(cur) && i < ce.length());
 
@@ -169,11 +170,19 @@ public abstract class AbstractOptimalTTT<M, I, D>
             DTLeaf<I, D> q = getState(prefix);
             assert q != null;
 
+            List<PTNode<I, D>> shortPrefixes = q.getShortPrefixes();
+            List<DefaultQuery<I, D>> queries = new ArrayList<>(shortPrefixes.size());
+            for (PTNode<I, D> u : shortPrefixes) {
+                queries.add(new DefaultQuery<>(u.word(), suffix));
+            }
+            ceqs.processQueries(queries);
+
+            D hypSuffixOut = suffix(hypOut, suffix.size());
             boolean stillCe = false;
-            for (PTNode<I, D> u : q.getShortPrefixes()) {
-                D sysOut = suffix(ceqs.answerQuery(u.word(), suffix), suffix.size());
-                if (!Objects.equals(sysOut, suffix(hypOut, suffix.size()))) {
-                    ua = u.succ(suffix.firstSymbol());
+            for (int i = 0; i < queries.size(); i++) {
+                D sysOut = suffix(queries.get(i).getOutput(), suffix.size());
+                if (!Objects.equals(sysOut, hypSuffixOut)) {
+                    ua = shortPrefixes.get(i).succ(suffix.firstSymbol());
                     lower = mid;
                     stillCe = true;
                     break;
@@ -31,5 +31,15 @@ public interface PTNode<I, D> {
 
     @Nullable PTNode<I, D> succ(I a);
 
+    /**
+     * Returns the successor of this node for the input symbol with the given (alphabet) index.
+     *
+     * @param symIdx
+     *         the index of the input symbol
+     *
+     * @return the successor node, or {@code null} if no such node exists
+     */
+    @Nullable PTNode<I, D> succ(int symIdx);
+
     void makeShortPrefix();
 }
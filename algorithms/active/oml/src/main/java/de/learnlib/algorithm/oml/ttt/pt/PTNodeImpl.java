@@ -15,25 +15,35 @@
  */
 package de.learnlib.algorithm.oml.ttt.pt;
 
-import java.util.HashMap;
-import java.util.Map;
-
 import de.learnlib.algorithm.oml.ttt.dt.DTLeaf;
+import net.automatalib.alphabet.Alphabet;
+import net.automatalib.common.util.array.ResizingArrayStorage;
 import net.automatalib.word.Word;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+/**
+ * Default implementation of a {@link PTNode}. Children are stored in an array that is indexed by the alphabet indices
+ * of the respective input symbols. The array is only allocated once the first child is added, so that the (majority
+ * of) leaves of the tree do not reserve memory for their (non-existent) children.
+ *
+ * @param <I>
+ *         input symbol type
+ * @param <D>
+ *         output domain type
+ */
 public class PTNodeImpl<I, D> implements PTNode<I, D> {
 
+    private final Alphabet<I> alphabet;
     private final @Nullable PTNodeImpl<I, D> parent;
     private final @Nullable I symbol;
-    private final Map<I, PTNodeImpl<I, D>> children;
+    private @Nullable ResizingArrayStorage<PTNodeImpl<I, D>> children;
 
     private DTLeaf<I, D> state;
 
-    public PTNodeImpl(@Nullable PTNodeImpl<I, D> parent, @Nullable I symbol) {
+    public PTNodeImpl(Alphabet<I> alphabet, @Nullable PTNodeImpl<I, D> parent, @Nullable I symbol) {
+        this.alphabet = alphabet;
         this.parent = parent;
         this.symbol = symbol;
-        this.children = new HashMap<>();
     }
 
     @Override
@@ -43,9 +53,17 @@ public class PTNodeImpl<I, D> implements PTNode<I, D> {
 
     @Override
     public PTNode<I, D> append(I i) {
-        assert !children.containsKey(i);
-        PTNodeImpl<I, D> n = new PTNodeImpl<>(this, i);
-        children.put(i, n);
+        final int idx = alphabet.getSymbolIndex(i);
+
+        if (children == null) {
+            children = new ResizingArrayStorage<>(PTNodeImpl.class, alphabet.size());
+        } else {
+            children.ensureCapacity(alphabet.size());
+        }
+
+        assert children.array[idx] == null;
+        PTNodeImpl<I, D> n = new PTNodeImpl<>(alphabet, this, i);
+        children.array[idx] = n;
         return n;
     }
 
@@ -68,7 +86,15 @@ public class PTNodeImpl<I, D> implements PTNode<I, D> {
 
     @Override
     public @Nullable PTNode<I, D> succ(I a) {
-        return children.get(a);
+        return succ(alphabet.getSymbolIndex(a));
+    }
+
+    @Override
+    public @Nullable PTNode<I, D> succ(int symIdx) {
+        if (children == null || symIdx >= children.array.length) {
+            return null;
+        }
+        return children.array[symIdx];
     }
 
     @Override
@@ -76,4 +102,3 @@ public class PTNodeImpl<I, D> implements PTNode<I, D> {
         this.state.makeShortPrefix(this);
     }
 }
-
@@ -15,9 +15,15 @@
  */
 package de.learnlib.algorithm.oml.ttt.pt;
 
+import net.automatalib.alphabet.Alphabet;
+
 public class PrefixTree<I, D> {
 
-    private final PTNodeImpl<I, D> epsilon = new PTNodeImpl<>(null, null);
+    private final PTNodeImpl<I, D> epsilon;
+
+    public PrefixTree(Alphabet<I> alphabet) {
+        this.epsilon = new PTNodeImpl<>(alphabet, null, null);
+    }
 
     public PTNode<I, D> root() {
         return epsilon;
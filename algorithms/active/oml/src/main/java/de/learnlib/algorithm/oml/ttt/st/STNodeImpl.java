@@ -15,22 +15,22 @@
  */
 package de.learnlib.algorithm.oml.ttt.st;
 
-import java.util.HashMap;
-import java.util.Map;
-
+import net.automatalib.alphabet.Alphabet;
+import net.automatalib.common.util.array.ResizingArrayStorage;
 import net.automatalib.word.Word;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 class STNodeImpl<I> implements STNode<I> {
 
+    private final Alphabet<I> alphabet;
     private final @Nullable STNodeImpl<I> parent;
     private final @Nullable I symbol;
-    private final Map<I, STNodeImpl<I>> children;
+    private @Nullable ResizingArrayStorage<STNodeImpl<I>> children;
 
-    STNodeImpl(@Nullable STNodeImpl<I> parent, @Nullable I symbol) {
+    STNodeImpl(Alphabet<I> alphabet, @Nullable STNodeImpl<I> parent, @Nullable I symbol) {
+        this.alphabet = alphabet;
         this.parent = parent;
         this.symbol = symbol;
-        this.children = new HashMap<>();
     }
 
     @Override
@@ -47,12 +47,19 @@ class STNodeImpl<I> implements STNode<I> {
 
     @Override
     public STNodeImpl<I> prepend(I a) {
-        STNodeImpl<I> n = children.get(a);
+        final int idx = alphabet.getSymbolIndex(a);
+
+        if (children == null) {
+            children = new ResizingArrayStorage<>(STNodeImpl.class, alphabet.size());
+        } else {
+            children.ensureCapacity(alphabet.size());
+        }
+
+        STNodeImpl<I> n = children.array[idx];
         if (n == null) {
-            n = new STNodeImpl<>(this, a);
-            children.put(a, n);
+            n = new STNodeImpl<>(alphabet, this, a);
+            children.array[idx] = n;
         }
         return n;
     }
 }
-
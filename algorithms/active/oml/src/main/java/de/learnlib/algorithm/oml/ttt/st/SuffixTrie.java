@@ -15,9 +15,15 @@
  */
 package de.learnlib.algorithm.oml.ttt.st;
 
+import net.automatalib.alphabet.Alphabet;
+
 public class SuffixTrie<I> {
 
-    private final STNode<I> epsilon = new STNodeImpl<>(null, null);
+    private final STNode<I> epsilon;
+
+    public SuffixTrie(Alphabet<I> alphabet) {
+        this.epsilon = new STNodeImpl<>(alphabet, null, null);
+    }
 
     public STNode<I> root() {
         return epsilon;
@@ -0,0 +1,241 @@
+/* Copyright (C) 2013-2024 TU Dortmund University
+ * This file is part of LearnLib, http://www.learnlib.de/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.learnlib.algorithm.procedural;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.function.Function;
+
+import net.automatalib.alphabet.ProceduralInputAlphabet;
+import net.automatalib.common.util.HashUtil;
+import net.automatalib.word.Word;
+import net.automatalib.word.WordBuilder;
+
+/**
+ * A cache for the expansion of local (procedural) words into global words of a single procedure. The cache stores the
+ * expansions of call symbols (i.e., the call symbol, its terminating sequence, and the return symbol) as well as the
+ * expansions of local prefixes (including the access sequence of the procedure). Expansions of new prefixes re-use the
+ * expansion of their immediate parent prefix, if available. Since the number of queried prefixes grows with the total
+ * query volume, only a bounded number of recently used prefix expansions is kept.
+ * <p>
+ * Since access sequences and terminating sequences may change during the learning process, {@link #validate(Word)}
+ * needs to be called before each batch of expansions. Cached expansions are discarded as soon as any of the sequences
+ * they are based on no longer is identical (in terms of object identity) to the currently provided sequence.
+ *
+ * @param <I>
+ *         input symbol type
+ */
+public class ExpansionCache<I> {
+
+    /**
+     * The default maximum number of cached prefix expansions.
+     */
+    public static final int DEFAULT_PREFIX_CAPACITY = 4096;
+
+    private final ProceduralInputAlphabet<I> alphabet;
+    private final Function<? super I, Word<I>> terminatingSequences;
+
+    private final Map<I, CallExpansion<I>> callExpansions;
+    private final Map<Word<?>, Word<I>> prefixExpansions;
+
+    private Word<I> accessSequence;
+
+    /**
+     * Constructor.
+     *
+     * @param alphabet
+     *         the procedural alphabet
+     * @param terminatingSequences
+     *         the provider of terminating sequences
+     */
+    public ExpansionCache(ProceduralInputAlphabet<I> alphabet, Function<? super I, Word<I>> terminatingSequences) {
+        this(alphabet, terminatingSequences, DEFAULT_PREFIX_CAPACITY);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param alphabet
+     *         the procedural alphabet
+     * @param terminatingSequences
+     *         the provider of terminating sequences
+     * @param prefixCapacity
+     *         the maximum number of cached prefix expansions. If exceeded, the least recently used expansion is
+     *         discarded
+     */
+    public ExpansionCache(ProceduralInputAlphabet<I> alphabet,
+                          Function<? super I, Word<I>> terminatingSequences,
+                          int prefixCapacity) {
+        this.alphabet = alphabet;
+        this.terminatingSequences = terminatingSequences;
+        this.callExpansions = new HashMap<>(HashUtil.capacity(alphabet.getNumCalls()));
+        this.prefixExpansions = new LRUMap<>(prefixCapacity);
+        this.accessSequence = Word.epsilon();
+    }
+
+    /**
+     * Checks the cached expansions against the current sequences and discards outdated expansions.
+     *
+     * @param accessSequence
+     *         the current access sequence of the procedure
+     */
+    public void validate(Word<I> accessSequence) {
+        boolean valid = this.accessSequence == accessSequence;
+
+        for (CallExpansion<I> e : callExpansions.values()) {
+            if (e.terminatingSequence != terminatingSequences.apply(e.expansion.firstSymbol())) {
+                valid = false;
+                break;
+            }
+        }
+
+        if (!valid) {
+            this.accessSequence = accessSequence;
+            this.callExpansions.clear();
+            this.prefixExpansions.clear();
+        }
+    }
+
+    /**
+     * Returns the expansion of the given call symbol, i.e., the call symbol followed by its terminating sequence and
+     * the return symbol.
+     *
+     * @param call
+     *         the call symbol
+     *
+     * @return the expansion of the call symbol
+     */
+    public Word<I> expandCall(I call) {
+        final CallExpansion<I> cached = callExpansions.get(call);
+
+        if (cached != null) {
+            return cached.expansion;
+        }
+
+        final Word<I> terminatingSequence = terminatingSequences.apply(call);
+        final WordBuilder<I> builder = new WordBuilder<>(terminatingSequence.size() + 2);
+        builder.append(call);
+        builder.append(terminatingSequence);
+        builder.append(alphabet.getReturnSymbol());
+
+        final Word<I> expansion = builder.toWord();
+        callExpansions.put(call, new CallExpansion<>(terminatingSequence, expansion));
+        return expansion;
+    }
+
+    /**
+     * Returns the expansion of the given local prefix, i.e., the access sequence of the procedure followed by the
+     * symbols of the prefix where each call symbol is {@link #expandCall(Object) expanded}.
+     *
+     * @param prefix
+     *         the local prefix
+     *
+     * @return the expansion of the local prefix
+     */
+    public Word<I> expandPrefix(Word<I> prefix) {
+        return expandPrefix(prefix, Function.identity());
+    }
+
+    /**
+     * Returns the expansion of the given local prefix whose symbols are (possibly) wrapped. Expansions are cached
+     * under the wrapped prefix so that cache hits do not require to unwrap the prefix first. Hence, equal wrapped
+     * prefixes need to unwrap to equal prefixes.
+     *
+     * @param prefix
+     *         the (wrapped) local prefix
+     * @param unwrapper
+     *         the function for unwrapping the symbols of the prefix
+     * @param <S>
+     *         wrapped symbol type
+     *
+     * @return the expansion of the unwrapped local prefix
+     *
+     * @see #expandPrefix(Word)
+     */
+    public <S> Word<I> expandPrefix(Word<S> prefix, Function<? super S, ? extends I> unwrapper) {
+        final Word<I> cached = prefixExpansions.get(prefix);
+
+        if (cached != null) {
+            return cached;
+        }
+
+        final Word<I> expansion;
+
+        if (prefix.isEmpty()) {
+            expansion = accessSequence;
+        } else {
+            final Word<I> parent = prefixExpansions.get(prefix.prefix(-1));
+
+            if (parent == null) {
+                final WordBuilder<I> builder = new WordBuilder<>(accessSequence.size() + prefix.size());
+                builder.append(accessSequence);
+                for (S s : prefix) {
+                    appendSymbol(builder, unwrapper.apply(s));
+                }
+                expansion = builder.toWord();
+            } else {
+                final WordBuilder<I> builder = new WordBuilder<>(parent.size() + 1);
+                builder.append(parent);
+                appendSymbol(builder, unwrapper.apply(prefix.lastSymbol()));
+                expansion = builder.toWord();
+            }
+        }
+
+        prefixExpansions.put(prefix, expansion);
+        return expansion;
+    }
+
+    private void appendSymbol(WordBuilder<I> builder, I i) {
+        if (alphabet.isInternalSymbol(i)) {
+            builder.append(i);
+        } else if (alphabet.isCallSymbol(i)) {
+            builder.append(expandCall(i));
+        } else { // return symbol
+            throw new IllegalStateException("Prefixes should not contain return symbol");
+        }
+    }
+
+    private static final class LRUMap<K, V> extends LinkedHashMap<K, V> {
+
+        private static final int INITIAL_CAPACITY = 16;
+        private static final float LOAD_FACTOR = 0.75f;
+
+        private final int capacity;
+
+        LRUMap(int capacity) {
+            super(INITIAL_CAPACITY, LOAD_FACTOR, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Entry<K, V> eldest) {
+            return size() > capacity;
+        }
+    }
+
+    private static final class CallExpansion<I> {
+
+        private final Word<I> terminatingSequence;
+        private final Word<I> expansion;
+
+        CallExpansion(Word<I> terminatingSequence, Word<I> expansion) {
+            this.terminatingSequence = terminatingSequence;
+            this.expansion = expansion;
+        }
+    }
+}
@@ -20,6 +20,7 @@ import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 
+import de.learnlib.algorithm.procedural.ExpansionCache;
 import de.learnlib.algorithm.procedural.SymbolWrapper;
 import de.learnlib.oracle.MembershipOracle;
 import de.learnlib.query.Query;
@@ -33,6 +34,7 @@ class ProceduralMembershipOracle<I> implements MembershipOracle<SymbolWrapper<I>
     private final MembershipOracle<I, Boolean> delegate;
     private final I procedure;
     private final ATManager<I> atManager;
+    private final ExpansionCache<I> expansionCache;
 
     ProceduralMembershipOracle(ProceduralInputAlphabet<I> alphabet,
                                MembershipOracle<I, Boolean> delegate,
@@ -42,11 +44,13 @@ class ProceduralMembershipOracle<I> implements MembershipOracle<SymbolWrapper<I>
         this.delegate = delegate;
         this.procedure = procedure;
         this.atManager = atManager;
+        this.expansionCache = new ExpansionCache<>(alphabet, atManager::getTerminatingSequence);
     }
 
     @Override
     public void processQueries(Collection<? extends Query<SymbolWrapper<I>, Boolean>> collection) {
         final List<Query<I, Boolean>> transformedQueries = new ArrayList<>(collection.size());
+        this.expansionCache.validate(atManager.getAccessSequence(this.procedure));
 
         for (Query<SymbolWrapper<I>, Boolean> q : collection) {
             if (isWellDefined(q)) {
@@ -72,23 +76,35 @@ class ProceduralMembershipOracle<I> implements MembershipOracle<SymbolWrapper<I>
         return true;
     }
 
-    private Word<I> transformLocalQuery(Word<SymbolWrapper<I>> query) {
+    private Word<I> transformLocalQuery(Query<SymbolWrapper<I>, Boolean> query) {
+        final Word<SymbolWrapper<I>> prefix = query.getPrefix();
+        final Word<SymbolWrapper<I>> suffix = query.getSuffix();
         final WordBuilder<I> builder = new WordBuilder<>();
-        builder.append(atManager.getAccessSequence(this.procedure));
 
-        final Iterator<SymbolWrapper<I>> iter = query.iterator();
+        // with a non-empty suffix, all symbols of the (well-defined) prefix are continued and can be expanded at once
+        if (suffix.isEmpty()) {
+            builder.append(atManager.getAccessSequence(this.procedure));
+            appendLocalWord(builder, prefix);
+        } else {
+            builder.append(expansionCache.expandPrefix(prefix, SymbolWrapper::getDelegate));
+            appendLocalWord(builder, suffix);
+        }
+
+        return builder.toWord();
+    }
+
+    private void appendLocalWord(WordBuilder<I> builder, Word<SymbolWrapper<I>> word) {
+        final Iterator<SymbolWrapper<I>> iter = word.iterator();
         while (iter.hasNext()) {
             final SymbolWrapper<I> w = iter.next();
             final I i = w.getDelegate();
-            builder.append(i);
             if (alphabet.isCallSymbol(i) && iter.hasNext()) {
                 assert w.isContinuable();
-                builder.append(atManager.getTerminatingSequence(i));
-                builder.append(alphabet.getReturnSymbol());
+                builder.append(expansionCache.expandCall(i));
+            } else {
+                builder.append(i);
             }
         }
-
-        return builder.toWord();
     }
 
     private class TransformedQuery extends Query<I, Boolean> {
@@ -98,7 +114,7 @@ class ProceduralMembershipOracle<I> implements MembershipOracle<SymbolWrapper<I>
 
         TransformedQuery(Query<SymbolWrapper<I>, Boolean> originalQuery) {
             this.originalQuery = originalQuery;
-            this.transformedQuery = transformLocalQuery(originalQuery.getInput());
+            this.transformedQuery = transformLocalQuery(originalQuery);
         }
 
         @Override
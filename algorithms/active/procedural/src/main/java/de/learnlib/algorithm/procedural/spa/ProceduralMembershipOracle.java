@@ -19,6 +19,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
+import de.learnlib.algorithm.procedural.ExpansionCache;
 import de.learnlib.oracle.MembershipOracle;
 import de.learnlib.query.Query;
 import net.automatalib.alphabet.ProceduralInputAlphabet;
@@ -31,6 +32,7 @@ class ProceduralMembershipOracle<I> implements MembershipOracle<I, Boolean> {
     private final MembershipOracle<I, Boolean> delegate;
     private final I procedure;
     private final ATRManager<I> atrManager;
+    private final ExpansionCache<I> expansionCache;
 
     ProceduralMembershipOracle(ProceduralInputAlphabet<I> alphabet,
                                MembershipOracle<I, Boolean> delegate,
@@ -40,16 +42,19 @@ class ProceduralMembershipOracle<I> implements MembershipOracle<I, Boolean> {
         this.delegate = delegate;
         this.procedure = procedure;
         this.atrManager = atrManager;
+        this.expansionCache = new ExpansionCache<>(alphabet, atrManager::getTerminatingSequence);
     }
 
     @Override
     public void processQuery(Query<I, Boolean> query) {
+        this.expansionCache.validate(atrManager.getAccessSequence(this.procedure));
         this.delegate.processQuery(new TransformedQuery(query));
     }
 
     @Override
     public void processQueries(Collection<? extends Query<I, Boolean>> collection) {
         final List<Query<I, Boolean>> transformedQueries = new ArrayList<>(collection.size());
+        this.expansionCache.validate(atrManager.getAccessSequence(this.procedure));
 
         for (Query<I, Boolean> q : collection) {
             transformedQueries.add(new TransformedQuery(q));
@@ -58,17 +63,15 @@ class ProceduralMembershipOracle<I> implements MembershipOracle<I, Boolean> {
         this.delegate.processQueries(transformedQueries);
     }
 
-    private Word<I> transformLocalQuery(Word<I> query) {
+    private Word<I> transformLocalQuery(Query<I, Boolean> query) {
         final WordBuilder<I> builder = new WordBuilder<>();
-        builder.append(atrManager.getAccessSequence(this.procedure));
+        builder.append(expansionCache.expandPrefix(query.getPrefix()));
 
-        for (I i : query) {
+        for (I i : query.getSuffix()) {
             if (alphabet.isInternalSymbol(i)) {
                 builder.append(i);
             } else if (alphabet.isCallSymbol(i)) {
-                builder.append(i);
-                builder.append(atrManager.getTerminatingSequence(i));
-                builder.append(alphabet.getReturnSymbol());
+                builder.append(expansionCache.expandCall(i));
             } else { // return symbol
                 throw new IllegalStateException("Systems should not query return symbol");
             }
@@ -86,7 +89,7 @@ class ProceduralMembershipOracle<I> implements MembershipOracle<I, Boolean> {
 
         TransformedQuery(Query<I, Boolean> originalQuery) {
             this.originalQuery = originalQuery;
-            this.transformedQuery = transformLocalQuery(originalQuery.getInput());
+            this.transformedQuery = transformLocalQuery(originalQuery);
         }
 
         @Override
@@ -22,6 +22,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import de.learnlib.algorithm.procedural.ExpansionCache;
 import de.learnlib.algorithm.procedural.SymbolWrapper;
 import de.learnlib.oracle.MembershipOracle;
 import de.learnlib.query.Query;
@@ -36,6 +37,7 @@ class ProceduralMembershipOracle<I, O> implements MembershipOracle<SymbolWrapper
     private final I procedure;
     private final O errorSymbol;
     private final ATManager<I, O> atManager;
+    private final ExpansionCache<I> expansionCache;
 
     ProceduralMembershipOracle(ProceduralInputAlphabet<I> alphabet,
                                MembershipOracle<I, Word<O>> delegate,
@@ -47,11 +49,13 @@ class ProceduralMembershipOracle<I, O> implements MembershipOracle<SymbolWrapper
         this.procedure = procedure;
         this.errorSymbol = errorSymbol;
         this.atManager = atManager;
+        this.expansionCache = new ExpansionCache<>(alphabet, atManager::getTerminatingSequence);
     }
 
     @Override
     public void processQueries(Collection<? extends Query<SymbolWrapper<I>, Word<O>>> collection) {
         final List<Query<I, Word<O>>> transformedQueries = new ArrayList<>(collection.size());
+        this.expansionCache.validate(atManager.getAccessSequence(this.procedure));
 
         for (Query<SymbolWrapper<I>, Word<O>> q : collection) {
             if (hasErrorInPrefix(q.getPrefix())) {
@@ -65,23 +69,7 @@ class ProceduralMembershipOracle<I, O> implements MembershipOracle<SymbolWrapper
     }
 
     private Word<I> transformPrefix(Word<SymbolWrapper<I>> query) {
-        final WordBuilder<I> builder = new WordBuilder<>();
-        builder.append(atManager.getAccessSequence(this.procedure));
-
-        for (SymbolWrapper<I> wrapper : query) {
-            final I i = wrapper.getDelegate();
-            if (alphabet.isInternalSymbol(i)) {
-                builder.append(i);
-            } else if (alphabet.isCallSymbol(i)) {
-                builder.append(i);
-                builder.append(atManager.getTerminatingSequence(i));
-                builder.append(alphabet.getReturnSymbol());
-            } else { // return symbol
-                throw new IllegalStateException("Prefixes should not contain return symbol");
-            }
-        }
-
-        return builder.toWord();
+        return expansionCache.expandPrefix(query, SymbolWrapper::getDelegate);
     }
 
     private Word<I> transformSuffix(Word<SymbolWrapper<I>> query, BitSet indices) {
@@ -93,11 +81,10 @@ class ProceduralMembershipOracle<I, O> implements MembershipOracle<SymbolWrapper
             if (alphabet.isInternalSymbol(i)) {
                 builder.append(i);
             } else if (alphabet.isCallSymbol(i)) {
-                builder.append(i);
                 if (wrapper.isContinuable()) {
-                    builder.append(atManager.getTerminatingSequence(i));
-                    builder.append(alphabet.getReturnSymbol());
+                    builder.append(expansionCache.expandCall(i));
                 } else {
+                    builder.append(i);
                     return builder.toWord();
                 }
             } else { // return symbol
@@ -0,0 +1,129 @@
+/* Copyright (C) 2013-2024 TU Dortmund University
+ * This file is part of LearnLib, http://www.learnlib.de/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.learnlib.algorithm.procedural;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import net.automatalib.alphabet.Alphabet;
+import net.automatalib.alphabet.ProceduralInputAlphabet;
+import net.automatalib.alphabet.impl.Alphabets;
+import net.automatalib.alphabet.impl.DefaultProceduralInputAlphabet;
+import net.automatalib.word.Word;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class ExpansionCacheTest {
+
+    private static final ProceduralInputAlphabet<Character> ALPHABET;
+
+    static {
+        final Alphabet<Character> callAlphabet = Alphabets.characters('A', 'C');
+        final Alphabet<Character> internalAlphabet = Alphabets.characters('a', 'b');
+        final char returnSymbol = 'R';
+
+        ALPHABET = new DefaultProceduralInputAlphabet<>(internalAlphabet, callAlphabet, returnSymbol);
+    }
+
+    @Test
+    public void testExpansion() {
+        final Map<Character, Word<Character>> terminatingSequences = new HashMap<>();
+        terminatingSequences.put('A', Word.fromLetter('a'));
+        terminatingSequences.put('B', Word.fromString("bCaR"));
+        terminatingSequences.put('C', Word.fromLetter('a'));
+
+        final ExpansionCache<Character> cache = new ExpansionCache<>(ALPHABET, terminatingSequences::get);
+        final Word<Character> as = Word.fromLetter('A');
+        cache.validate(as);
+
+        Assert.assertEquals(cache.expandCall('B'), Word.fromString("BbCaRR"));
+        Assert.assertSame(cache.expandCall('B'), cache.expandCall('B'));
+
+        Assert.assertEquals(cache.expandPrefix(Word.epsilon()), as);
+        Assert.assertEquals(cache.expandPrefix(Word.fromString("aB")), Word.fromString("AaBbCaRR"));
+        Assert.assertEquals(cache.expandPrefix(Word.fromString("aBC")), Word.fromString("AaBbCaRRCaR"));
+        Assert.assertSame(cache.expandPrefix(Word.fromString("aB")), cache.expandPrefix(Word.fromString("aB")));
+
+        Assert.assertThrows(IllegalStateException.class, () -> cache.expandPrefix(Word.fromString("aR")));
+    }
+
+    @Test
+    public void testInvalidation() {
+        final Map<Character, Word<Character>> terminatingSequences = new HashMap<>();
+        terminatingSequences.put('A', Word.fromLetter('a'));
+        terminatingSequences.put('B', Word.fromString("bb"));
+
+        final ExpansionCache<Character> cache = new ExpansionCache<>(ALPHABET, terminatingSequences::get);
+        final Word<Character> as = Word.fromLetter('A');
+        cache.validate(as);
+
+        final Word<Character> expansion = cache.expandPrefix(Word.fromString("Ba"));
+        Assert.assertEquals(expansion, Word.fromString("ABbbRa"));
+
+        // unchanged sequences keep the cached expansions
+        cache.validate(as);
+        Assert.assertSame(cache.expandPrefix(Word.fromString("Ba")), expansion);
+
+        // changing a used terminating sequence discards the cached expansions
+        terminatingSequences.put('B', Word.fromLetter('b'));
+        cache.validate(as);
+        Assert.assertEquals(cache.expandPrefix(Word.fromString("Ba")), Word.fromString("ABbRa"));
+
+        // changing the access sequence discards the cached expansions
+        cache.validate(Word.fromString("AaA"));
+        Assert.assertEquals(cache.expandPrefix(Word.fromString("Ba")), Word.fromString("AaABbRa"));
+    }
+
+    @Test
+    public void testBoundedPrefixes() {
+        final Map<Character, Word<Character>> terminatingSequences = new HashMap<>();
+        final ExpansionCache<Character> cache = new ExpansionCache<>(ALPHABET, terminatingSequences::get, 2);
+        cache.validate(Word.fromLetter('A'));
+
+        final Word<Character> a = cache.expandPrefix(Word.fromLetter('a'));
+        final Word<Character> b = cache.expandPrefix(Word.fromLetter('b'));
+
+        // expanding "aa" accesses its parent "a", so "b" is the least recently used expansion
+        Assert.assertEquals(cache.expandPrefix(Word.fromString("aa")), Word.fromString("Aaa"));
+        Assert.assertSame(cache.expandPrefix(Word.fromLetter('a')), a);
+
+        final Word<Character> b2 = cache.expandPrefix(Word.fromLetter('b'));
+        Assert.assertEquals(b2, b);
+        Assert.assertNotSame(b2, b);
+    }
+
+    @Test
+    public void testWrappedExpansion() {
+        final Map<Character, Word<Character>> terminatingSequences = new HashMap<>();
+        terminatingSequences.put('B', Word.fromString("bb"));
+
+        final ExpansionCache<Character> cache = new ExpansionCache<>(ALPHABET, terminatingSequences::get);
+        final Word<Character> as = Word.fromLetter('A');
+        cache.validate(as);
+
+        final SymbolWrapper<Character> a = new SymbolWrapper<>('a', true);
+        final SymbolWrapper<Character> b = new SymbolWrapper<>('B', true);
+
+        final Word<SymbolWrapper<Character>> prefix = Word.fromSymbols(b, a);
+        final Word<Character> expansion = cache.expandPrefix(prefix, SymbolWrapper::getDelegate);
+        Assert.assertEquals(expansion, Word.fromString("ABbbRa"));
+
+        // equal wrapped prefixes hit the cache
+        Assert.assertSame(cache.expandPrefix(Word.fromSymbols(b, a), SymbolWrapper::getDelegate), expansion);
+        Assert.assertEquals(cache.expandPrefix(Word.fromSymbols(b, a, a), SymbolWrapper::getDelegate),
+                            Word.fromString("ABbbRaa"));
+    }
+}
@@ -436,6 +436,10 @@ public class TTTLearnerVPA<I> extends OPLearnerVPA<I> {
 
         DTNode<I> succSeparator = splitter.succSeparator;
 
+        List<DTNode<I>> targets = new ArrayList<>();
+        List<AbstractHypTrans<I>> transitions = new ArrayList<>();
+        List<DefaultQuery<I, Boolean>> queries = new ArrayList<>();
+
         dfsStack.push(node);
         assert node.getSplitData() == null;
 
@@ -446,9 +450,10 @@ public class TTTLearnerVPA<I> extends OPLearnerVPA<I> {
             curr.setSplitData(new SplitData<>(TransList::new));
 
             for (AbstractHypTrans<I> trans : curr.getIncoming()) {
-                Boolean outcome = query(trans, discriminator);
-                curr.getSplitData().getIncoming(outcome).add(trans);
-                markAndPropagate(curr, outcome);
+                Word<I> prefix = discriminator.getPrefix().concat(trans.getAccessSequence());
+                targets.add(curr);
+                transitions.add(trans);
+                queries.add(new DefaultQuery<>(prefix, discriminator.getSuffix()));
             }
 
             if (curr.isInner()) {
@@ -470,6 +475,16 @@ public class TTTLearnerVPA<I> extends OPLearnerVPA<I> {
 
         }
 
+        // the outcomes of the incoming transitions do not influence the traversal, so answer them in a single batch
+        oracle.processQueries(queries);
+
+        for (int i = 0; i < queries.size(); i++) {
+            DTNode<I> curr = targets.get(i);
+            Boolean outcome = queries.get(i).getOutput();
+            curr.getSplitData().getIncoming(outcome).add(transitions.get(i));
+            markAndPropagate(curr, outcome);
+        }
+
         return discriminator;
     }
 
@@ -38,6 +38,7 @@ import de.learnlib.datastructure.discriminationtree.SplitData;
 import de.learnlib.logging.Category;
 import de.learnlib.oracle.MembershipOracle;
 import de.learnlib.query.DefaultQuery;
+import de.learnlib.util.statistic.SimpleProfiler;
 import net.automatalib.alphabet.Alphabet;
 import net.automatalib.alphabet.SupportsGrowingAlphabet;
 import net.automatalib.common.smartcollection.ElementReference;
@@ -62,6 +63,17 @@ import org.slf4j.LoggerFactory;
 public abstract class AbstractTTTLearner<A, I, D>
         implements LearningAlgorithm<A, I, D>, SupportsGrowingAlphabet<I>, Resumable<TTTLearnerState<I, D>> {
 
+    /**
+     * The key under which the (cumulated) time for analyzing counterexamples is {@link SimpleProfiler profiled}.
+     */
+    public static final String COUNTEREXAMPLE_PROFILE_KEY = "Counterexample analysis";
+
+    /**
+     * The key under which the (cumulated) time for sifting transitions into the discrimination tree is
+     * {@link SimpleProfiler profiled}.
+     */
+    public static final String SIFTING_PROFILE_KEY = "Sifting";
+
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractTTTLearner.class);
 
     protected final Alphabet<I> alphabet;
@@ -220,7 +232,12 @@ public abstract class AbstractTTTLearner<A, I, D>
                 new OutputInconsistency<>(state, ceQuery.getSuffix(), ceQuery.getOutput());
 
         do {
-            splitState(outIncons);
+            SimpleProfiler.start(COUNTEREXAMPLE_PROFILE_KEY);
+            try {
+                splitState(outIncons);
+            } finally {
+                SimpleProfiler.stop(COUNTEREXAMPLE_PROFILE_KEY);
+            }
             closeTransitions();
             while (finalizeAny()) {
                 closeTransitions();
@@ -862,8 +879,15 @@ public abstract class AbstractTTTLearner<A, I, D>
             return transition.getTreeTarget().dtLeaf;
         }
 
-        AbstractBaseDTNode<I, D> dt = transition.getNonTreeTarget();
-        dt = dtree.sift(dt, transition.getAccessSequence(), hard);
+        final AbstractBaseDTNode<I, D> dt;
+
+        SimpleProfiler.start(SIFTING_PROFILE_KEY);
+        try {
+            dt = dtree.sift(transition.getNonTreeTarget(), transition.getAccessSequence(), hard);
+        } finally {
+            SimpleProfiler.stop(SIFTING_PROFILE_KEY);
+        }
+
         transition.setNonTreeTarget(dt);
 
         return dt;
@@ -886,7 +910,15 @@ public abstract class AbstractTTTLearner<A, I, D>
             }
         }
 
-        final Iterator<AbstractBaseDTNode<I, D>> leavesIter = dtree.sift(nodes, prefixes, hard).iterator();
+        final Iterator<AbstractBaseDTNode<I, D>> leavesIter;
+
+        SimpleProfiler.start(SIFTING_PROFILE_KEY);
+        try {
+            leavesIter = dtree.sift(nodes, prefixes, hard).iterator();
+        } finally {
+            SimpleProfiler.stop(SIFTING_PROFILE_KEY);
+        }
+
         final List<AbstractBaseDTNode<I, D>> result = new ArrayList<>(transitions.size());
 
         for (TTTTransition<I, D> t : transitions) {
@@ -115,6 +115,16 @@ public interface PropertyOracle<I, A extends Output<I, D>, P, D> extends Inclusi
      */
     @Nullable DefaultQuery<I, D> doFindCounterExample(A hypothesis, Collection<? extends I> inputs);
 
+    /**
+     * Discards any results that have been cached for a specific hypothesis, e.g., the model checking result of a
+     * previous call to {@link #disprove(Output, Collection)}. Since hypotheses may be refined in-place, black-box
+     * oracles that call {@link #disprove(Output, Collection)} and {@link #doFindCounterExample(Output, Collection)}
+     * separately should call this method at the end of each round.
+     * <p>
+     * The default implementation does nothing.
+     */
+    default void invalidateCache() {}
+
     interface DFAPropertyOracle<I, P> extends PropertyOracle<I, DFA<?, I>, P, Boolean>, DFAInclusionOracle<I> {}
 
     interface MealyPropertyOracle<I, O, P>
@@ -0,0 +1,199 @@
+/* Copyright (C) 2013-2024 TU Dortmund University
+ * This file is part of LearnLib, http://www.learnlib.de/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.learnlib.checkpoint;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.fury.Fury;
+import org.apache.fury.ThreadLocalFury;
+import org.apache.fury.ThreadSafeFury;
+import org.apache.fury.resolver.AllowListChecker;
+import org.apache.fury.resolver.AllowListChecker.CheckLevel;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A compact binary serializer for the state objects of {@link de.learnlib.Resumable} data structures.
+ * <p>
+ * The serializer tracks object references, i.e., each object of the serialized object graph is written only once and
+ * is referenced by a (compressed) index afterwards. As a consequence, input and output symbols are stored only once
+ * per checkpoint (effectively forming a symbol table) and {@code Word}s that are shared among the internal data
+ * structures of a learner (e.g., access sequences and discriminators) remain shared after deserialization.
+ * <p>
+ * Since checkpoint files are read from disk, only classes of an allow-list of packages may be (de-) serialized in
+ * order to prevent the instantiation of arbitrary classes named in a tampered file. By default, these are the
+ * {@link #DEFAULT_ALLOWED_PACKAGES} which cover the state objects of LearnLib and AutomataLib. Custom input or output
+ * symbols from other packages need to be allowed explicitly (see {@link #CheckpointSerializer(Collection)}).
+ * <p>
+ * <b>Note:</b> Like the state objects themselves, the serialized data is not guaranteed to be compatible across
+ * different versions of LearnLib. Only use it for resuming the same learning setup.
+ * <p>
+ * This class is thread-safe.
+ */
+public class CheckpointSerializer {
+
+    /**
+     * The packages (including their sub-packages) whose classes may be (de-) serialized by default.
+     */
+    public static final List<String> DEFAULT_ALLOWED_PACKAGES =
+            Collections.unmodifiableList(Arrays.asList("java.lang", "java.util", "de.learnlib", "net.automatalib"));
+
+    private final ThreadSafeFury fury;
+
+    public CheckpointSerializer() {
+        this(Collections.emptyList());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param allowedPackages
+     *         the packages (including their sub-packages) whose classes may be (de-) serialized in addition to the
+     *         {@link #DEFAULT_ALLOWED_PACKAGES}, e.g., the packages of custom input or output symbols
+     */
+    public CheckpointSerializer(Collection<String> allowedPackages) {
+        final AllowListChecker checker = new AllowListChecker(CheckLevel.STRICT);
+
+        for (String p : DEFAULT_ALLOWED_PACKAGES) {
+            checker.allowClass(p + ".*");
+        }
+        for (String p : allowedPackages) {
+            checker.allowClass(p + ".*");
+        }
+
+        this.fury = new ThreadLocalFury(classLoader -> {
+            final Fury f = Fury.builder()
+                               .withRefTracking(true)
+                               .withNumberCompressed(true)
+                               .requireClassRegistration(false)
+                               .withClassLoader(classLoader)
+                               .build();
+            f.getClassResolver().setClassChecker(checker);
+            return f;
+        });
+    }
+
+    /**
+     * Serializes the given object.
+     *
+     * @param object
+     *         the object to serialize
+     *
+     * @return the serialized data
+     */
+    public byte[] toBytes(Object object) {
+        return fury.serialize(object);
+    }
+
+    /**
+     * Deserializes an object from the given data.
+     *
+     * @param bytes
+     *         the serialized data
+     *
+     * @return the deserialized object
+     *
+     * @throws org.apache.fury.exception.InsecureException
+     *         if the data contains a class that is not allowed
+     */
+    public Object fromBytes(byte[] bytes) {
+        return fury.deserialize(bytes);
+    }
+
+    /**
+     * Serializes the given object to the given file. The data is first written to a temporary file which then
+     * (atomically, if supported by the file system) replaces the given file, so that a crash while writing does not
+     * corrupt a previously written checkpoint. The temporary file is flushed to the storage device before it replaces
+     * the given file, and so is the containing directory afterwards (if supported by the platform), so that the new
+     * checkpoint also survives a power loss.
+     *
+     * @param object
+     *         the object to serialize
+     * @param file
+     *         the file to write to
+     *
+     * @throws IOException
+     *         if the file cannot be written
+     */
+    public void write(Object object, Path file) throws IOException {
+        final Path name = file.getFileName();
+        if (name == null) {
+            throw new IllegalArgumentException("Not a file: " + file);
+        }
+
+        final Path tmp = file.resolveSibling(name + ".tmp");
+        writeAndForce(tmp, toBytes(object));
+
+        try {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            // fall back to a non-atomic move
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        forceDirectory(file.toAbsolutePath().getParent());
+    }
+
+    private static void writeAndForce(Path file, byte[] bytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(file,
+                                                    StandardOpenOption.CREATE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING,
+                                                    StandardOpenOption.WRITE)) {
+            final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+    }
+
+    private static void forceDirectory(@Nullable Path directory) {
+        if (directory == null) {
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException ignored) {
+            // some platforms (e.g., Windows) do not support opening or flushing directories
+        }
+    }
+
+    /**
+     * Deserializes an object from the given file.
+     *
+     * @param file
+     *         the file to read from
+     *
+     * @return the deserialized object
+     *
+     * @throws IOException
+     *         if the file cannot be read
+     */
+    public Object read(Path file) throws IOException {
+        return fromBytes(Files.readAllBytes(file));
+    }
+}
@@ -0,0 +1,198 @@
+/* Copyright (C) 2013-2024 TU Dortmund University
+ * This file is part of LearnLib, http://www.learnlib.de/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.learnlib.checkpoint;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import de.learnlib.Resumable;
+import de.learnlib.util.Checkpointer;
+import de.learnlib.util.Experiment;
+
+/**
+ * A {@link Checkpointer} that persists the states of a given list of {@link Resumable}s (e.g., a learner and its
+ * caches) to a file. A checkpoint is created if a given number of rounds or a given amount of time has passed since
+ * the last checkpoint, whichever comes first.
+ * <p>
+ * Typical usage (with {@code file} being the same location for the initial and the resumed run):
+ * <pre>
+ * MealyCacheOracle&lt;I, O&gt; cache = ...;
+ * TTTLearnerMealy&lt;I, O&gt; learner = ...;
+ * MealyExperiment&lt;I, O&gt; experiment = new MealyExperiment&lt;&gt;(learner, eqOracle, alphabet);
+ * experiment.setCheckpointer(new FileCheckpointer(file, 10, 30, TimeUnit.MINUTES, learner, cache));
+ * experiment.run();
+ * </pre>
+ * If the file already exists when the experiment is run, the {@link Resumable}s are resumed from its content and the
+ * experiment continues from the round of the checkpoint (see {@link Experiment#setCheckpointer(Checkpointer)}).
+ * <p>
+ * <b>Note:</b> The given {@link Resumable}s have to be constructed identically (e.g., with the same alphabet and
+ * oracles) for both the initial and the resumed run. If the states contain classes outside of the
+ * {@link CheckpointSerializer#DEFAULT_ALLOWED_PACKAGES default packages} (e.g., custom input symbols), their packages
+ * need to be allowed explicitly (see {@link #FileCheckpointer(Path, int, long, TimeUnit, Collection, Resumable...)}).
+ */
+public class FileCheckpointer implements Checkpointer {
+
+    private final Path file;
+    private final int rounds;
+    private final long interval;
+    private final List<Resumable<?>> resumables;
+    private final CheckpointSerializer serializer;
+
+    private long lastRound;
+    private long lastTime;
+
+    /**
+     * Constructor. Creates a checkpoint after every round.
+     *
+     * @param file
+     *         the file to store the checkpoints in
+     * @param resumables
+     *         the data structures whose states should be persisted
+     */
+    public FileCheckpointer(Path file, Resumable<?>... resumables) {
+        this(file, 1, 0, TimeUnit.MILLISECONDS, resumables);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param file
+     *         the file to store the checkpoints in
+     * @param rounds
+     *         the number of rounds after which a new checkpoint is created. A value less than or equal to 0 disables
+     *         round-based checkpoints
+     * @param interval
+     *         the amount of time after which a new checkpoint is created (checked at the end of each round). A value
+     *         less than or equal to 0 disables time-based checkpoints
+     * @param unit
+     *         the unit of {@code interval}
+     * @param resumables
+     *         the data structures whose states should be persisted
+     */
+    public FileCheckpointer(Path file, int rounds, long interval, TimeUnit unit, Resumable<?>... resumables) {
+        this(file, rounds, interval, unit, Collections.emptyList(), resumables);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param file
+     *         the file to store the checkpoints in
+     * @param rounds
+     *         the number of rounds after which a new checkpoint is created. A value less than or equal to 0 disables
+     *         round-based checkpoints
+     * @param interval
+     *         the amount of time after which a new checkpoint is created (checked at the end of each round). A value
+     *         less than or equal to 0 disables time-based checkpoints
+     * @param unit
+     *         the unit of {@code interval}
+     * @param allowedPackages
+     *         the packages whose classes may be (de-) serialized in addition to the
+     *         {@link CheckpointSerializer#DEFAULT_ALLOWED_PACKAGES default packages}
+     * @param resumables
+     *         the data structures whose states should be persisted
+     */
+    public FileCheckpointer(Path file,
+                            int rounds,
+                            long interval,
+                            TimeUnit unit,
+                            Collection<String> allowedPackages,
+                            Resumable<?>... resumables) {
+        this.file = file;
+        this.rounds = rounds;
+        this.interval = unit.toNanos(interval);
+        this.resumables = Arrays.asList(resumables);
+        this.serializer = new CheckpointSerializer(allowedPackages);
+        this.lastTime = System.nanoTime();
+    }
+
+    @Override
+    public long restore() throws IOException {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+
+        final Checkpoint checkpoint = (Checkpoint) serializer.read(file);
+
+        if (checkpoint.states.length != resumables.size()) {
+            throw new IOException("Expected " + resumables.size() + " states but checkpoint contains " +
+                                  checkpoint.states.length);
+        }
+
+        for (int i = 0; i < checkpoint.states.length; i++) {
+            resume(resumables.get(i), checkpoint.states[i]);
+        }
+
+        this.lastRound = checkpoint.round;
+        this.lastTime = System.nanoTime();
+
+        return checkpoint.round;
+    }
+
+    @Override
+    public void checkpoint(long round) throws IOException {
+        final boolean roundsPassed = rounds > 0 && round - lastRound >= rounds;
+        final boolean timePassed = interval > 0 && System.nanoTime() - lastTime >= interval;
+
+        if (roundsPassed || timePassed) {
+            write(round);
+        }
+    }
+
+    /**
+     * Unconditionally creates a checkpoint for the given round.
+     *
+     * @param round
+     *         the current round
+     *
+     * @throws IOException
+     *         if the checkpoint cannot be written
+     */
+    public void write(long round) throws IOException {
+        final Object[] states = new Object[resumables.size()];
+
+        for (int i = 0; i < states.length; i++) {
+            states[i] = resumables.get(i).suspend();
+        }
+
+        serializer.write(new Checkpoint(round, states), file);
+
+        this.lastRound = round;
+        this.lastTime = System.nanoTime();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void resume(Resumable<T> resumable, Object state) {
+        resumable.resume((T) state);
+    }
+
+    private static final class Checkpoint {
+
+        private final long round;
+        private final Object[] states;
+
+        Checkpoint(long round, Object[] states) {
+            this.round = round;
+            this.states = states;
+        }
+    }
+}
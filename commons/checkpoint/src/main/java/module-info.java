@@ -0,0 +1,42 @@
+/* Copyright (C) 2013-2024 TU Dortmund University
+ * This file is part of LearnLib, http://www.learnlib.de/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+import de.learnlib.Resumable;
+import de.learnlib.checkpoint.FileCheckpointer;
+
+/**
+ * This module provides durable checkpoints of {@link Resumable} learning setups (learners, caches, etc.) so
+ * that long-running experiments can be resumed after a crash. See {@link FileCheckpointer} for details.
+ * <p>
+ * This module is provided by the following Maven dependency:
+ * <pre>
+ * &lt;dependency&gt;
+ *   &lt;groupId&gt;de.learnlib&lt;/groupId&gt;
+ *   &lt;artifactId&gt;learnlib-checkpoint&lt;/artifactId&gt;
+ *   &lt;version&gt;${version}&lt;/version&gt;
+ * &lt;/dependency&gt;
+ * </pre>
+ */
+open module de.learnlib.checkpoint {
+
+    requires de.learnlib.api;
+    requires de.learnlib.common.util;
+    requires org.apache.fury.core;
+
+    // make non-static once https://github.com/typetools/checker-framework/issues/4559 is implemented
+    requires static org.checkerframework.checker.qual;
+
+    exports de.learnlib.checkpoint;
+}
@@ -0,0 +1,177 @@
+/* Copyright (C) 2013-2024 TU Dortmund University
+ * This file is part of LearnLib, http://www.learnlib.de/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.learnlib.checkpoint;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import de.learnlib.Resumable;
+import net.automatalib.word.Word;
+import org.apache.fury.exception.InsecureException;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class FileCheckpointerTest {
+
+    private Path directory;
+    private Path file;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        this.directory = Files.createTempDirectory("learnlib-checkpoint");
+        this.file = directory.resolve("checkpoint.bin");
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(directory);
+    }
+
+    @Test
+    public void testRestore() throws IOException {
+        final Word<Character> shared = Word.fromString("abc");
+        final WordStore store = new WordStore();
+        store.words.add(shared);
+        store.words.add(shared);
+        store.words.add(Word.fromString("ab"));
+
+        final FileCheckpointer checkpointer = new FileCheckpointer(file, store);
+
+        // nothing to restore yet
+        Assert.assertEquals(checkpointer.restore(), 0);
+
+        checkpointer.checkpoint(3);
+        Assert.assertTrue(Files.exists(file));
+
+        final WordStore restoredStore = new WordStore();
+        final FileCheckpointer restoringCheckpointer = new FileCheckpointer(file, restoredStore);
+
+        Assert.assertEquals(restoringCheckpointer.restore(), 3);
+        Assert.assertEquals(restoredStore.words, store.words);
+        // words that are shared before serialization are shared after deserialization
+        Assert.assertSame(restoredStore.words.get(0), restoredStore.words.get(1));
+    }
+
+    @Test
+    public void testRoundPolicy() throws IOException {
+        final WordStore store = new WordStore();
+        final FileCheckpointer checkpointer = new FileCheckpointer(file, 3, 0, TimeUnit.MILLISECONDS, store);
+
+        checkpointer.checkpoint(1);
+        checkpointer.checkpoint(2);
+        Assert.assertFalse(Files.exists(file));
+
+        checkpointer.checkpoint(3);
+        Assert.assertTrue(Files.exists(file));
+
+        // the store has changed, but no new checkpoint is due
+        store.words.add(Word.epsilon());
+        checkpointer.checkpoint(4);
+
+        final WordStore restoredStore = new WordStore();
+        Assert.assertEquals(new FileCheckpointer(file, restoredStore).restore(), 3);
+        Assert.assertTrue(restoredStore.words.isEmpty());
+    }
+
+    @Test
+    public void testIntervalPolicy() throws IOException {
+        final WordStore store = new WordStore();
+        final FileCheckpointer checkpointer = new FileCheckpointer(file, 0, 1, TimeUnit.NANOSECONDS, store);
+
+        checkpointer.checkpoint(1);
+        Assert.assertTrue(Files.exists(file));
+
+        final FileCheckpointer disabledCheckpointer = new FileCheckpointer(file, 0, 1, TimeUnit.DAYS, store);
+        store.words.add(Word.epsilon());
+        disabledCheckpointer.checkpoint(2);
+
+        Assert.assertEquals(new FileCheckpointer(file, new WordStore()).restore(), 1);
+    }
+
+    @Test
+    public void testMismatchingCheckpoint() throws IOException {
+        new FileCheckpointer(file, new WordStore(), new WordStore()).write(1);
+        Assert.assertThrows(IOException.class, () -> new FileCheckpointer(file, new WordStore()).restore());
+    }
+
+    @Test
+    public void testDisallowedClasses() throws IOException {
+        final Word<File> word = Word.fromLetter(new File("symbol"));
+        final FileCheckpointer checkpointer = new FileCheckpointer(file,
+                                                                   1,
+                                                                   0,
+                                                                   TimeUnit.MILLISECONDS,
+                                                                   Collections.singletonList("java.io"),
+                                                                   new ConstantStore<>(word));
+        checkpointer.write(1);
+
+        // classes of checkpoint files are only instantiated if they are explicitly allowed
+        final ConstantStore<Word<File>> restoredStore = new ConstantStore<>(Word.epsilon());
+        Assert.assertThrows(InsecureException.class, () -> new FileCheckpointer(file, restoredStore).restore());
+
+        final FileCheckpointer restoringCheckpointer = new FileCheckpointer(file,
+                                                                            1,
+                                                                            0,
+                                                                            TimeUnit.MILLISECONDS,
+                                                                            Collections.singletonList("java.io"),
+                                                                            restoredStore);
+        Assert.assertEquals(restoringCheckpointer.restore(), 1);
+        Assert.assertEquals(restoredStore.state, word);
+    }
+
+    private static final class ConstantStore<T> implements Resumable<T> {
+
+        private T state;
+
+        ConstantStore(T state) {
+            this.state = state;
+        }
+
+        @Override
+        public T suspend() {
+            return state;
+        }
+
+        @Override
+        public void resume(T state) {
+            this.state = state;
+        }
+    }
+
+    private static final class WordStore implements Resumable<List<Word<Character>>> {
+
+        private List<Word<Character>> words = new ArrayList<>();
+
+        @Override
+        public List<Word<Character>> suspend() {
+            return new ArrayList<>(words);
+        }
+
+        @Override
+        public void resume(List<Word<Character>> state) {
+            this.words = state;
+        }
+    }
+}
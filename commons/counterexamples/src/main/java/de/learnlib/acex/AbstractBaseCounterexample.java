@@ -54,6 +54,18 @@ public abstract class AbstractBaseCounterexample<E> implements AbstractCounterex
 
     protected abstract E computeEffect(int index);
 
+    /**
+     * Returns whether the effect of the given index has already been computed (or explicitly set).
+     *
+     * @param index
+     *         the index of the effect
+     *
+     * @return {@code true} if the effect of the given index is known, {@code false} otherwise
+     */
+    public boolean hasEffect(int index) {
+        return values.get(index) != null;
+    }
+
     public void setEffect(@UnknownInitialization(AbstractBaseCounterexample.class) AbstractBaseCounterexample<E> this,
                           int index,
                           E effect) {
@@ -0,0 +1,76 @@
+/* Copyright (C) 2013-2024 TU Dortmund University
+ * This file is part of LearnLib, http://www.learnlib.de/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.learnlib.jfr;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A (started) Java Flight Recorder event of a certain {@link EventType}. Events are started via
+ * {@link EventType#begin()} and are ended (and emitted) via {@link #commit()}.
+ */
+public final class Event {
+
+    static final Event DISABLED = new Event(null, null, null);
+
+    private final @Nullable EventType type;
+    private final @Nullable FlightRecorderSupport support;
+    private final @Nullable Object delegate;
+
+    Event(@Nullable EventType type, @Nullable FlightRecorderSupport support, @Nullable Object delegate) {
+        this.type = type;
+        this.support = support;
+        this.delegate = delegate;
+    }
+
+    /**
+     * Returns whether this event is actually emitted. Callers may use this information to skip the (potentially
+     * costly) computation of field values.
+     *
+     * @return {@code true} if this event is emitted, {@code false} otherwise
+     */
+    public boolean isEnabled() {
+        return delegate != null;
+    }
+
+    /**
+     * Sets the value of the given field. The (boxed) type of the value must match the type of the field.
+     *
+     * @param field
+     *         the name of the field
+     * @param value
+     *         the value of the field
+     *
+     * @return {@code this}
+     *
+     * @throws IllegalArgumentException
+     *         if the event type does not have a field with the given name
+     */
+    public Event set(String field, Object value) {
+        if (type != null && support != null && delegate != null) {
+            support.set(delegate, type.indexOf(field), value);
+        }
+        return this;
+    }
+
+    /**
+     * Ends the timing of this event and emits it.
+     */
+    public void commit() {
+        if (support != null && delegate != null) {
+            support.commit(delegate);
+        }
+    }
+}
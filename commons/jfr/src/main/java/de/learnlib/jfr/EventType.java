@@ -0,0 +1,187 @@
+/* Copyright (C) 2013-2024 TU Dortmund University
+ * This file is part of LearnLib, http://www.learnlib.de/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.learnlib.jfr;
+
+import de.learnlib.setting.LearnLibProperty;
+
+/**
+ * The types of Java Flight Recorder (JFR) events emitted by LearnLib.
+ * <p>
+ * Since LearnLib still supports Java 8 at runtime, the events are not defined statically but are created dynamically
+ * via the {@code jdk.jfr.EventFactory} of the running JVM. Events are disabled by default and are only emitted if the
+ * {@link LearnLibProperty#JFR_ENABLED corresponding property} is set and the running JVM provides the {@code jdk.jfr}
+ * module. Note that for modular applications, the {@code jdk.jfr} module may need to be resolved explicitly (e.g., via
+ * {@code --add-modules jdk.jfr}). If enabled, the events are included in any (standard) flight recording, e.g., one
+ * started via {@code -XX:StartFlightRecording}.
+ * <p>
+ * Emitting an event follows the usual pattern of JFR events:
+ * <pre>
+ * final Event event = EventType.CACHE_BATCH.begin();
+ * // do the actual work
+ * if (event.isEnabled()) {
+ *     event.set("queries", numQueries);
+ *     // ...
+ *     event.commit();
+ * }
+ * </pre>
+ */
+public enum EventType {
+
+    /**
+     * A single round of a learning experiment, i.e., the construction (or refinement) of a hypothesis and the
+     * subsequent search for a counterexample.
+     */
+    ROUND("Round",
+          "Learning Round",
+          "Experiment",
+          "Construction of a hypothesis and the subsequent search for a counterexample",
+          new Field(long.class, "round", "Round"),
+          new Field(boolean.class, "counterexample", "Counterexample Found")),
+
+    /**
+     * The analysis of a counterexample by a learner.
+     */
+    COUNTEREXAMPLE_ANALYSIS("CounterexampleAnalysis",
+                            "Counterexample Analysis",
+                            "Learner",
+                            "Analysis of a counterexample and the subsequent refinement of the internal data structures",
+                            new Field(String.class, "learner", "Learner"),
+                            new Field(int.class, "length", "Counterexample Length")),
+
+    /**
+     * A batch of queries that is answered by a cache.
+     */
+    CACHE_BATCH("CacheBatch",
+                "Cache Batch",
+                "Cache",
+                "A batch of queries answered by a cache",
+                new Field(String.class, "cache", "Cache"),
+                new Field(int.class, "queries", "Queries"),
+                new Field(long.class, "symbols", "Symbols"),
+                new Field(int.class, "hits", "Hits"),
+                new Field(int.class, "misses", "Misses")),
+
+    /**
+     * A batch of (membership) queries that is distributed among the workers of a parallel oracle.
+     */
+    QUERY_BATCH("QueryBatch",
+                "Query Batch",
+                "Parallelism",
+                "A batch of queries processed by a parallel oracle",
+                new Field(int.class, "queries", "Queries"),
+                new Field(long.class, "symbols", "Symbols"),
+                new Field(int.class, "jobs", "Jobs")),
+
+    /**
+     * A job (i.e., a share of a {@link #QUERY_BATCH query batch}) that is processed by a worker of a parallel oracle.
+     */
+    PARALLEL_JOB("ParallelJob",
+                 "Parallel Job",
+                 "Parallelism",
+                 "A share of a query batch processed by a worker of a parallel oracle",
+                 new Field(int.class, "queries", "Queries"),
+                 new Field(long.class, "queueTime", "Queue Time", true));
+
+    private final String name;
+    private final String label;
+    private final String category;
+    private final String description;
+    private final Field[] fields;
+
+    EventType(String name, String label, String category, String description, Field... fields) {
+        this.name = "de.learnlib." + name;
+        this.label = label;
+        this.category = category;
+        this.description = description;
+        this.fields = fields;
+    }
+
+    /**
+     * Returns whether events of this type are emitted.
+     *
+     * @return {@code true} if events of this type are emitted, {@code false} otherwise
+     */
+    public boolean isEnabled() {
+        return FlightRecorderSupport.INSTANCE != null;
+    }
+
+    /**
+     * Creates a new event of this type and starts its timing. If events are {@link #isEnabled() disabled}, this method
+     * returns a shared no-op event and does not allocate any memory.
+     *
+     * @return the started event
+     */
+    public Event begin() {
+        final FlightRecorderSupport support = FlightRecorderSupport.INSTANCE;
+
+        if (support == null) {
+            return Event.DISABLED;
+        }
+
+        final Object delegate = support.newEvent(this);
+        support.begin(delegate);
+        return new Event(this, support, delegate);
+    }
+
+    String getName() {
+        return name;
+    }
+
+    String getLabel() {
+        return label;
+    }
+
+    String getCategory() {
+        return category;
+    }
+
+    String getDescription() {
+        return description;
+    }
+
+    Field[] getFields() {
+        return fields;
+    }
+
+    int indexOf(String field) {
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i].name.equals(field)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Event '" + name + "' does not have a field '" + field + '\'');
+    }
+
+    static final class Field {
+
+        final Class<?> type;
+        final String name;
+        final String label;
+        // whether the field denotes a duration in nanoseconds
+        final boolean timespan;
+
+        Field(Class<?> type, String name, String label) {
+            this(type, name, label, false);
+        }
+
+        Field(Class<?> type, String name, String label, boolean timespan) {
+            this.type = type;
+            this.name = name;
+            this.label = label;
+            this.timespan = timespan;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+/* Copyright (C) 2013-2024 TU Dortmund University
+ * This file is part of LearnLib, http://www.learnlib.de/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.learnlib.jfr;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import de.learnlib.jfr.EventType.Field;
+import de.learnlib.logging.Category;
+import de.learnlib.setting.LearnLibProperty;
+import de.learnlib.setting.LearnLibSettings;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reflective bridge to the {@code jdk.jfr} API, which is not available to the (Java 8 compatible) LearnLib classes at
+ * compile-time.
+ */
+final class FlightRecorderSupport {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FlightRecorderSupport.class);
+
+    private static final String ROOT_CATEGORY = "LearnLib";
+    private static final String TIMESPAN_NANOSECONDS = "NANOSECONDS";
+
+    /**
+     * The bridge to the flight recorder, or {@code null} if events are disabled.
+     */
+    static final @Nullable FlightRecorderSupport INSTANCE;
+
+    static {
+        final boolean enabled = LearnLibSettings.getInstance().getBool(LearnLibProperty.JFR_ENABLED, false);
+        INSTANCE = enabled ? initialize() : null;
+    }
+
+    private final Object[] factories;
+    private final Method newEvent;
+    private final Method begin;
+    private final Method set;
+    private final Method commit;
+
+    private FlightRecorderSupport(Object[] factories, Method newEvent, Method begin, Method set, Method commit) {
+        this.factories = factories;
+        this.newEvent = newEvent;
+        this.begin = begin;
+        this.set = set;
+        this.commit = commit;
+    }
+
+    Object newEvent(EventType type) {
+        return Objects.requireNonNull(invoke(newEvent, factories[type.ordinal()]));
+    }
+
+    void begin(Object event) {
+        invoke(begin, event);
+    }
+
+    void set(Object event, int index, Object value) {
+        invoke(set, event, index, value);
+    }
+
+    void commit(Object event) {
+        invoke(commit, event);
+    }
+
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    static @Nullable FlightRecorderSupport initialize() {
+        try {
+            final Class<?> annotationElement = Class.forName("jdk.jfr.AnnotationElement");
+            final Class<?> valueDescriptor = Class.forName("jdk.jfr.ValueDescriptor");
+            final Class<?> eventFactory = Class.forName("jdk.jfr.EventFactory");
+            final Class<?> event = Class.forName("jdk.jfr.Event");
+
+            final Constructor<?> newAnnotation = annotationElement.getConstructor(Class.class, Object.class);
+            final Constructor<?> newValue = valueDescriptor.getConstructor(Class.class, String.class, List.class);
+            final Method create = eventFactory.getMethod("create", List.class, List.class);
+
+            final Class<?> name = annotation("jdk.jfr.Name");
+            final Class<?> label = annotation("jdk.jfr.Label");
+            final Class<?> description = annotation("jdk.jfr.Description");
+            final Class<?> category = annotation("jdk.jfr.Category");
+            final Class<?> timespan = annotation("jdk.jfr.Timespan");
+
+            final EventType[] types = EventType.values();
+            final Object[] factories = new Object[types.length];
+
+            for (EventType t : types) {
+                final List<Object> annotations =
+                        Arrays.asList(newAnnotation.newInstance(name, t.getName()),
+                                      newAnnotation.newInstance(label, t.getLabel()),
+                                      newAnnotation.newInstance(description, t.getDescription()),
+                                      newAnnotation.newInstance(category,
+                                                                new String[] {ROOT_CATEGORY, t.getCategory()}));
+
+                final Field[] fields = t.getFields();
+                final List<Object> values = new ArrayList<>(fields.length);
+
+                for (Field f : fields) {
+                    final List<Object> fieldAnnotations = new ArrayList<>(2);
+                    fieldAnnotations.add(newAnnotation.newInstance(label, f.label));
+                    if (f.timespan) {
+                        fieldAnnotations.add(newAnnotation.newInstance(timespan, TIMESPAN_NANOSECONDS));
+                    }
+                    values.add(newValue.newInstance(f.type, f.name, fieldAnnotations));
+                }
+
+                factories[t.ordinal()] = create.invoke(null, annotations, values);
+            }
+
+            return new FlightRecorderSupport(factories,
+                                             eventFactory.getMethod("newEvent"),
+                                             event.getMethod("begin"),
+                                             event.getMethod("set", int.class, Object.class),
+                                             event.getMethod("commit"));
+        } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+            LOGGER.warn(Category.CONFIG,
+                        "Flight recorder events have been enabled but the flight recorder is not available.",
+                        e);
+            return null;
+        }
+    }
+
+    private static Class<?> annotation(String name) throws ClassNotFoundException {
+        return Class.forName(name).asSubclass(Annotation.class);
+    }
+
+    private static @Nullable Object invoke(Method method, Object target, Object... args) {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
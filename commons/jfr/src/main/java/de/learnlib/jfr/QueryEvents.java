@@ -0,0 +1,80 @@
+/* Copyright (C) 2013-2024 TU Dortmund University
+ * This file is part of LearnLib, http://www.learnlib.de/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.learnlib.jfr;
+
+import java.util.Collection;
+
+import de.learnlib.query.OmegaQuery;
+import de.learnlib.query.Query;
+
+/**
+ * Utility methods for emitting query-related {@link Event events}.
+ */
+public final class QueryEvents {
+
+    private QueryEvents() {
+        // prevent instantiation
+    }
+
+    /**
+     * Sets the fields of the given {@link EventType#CACHE_BATCH cache batch} event and emits it. If the event is not
+     * {@link Event#isEnabled() enabled}, this method does nothing.
+     *
+     * @param event
+     *         the (started) event
+     * @param cache
+     *         the class of the cache that answered the batch
+     * @param queries
+     *         the queries of the batch
+     * @param misses
+     *         the number of queries that could not be answered by the cache
+     */
+    public static void commitCacheBatch(Event event, Class<?> cache, Collection<?> queries, int misses) {
+        if (event.isEnabled()) {
+            event.set("cache", cache.getName())
+                 .set("queries", queries.size())
+                 .set("symbols", countSymbols(queries))
+                 .set("hits", queries.size() - misses)
+                 .set("misses", misses)
+                 .commit();
+        }
+    }
+
+    /**
+     * Counts the number of symbols of the given queries, if their type permits it. Adaptive queries do not contribute
+     * to the result because their length is only determined during their execution.
+     *
+     * @param queries
+     *         the queries
+     *
+     * @return the number of symbols of the given queries
+     */
+    public static long countSymbols(Collection<?> queries) {
+        long symbols = 0;
+
+        for (Object q : queries) {
+            if (q instanceof Query) {
+                final Query<?, ?> query = (Query<?, ?>) q;
+                symbols += query.getPrefix().length() + query.getSuffix().length();
+            } else if (q instanceof OmegaQuery) {
+                final OmegaQuery<?, ?> query = (OmegaQuery<?, ?>) q;
+                symbols += query.getPrefix().length() + (long) query.getLoop().length() * query.getRepeat();
+            }
+        }
+
+        return symbols;
+    }
+}
@@ -0,0 +1,43 @@
+/* Copyright (C) 2013-2024 TU Dortmund University
+ * This file is part of LearnLib, http://www.learnlib.de/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+import de.learnlib.jfr.EventType;
+import de.learnlib.setting.LearnLibProperty;
+
+/**
+ * This module provides the Java Flight Recorder (JFR) events emitted by the various components of LearnLib. Events
+ * are only emitted if the {@link LearnLibProperty#JFR_ENABLED corresponding property} is set. See {@link EventType}
+ * for details.
+ * <p>
+ * This module is provided by the following Maven dependency:
+ * <pre>
+ * &lt;dependency&gt;
+ *   &lt;groupId&gt;de.learnlib&lt;/groupId&gt;
+ *   &lt;artifactId&gt;learnlib-jfr&lt;/artifactId&gt;
+ *   &lt;version&gt;${version}&lt;/version&gt;
+ * &lt;/dependency&gt;
+ * </pre>
+ */
+open module de.learnlib.jfr {
+
+    requires de.learnlib.api;
+    requires de.learnlib.setting;
+    requires org.slf4j;
+
+    // make non-static once https://github.com/typetools/checker-framework/issues/4559 is implemented
+    requires static org.checkerframework.checker.qual;
+
+    exports de.learnlib.jfr;
+}
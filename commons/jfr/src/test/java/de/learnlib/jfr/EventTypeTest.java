@@ -0,0 +1,66 @@
+/* Copyright (C) 2013-2024 TU Dortmund University
+ * This file is part of LearnLib, http://www.learnlib.de/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.learnlib.jfr;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import de.learnlib.jfr.EventType.Field;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class EventTypeTest {
+
+    @Test
+    public void testDisabledByDefault() {
+        for (EventType t : EventType.values()) {
+            Assert.assertFalse(t.isEnabled());
+
+            final Event event = t.begin();
+            Assert.assertSame(event, Event.DISABLED);
+            Assert.assertFalse(event.isEnabled());
+
+            // no-ops
+            event.set("undefined", new Object());
+            event.commit();
+        }
+    }
+
+    @Test
+    public void testEventDefinitions() {
+        final FlightRecorderSupport support = FlightRecorderSupport.initialize();
+        Assert.assertNotNull(support);
+
+        final Map<Class<?>, Object> values = new HashMap<>();
+        values.put(int.class, 0);
+        values.put(long.class, 0L);
+        values.put(boolean.class, false);
+        values.put(String.class, "");
+
+        for (EventType t : EventType.values()) {
+            final Event event = new Event(t, support, support.newEvent(t));
+            Assert.assertTrue(event.isEnabled());
+
+            for (Field f : t.getFields()) {
+                Assert.assertTrue(values.containsKey(f.type));
+                event.set(f.name, values.get(f.type));
+            }
+
+            Assert.assertThrows(IllegalArgumentException.class, () -> event.set("undefined", 0));
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/* Copyright (C) 2013-2024 TU Dortmund University
+ * This file is part of LearnLib, http://www.learnlib.de/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.learnlib.jfr;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import de.learnlib.query.DefaultQuery;
+import de.learnlib.query.OmegaQuery;
+import net.automatalib.word.Word;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class QueryEventsTest {
+
+    @Test
+    public void testCountSymbols() {
+        final DefaultQuery<Character, Boolean> query = new DefaultQuery<>(Word.fromString("ab"), Word.fromString("c"));
+        final OmegaQuery<Character, Boolean> omegaQuery =
+                new OmegaQuery<>(Word.fromString("a"), Word.fromString("bc"), 3);
+
+        Assert.assertEquals(QueryEvents.countSymbols(Collections.emptyList()), 0);
+        Assert.assertEquals(QueryEvents.countSymbols(Collections.singletonList(query)), 3);
+        Assert.assertEquals(QueryEvents.countSymbols(Collections.singletonList(omegaQuery)), 7);
+        Assert.assertEquals(QueryEvents.countSymbols(Arrays.asList(query, omegaQuery, new Object())), 10);
+    }
+
+    @Test
+    public void testDisabledCacheBatch() {
+        final Event event = EventType.CACHE_BATCH.begin();
+        Assert.assertFalse(event.isEnabled());
+
+        // no-op
+        QueryEvents.commitCacheBatch(event, QueryEventsTest.class, Collections.emptyList(), 0);
+    }
+}
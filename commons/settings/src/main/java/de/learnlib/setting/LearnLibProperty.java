@@ -22,6 +22,13 @@ import de.learnlib.oracle.ThreadPool.PoolPolicy;
  */
 public enum LearnLibProperty {
 
+    /**
+     * {@code learnlib.jfr.enabled}.
+     * <p>
+     * Whether LearnLib should emit Java Flight Recorder events. Defaults to {@code false}.
+     */
+    JFR_ENABLED("jfr.enabled"),
+
     /**
      * {@code learnlib.parallel.batch_size.dynamic}.
      * <p>
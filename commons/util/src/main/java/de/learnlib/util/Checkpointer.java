@@ -0,0 +1,49 @@
+/* Copyright (C) 2013-2024 TU Dortmund University
+ * This file is part of LearnLib, http://www.learnlib.de/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.learnlib.util;
+
+import java.io.IOException;
+
+/**
+ * A hook for persisting the progress of an {@link Experiment}, so that an interrupted experiment (e.g., due to a crash)
+ * can be resumed later without repeating the already completed rounds.
+ *
+ * @see Experiment#setCheckpointer(Checkpointer)
+ */
+public interface Checkpointer {
+
+    /**
+     * Restores the learning setup from the most recent checkpoint, if one exists.
+     *
+     * @return the round in which the restored checkpoint has been created, or {@code 0} if no checkpoint exists
+     *
+     * @throws IOException
+     *         if the checkpoint cannot be read
+     */
+    long restore() throws IOException;
+
+    /**
+     * Notifies this checkpointer that the hypothesis of the given round has been constructed. Implementations may
+     * decide whether to create a checkpoint of the learning setup.
+     *
+     * @param round
+     *         the current round
+     *
+     * @throws IOException
+     *         if the checkpoint cannot be written
+     */
+    void checkpoint(long round) throws IOException;
+}
@@ -15,8 +15,13 @@
  */
 package de.learnlib.util;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
 import de.learnlib.algorithm.LearningAlgorithm;
 import de.learnlib.filter.statistic.Counter;
+import de.learnlib.jfr.Event;
+import de.learnlib.jfr.EventType;
 import de.learnlib.logging.Category;
 import de.learnlib.oracle.EquivalenceOracle;
 import de.learnlib.query.DefaultQuery;
@@ -44,6 +49,7 @@ public class Experiment<A extends Object> {
     private final ExperimentImpl<?, ?> impl;
     private boolean logModels;
     private boolean profile;
+    private @Nullable Checkpointer checkpointer;
     private final Counter rounds = new Counter("Learning rounds", "#");
     private @Nullable A finalHypothesis;
 
@@ -98,6 +104,46 @@ public class Experiment<A extends Object> {
         this.profile = profile;
     }
 
+    /**
+     * Sets the {@link Checkpointer} of this experiment. If set, the experiment first tries to
+     * {@link Checkpointer#restore() restore} a previous checkpoint and (if successful) continues with the restored
+     * hypothesis instead of starting the learning process from scratch. Furthermore, the checkpointer is notified
+     * whenever a new hypothesis has been constructed.
+     *
+     * @param checkpointer
+     *         the checkpointer, may be {@code null} to disable checkpointing
+     */
+    public void setCheckpointer(@Nullable Checkpointer checkpointer) {
+        this.checkpointer = checkpointer;
+    }
+
+    private long restore() {
+        final Checkpointer cp = this.checkpointer;
+
+        if (cp == null) {
+            return 0;
+        }
+
+        try {
+            return cp.restore();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void checkpoint() {
+        final Checkpointer cp = this.checkpointer;
+
+        if (cp != null) {
+            try {
+                cp.checkpoint(rounds.getCount());
+            } catch (IOException e) {
+                // a failed checkpoint should not abort an otherwise healthy experiment
+                LOGGER.warn(Category.SYSTEM, "Could not create checkpoint", e);
+            }
+        }
+    }
+
     /**
      * @return the rounds
      */
@@ -120,13 +166,27 @@ public class Experiment<A extends Object> {
         }
 
         public A run() {
-            rounds.increment();
-            LOGGER.info(Category.PHASE, "Starting round {}", rounds.getCount());
-            LOGGER.info(Category.PHASE, "Learning");
+            final long restoredRounds = restore();
+            Event round;
+
+            if (restoredRounds > 0) {
+                rounds.increment(restoredRounds);
+                LOGGER.info(Category.PHASE, "Resuming round {} from checkpoint", rounds.getCount());
+
+                round = EventType.ROUND.begin();
+            } else {
+                rounds.increment();
+                LOGGER.info(Category.PHASE, "Starting round {}", rounds.getCount());
+                LOGGER.info(Category.PHASE, "Learning");
 
-            profileStart(LEARNING_PROFILE_KEY);
-            learningAlgorithm.startLearning();
-            profileStop(LEARNING_PROFILE_KEY);
+                round = EventType.ROUND.begin();
+
+                profileStart(LEARNING_PROFILE_KEY);
+                learningAlgorithm.startLearning();
+                profileStop(LEARNING_PROFILE_KEY);
+
+                checkpoint();
+            }
 
             while (true) {
                 final A hyp = learningAlgorithm.getHypothesisModel();
@@ -141,6 +201,10 @@ public class Experiment<A extends Object> {
                 DefaultQuery<I, D> ce = equivalenceAlgorithm.findCounterExample(hyp, inputs);
                 profileStop(COUNTEREXAMPLE_PROFILE_KEY);
 
+                if (round.isEnabled()) {
+                    round.set("round", rounds.getCount()).set("counterexample", ce != null).commit();
+                }
+
                 if (ce == null) {
                     return hyp;
                 }
@@ -152,11 +216,15 @@ public class Experiment<A extends Object> {
                 LOGGER.info(Category.PHASE, "Starting round {}", rounds.getCount());
                 LOGGER.info(Category.PHASE, "Learning");
 
+                round = EventType.ROUND.begin();
+
                 profileStart(LEARNING_PROFILE_KEY);
                 final boolean refined = learningAlgorithm.refineHypothesis(ce);
                 profileStop(LEARNING_PROFILE_KEY);
 
                 assert refined;
+
+                checkpoint();
             }
         }
     }
@@ -15,8 +15,15 @@
  */
 package de.learnlib.util.statistic;
 
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import de.learnlib.filter.statistic.Counter;
 import de.learnlib.logging.Category;
@@ -25,14 +32,27 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Very rudimentary profiler.
+ * Rudimentary, hierarchical profiler.
+ * <p>
+ * Timers are measured with nanosecond resolution and are tracked per thread, so multiple threads may time the same
+ * task concurrently. Timers that are started while another timer of the same thread is running are considered nested
+ * and are additionally accumulated under their path (i.e., the names of all enclosing timers joined by
+ * {@value #PATH_SEPARATOR}), which allows for analyzing where the time of an enclosing task is spent.
  */
 public final class SimpleProfiler {
 
+    /**
+     * The separator of the individual timer names in the path of a nested timer.
+     */
+    public static final String PATH_SEPARATOR = "/";
+
     private static final Map<String, Counter> CUMULATED = new ConcurrentHashMap<>();
-    private static final Map<String, Long> PENDING = new ConcurrentHashMap<>();
+    private static final Map<String, Counter> HIERARCHICAL = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Deque<Section>> PENDING = ThreadLocal.withInitial(ArrayDeque::new);
     private static final Logger LOGGER = LoggerFactory.getLogger(SimpleProfiler.class.getName());
-    private static final double MILLISECONDS_PER_SECOND = 1000.0;
+    private static final double NANOSECONDS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+    // timers started before the last reset are discarded
+    private static final AtomicInteger GENERATION = new AtomicInteger();
 
     private SimpleProfiler() {
         // prevent initialization
@@ -42,55 +62,142 @@ public final class SimpleProfiler {
      * Reset internal data.
      */
     public static void reset() {
+        GENERATION.incrementAndGet();
         CUMULATED.clear();
-        PENDING.clear();
+        HIERARCHICAL.clear();
+        PENDING.remove();
     }
 
     /**
-     * Start the timer identified by the given key.
+     * Start the timer identified by the given key. If the current thread has already started other timers that have
+     * not been stopped yet, the timer is nested in the most recently started one.
      *
      * @param name
      *         The name of the timer to be started.
      */
     public static void start(String name) {
-        PENDING.put(name, System.currentTimeMillis());
+        final Deque<Section> stack = PENDING.get();
+        final Section parent = stack.peek();
+        final String path = parent == null ? name : parent.path + PATH_SEPARATOR + name;
+        stack.push(new Section(name, path, GENERATION.get(), System.nanoTime()));
     }
 
     /**
      * Stop the timer identified by the given key. After stopping a timer, the time passed from its
-     * {@link #start(String) initialization} will be added to the cumulated time of the specific timer.
+     * {@link #start(String) initialization} will be added to the cumulated time of the specific timer. Timers nested
+     * in the given timer that have not been stopped yet are discarded.
      *
      * @param name
      *         The name of the timer to be stopped.
      */
     public static void stop(String name) {
-        Long start = PENDING.remove(name);
-        if (start == null) {
+        final long end = System.nanoTime();
+        final Deque<Section> stack = PENDING.get();
+
+        Section section = null;
+        for (Section s : stack) {
+            if (s.name.equals(name)) {
+                section = s;
+                break;
+            }
+        }
+
+        if (section == null) {
             return;
         }
-        long duration = System.currentTimeMillis() - start;
-        Counter sum = CUMULATED.computeIfAbsent(name, k -> new Counter(k, "ms"));
-        sum.increment(duration);
+
+        // discard unfinished nested timers
+        Section top;
+        do {
+            top = stack.pop();
+        } while (top != section);
+
+        if (section.generation != GENERATION.get()) {
+            return;
+        }
+
+        final long duration = end - section.start;
+        CUMULATED.computeIfAbsent(name, k -> new Counter(k, "ns")).increment(duration);
+        HIERARCHICAL.computeIfAbsent(section.path, k -> new Counter(k, "ns")).increment(duration);
     }
 
     /**
-     * Return the counter for the cumulated (passed) time of the given timer.
+     * Return the counter for the cumulated (passed) time of the given timer, regardless of its nesting.
      *
      * @param name
      *         The name of the timer to be returned.
      *
-     * @return The counter for tracking the passed milliseconds of the timer
+     * @return The counter for tracking the passed nanoseconds of the timer
      */
     public static @Nullable Counter cumulated(String name) {
         return CUMULATED.get(name);
     }
 
     /**
-     * Log results in category PROFILING.
+     * Return the counters for the cumulated (passed) time of all timers, keyed by their (nested) path.
+     *
+     * @return an (unmodifiable) map from timer paths to the counters tracking the passed nanoseconds of the timers
+     */
+    public static SortedMap<String, Counter> cumulatedHierarchy() {
+        final SortedMap<String, Counter> result = new TreeMap<>(SimpleProfiler::comparePaths);
+        result.putAll(HIERARCHICAL);
+        return Collections.unmodifiableSortedMap(result);
+    }
+
+    /**
+     * Log results in category PROFILING. Each timer is logged once per path in the hierarchy of nested timers. The
+     * cumulated time of a timer is additionally logged only if the timer has been nested in other timers, as otherwise
+     * it coincides with the time of its (top-level) path.
      */
     public static void logResults() {
+        final SortedMap<String, Counter> hierarchy = cumulatedHierarchy();
+
         for (Counter c : CUMULATED.values()) {
-            LOGGER.info(Category.PROFILING, "{}, ({} s)", c.getSummary(), c.getCount() / MILLISECONDS_PER_SECOND);
+            final Counter root = hierarchy.get(c.getName());
+            if (root == null || root.getCount() != c.getCount()) {
+                LOGGER.info(Category.PROFILING, "{}, ({} s)", c.getSummary(), c.getCount() / NANOSECONDS_PER_SECOND);
+            }
+        }
+
+        for (Counter c : hierarchy.values()) {
+            final String path = c.getName();
+            final int depth = path.split(PATH_SEPARATOR, -1).length - 1;
+            final String name = path.substring(path.lastIndexOf(PATH_SEPARATOR) + 1);
+            final StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < depth; i++) {
+                sb.append("  ");
+            }
+            sb.append(name);
+            LOGGER.info(Category.PROFILING, "{}: {} s", sb, c.getCount() / NANOSECONDS_PER_SECOND);
+        }
+    }
+
+    private static int comparePaths(String p1, String p2) {
+        final String[] s1 = p1.split(PATH_SEPARATOR, -1);
+        final String[] s2 = p2.split(PATH_SEPARATOR, -1);
+
+        for (int i = 0; i < Math.min(s1.length, s2.length); i++) {
+            final int cmp = s1[i].compareTo(s2[i]);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+
+        return Integer.compare(s1.length, s2.length);
+    }
+
+    private static final class Section {
+
+        private final String name;
+        private final String path;
+        private final int generation;
+        private final long start;
+
+        Section(String name, String path, int generation, long start) {
+            this.name = name;
+            this.path = path;
+            this.generation = generation;
+            this.start = start;
         }
     }
 
@@ -30,6 +30,7 @@ open module de.learnlib.common.util {
 
     requires de.learnlib.api;
     requires de.learnlib.filter.statistic;
+    requires de.learnlib.jfr;
     requires net.automatalib.api;
     requires net.automatalib.common.util;
     requires net.automatalib.core;
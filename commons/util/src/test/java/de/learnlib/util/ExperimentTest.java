@@ -15,7 +15,10 @@
  */
 package de.learnlib.util;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.Random;
 
 import de.learnlib.algorithm.LearningAlgorithm.DFALearner;
@@ -69,6 +72,61 @@ public class ExperimentTest {
         Assert.assertNotNull(SimpleProfiler.cumulated(Experiment.COUNTEREXAMPLE_PROFILE_KEY));
     }
 
+    @Test
+    public void testCheckpointing() {
+
+        final Alphabet<Character> alphabet = Alphabets.characters('a', 'c');
+        final CompactDFA<Character> target = RandomAutomata.randomDFA(RANDOM, 5, alphabet);
+        final CompactDFA<Character> intermediateTarget = RandomAutomata.randomDFA(RANDOM, target.size() - 1, alphabet);
+
+        // fresh experiment
+        final MockUpLearner<Character> learner = new MockUpLearner<>(target, intermediateTarget);
+        final MockUpCheckpointer checkpointer = new MockUpCheckpointer(0);
+
+        final DFAExperiment<Character> experiment =
+                new DFAExperiment<>(learner, new MockUpOracle<>(intermediateTarget), alphabet);
+        experiment.setCheckpointer(checkpointer);
+        experiment.run();
+
+        Assert.assertTrue(learner.startLearningCalled);
+        Assert.assertEquals(checkpointer.rounds, Arrays.asList(1L, 2L, 3L, 4L));
+        Assert.assertEquals(experiment.getRounds().getCount(), 4);
+
+        // resumed experiment
+        final MockUpLearner<Character> resumedLearner = new MockUpLearner<>(target, intermediateTarget);
+        final MockUpCheckpointer resumedCheckpointer = new MockUpCheckpointer(2);
+
+        final DFAExperiment<Character> resumedExperiment =
+                new DFAExperiment<>(resumedLearner, new MockUpOracle<>(intermediateTarget), alphabet);
+        resumedExperiment.setCheckpointer(resumedCheckpointer);
+        resumedExperiment.run();
+
+        Assert.assertFalse(resumedLearner.startLearningCalled);
+        Assert.assertEquals(resumedCheckpointer.rounds, Arrays.asList(3L, 4L, 5L));
+        Assert.assertEquals(resumedExperiment.getRounds().getCount(), 5);
+    }
+
+    private static final class MockUpCheckpointer implements Checkpointer {
+
+        private final long restoredRound;
+        private final List<Long> rounds;
+
+        MockUpCheckpointer(long restoredRound) {
+            this.restoredRound = restoredRound;
+            this.rounds = new ArrayList<>();
+        }
+
+        @Override
+        public long restore() {
+            return restoredRound;
+        }
+
+        @Override
+        public void checkpoint(long round) {
+            rounds.add(round);
+        }
+    }
+
     private static final class MockUpLearner<I> implements DFALearner<I> {
 
         private final DFA<?, I> targetModel;
@@ -0,0 +1,100 @@
+/* Copyright (C) 2013-2024 TU Dortmund University
+ * This file is part of LearnLib, http://www.learnlib.de/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.learnlib.util.statistic;
+
+import java.util.SortedMap;
+
+import de.learnlib.filter.statistic.Counter;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class SimpleProfilerTest {
+
+    @BeforeMethod
+    @AfterMethod
+    public void reset() {
+        SimpleProfiler.reset();
+    }
+
+    @Test
+    public void testNesting() {
+        SimpleProfiler.start("outer");
+        SimpleProfiler.start("inner");
+        SimpleProfiler.stop("inner");
+        SimpleProfiler.start("inner");
+        SimpleProfiler.stop("inner");
+        SimpleProfiler.stop("outer");
+        SimpleProfiler.start("inner");
+        SimpleProfiler.stop("inner");
+
+        final Counter outer = SimpleProfiler.cumulated("outer");
+        final Counter inner = SimpleProfiler.cumulated("inner");
+        Assert.assertNotNull(outer);
+        Assert.assertNotNull(inner);
+
+        final SortedMap<String, Counter> hierarchy = SimpleProfiler.cumulatedHierarchy();
+        final String nested = "outer" + SimpleProfiler.PATH_SEPARATOR + "inner";
+        Assert.assertEquals(hierarchy.keySet().toArray(), new String[] {"inner", "outer", nested});
+        Assert.assertTrue(hierarchy.get(nested).getCount() <= outer.getCount());
+        Assert.assertEquals(hierarchy.get("inner").getCount() + hierarchy.get(nested).getCount(), inner.getCount());
+    }
+
+    @Test
+    public void testUnfinishedNestedTimer() {
+        SimpleProfiler.start("outer");
+        SimpleProfiler.start("inner");
+        SimpleProfiler.stop("outer");
+
+        // inner has been discarded, hence this should be a no-op
+        SimpleProfiler.stop("inner");
+
+        Assert.assertNotNull(SimpleProfiler.cumulated("outer"));
+        Assert.assertNull(SimpleProfiler.cumulated("inner"));
+    }
+
+    @Test
+    public void testThreads() throws InterruptedException {
+        SimpleProfiler.start("main");
+
+        final Thread t = new Thread(() -> {
+            SimpleProfiler.start("worker");
+            SimpleProfiler.stop("worker");
+            // timers of other threads cannot be stopped
+            SimpleProfiler.stop("main");
+        });
+        t.start();
+        t.join();
+
+        Assert.assertNull(SimpleProfiler.cumulated("main"));
+        // timers of other threads are not considered enclosing
+        Assert.assertEquals(SimpleProfiler.cumulatedHierarchy().keySet().toArray(), new String[] {"worker"});
+
+        SimpleProfiler.stop("main");
+        Assert.assertNotNull(SimpleProfiler.cumulated("main"));
+    }
+
+    @Test
+    public void testReset() {
+        SimpleProfiler.start("timer");
+        SimpleProfiler.reset();
+        SimpleProfiler.stop("timer");
+
+        Assert.assertNull(SimpleProfiler.cumulated("timer"));
+        Assert.assertTrue(SimpleProfiler.cumulatedHierarchy().isEmpty());
+    }
+}
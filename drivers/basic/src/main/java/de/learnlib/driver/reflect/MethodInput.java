@@ -15,8 +15,12 @@
  */
 package de.learnlib.driver.reflect;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 
 import de.learnlib.exception.SULException;
 import de.learnlib.sul.ContextExecutableInput;
@@ -24,33 +28,115 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * An input symbol that represents a call to a method with a specific set of parameters.
+ * <p>
+ * The method is bound (including its parameters) to a {@link MethodHandle} once upon construction, so that executing
+ * this input does not require any reflective access checks, argument array handling, or boxing of arguments. Public
+ * methods are bound via the {@link MethodHandles#publicLookup() public lookup} which (unlike the lookup of this class)
+ * does not require this module to read the module of the method. Methods that cannot be accessed by either lookup are
+ * invoked {@link Method#invoke(Object, Object...) reflectively} instead, so that they behave as they would without
+ * binding. Errors during binding (e.g., due to mismatching parameters) are reported upon execution, analogous to a
+ * reflective invocation.
  */
 public class MethodInput implements ContextExecutableInput<MethodOutput, Object> {
 
+    private static final MethodType INVOCATION_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType REFLECTIVE_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
     private final String displayName;
-    private final Method method;
-    private final Object[] parameters;
+    private final boolean isVoid;
+    private final boolean isReflective;
+    private final MethodHandle handle;
 
+    @SuppressWarnings("PMD.AvoidCatchingGenericException") // defer any error to the execution of this input
     public MethodInput(String displayName, Method method, Object[] parameters) {
         this.displayName = displayName;
-        this.method = method;
-        this.parameters = parameters;
+        this.isVoid = Void.TYPE.equals(method.getReturnType());
+
+        final @Nullable MethodHandle unbound = unreflect(method);
+        this.isReflective = unbound == null;
+
+        MethodHandle h;
+        try {
+            if (unbound == null) {
+                h = bindReflective(method, parameters);
+            } else {
+                h = bind(method, unbound, parameters);
+            }
+        } catch (RuntimeException e) {
+            h = MethodHandles.dropArguments(MethodHandles.throwException(Object.class, e.getClass()).bindTo(e),
+                                            0,
+                                            Object.class);
+        }
+        this.handle = h;
+    }
+
+    /**
+     * Returns a method handle for the given method, or {@code null} if the method is not accessible. Public members
+     * are looked up via the public lookup first, since the lookup of this class may lack readability of the method's
+     * module.
+     */
+    private static @Nullable MethodHandle unreflect(Method method) {
+        try {
+            return MethodHandles.publicLookup().unreflect(method);
+        } catch (IllegalAccessException e) {
+            try {
+                return MethodHandles.lookup().unreflect(method);
+            } catch (IllegalAccessException e2) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Binds the given parameters to the given method handle and returns a method handle of type {@code (Object)Object}
+     * that only expects the receiver (which is ignored for static methods).
+     */
+    private static MethodHandle bind(Method method, MethodHandle methodHandle, Object[] parameters) {
+        final MethodHandle unbound = methodHandle.asFixedArity();
+
+        final MethodHandle bound;
+        if (Modifier.isStatic(method.getModifiers())) {
+            bound = MethodHandles.dropArguments(MethodHandles.insertArguments(unbound, 0, parameters),
+                                                0,
+                                                Object.class);
+        } else {
+            bound = MethodHandles.insertArguments(unbound, 1, parameters);
+        }
+
+        return bound.asType(INVOCATION_TYPE);
     }
 
-    @SuppressWarnings("PMD.PreserveStackTrace")
+    /**
+     * Returns a method handle of type {@code (Object)Object} that {@link Method#invoke(Object, Object...) reflectively
+     * invokes} the given method with the given parameters on the passed receiver.
+     */
+    private static MethodHandle bindReflective(Method method, Object[] parameters) {
+        final MethodHandle invoke;
+        try {
+            invoke = MethodHandles.lookup().findVirtual(Method.class, "invoke", REFLECTIVE_TYPE);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+
+        return MethodHandles.insertArguments(invoke.asFixedArity().bindTo(method), 1, (Object) parameters);
+    }
+
+    @SuppressWarnings("PMD.AvoidCatchingThrowable") // we need to propagate anything thrown by the method
     @Override
     public MethodOutput execute(Object context) {
+        final @Nullable Object ret;
         try {
-            final Object ret = this.method.invoke(context, parameters);
-            if (Void.TYPE.equals(this.method.getReturnType())) {
-                return VoidOutput.INSTANCE;
-            } else {
-                return new ReturnValue<@Nullable Object>(ret);
-            }
-        } catch (IllegalAccessException | IllegalArgumentException e) {
-            throw new SULException(e);
+            ret = (Object) handle.invokeExact(context);
         } catch (InvocationTargetException e) {
-            throw new SULException(e.getCause());
+            throw new SULException(isReflective ? e.getCause() : e);
+        } catch (Throwable t) {
+            throw new SULException(t);
+        }
+
+        if (isVoid) {
+            return VoidOutput.INSTANCE;
+        } else {
+            return new ReturnValue<@Nullable Object>(ret);
         }
     }
 
@@ -16,6 +16,9 @@
 package de.learnlib.driver.reflect;
 
 import java.lang.reflect.Constructor;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.LinkedBlockingDeque;
 
 import de.learnlib.exception.SULException;
@@ -65,4 +68,37 @@ public class SimplePOJOTestDriverTest {
         driver.post();
     }
 
+    @Test
+    public void testDriverWithStaticAndInvalidInputs() throws Exception {
+
+        final Constructor<?> c = LinkedBlockingDeque.class.getConstructor(int.class);
+        final SimplePOJOTestDriver driver = new SimplePOJOTestDriver(c, 2);
+
+        final MethodInput max = driver.addInput("max", Math.class.getMethod("max", long.class, long.class), 1, 2L);
+        final MethodInput missing =
+                driver.addInput("missing", LinkedBlockingDeque.class.getMethod("offerFirst", Object.class));
+        final MethodInput size = driver.addInput("size", "size");
+
+        driver.pre();
+        Assert.assertEquals(driver.step(max), new ReturnValue<>(2L));
+        Assert.assertThrows(SULException.class, () -> driver.step(missing));
+        Assert.assertEquals(driver.step(size), new ReturnValue<>(0));
+        driver.post();
+    }
+
+
+    @Test
+    public void testInaccessibleInputs() throws Exception {
+
+        // the runtime class of the list is not public, so its own methods can neither be bound nor invoked
+        final List<Integer> list = Collections.unmodifiableList(Arrays.asList(1, 2));
+
+        final MethodInput accessible = new MethodInput("size", List.class.getMethod("size"), new Object[0]);
+        final MethodInput inaccessible = new MethodInput("size", list.getClass().getMethod("size"), new Object[0]);
+
+        Assert.assertEquals(accessible.execute(list), new ReturnValue<>(2));
+        final SULException e = Assert.expectThrows(SULException.class, () -> inaccessible.execute(list));
+        Assert.assertTrue(e.getCause() instanceof IllegalAccessException);
+    }
+
 }
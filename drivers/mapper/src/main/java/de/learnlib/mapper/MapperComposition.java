@@ -15,66 +15,97 @@
  */
 package de.learnlib.mapper;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 import de.learnlib.Mapper;
 import de.learnlib.Mapper.AsynchronousMapper;
 import de.learnlib.Mapper.SynchronousMapper;
 
 /**
- * Utility class for the nested the application of two {@link Mapper mappers}.
+ * Utility class for the nested the application of {@link Mapper mappers}.
  * <p>
  * This class implements both {@link SynchronousMapper} and {@link AsynchronousMapper} since for the nesting semantics
  * is the same for both processing contracts.
+ * <p>
+ * Nested compositions are flattened upon construction, i.e., symbols are passed through a single array of mappers
+ * rather than a chain of nested compositions.
  *
  * @param <AI>
  *         abstract (outer) input type
  * @param <AO>
  *         abstract (outer) output type
- * @param <ACI>
- *         intermediate input type
- * @param <CAO>
- *         intermediate output type
  * @param <CI>
  *         concrete (inner) input type
  * @param <CO>
  *         concrete (inner) output output
- * @param <OUTER>
- *         type of the outer mapper
- * @param <INNER>
- *         type of the inner mapper
  */
-class MapperComposition<AI, AO, ACI, CAO, CI, CO, OUTER extends Mapper<? super AI, ? extends AO, ACI, CAO>, INNER extends Mapper<? super ACI, ? extends CAO, ? extends CI, ? super CO>>
+class MapperComposition<AI, AO, CI, CO>
         implements SynchronousMapper<AI, AO, CI, CO>, AsynchronousMapper<AI, AO, CI, CO> {
 
-    protected final OUTER mapper1;
-    protected final INNER mapper2;
+    /**
+     * The composed mappers, ordered from the outermost to the innermost one.
+     */
+    protected final Mapper<Object, Object, Object, Object>[] mappers;
+
+    <ACI, CAO> MapperComposition(Mapper<? super AI, ? extends AO, ACI, CAO> outerMapper,
+                                 Mapper<? super ACI, ? extends CAO, ? extends CI, ? super CO> innerMapper) {
+        this(flatten(outerMapper, innerMapper));
+    }
 
-    MapperComposition(OUTER outerMapper, INNER innerMapper) {
-        this.mapper1 = outerMapper;
-        this.mapper2 = innerMapper;
+    MapperComposition(Mapper<Object, Object, Object, Object>[] mappers) {
+        this.mappers = mappers;
     }
 
     @Override
     public void pre() {
-        mapper1.pre();
-        mapper2.pre();
+        for (Mapper<Object, Object, Object, Object> m : mappers) {
+            m.pre();
+        }
     }
 
     @Override
     public void post() {
-        mapper2.post();
-        mapper1.post();
+        for (int i = mappers.length - 1; i >= 0; i--) {
+            mappers[i].post();
+        }
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public CI mapInput(AI abstractInput) {
-        ACI aci = mapper1.mapInput(abstractInput);
-        return mapper2.mapInput(aci);
+        Object input = abstractInput;
+        for (Mapper<Object, Object, Object, Object> m : mappers) {
+            input = m.mapInput(input);
+        }
+        return (CI) input;
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public AO mapOutput(CO concreteOutput) {
-        CAO cao = mapper2.mapOutput(concreteOutput);
-        return mapper1.mapOutput(cao);
+        Object output = concreteOutput;
+        for (int i = mappers.length - 1; i >= 0; i--) {
+            output = mappers[i].mapOutput(output);
+        }
+        return (AO) output;
     }
 
+    @SuppressWarnings("unchecked")
+    private static Mapper<Object, Object, Object, Object>[] flatten(Mapper<?, ?, ?, ?> outerMapper,
+                                                                    Mapper<?, ?, ?, ?> innerMapper) {
+        final List<Mapper<?, ?, ?, ?>> result = new ArrayList<>();
+        addFlattened(result, outerMapper);
+        addFlattened(result, innerMapper);
+        return result.toArray(new Mapper[0]);
+    }
+
+    private static void addFlattened(List<Mapper<?, ?, ?, ?>> result, Mapper<?, ?, ?, ?> mapper) {
+        if (mapper instanceof MapperComposition) {
+            Collections.addAll(result, ((MapperComposition<?, ?, ?, ?>) mapper).mappers);
+        } else {
+            result.add(mapper);
+        }
+    }
 }
@@ -17,67 +17,102 @@ package de.learnlib.mapper;
 
 import java.util.Optional;
 
+import de.learnlib.Mapper;
 import de.learnlib.exception.MappedException;
 import de.learnlib.exception.SULException;
 import de.learnlib.sul.SULMapper;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
-final class SULMapperComposition<AI, AO, ACI, CAO, CI, CO>
-        extends MapperComposition<AI, AO, ACI, CAO, CI, CO, SULMapper<? super AI, ? extends AO, ACI, CAO>, SULMapper<? super ACI, ? extends CAO, ? extends CI, ? super CO>>
+final class SULMapperComposition<AI, AO, CI, CO> extends MapperComposition<AI, AO, CI, CO>
         implements SULMapper<AI, AO, CI, CO> {
 
-    SULMapperComposition(SULMapper<? super AI, ? extends AO, ACI, CAO> outerMapper,
-                         SULMapper<? super ACI, ? extends CAO, ? extends CI, ? super CO> innerMapper) {
+    <ACI, CAO> SULMapperComposition(SULMapper<? super AI, ? extends AO, ACI, CAO> outerMapper,
+                                    SULMapper<? super ACI, ? extends CAO, ? extends CI, ? super CO> innerMapper) {
         super(outerMapper, innerMapper);
     }
 
-    @SuppressWarnings("PMD.AvoidCatchingGenericException") //  we want to allow mapping generic RuntimeExceptions
+    private SULMapperComposition(Mapper<Object, Object, Object, Object>[] mappers) {
+        super(mappers);
+    }
+
     @Override
     public MappedException<? extends AO> mapWrappedException(SULException exception) {
-        MappedException<? extends CAO> mappedEx;
-        try {
-            mappedEx = mapper2.mapWrappedException(exception);
-        } catch (SULException ex) {
-            return mapper1.mapWrappedException(ex);
-        } catch (RuntimeException ex) {
-            return mapper1.mapUnwrappedException(ex);
-        }
-
-        return mapMappedException(mappedEx);
+        return mapException(exception, true);
     }
 
-    @SuppressWarnings("PMD.AvoidCatchingGenericException") //  we want to allow mapping generic RuntimeExceptions
     @Override
     public MappedException<? extends AO> mapUnwrappedException(RuntimeException exception) {
-        MappedException<? extends CAO> mappedEx;
-        try {
-            mappedEx = mapper2.mapUnwrappedException(exception);
-        } catch (SULException ex) {
-            return mapper1.mapWrappedException(ex);
-        } catch (RuntimeException ex) {
-            return mapper1.mapUnwrappedException(ex);
-        }
-
-        return mapMappedException(mappedEx);
+        return mapException(exception, false);
     }
 
     @Override
     public boolean canFork() {
-        return mapper1.canFork() && mapper2.canFork();
+        for (Mapper<Object, Object, Object, Object> m : mappers) {
+            if (!asSULMapper(m).canFork()) {
+                return false;
+            }
+        }
+        return true;
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public SULMapper<AI, AO, CI, CO> fork() {
-        return new SULMapperComposition<>(mapper1.fork(), mapper2.fork());
+        final Mapper<Object, Object, Object, Object>[] forks = new Mapper[mappers.length];
+        for (int i = 0; i < mappers.length; i++) {
+            forks[i] = asSULMapper(mappers[i]).fork();
+        }
+        return new SULMapperComposition<>(forks);
     }
 
-    private MappedException<? extends AO> mapMappedException(MappedException<? extends CAO> mappedEx) {
-        AO thisStepOutput = mapper1.mapOutput(mappedEx.getThisStepOutput());
-        Optional<? extends CAO> repeatOutput = mappedEx.getSubsequentStepsOutput();
+    /**
+     * Passes the given exception from the innermost to the outermost mapper. Each mapper either maps the (pending)
+     * exception or the outputs of the {@link MappedException} of its inner mapper. Exceptions thrown by any but the
+     * outermost mapper are passed to the next outer mapper, exceptions of the outermost mapper are propagated.
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException") //  we want to allow mapping generic RuntimeExceptions
+    private MappedException<? extends AO> mapException(RuntimeException exception, boolean wrapped) {
+        RuntimeException pending = exception;
+        boolean pendingWrapped = wrapped;
+        MappedException<?> mapped = null;
+
+        for (int i = mappers.length - 1; i > 0; i--) {
+            try {
+                mapped = mapException(asSULMapper(mappers[i]), pending, pendingWrapped, mapped);
+                pending = null;
+            } catch (RuntimeException ex) {
+                pending = ex;
+                pendingWrapped = ex instanceof SULException;
+                mapped = null;
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        final MappedException<? extends AO> result =
+                (MappedException<? extends AO>) mapException(asSULMapper(mappers[0]), pending, pendingWrapped, mapped);
+        return result;
+    }
+
+    private static MappedException<?> mapException(SULMapper<Object, Object, Object, Object> mapper,
+                                                   @Nullable RuntimeException pending,
+                                                   boolean wrapped,
+                                                   @Nullable MappedException<?> mapped) {
+        if (pending != null) {
+            return wrapped ? mapper.mapWrappedException((SULException) pending) : mapper.mapUnwrappedException(pending);
+        }
+
+        assert mapped != null;
+        final Object thisStepOutput = mapper.mapOutput(mapped.getThisStepOutput());
+        final Optional<?> repeatOutput = mapped.getSubsequentStepsOutput();
         if (repeatOutput.isPresent()) {
-            AO repeatOutputMapped = mapper1.mapOutput(repeatOutput.get());
+            final Object repeatOutputMapped = mapper.mapOutput(repeatOutput.get());
             return MappedException.repeatOutput(thisStepOutput, repeatOutputMapped);
         }
         return MappedException.ignoreAndContinue(thisStepOutput);
     }
 
+    @SuppressWarnings("unchecked")
+    private static SULMapper<Object, Object, Object, Object> asSULMapper(Mapper<Object, Object, Object, Object> mapper) {
+        return (SULMapper<Object, Object, Object, Object>) mapper;
+    }
 }
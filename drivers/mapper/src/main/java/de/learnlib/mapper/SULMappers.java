@@ -17,6 +17,7 @@ package de.learnlib.mapper;
 
 import de.learnlib.sul.SUL;
 import de.learnlib.sul.SULMapper;
+import net.automatalib.alphabet.Alphabet;
 
 /**
  * Utility methods for manipulating mappers.
@@ -37,4 +38,33 @@ public final class SULMappers {
         return new MappedSUL<>(mapper, sul);
     }
 
+    /**
+     * Returns a mapper that caches the translations of the given mapper. The concrete inputs of all symbols of the
+     * given alphabet are computed upfront and abstract outputs are memorized upon their first occurrence, which avoids
+     * re-translating (and re-allocating) symbols in every step.
+     * <p>
+     * This is only sound if the given mapper is stateless, i.e., its translations neither depend on previous steps nor
+     * on {@link SULMapper#pre()}/{@link SULMapper#post()}, and deterministic, i.e., equal symbols are always translated
+     * to equal symbols. Since every observed concrete output is kept, the concrete output domain should be finite.
+     *
+     * @param mapper
+     *         the mapper whose translations should be cached
+     * @param alphabet
+     *         the abstract input symbols whose translations are precomputed
+     * @param <AI>
+     *         abstract input symbol type
+     * @param <AO>
+     *         abstract output symbol type
+     * @param <CI>
+     *         concrete input symbol type
+     * @param <CO>
+     *         concrete output symbol type
+     *
+     * @return the caching mapper
+     */
+    public static <AI, AO, CI, CO> SULMapper<AI, AO, CI, CO> tabulate(SULMapper<AI, AO, CI, CO> mapper,
+                                                                      Alphabet<AI> alphabet) {
+        return new TabulatedSULMapper<>(mapper, alphabet);
+    }
+
 }
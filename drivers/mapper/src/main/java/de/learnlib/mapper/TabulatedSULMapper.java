@@ -0,0 +1,113 @@
+/* Copyright (C) 2013-2024 TU Dortmund University
+ * This file is part of LearnLib, http://www.learnlib.de/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.learnlib.mapper;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import de.learnlib.exception.MappedException;
+import de.learnlib.exception.SULException;
+import de.learnlib.sul.SULMapper;
+
+/**
+ * A {@link SULMapper} that caches the translations of a stateless, deterministic delegate. Concrete inputs are
+ * precomputed for all symbols of a given alphabet and abstract outputs are memorized upon their first occurrence, so
+ * that repeated symbols are translated by a single map lookup. All other methods are forwarded to the delegate.
+ *
+ * @param <AI>
+ *         abstract input symbol type
+ * @param <AO>
+ *         abstract output symbol type
+ * @param <CI>
+ *         concrete input symbol type
+ * @param <CO>
+ *         concrete output symbol type
+ */
+final class TabulatedSULMapper<AI, AO, CI, CO> implements SULMapper<AI, AO, CI, CO> {
+
+    private final SULMapper<AI, AO, CI, CO> delegate;
+    private final Map<AI, CI> inputs;
+    private final Map<CO, AO> outputs;
+
+    TabulatedSULMapper(SULMapper<AI, AO, CI, CO> delegate, Iterable<? extends AI> alphabet) {
+        this(delegate, tabulateInputs(delegate, alphabet));
+    }
+
+    private TabulatedSULMapper(SULMapper<AI, AO, CI, CO> delegate, Map<AI, CI> inputs) {
+        this.delegate = delegate;
+        this.inputs = inputs;
+        this.outputs = new HashMap<>();
+    }
+
+    @Override
+    public void pre() {
+        delegate.pre();
+    }
+
+    @Override
+    public void post() {
+        delegate.post();
+    }
+
+    @Override
+    public CI mapInput(AI abstractInput) {
+        final CI result = inputs.get(abstractInput);
+        return result == null ? delegate.mapInput(abstractInput) : result;
+    }
+
+    @Override
+    public AO mapOutput(CO concreteOutput) {
+        AO result = outputs.get(concreteOutput);
+        if (result == null) {
+            result = delegate.mapOutput(concreteOutput);
+            outputs.put(concreteOutput, result);
+        }
+        return result;
+    }
+
+    @Override
+    public MappedException<? extends AO> mapWrappedException(SULException exception) {
+        return delegate.mapWrappedException(exception);
+    }
+
+    @Override
+    public MappedException<? extends AO> mapUnwrappedException(RuntimeException exception) {
+        return delegate.mapUnwrappedException(exception);
+    }
+
+    @Override
+    public boolean canFork() {
+        return delegate.canFork();
+    }
+
+    /**
+     * Forks the delegate and returns a mapper that shares the (immutable) input table but uses a separate output
+     * table, so that forks may be used concurrently.
+     */
+    @Override
+    public SULMapper<AI, AO, CI, CO> fork() {
+        return new TabulatedSULMapper<>(delegate.fork(), inputs);
+    }
+
+    private static <AI, CI> Map<AI, CI> tabulateInputs(SULMapper<AI, ?, CI, ?> delegate,
+                                                       Iterable<? extends AI> alphabet) {
+        final Map<AI, CI> result = new HashMap<>();
+        for (AI input : alphabet) {
+            result.put(input, delegate.mapInput(input));
+        }
+        return result;
+    }
+}
@@ -15,6 +15,8 @@
  */
 package de.learnlib.mapper;
 
+import java.util.Arrays;
+
 import de.learnlib.Mapper;
 import net.automatalib.alphabet.impl.Alphabets;
 import org.testng.Assert;
@@ -67,6 +69,30 @@ public class MapperCompositionTest {
         Assert.assertEquals(2, this.toUpperCaseMapper.getPostCounter());
     }
 
+    @Test
+    public void testNestedComposition() {
+        final ToUpperCaseMapper m1 = new ToUpperCaseMapper();
+        final ToUpperCaseMapper m2 = new ToUpperCaseMapper();
+        final ToUpperCaseMapper m3 = new ToUpperCaseMapper();
+
+        final Mapper<Character, Character, Character, Character> left =
+                Mappers.compose(Mappers.compose(m1, m2), m3);
+        final Mapper<Character, Character, Character, Character> right =
+                Mappers.compose(m1, Mappers.compose(m2, m3));
+
+        for (Mapper<Character, Character, Character, Character> m : Arrays.asList(left, right)) {
+            m.pre();
+            Assert.assertEquals(m.mapInput('a').charValue(), 'A');
+            Assert.assertEquals(m.mapOutput('b').charValue(), 'B');
+            m.post();
+        }
+
+        for (ToUpperCaseMapper m : new ToUpperCaseMapper[] {m1, m2, m3}) {
+            Assert.assertEquals(m.getPreCounter(), 2);
+            Assert.assertEquals(m.getPostCounter(), 2);
+        }
+    }
+
     private static final class ToUpperCaseMapper implements Mapper<Character, Character, Character, Character> {
 
         private int preCounter;
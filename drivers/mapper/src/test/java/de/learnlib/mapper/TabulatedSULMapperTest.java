@@ -0,0 +1,103 @@
+/* Copyright (C) 2013-2024 TU Dortmund University
+ * This file is part of LearnLib, http://www.learnlib.de/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.learnlib.mapper;
+
+import de.learnlib.sul.SULMapper;
+import net.automatalib.alphabet.Alphabet;
+import net.automatalib.alphabet.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class TabulatedSULMapperTest {
+
+    @Test
+    public void testTabulation() {
+        final Alphabet<Character> alphabet = Alphabets.characters('a', 'c');
+        final CountingMapper delegate = new CountingMapper();
+        final SULMapper<Character, String, Integer, Integer> mapper = SULMappers.tabulate(delegate, alphabet);
+
+        // inputs are computed upfront
+        Assert.assertEquals(delegate.inputCounter, alphabet.size());
+
+        for (int i = 0; i < 3; i++) {
+            for (Character c : alphabet) {
+                Assert.assertEquals(mapper.mapInput(c).intValue(), (int) c);
+            }
+            Assert.assertEquals(mapper.mapOutput(1), "1");
+            Assert.assertEquals(mapper.mapOutput(2), "2");
+        }
+
+        Assert.assertEquals(delegate.inputCounter, alphabet.size());
+        Assert.assertEquals(delegate.outputCounter, 2);
+
+        // symbols outside the alphabet are passed to the delegate
+        Assert.assertEquals(mapper.mapInput('z').intValue(), (int) 'z');
+        Assert.assertEquals(delegate.inputCounter, alphabet.size() + 1);
+
+        mapper.pre();
+        mapper.post();
+        Assert.assertEquals(delegate.preCounter, 1);
+        Assert.assertEquals(delegate.postCounter, 1);
+
+        // forks share the input table but not the output table
+        Assert.assertTrue(mapper.canFork());
+        final SULMapper<Character, String, Integer, Integer> fork = mapper.fork();
+        Assert.assertEquals(fork.mapInput('a').intValue(), (int) 'a');
+        Assert.assertEquals(fork.mapOutput(1), "1");
+        Assert.assertEquals(delegate.inputCounter, alphabet.size() + 1);
+        Assert.assertEquals(delegate.outputCounter, 3);
+    }
+
+    private static final class CountingMapper implements SULMapper<Character, String, Integer, Integer> {
+
+        private int inputCounter;
+        private int outputCounter;
+        private int preCounter;
+        private int postCounter;
+
+        @Override
+        public void pre() {
+            preCounter++;
+        }
+
+        @Override
+        public void post() {
+            postCounter++;
+        }
+
+        @Override
+        public Integer mapInput(Character abstractInput) {
+            inputCounter++;
+            return (int) abstractInput;
+        }
+
+        @Override
+        public String mapOutput(Integer concreteOutput) {
+            outputCounter++;
+            return String.valueOf(concreteOutput);
+        }
+
+        @Override
+        public boolean canFork() {
+            return true;
+        }
+
+        @Override
+        public SULMapper<Character, String, Integer, Integer> fork() {
+            return this;
+        }
+    }
+}
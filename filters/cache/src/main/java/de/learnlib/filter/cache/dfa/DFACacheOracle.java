@@ -24,6 +24,9 @@ import java.util.Set;
 import de.learnlib.Resumable;
 import de.learnlib.filter.cache.LearningCacheOracle.DFALearningCacheOracle;
 import de.learnlib.filter.cache.dfa.DFACacheOracle.DFACacheOracleState;
+import de.learnlib.jfr.Event;
+import de.learnlib.jfr.EventType;
+import de.learnlib.jfr.QueryEvents;
 import de.learnlib.logging.Category;
 import de.learnlib.oracle.EquivalenceOracle.DFAEquivalenceOracle;
 import de.learnlib.oracle.MembershipOracle;
@@ -73,6 +76,7 @@ public class DFACacheOracle<I>
             return;
         }
 
+        final Event event = EventType.CACHE_BATCH.begin();
         final Pair<Collection<ProxyQuery<I>>, Collection<Query<I, Boolean>>> cacheResult = queryCache(queries);
         final Collection<ProxyQuery<I>> unanswered = cacheResult.getFirst();
         final Collection<Query<I, Boolean>> duplicates = cacheResult.getSecond();
@@ -83,6 +87,8 @@ public class DFACacheOracle<I>
         if (!duplicates.isEmpty()) {
             queryCache(duplicates);
         }
+
+        QueryEvents.commitCacheBatch(event, getClass(), queries, unanswered.size());
     }
 
     @Override
@@ -26,6 +26,9 @@ import java.util.Set;
 import de.learnlib.Resumable;
 import de.learnlib.filter.cache.LearningCacheOracle.DFALearningCacheOracle;
 import de.learnlib.filter.cache.dfa.DFAHashCacheOracle.DFAHashCacheOracleState;
+import de.learnlib.jfr.Event;
+import de.learnlib.jfr.EventType;
+import de.learnlib.jfr.QueryEvents;
 import de.learnlib.oracle.EquivalenceOracle;
 import de.learnlib.oracle.MembershipOracle;
 import de.learnlib.query.Query;
@@ -62,6 +65,7 @@ public class DFAHashCacheOracle<I> implements DFALearningCacheOracle<I>, Resumab
 
     @Override
     public void processQueries(Collection<? extends Query<I, Boolean>> queries) {
+        final Event event = EventType.CACHE_BATCH.begin();
         final List<ProxyQuery<I>> misses = new ArrayList<>();
         final List<Query<I, Boolean>> duplicates = new ArrayList<>();
         final Set<Word<I>> batchCache = new HashSet<>();
@@ -91,6 +95,8 @@ public class DFAHashCacheOracle<I> implements DFALearningCacheOracle<I>, Resumab
                 d.answer(cache.get(d.getInput()));
             }
         }
+
+        QueryEvents.commitCacheBatch(event, getClass(), queries, misses.size());
     }
 
     @Override
@@ -65,9 +65,18 @@ public class AdaptiveQueryCache<I, O> implements AdaptiveMembershipOracle<I, O>,
     private CompactMealy<I, O> cache;
 
     public AdaptiveQueryCache(AdaptiveMembershipOracle<I, O> delegate, Alphabet<I> alphabet) {
+        this(delegate, createCache(alphabet));
+    }
+
+    AdaptiveQueryCache(AdaptiveMembershipOracle<I, O> delegate, CompactMealy<I, O> cache) {
         this.delegate = delegate;
-        this.cache = new CompactMealy<>(alphabet);
-        this.cache.addInitialState();
+        this.cache = cache;
+    }
+
+    static <I, O> CompactMealy<I, O> createCache(Alphabet<I> alphabet) {
+        final CompactMealy<I, O> result = new CompactMealy<>(alphabet);
+        result.addInitialState();
+        return result;
     }
 
     @Override
@@ -79,48 +88,15 @@ public class AdaptiveQueryCache<I, O> implements AdaptiveMembershipOracle<I, O>,
         while (!queue.isEmpty()) {
 
             // try to answer queries from cache
-            cacheLoop:
-            while (!queue.isEmpty()) {
-                final AdaptiveQuery<I, O> query = queue.poll();
-                final WordBuilder<I> trace = new WordBuilder<>();
-                Integer curr = this.cache.getInitialState();
-                Response response;
-
-                do {
-                    final I input = query.getInput();
-                    final CompactTransition<O> trans = this.cache.getTransition(curr, input);
-
-                    trace.add(input);
-
-                    if (trans == null) {
-                        unanswered.add(new TrackingQuery(query, trace));
-                        continue cacheLoop;
-                    }
-
-                    final O output = this.cache.getTransitionOutput(trans);
-                    response = query.processOutput(output);
-
-                    if (response == Response.RESET) {
-                        curr = this.cache.getInitialState();
-                        trace.clear();
-                    } else {
-                        curr = this.cache.getSuccessor(trans);
-                    }
-                } while (response != Response.FINISHED);
-            }
+            queryCache(queue, unanswered);
 
             // delegate non-answered queries
             this.delegate.processQueries(unanswered);
 
             // feed back information into cache
-            for (TrackingQuery query : unanswered) {
-                final Word<I> input = query.inputBuilder.toWord();
-                final Word<O> output = query.outputBuilder.toWord();
-
-                assert input.length() == output.length();
-
-                insert(input, output);
+            updateCache(unanswered);
 
+            for (TrackingQuery query : unanswered) {
                 if (!query.isFinished) { // re-queue reset successor
                     queue.add(query.delegate);
                 }
@@ -130,6 +106,64 @@ public class AdaptiveQueryCache<I, O> implements AdaptiveMembershipOracle<I, O>,
         }
     }
 
+    /**
+     * Answers the given queries from the cache as far as possible. The queue is fully drained by this method, and each
+     * query that cannot be answered by the cache is added to the given list of unanswered queries.
+     *
+     * @param queue
+     *         the queries to answer
+     * @param unanswered
+     *         the list to which queries are added that need to be answered by the delegate
+     */
+    void queryCache(Deque<AdaptiveQuery<I, O>> queue, List<TrackingQuery> unanswered) {
+        cacheLoop:
+        while (!queue.isEmpty()) {
+            final AdaptiveQuery<I, O> query = queue.poll();
+            final WordBuilder<I> trace = new WordBuilder<>();
+            Integer curr = this.cache.getInitialState();
+            Response response;
+
+            do {
+                final I input = query.getInput();
+                final CompactTransition<O> trans = this.cache.getTransition(curr, input);
+
+                trace.add(input);
+
+                if (trans == null) {
+                    unanswered.add(new TrackingQuery(query, trace));
+                    continue cacheLoop;
+                }
+
+                final O output = this.cache.getTransitionOutput(trans);
+                response = query.processOutput(output);
+
+                if (response == Response.RESET) {
+                    curr = this.cache.getInitialState();
+                    trace.clear();
+                } else {
+                    curr = this.cache.getSuccessor(trans);
+                }
+            } while (response != Response.FINISHED);
+        }
+    }
+
+    /**
+     * Incorporates the traces of the given (answered) queries into the cache.
+     *
+     * @param queries
+     *         the queries whose traces should be inserted
+     */
+    void updateCache(Collection<TrackingQuery> queries) {
+        for (TrackingQuery query : queries) {
+            final Word<I> input = query.inputBuilder.toWord();
+            final Word<O> output = query.outputBuilder.toWord();
+
+            assert input.length() == output.length();
+
+            insert(input, output);
+        }
+    }
+
     @Override
     public EquivalenceOracle<MealyMachine<?, I, ?, O>, I, Word<O>> createCacheConsistencyTest() {
         return (hypothesis, alphabet) -> {
@@ -218,7 +252,7 @@ public class AdaptiveQueryCache<I, O> implements AdaptiveMembershipOracle<I, O>,
         return curr;
     }
 
-    private class TrackingQuery implements AdaptiveQuery<I, O> {
+    class TrackingQuery implements AdaptiveQuery<I, O> {
 
         private final AdaptiveQuery<I, O> delegate;
         private final WordBuilder<I> inputBuilder;
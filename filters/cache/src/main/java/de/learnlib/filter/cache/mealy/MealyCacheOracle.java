@@ -26,6 +26,9 @@ import de.learnlib.filter.cache.DynamicSymbolComparator;
 import de.learnlib.filter.cache.LearningCacheOracle.MealyLearningCacheOracle;
 import de.learnlib.filter.cache.ReverseLexCmp;
 import de.learnlib.filter.cache.mealy.MealyCacheOracle.MealyCacheOracleState;
+import de.learnlib.jfr.Event;
+import de.learnlib.jfr.EventType;
+import de.learnlib.jfr.QueryEvents;
 import de.learnlib.logging.Category;
 import de.learnlib.oracle.EquivalenceOracle.MealyEquivalenceOracle;
 import de.learnlib.oracle.MembershipOracle;
@@ -98,6 +101,7 @@ public class MealyCacheOracle<I, O>
             return;
         }
 
+        final Event event = EventType.CACHE_BATCH.begin();
         List<? extends Query<I, Word<O>>> qrys = new ArrayList<>(queries);
         qrys.sort(queryCmp);
 
@@ -106,6 +110,8 @@ public class MealyCacheOracle<I, O>
         delegate.processQueries(masterQueries);
 
         updateCache(masterQueries);
+
+        QueryEvents.commitCacheBatch(event, getClass(), queries, masterQueries.size());
     }
 
     @Override
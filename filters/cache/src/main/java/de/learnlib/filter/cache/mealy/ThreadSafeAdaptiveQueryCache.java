@@ -0,0 +1,132 @@
+/* Copyright (C) 2013-2024 TU Dortmund University
+ * This file is part of LearnLib, http://www.learnlib.de/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.learnlib.filter.cache.mealy;
+
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+
+import de.learnlib.oracle.AdaptiveMembershipOracle;
+import de.learnlib.oracle.EquivalenceOracle;
+import de.learnlib.query.AdaptiveQuery;
+import net.automatalib.automaton.transducer.MealyMachine;
+import net.automatalib.automaton.transducer.impl.CompactMealy;
+import net.automatalib.word.Word;
+
+/**
+ * A thread-safe variant of {@link AdaptiveQueryCache}.
+ * <p>
+ * Multiple instances may share the same cache (see {@link ThreadSafeMealyCaches#createAdaptiveQueryCache}) so that
+ * several learner threads or the workers of a parallel adaptive oracle can benefit from each other's observations.
+ * Each batch is first answered from the cache under a single acquisition of the read lock. Cache-misses are then
+ * forwarded to the delegate oracle without holding any lock, so that delegates of different instances can run
+ * concurrently. Finally, all traces of a batch are inserted into the cache under a single acquisition of the write
+ * lock.
+ *
+ * @param <I>
+ *         input symbol type
+ * @param <O>
+ *         output symbol type
+ */
+public class ThreadSafeAdaptiveQueryCache<I, O> extends AdaptiveQueryCache<I, O> {
+
+    private final ReadWriteLock lock;
+
+    ThreadSafeAdaptiveQueryCache(AdaptiveMembershipOracle<I, O> delegate,
+                                 CompactMealy<I, O> cache,
+                                 ReadWriteLock lock) {
+        super(delegate, cache);
+        this.lock = lock;
+    }
+
+    @Override
+    void queryCache(Deque<AdaptiveQuery<I, O>> queue, List<TrackingQuery> unanswered) {
+        this.lock.readLock().lock();
+        try {
+            super.queryCache(queue, unanswered);
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    void updateCache(Collection<TrackingQuery> queries) {
+        if (queries.isEmpty()) {
+            return;
+        }
+
+        this.lock.writeLock().lock();
+        try {
+            super.updateCache(queries);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Integer insert(Integer state, Word<I> input, Word<O> output) {
+        this.lock.writeLock().lock();
+        try {
+            return super.insert(state, input, output);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public EquivalenceOracle<MealyMachine<?, I, ?, O>, I, Word<O>> createCacheConsistencyTest() {
+        final EquivalenceOracle<MealyMachine<?, I, ?, O>, I, Word<O>> delegate = super.createCacheConsistencyTest();
+        return (hypothesis, alphabet) -> {
+            this.lock.readLock().lock();
+            try {
+                return delegate.findCounterExample(hypothesis, alphabet);
+            } finally {
+                this.lock.readLock().unlock();
+            }
+        };
+    }
+
+    @Override
+    public AdaptiveQueryCacheState<I, O> suspend() {
+        this.lock.readLock().lock();
+        try {
+            return super.suspend();
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void resume(AdaptiveQueryCacheState<I, O> state) {
+        this.lock.writeLock().lock();
+        try {
+            super.resume(state);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void addAlphabetSymbol(I symbol) {
+        this.lock.writeLock().lock();
+        try {
+            super.addAlphabetSymbol(symbol);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+}
@@ -24,10 +24,12 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
+import de.learnlib.oracle.AdaptiveMembershipOracle;
 import de.learnlib.oracle.MembershipOracle;
 import de.learnlib.oracle.parallelism.ParallelOracleBuilders;
 import net.automatalib.alphabet.Alphabet;
 import net.automatalib.automaton.transducer.MealyMachine;
+import net.automatalib.automaton.transducer.impl.CompactMealy;
 import net.automatalib.common.util.mapping.Mapping;
 import net.automatalib.incremental.mealy.IncrementalMealyBuilder;
 import net.automatalib.incremental.mealy.dag.IncrementalMealyDAGBuilder;
@@ -37,8 +39,9 @@ import net.automatalib.word.Word;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
- * A factory for creating thread-safe caches for {@link MealyMachine}-based {@link MembershipOracle}s. Parameters and
- * return types are tailored towards the use with {@link ParallelOracleBuilders}.
+ * A factory for creating thread-safe caches for {@link MealyMachine}-based {@link MembershipOracle}s and
+ * {@link AdaptiveMembershipOracle}s. Parameters and return types are tailored towards the use with
+ * {@link ParallelOracleBuilders}.
  */
 public final class ThreadSafeMealyCaches {
 
@@ -350,6 +353,57 @@ public final class ThreadSafeMealyCaches {
         return result;
     }
 
+    /**
+     * Enhances a given oracle supplier with a shared, thread-safe cache for an adaptive Mealy machine learning setup,
+     * using a tree for internal cache organization.
+     *
+     * @param alphabet
+     *         the alphabet containing the symbols of possible queries
+     * @param oracleSupplier
+     *         the supplier that is used to construct the delegate oracle for the cache, in case of a cache-miss.
+     * @param <I>
+     *         input symbol type
+     * @param <O>
+     *         output symbol type
+     *
+     * @return a supplier for {@link ThreadSafeAdaptiveQueryCache}s.
+     */
+    public static <I, O> Supplier<ThreadSafeAdaptiveQueryCache<I, O>> createAdaptiveQueryCache(Alphabet<I> alphabet,
+                                                                                               Supplier<? extends AdaptiveMembershipOracle<I, O>> oracleSupplier) {
+        final ReadWriteLock lock = new ReentrantReadWriteLock();
+        final CompactMealy<I, O> cache = AdaptiveQueryCache.createCache(alphabet);
+        return () -> new ThreadSafeAdaptiveQueryCache<>(oracleSupplier.get(), cache, lock);
+    }
+
+    /**
+     * Enhances each oracle of a given collection with a shared, thread-safe cache for an adaptive Mealy machine
+     * learning setup, using a tree for internal cache organization.
+     *
+     * @param alphabet
+     *         the alphabet containing the symbols of possible queries
+     * @param oracles
+     *         the collection of oracles which will be used as delegates (in case of a cache-miss) by the corresponding
+     *         oracles caches.
+     * @param <I>
+     *         input symbol type
+     * @param <O>
+     *         output symbol type
+     *
+     * @return a collection of {@link ThreadSafeAdaptiveQueryCache}s.
+     */
+    public static <I, O> Collection<ThreadSafeAdaptiveQueryCache<I, O>> createAdaptiveQueryCache(Alphabet<I> alphabet,
+                                                                                                 Collection<? extends AdaptiveMembershipOracle<I, O>> oracles) {
+        final ReadWriteLock lock = new ReentrantReadWriteLock();
+        final CompactMealy<I, O> cache = AdaptiveQueryCache.createCache(alphabet);
+        final List<ThreadSafeAdaptiveQueryCache<I, O>> result = new ArrayList<>(oracles.size());
+
+        for (AdaptiveMembershipOracle<I, O> oracle : oracles) {
+            result.add(new ThreadSafeAdaptiveQueryCache<>(oracle, cache, lock));
+        }
+
+        return result;
+    }
+
     private static <I, O> Supplier<ThreadSafeMealyCacheOracle<I, O>> createSupplierBasedCache(Alphabet<I> alphabet,
                                                                                               @Nullable Mapping<? super O, ? extends O> errorSyms,
                                                                                               Supplier<? extends MembershipOracle<I, Word<O>>> oracleSupplier,
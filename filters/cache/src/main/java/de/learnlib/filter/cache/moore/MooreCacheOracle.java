@@ -26,6 +26,9 @@ import de.learnlib.filter.cache.DynamicSymbolComparator;
 import de.learnlib.filter.cache.LearningCacheOracle.MooreLearningCacheOracle;
 import de.learnlib.filter.cache.ReverseLexCmp;
 import de.learnlib.filter.cache.moore.MooreCacheOracle.MooreCacheOracleState;
+import de.learnlib.jfr.Event;
+import de.learnlib.jfr.EventType;
+import de.learnlib.jfr.QueryEvents;
 import de.learnlib.logging.Category;
 import de.learnlib.oracle.EquivalenceOracle.MooreEquivalenceOracle;
 import de.learnlib.oracle.MembershipOracle;
@@ -99,6 +102,7 @@ public class MooreCacheOracle<I, O>
             return;
         }
 
+        final Event event = EventType.CACHE_BATCH.begin();
         List<? extends Query<I, Word<O>>> qrys = new ArrayList<>(queries);
         qrys.sort(queryCmp);
 
@@ -107,6 +111,8 @@ public class MooreCacheOracle<I, O>
         delegate.processQueries(masterQueries);
 
         updateCache(masterQueries);
+
+        QueryEvents.commitCacheBatch(event, getClass(), queries, masterQueries.size());
     }
 
     @Override
@@ -0,0 +1,106 @@
+/* Copyright (C) 2013-2024 TU Dortmund University
+ * This file is part of LearnLib, http://www.learnlib.de/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.learnlib.filter.cache.sul;
+
+import java.util.AbstractSet;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import net.automatalib.alphabet.Alphabet;
+
+/**
+ * A pool for the {@link de.learnlib.sul.StateLocalInputSUL#currentlyEnabledInputs() enabled inputs} stored by the
+ * {@link StateLocalInputSULCache}s. Collections that only consist of symbols of the given alphabet are encoded as bit
+ * sets over the symbol indices, and equal bit sets share a single (immutable) collection instance. Collections that
+ * contain other symbols are returned as-is.
+ *
+ * @param <I>
+ *         input symbol type
+ */
+final class EnabledInputsPool<I> {
+
+    private final Alphabet<I> alphabet;
+    private final Map<BitSet, Collection<I>> pool;
+
+    EnabledInputsPool(Alphabet<I> alphabet, Map<BitSet, Collection<I>> pool) {
+        this.alphabet = alphabet;
+        this.pool = pool;
+    }
+
+    Collection<I> intern(Collection<I> inputs) {
+        final BitSet bits = new BitSet(alphabet.size());
+
+        for (I i : inputs) {
+            if (!alphabet.containsSymbol(i)) {
+                return inputs;
+            }
+            bits.set(alphabet.getSymbolIndex(i));
+        }
+
+        return pool.computeIfAbsent(bits, b -> new BitSetInputs<>(alphabet, b));
+    }
+
+    private static final class BitSetInputs<I> extends AbstractSet<I> {
+
+        private final Alphabet<I> alphabet;
+        private final BitSet bits;
+        private final int size;
+
+        BitSetInputs(Alphabet<I> alphabet, BitSet bits) {
+            this.alphabet = alphabet;
+            this.bits = bits;
+            this.size = bits.cardinality();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean contains(Object o) {
+            final I sym = (I) o;
+            return alphabet.containsSymbol(sym) && bits.get(alphabet.getSymbolIndex(sym));
+        }
+
+        @Override
+        public Iterator<I> iterator() {
+            return new Iterator<I>() {
+
+                private int next = bits.nextSetBit(0);
+
+                @Override
+                public boolean hasNext() {
+                    return next >= 0;
+                }
+
+                @Override
+                public I next() {
+                    if (next < 0) {
+                        throw new NoSuchElementException();
+                    }
+                    final I result = alphabet.getSymbol(next);
+                    next = bits.nextSetBit(next + 1);
+                    return result;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -132,6 +132,6 @@ public final class SULCaches {
      */
     public static <I, O> StateLocalInputSULCache<I, O> createStateLocalInputTreeCache(Alphabet<I> alphabet,
                                                                                       StateLocalInputSUL<I, O> sul) {
-        return new StateLocalInputSULCache<>(new IncrementalMealyTreeBuilder<>(alphabet), sul);
+        return new StateLocalInputSULCache<>(new IncrementalMealyTreeBuilder<>(alphabet), alphabet, sul);
     }
 }
@@ -23,6 +23,7 @@ import java.util.Map;
 
 import de.learnlib.filter.cache.sul.StateLocalInputSULCache.StateLocalInputSULCacheState;
 import de.learnlib.sul.StateLocalInputSUL;
+import net.automatalib.alphabet.Alphabet;
 import net.automatalib.incremental.mealy.IncrementalMealyBuilder;
 import net.automatalib.ts.output.MealyTransitionSystem;
 import net.automatalib.word.WordBuilder;
@@ -41,8 +42,13 @@ public class StateLocalInputSULCache<I, O> extends AbstractSULCache<I, O, StateL
 
     private final StateLocalInputSULCacheImpl<?, I, ?, O> impl;
 
-    StateLocalInputSULCache(IncrementalMealyBuilder<I, O> incMealy, StateLocalInputSUL<I, O> sul) {
-        this(new StateLocalInputSULCacheImpl<>(incMealy, incMealy.asTransitionSystem(), sul));
+    StateLocalInputSULCache(IncrementalMealyBuilder<I, O> incMealy,
+                            Alphabet<I> alphabet,
+                            StateLocalInputSUL<I, O> sul) {
+        this(new StateLocalInputSULCacheImpl<>(incMealy,
+                                               incMealy.asTransitionSystem(),
+                                               new EnabledInputsPool<>(alphabet, new HashMap<>()),
+                                               sul));
     }
 
     <S, T> StateLocalInputSULCache(StateLocalInputSULCacheImpl<S, I, T, O> cacheImpl) {
@@ -68,17 +74,20 @@ public class StateLocalInputSULCache<I, O> extends AbstractSULCache<I, O, StateL
 
         private S initialState;
         protected Map<S, Collection<I>> enabledInputCache;
+        protected final EnabledInputsPool<I> enabledInputsPool;
         private final List<Collection<I>> inputsTrace;
 
         StateLocalInputSULCacheImpl(IncrementalMealyBuilder<I, O> incMealy,
                                     MealyTransitionSystem<S, I, T, O> mealyTs,
+                                    EnabledInputsPool<I> enabledInputsPool,
                                     StateLocalInputSUL<I, O> sul) {
-            this(incMealy, mealyTs, new HashMap<>(), sul);
+            this(incMealy, mealyTs, new HashMap<>(), enabledInputsPool, sul);
         }
 
         StateLocalInputSULCacheImpl(IncrementalMealyBuilder<I, O> incMealy,
                                     MealyTransitionSystem<S, I, T, O> mealyTs,
                                     Map<S, Collection<I>> enabledInputCache,
+                                    EnabledInputsPool<I> enabledInputsPool,
                                     StateLocalInputSUL<I, O> sul) {
             super(incMealy, mealyTs, sul);
             this.delegate = sul;
@@ -86,12 +95,15 @@ public class StateLocalInputSULCache<I, O> extends AbstractSULCache<I, O, StateL
             assert init != null;
             this.initialState = init;
             this.enabledInputCache = enabledInputCache;
+            this.enabledInputsPool = enabledInputsPool;
             this.inputsTrace = new ArrayList<>();
         }
 
         @Override
         protected void postNewStepHook() {
-            inputsTrace.add(delegate.currentlyEnabledInputs());
+            // interning happens here (rather than in updateCache) so that concurrent variants can keep their critical
+            // sections small
+            inputsTrace.add(enabledInputsPool.intern(delegate.currentlyEnabledInputs()));
         }
 
         @Override
@@ -117,7 +129,7 @@ public class StateLocalInputSULCache<I, O> extends AbstractSULCache<I, O, StateL
                 Collection<I> initialInputs = this.enabledInputCache.get(initialState);
                 if (initialInputs == null) {
                     super.requiredInitializedDelegate();
-                    initialInputs = this.delegate.currentlyEnabledInputs();
+                    initialInputs = enabledInputsPool.intern(this.delegate.currentlyEnabledInputs());
                     this.enabledInputCache.put(initialState, initialInputs);
                 }
                 return initialInputs;
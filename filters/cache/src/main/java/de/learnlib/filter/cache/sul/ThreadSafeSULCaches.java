@@ -137,6 +137,6 @@ public final class ThreadSafeSULCaches {
      */
     public static <I, O> ThreadSafeStateLocalInputSULCache<I, O> createStateLocalInputTreeCache(Alphabet<I> alphabet,
                                                                                                 StateLocalInputSUL<I, O> sul) {
-        return new ThreadSafeStateLocalInputSULCache<>(new IncrementalMealyTreeBuilder<>(alphabet), sul);
+        return new ThreadSafeStateLocalInputSULCache<>(new IncrementalMealyTreeBuilder<>(alphabet), alphabet, sul);
     }
 }
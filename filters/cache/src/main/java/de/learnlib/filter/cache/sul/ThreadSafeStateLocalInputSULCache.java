@@ -24,6 +24,7 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
 import de.learnlib.filter.cache.mealy.ThreadSafeMealyCacheConsistencyTest;
 import de.learnlib.oracle.EquivalenceOracle.MealyEquivalenceOracle;
 import de.learnlib.sul.StateLocalInputSUL;
+import net.automatalib.alphabet.Alphabet;
 import net.automatalib.incremental.mealy.IncrementalMealyBuilder;
 import net.automatalib.ts.output.MealyTransitionSystem;
 import net.automatalib.word.WordBuilder;
@@ -38,10 +39,13 @@ import net.automatalib.word.WordBuilder;
  */
 public class ThreadSafeStateLocalInputSULCache<I, O> extends StateLocalInputSULCache<I, O> {
 
-    ThreadSafeStateLocalInputSULCache(IncrementalMealyBuilder<I, O> incMealy, StateLocalInputSUL<I, O> sul) {
+    ThreadSafeStateLocalInputSULCache(IncrementalMealyBuilder<I, O> incMealy,
+                                      Alphabet<I> alphabet,
+                                      StateLocalInputSUL<I, O> sul) {
         this(new ThreadSafeStateLocalInputSULCacheImpl<>(incMealy,
                                                          new ReentrantReadWriteLock(),
                                                          incMealy.asTransitionSystem(),
+                                                         new EnabledInputsPool<>(alphabet, new ConcurrentHashMap<>()),
                                                          sul));
     }
 
@@ -57,16 +61,18 @@ public class ThreadSafeStateLocalInputSULCache<I, O> extends StateLocalInputSULC
         ThreadSafeStateLocalInputSULCacheImpl(IncrementalMealyBuilder<I, O> incMealy,
                                               ReadWriteLock lock,
                                               MealyTransitionSystem<S, I, T, O> mealyTs,
+                                              EnabledInputsPool<I> enabledInputsPool,
                                               StateLocalInputSUL<I, O> sul) {
-            this(incMealy, lock, mealyTs, new ConcurrentHashMap<>(), sul);
+            this(incMealy, lock, mealyTs, new ConcurrentHashMap<>(), enabledInputsPool, sul);
         }
 
         ThreadSafeStateLocalInputSULCacheImpl(IncrementalMealyBuilder<I, O> incMealy,
                                               ReadWriteLock lock,
                                               MealyTransitionSystem<S, I, T, O> mealyTs,
                                               Map<S, Collection<I>> enabledInputCache,
+                                              EnabledInputsPool<I> enabledInputsPool,
                                               StateLocalInputSUL<I, O> sul) {
-            super(incMealy, mealyTs, enabledInputCache, sul);
+            super(incMealy, mealyTs, enabledInputCache, enabledInputsPool, sul);
             this.lock = lock;
         }
 
@@ -112,6 +118,7 @@ public class ThreadSafeStateLocalInputSULCache<I, O> extends StateLocalInputSULC
                                                                lock,
                                                                mealyTs,
                                                                enabledInputCache,
+                                                               enabledInputsPool,
                                                                delegate.fork());
         }
 
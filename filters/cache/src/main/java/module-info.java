@@ -29,6 +29,7 @@
 open module de.learnlib.filter.cache {
 
     requires de.learnlib.api;
+    requires de.learnlib.jfr;
     requires net.automatalib.api;
     requires net.automatalib.common.util;
     requires net.automatalib.core;
@@ -0,0 +1,91 @@
+/* Copyright (C) 2013-2024 TU Dortmund University
+ * This file is part of LearnLib, http://www.learnlib.de/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.learnlib.filter.cache.mealy;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import de.learnlib.driver.simulator.MealySimulatorSUL;
+import de.learnlib.filter.cache.CacheTestUtils;
+import de.learnlib.filter.statistic.oracle.CounterAdaptiveQueryOracle;
+import de.learnlib.oracle.membership.SULAdaptiveOracle;
+import de.learnlib.oracle.parallelism.ParallelOracleBuilders;
+import de.learnlib.oracle.parallelism.StaticParallelAdaptiveOracle;
+import de.learnlib.query.AdaptiveQuery;
+import de.learnlib.query.DefaultQuery;
+import de.learnlib.util.mealy.PresetAdaptiveQuery;
+import net.automatalib.alphabet.Alphabet;
+import net.automatalib.common.util.collection.IterableUtil;
+import net.automatalib.word.Word;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class ThreadSafeAdaptiveQueryCacheTest {
+
+    private static final int NUM_ORACLES = 4;
+    private static final int MAXIMUM_LENGTH_OF_QUERIES = 5;
+
+    @Test(timeOut = 20000)
+    public void testConcurrentAdaptiveQueries() {
+        final Alphabet<Character> alphabet = CacheTestUtils.INPUT_ALPHABET;
+        final List<CounterAdaptiveQueryOracle<Character, Integer>> counters = new ArrayList<>(NUM_ORACLES);
+
+        for (int i = 0; i < NUM_ORACLES; i++) {
+            counters.add(new CounterAdaptiveQueryOracle<>(new SULAdaptiveOracle<>(new MealySimulatorSUL<>(
+                    CacheTestUtils.MEALY))));
+        }
+
+        final Collection<ThreadSafeAdaptiveQueryCache<Character, Integer>> caches =
+                ThreadSafeMealyCaches.createAdaptiveQueryCache(alphabet, counters);
+        final StaticParallelAdaptiveOracle<Character, Integer> oracle =
+                ParallelOracleBuilders.newStaticParallelAdaptiveOracle(caches).withMinBatchSize(1).create();
+
+        final List<DefaultQuery<Character, Word<Integer>>> queries = new ArrayList<>();
+        for (List<Character> word : IterableUtil.allTuples(alphabet, 1, MAXIMUM_LENGTH_OF_QUERIES)) {
+            queries.add(new DefaultQuery<>(Word.fromList(word)));
+        }
+
+        oracle.processQueries(wrap(queries));
+
+        for (DefaultQuery<Character, Word<Integer>> q : queries) {
+            Assert.assertEquals(q.getOutput(), CacheTestUtils.MEALY.computeOutput(q.getInput()));
+        }
+
+        final long resetsBefore = counters.stream().mapToLong(CounterAdaptiveQueryOracle::getResetCount).sum();
+        Assert.assertTrue(resetsBefore <= queries.size());
+
+        // everything should be answered from the shared cache now
+        oracle.processQueries(wrap(queries));
+
+        final long resetsAfter = counters.stream().mapToLong(CounterAdaptiveQueryOracle::getResetCount).sum();
+        Assert.assertEquals(resetsAfter, resetsBefore);
+
+        for (ThreadSafeAdaptiveQueryCache<Character, Integer> cache : caches) {
+            Assert.assertNull(cache.createCacheConsistencyTest().findCounterExample(CacheTestUtils.MEALY, alphabet));
+        }
+
+        oracle.shutdown();
+    }
+
+    private static List<AdaptiveQuery<Character, Integer>> wrap(List<DefaultQuery<Character, Word<Integer>>> queries) {
+        final List<AdaptiveQuery<Character, Integer>> result = new ArrayList<>(queries.size());
+        for (DefaultQuery<Character, Word<Integer>> q : queries) {
+            result.add(new PresetAdaptiveQuery<>(q));
+        }
+        return result;
+    }
+}
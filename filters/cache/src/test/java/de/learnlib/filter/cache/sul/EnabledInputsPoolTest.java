@@ -0,0 +1,61 @@
+/* Copyright (C) 2013-2024 TU Dortmund University
+ * This file is part of LearnLib, http://www.learnlib.de/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.learnlib.filter.cache.sul;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+
+import net.automatalib.alphabet.Alphabet;
+import net.automatalib.alphabet.impl.Alphabets;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class EnabledInputsPoolTest {
+
+    @Test
+    public void testInterning() {
+        final Alphabet<Character> alphabet = Alphabets.characters('a', 'e');
+        final EnabledInputsPool<Character> pool = new EnabledInputsPool<>(alphabet, new HashMap<>());
+
+        final Collection<Character> i1 = pool.intern(Arrays.asList('d', 'b', 'b'));
+        final Collection<Character> i2 = pool.intern(new HashSet<>(Arrays.asList('b', 'd')));
+        final Collection<Character> i3 = pool.intern(Arrays.asList('a', 'b'));
+
+        Assert.assertSame(i1, i2);
+        Assert.assertNotSame(i1, i3);
+
+        Assert.assertEquals(i1.size(), 2);
+        Assert.assertEquals(i1, new HashSet<>(Arrays.asList('b', 'd')));
+        Assert.assertTrue(i1.contains('b'));
+        Assert.assertFalse(i1.contains('a'));
+        Assert.assertFalse(i1.contains('z'));
+        Assert.assertEquals(i1.iterator().next(), Character.valueOf('b'));
+
+        Assert.assertTrue(pool.intern(new HashSet<>()).isEmpty());
+    }
+
+    @Test
+    public void testForeignSymbols() {
+        final Alphabet<Character> alphabet = Alphabets.characters('a', 'c');
+        final EnabledInputsPool<Character> pool = new EnabledInputsPool<>(alphabet, new HashMap<>());
+
+        final List<Character> inputs = Arrays.asList('a', 'z');
+        Assert.assertSame(pool.intern(inputs), inputs);
+    }
+}
@@ -17,11 +17,13 @@ package de.learnlib.filter.reuse;
 
 import java.util.Collections;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 
 import de.learnlib.filter.reuse.tree.BoundedDeque.AccessPolicy;
 import de.learnlib.filter.reuse.tree.BoundedDeque.EvictPolicy;
 import de.learnlib.filter.reuse.tree.ReuseTreeBuilder;
 import de.learnlib.filter.reuse.tree.SystemStateHandler;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * Default values for {@link ReuseTreeBuilder} and {@link ReuseOracleBuilder}.
@@ -59,4 +61,12 @@ public final class BuilderDefaults {
     public static EvictPolicy evictPolicy() {
         return EvictPolicy.EVICT_OLDEST;
     }
+
+    public static long maxSystemStateSize() {
+        return -1;
+    }
+
+    public static @Nullable ExecutorService executor() {
+        return null;
+    }
 }
@@ -15,12 +15,17 @@
  */
 package de.learnlib.filter.reuse;
 
-import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
+import de.learnlib.exception.BatchInterruptedException;
 import de.learnlib.filter.reuse.ReuseCapableOracle.QueryResult;
 import de.learnlib.filter.reuse.tree.BoundedDeque.AccessPolicy;
 import de.learnlib.filter.reuse.tree.BoundedDeque.EvictPolicy;
@@ -29,11 +34,13 @@ import de.learnlib.filter.reuse.tree.ReuseNode.NodeResult;
 import de.learnlib.filter.reuse.tree.ReuseTree;
 import de.learnlib.filter.reuse.tree.SystemStateHandler;
 import de.learnlib.oracle.SingleQueryOracle.SingleQueryOracleMealy;
+import de.learnlib.query.Query;
 import de.learnlib.tooling.annotation.builder.GenerateBuilder;
 import de.learnlib.tooling.annotation.builder.Param;
 import net.automatalib.alphabet.Alphabet;
 import net.automatalib.word.Word;
 import net.automatalib.word.WordBuilder;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * The reuse oracle is a {@link MealyMembershipOracle} that is able to <ul> <li>Cache queries: Each processed query will
@@ -50,6 +57,13 @@ import net.automatalib.word.WordBuilder;
  * The usage of model invariant input symbols and failure output symbols is disabled by default and can be enabled upon
  * construction (see {@link ReuseOracleBuilder#withFailureOutputs(Set)} and {@link
  * ReuseOracleBuilder#withInvariantInputs(Set)}).
+ * <p>
+ * Batches of queries are ordered lexicographically so that queries may reuse the system states of their previously
+ * answered prefixes. If an {@link ExecutorService} is provided (see {@link
+ * ReuseOracleBuilder#withExecutor(ExecutorService)}), the queries of a batch that do not share a common prefix (i.e.,
+ * that belong to independent subtrees of the {@link ReuseTree}) are answered in parallel, each worker thread using its
+ * own {@link ReuseCapableOracle} instance of the given supplier. Stored system states are claimed atomically, so that
+ * each system state is continued by at most one worker if system states are invalidated after retrieval.
  *
  * @param <S>
  *         system state type
@@ -64,6 +78,10 @@ public final class ReuseOracle<S, I, O> implements SingleQueryOracleMealy<I, O>
 
     private final ReuseTree<S, I, O> tree;
 
+    private final Alphabet<I> alphabet;
+
+    private final @Nullable ExecutorService executor;
+
     /**
      * Default constructor.
      *
@@ -85,6 +103,13 @@ public final class ReuseOracle<S, I, O> implements SingleQueryOracleMealy<I, O>
      *         the strategy for accessing elements
      * @param evictPolicy
      *         the strategy for evicting elements of the capacity is reached
+     * @param maxSystemStateSize
+     *         the maximum accumulated size (see {@link SystemStateHandler#getSize(Object)}) of all stored system
+     *         states. A value less than or equal to 0 means unbounded
+     * @param executor
+     *         the executor service for answering independent queries of a batch in parallel. May be {@code null}, in
+     *         which case all queries are answered in the calling thread. Note that the executor is not shut down by
+     *         this oracle
      */
     @GenerateBuilder(defaults = BuilderDefaults.class,
                      getterPrefix = GenerateBuilder.SUPPRESS,
@@ -98,8 +123,12 @@ public final class ReuseOracle<S, I, O> implements SingleQueryOracleMealy<I, O>
                        Set<O> failureOutputs,
                        int maxSystemStates,
                        AccessPolicy accessPolicy,
-                       EvictPolicy evictPolicy) {
+                       EvictPolicy evictPolicy,
+                       long maxSystemStateSize,
+                       @Nullable ExecutorService executor) {
         this.executableOracles = ThreadLocal.withInitial(oracleSupplier);
+        this.alphabet = alphabet;
+        this.executor = executor;
         this.tree = new ReuseTree<>(alphabet,
                                     enabledSystemStateInvalidation,
                                     systemStateHandler,
@@ -107,7 +136,97 @@ public final class ReuseOracle<S, I, O> implements SingleQueryOracleMealy<I, O>
                                     failureOutputs,
                                     maxSystemStates,
                                     accessPolicy,
-                                    evictPolicy);
+                                    evictPolicy,
+                                    maxSystemStateSize);
+    }
+
+    @Override
+    public void processQueries(Collection<? extends Query<I, Word<O>>> queries) {
+        if (queries.isEmpty()) {
+            return;
+        }
+
+        final List<BatchEntry<I, O>> entries = new ArrayList<>(queries.size());
+        for (Query<I, Word<O>> q : queries) {
+            entries.add(new BatchEntry<>(q));
+        }
+
+        // order the queries so that prefixes are answered (and their system states stored) before their extensions
+        entries.sort((e1, e2) -> compareInputs(e1.input, e2.input));
+
+        // queries that do not share their first symbol belong to independent subtrees of the reuse tree
+        final List<List<BatchEntry<I, O>>> subtrees = new ArrayList<>();
+        List<BatchEntry<I, O>> subtree = new ArrayList<>();
+        @Nullable BatchEntry<I, O> last = null;
+
+        for (BatchEntry<I, O> e : entries) {
+            if (last != null && !sharesFirstSymbol(last.input, e.input)) {
+                subtrees.add(subtree);
+                subtree = new ArrayList<>();
+            }
+            subtree.add(e);
+            last = e;
+        }
+        subtrees.add(subtree);
+
+        if (executor == null || subtrees.size() == 1) {
+            processSubtree(entries);
+            return;
+        }
+
+        final List<Future<?>> futures = new ArrayList<>(subtrees.size());
+
+        try {
+            for (List<BatchEntry<I, O>> st : subtrees) {
+                futures.add(executor.submit(() -> processSubtree(st)));
+            }
+
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new AssertionError("Runnables must not throw checked exceptions", e);
+        } catch (InterruptedException e) {
+            Thread.interrupted();
+            throw new BatchInterruptedException(e);
+        } finally {
+            for (Future<?> f : futures) {
+                f.cancel(true);
+            }
+        }
+    }
+
+    private void processSubtree(List<BatchEntry<I, O>> entries) {
+        for (BatchEntry<I, O> e : entries) {
+            final Query<I, Word<O>> query = e.query;
+            query.answer(processQuery(e.input).suffix(query.getSuffix().length()));
+        }
+    }
+
+    private int compareInputs(Word<I> w1, Word<I> w2) {
+        final int len1 = w1.length();
+        final int len2 = w2.length();
+        final int len = Math.min(len1, len2);
+
+        for (int i = 0; i < len; i++) {
+            final int cmp = Integer.compare(alphabet.getSymbolIndex(w1.getSymbol(i)),
+                                            alphabet.getSymbolIndex(w2.getSymbol(i)));
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+
+        return Integer.compare(len1, len2);
+    }
+
+    private static <I> boolean sharesFirstSymbol(Word<I> w1, Word<I> w2) {
+        return !w1.isEmpty() && !w2.isEmpty() && w1.firstSymbol().equals(w2.firstSymbol());
     }
 
     @Override
@@ -199,27 +318,32 @@ public final class ReuseOracle<S, I, O> implements SingleQueryOracleMealy<I, O>
     private QueryResult<S, O> filterAndProcessQuery(Word<I> query,
                                                     Word<O> partialOutput,
                                                     Function<Word<I>, QueryResult<S, O>> processQuery) {
-        final LinkedList<I> filteredQueryList = new LinkedList<>(query.asList());
-        final Iterator<I> queryIterator = filteredQueryList.iterator();
+        final int length = query.length();
+        final WordBuilder<I> filteredQuery = new WordBuilder<>(length);
 
         // filter "reflexive" edges
-        for (O outputSymbol : partialOutput) {
-            queryIterator.next();
-            if (outputSymbol != null) {
-                queryIterator.remove();
+        for (int i = 0; i < length; i++) {
+            if (partialOutput.getSymbol(i) == null) {
+                filteredQuery.add(query.getSymbol(i));
             }
         }
 
+        // no "reflexive" edges, nothing to fill in
+        if (filteredQuery.size() == length) {
+            return processQuery.apply(query);
+        }
+
         // process the query
-        final QueryResult<S, O> res = processQuery.apply(Word.fromList(filteredQueryList));
+        final QueryResult<S, O> res = processQuery.apply(filteredQuery.toWord());
 
-        final WordBuilder<O> wordBuilder = new WordBuilder<>();
-        final Iterator<O> resultIterator = res.output.iterator();
+        final WordBuilder<O> wordBuilder = new WordBuilder<>(length);
+        int resultIdx = 0;
 
         // insert back the a priori available outputs of "reflexive" edges
-        for (O output : partialOutput) {
+        for (int i = 0; i < length; i++) {
+            final O output = partialOutput.getSymbol(i);
             if (output == null) {
-                wordBuilder.add(resultIterator.next());
+                wordBuilder.add(res.output.getSymbol(resultIdx++));
             } else {
                 wordBuilder.add(output);
             }
@@ -236,4 +360,15 @@ public final class ReuseOracle<S, I, O> implements SingleQueryOracleMealy<I, O>
     public ReuseTree<S, I, O> getReuseTree() {
         return this.tree;
     }
+
+    private static final class BatchEntry<I, O> {
+
+        private final Query<I, Word<O>> query;
+        private final Word<I> input;
+
+        BatchEntry(Query<I, Word<O>> query) {
+            this.query = query;
+            this.input = query.getInput();
+        }
+    }
 }
@@ -18,6 +18,7 @@ package de.learnlib.filter.reuse.tree;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicLong;
 
 import de.learnlib.filter.reuse.tree.BoundedDeque.AccessPolicy;
 import de.learnlib.filter.reuse.tree.BoundedDeque.EvictPolicy;
@@ -39,18 +40,31 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 public class ReuseNode<S, I, O> {
 
     private final @Nullable ReuseEdge<S, I, O>[] edges;
-    private final BoundedDeque<S> systemStates;
+    private final BoundedDeque<SystemStateEntry<S, I, O>> systemStates;
+    private final AtomicLong reuseCount;
     private final int id;
+    private final int depth;
+
+    public ReuseNode(int id,
+                     int alphabetSize,
+                     int maxSystemStates,
+                     AccessPolicy accessPolicy,
+                     EvictPolicy evictPolicy) {
+        this(id, 0, alphabetSize, maxSystemStates, accessPolicy, evictPolicy);
+    }
 
     @SuppressWarnings("unchecked")
     public ReuseNode(int id,
+                     int depth,
                      int alphabetSize,
                      int maxSystemStates,
                      AccessPolicy accessPolicy,
                      EvictPolicy evictPolicy) {
         this.edges = new ReuseEdge[alphabetSize];
         this.id = id;
+        this.depth = depth;
         this.systemStates = new BoundedDeque<>(maxSystemStates, accessPolicy, evictPolicy);
+        this.reuseCount = new AtomicLong();
     }
 
     /**
@@ -61,19 +75,56 @@ public class ReuseNode<S, I, O> {
      *
      * @return a system state, May be {@code null}.
      */
-    public S fetchSystemState(boolean remove) {
+    public @Nullable S fetchSystemState(boolean remove) {
+        final SystemStateEntry<S, I, O> entry = fetchSystemStateEntry(remove);
+        return entry == null ? null : entry.state;
+    }
+
+    @Nullable SystemStateEntry<S, I, O> fetchSystemStateEntry(boolean remove) {
         if (remove) {
             return systemStates.retrieve();
         }
         return systemStates.peek();
     }
 
+    /**
+     * Adds a system state to this node. Note that system states which are directly added to a node (rather than being
+     * inserted via the {@link ReuseTree}) do not count towards the size limit of the tree, but are disposed together
+     * with all other system states of the tree (see {@link ReuseTree#disposeSystemStates()}).
+     *
+     * @param state
+     *         the system state to add
+     *
+     * @return the system state that had to be evicted due to the capacity restriction of this node, {@code null} if no
+     * state has been evicted
+     */
     public @Nullable S addSystemState(S state) {
-        return systemStates.insert(state);
+        final SystemStateEntry<S, I, O> evicted = addSystemStateEntry(new SystemStateEntry<>(this, state, 0, 0));
+        return evicted == null ? null : evicted.state;
+    }
+
+    @Nullable SystemStateEntry<S, I, O> addSystemStateEntry(SystemStateEntry<S, I, O> entry) {
+        return systemStates.insert(entry);
+    }
+
+    boolean removeSystemStateEntry(SystemStateEntry<S, I, O> entry) {
+        return systemStates.remove(entry);
     }
 
     public Iterator<S> systemStatesIterator() {
-        return systemStates.iterator();
+        final Iterator<SystemStateEntry<S, I, O>> iterator = systemStates.iterator();
+        return new Iterator<S>() {
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public S next() {
+                return iterator.next().state;
+            }
+        };
     }
 
     public boolean hasSystemStates() {
@@ -129,6 +180,29 @@ public class ReuseNode<S, I, O> {
         return this.id;
     }
 
+    /**
+     * Returns the depth of this node in the tree, i.e., the number of non-reflexive edges on the path from the root to
+     * this node.
+     *
+     * @return the depth of this node
+     */
+    public int getDepth() {
+        return this.depth;
+    }
+
+    /**
+     * Returns how often system states of this node have been reused by (prefixes of) membership queries.
+     *
+     * @return the number of reuses of this node
+     */
+    public long getReuseCount() {
+        return this.reuseCount.get();
+    }
+
+    void registerReuse() {
+        this.reuseCount.incrementAndGet();
+    }
+
     public static final class NodeResult<S, I, O> {
 
         public final ReuseNode<S, I, O> reuseNode;
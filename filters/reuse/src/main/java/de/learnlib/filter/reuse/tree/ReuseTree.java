@@ -18,9 +18,14 @@ package de.learnlib.filter.reuse.tree;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Iterator;
+import java.util.NavigableSet;
 import java.util.Objects;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
@@ -48,6 +53,12 @@ import org.checkerframework.checker.nullness.qual.Nullable;
  * SUL and maintains also available system states. The {@link ReuseTree} is only 'tree like' since it may contain
  * reflexive edges at nodes (only possible if {@link ReuseTreeBuilder#withFailureOutputs(Set)} or {@link
  * ReuseTreeBuilder#withInvariantInputs(Set)} is set).
+ * <p>
+ * Besides the per-node capacity restriction (see {@link ReuseTreeBuilder#withMaxSystemStates(int)}), the accumulated
+ * size of all resident system states (as estimated by {@link SystemStateHandler#getSize(Object)}) may be limited (see
+ * {@link ReuseTreeBuilder#withMaxSystemStateSize(long)}). If this limit is exceeded, the tree evicts the system states
+ * with the lowest ratio of expected replay savings (the depth of their node weighted by the number of previous reuses
+ * at this node) to size.
  *
  * @param <S>
  *         system state type
@@ -67,10 +78,17 @@ public final class ReuseTree<S, I, O> implements Graph<@Nullable ReuseNode<S, I,
     private final int maxSystemStates;
     private final AccessPolicy accessPolicy;
     private final EvictPolicy evictPolicy;
+    private final long maxSystemStateSize;
     private int nodeCount;
+    private long stateCount;
     private ReuseNode<S, I, O> root;
     private final ReadWriteLock lock;
 
+    // index of all resident system states, ordered by their (last computed) score, so that eviction does not need to
+    // traverse the tree
+    private final NavigableSet<SystemStateEntry<S, I, O>> residentStates;
+    private final AtomicLong residentSize;
+
     @GenerateBuilder(defaults = BuilderDefaults.class,
                      getterPrefix = GenerateBuilder.SUPPRESS,
                      setterPrefix = GenerateBuilder.SUPPRESS,
@@ -82,7 +100,8 @@ public final class ReuseTree<S, I, O> implements Graph<@Nullable ReuseNode<S, I,
                      Set<O> failureOutputs,
                      int maxSystemStates,
                      AccessPolicy accessPolicy,
-                     EvictPolicy evictPolicy) {
+                     EvictPolicy evictPolicy,
+                     long maxSystemStateSize) {
         this.alphabet = alphabet;
         this.invalidateSystemstates = enabledSystemStateInvalidation;
         this.systemStateHandler = systemStateHandler;
@@ -92,16 +111,20 @@ public final class ReuseTree<S, I, O> implements Graph<@Nullable ReuseNode<S, I,
         this.maxSystemStates = maxSystemStates;
         this.accessPolicy = accessPolicy;
         this.evictPolicy = evictPolicy;
+        this.maxSystemStateSize = maxSystemStateSize;
 
         // local and not configurable
         this.alphabetSize = alphabet.size();
-        this.root = createNode();
+        this.root = createNode(0);
 
         this.lock = new ReentrantReadWriteLock();
+        this.residentStates = new TreeSet<>(Comparator.<SystemStateEntry<S, I, O>>comparingDouble(e -> e.priority)
+                                                      .thenComparingLong(e -> e.sequence));
+        this.residentSize = new AtomicLong();
     }
 
-    private ReuseNode<S, I, O> createNode() {
-        return new ReuseNode<>(nodeCount++, alphabetSize, maxSystemStates, accessPolicy, evictPolicy);
+    private ReuseNode<S, I, O> createNode(int depth) {
+        return new ReuseNode<>(nodeCount++, depth, alphabetSize, maxSystemStates, accessPolicy, evictPolicy);
     }
 
     /**
@@ -200,12 +223,19 @@ public final class ReuseTree<S, I, O> implements Graph<@Nullable ReuseNode<S, I,
     public void disposeSystemStates() {
         this.lock.writeLock().lock();
         try {
-            disposeSystemStates(getRoot());
+            disposeResidentStates();
         } finally {
             this.lock.writeLock().unlock();
         }
     }
 
+    private void disposeResidentStates() {
+        // traverse the tree (rather than the index), so that system states directly added to nodes are disposed as well
+        disposeSystemStates(root);
+        residentStates.clear();
+        residentSize.set(0);
+    }
+
     private void disposeSystemStates(ReuseNode<S, I, O> node) {
         Iterator<S> stateIt = node.systemStatesIterator();
         while (stateIt.hasNext()) {
@@ -234,8 +264,8 @@ public final class ReuseTree<S, I, O> implements Graph<@Nullable ReuseNode<S, I,
         this.lock.writeLock().lock();
         try {
             this.nodeCount = 0;
-            disposeSystemStates(root);
-            this.root = createNode();
+            disposeResidentStates();
+            this.root = createNode(0);
         } finally {
             this.lock.writeLock().unlock();
         }
@@ -243,7 +273,8 @@ public final class ReuseTree<S, I, O> implements Graph<@Nullable ReuseNode<S, I,
 
     /**
      * Returns a reusable {@link ReuseNode.NodeResult} with system state accessed by the given access sequence. or
-     * {@code null} if none such exists.
+     * {@code null} if none such exists. If system states are invalidated after retrieval, the returned system state is
+     * claimed atomically, i.e., it is returned to at most one (concurrent) caller.
      *
      * @param query
      *         the access sequence to the node
@@ -258,7 +289,11 @@ public final class ReuseTree<S, I, O> implements Graph<@Nullable ReuseNode<S, I,
 
         int length = 0;
 
-        this.lock.readLock().lock();
+        // retrieving (and thereby removing) a system state needs to be exclusive, so that concurrent queries do not
+        // claim the same system state
+        final Lock l = invalidateSystemstates ? this.lock.writeLock() : this.lock.readLock();
+
+        l.lock();
         try {
             ReuseNode<S, I, O> sink = getRoot();
             ReuseNode<S, I, O> lastState = null;
@@ -286,11 +321,17 @@ public final class ReuseTree<S, I, O> implements Graph<@Nullable ReuseNode<S, I,
                 return null;
             }
 
-            S systemState = lastState.fetchSystemState(invalidateSystemstates);
+            final SystemStateEntry<S, I, O> entry = lastState.fetchSystemStateEntry(invalidateSystemstates);
+            assert entry != null;
+
+            lastState.registerReuse();
+            if (invalidateSystemstates) {
+                unregister(entry);
+            }
 
-            return new ReuseNode.NodeResult<>(lastState, systemState, length);
+            return new ReuseNode.NodeResult<>(lastState, entry.state, length);
         } finally {
-            this.lock.readLock().unlock();
+            l.unlock();
         }
     }
 
@@ -382,7 +423,7 @@ public final class ReuseTree<S, I, O> implements Graph<@Nullable ReuseNode<S, I,
                 } else if (invariantInputSymbols.contains(in)) {
                     rn = effectiveSink;
                 } else {
-                    rn = createNode();
+                    rn = createNode(effectiveSink.getDepth() + 1);
                 }
 
                 int index = alphabet.getSymbolIndex(in);
@@ -390,15 +431,99 @@ public final class ReuseTree<S, I, O> implements Graph<@Nullable ReuseNode<S, I,
                 effectiveSink = rn;
             }
 
-            S evictedState = effectiveSink.addSystemState(queryResult.newState);
-            if (evictedState != null) {
-                systemStateHandler.dispose(evictedState);
+            final S newState = queryResult.newState;
+            final SystemStateEntry<S, I, O> entry =
+                    new SystemStateEntry<>(effectiveSink, newState, systemStateHandler.getSize(newState), stateCount++);
+            final SystemStateEntry<S, I, O> evicted = effectiveSink.addSystemStateEntry(entry);
+
+            if (evicted != entry) {
+                register(entry);
             }
+            if (evicted != null) {
+                unregister(evicted);
+                systemStateHandler.dispose(evicted.state);
+            }
+
+            evictResidentStates();
         } finally {
             this.lock.writeLock().unlock();
         }
     }
 
+    private void register(SystemStateEntry<S, I, O> entry) {
+        entry.priority = entry.getScore();
+        if (residentStates.add(entry)) {
+            residentSize.addAndGet(entry.size);
+        }
+    }
+
+    private void unregister(SystemStateEntry<S, I, O> entry) {
+        if (residentStates.remove(entry)) {
+            residentSize.addAndGet(-entry.size);
+        }
+    }
+
+    /**
+     * Evicts resident system states with the lowest cost-benefit ratio (see {@link SystemStateEntry#getScore()}) until
+     * the accumulated size of all resident system states satisfies the configured limit. On ties, the older system
+     * state is evicted.
+     * <p>
+     * Since the score of an entry may only increase (due to reuses of its node), the index is ordered by the score of
+     * each entry at the time it was last computed, and entries are re-scored lazily: if the current score of the
+     * minimal entry exceeds its indexed score, it is re-inserted with its current score. Otherwise, its current score
+     * is minimal among all entries.
+     */
+    private void evictResidentStates() {
+        if (maxSystemStateSize <= 0) {
+            return;
+        }
+
+        while (residentSize.get() > maxSystemStateSize) {
+            final SystemStateEntry<S, I, O> candidate = residentStates.pollFirst();
+
+            if (candidate == null) {
+                return;
+            }
+
+            final double score = candidate.getScore();
+            if (score > candidate.priority) {
+                candidate.priority = score;
+                residentStates.add(candidate);
+                continue;
+            }
+
+            residentSize.addAndGet(-candidate.size);
+            // the state may already have been evicted from its node by a state directly added to the node
+            if (candidate.node.removeSystemStateEntry(candidate)) {
+                systemStateHandler.dispose(candidate.state);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of system states that are currently stored in this tree.
+     *
+     * @return the number of resident system states
+     */
+    public int getNumberOfSystemStates() {
+        this.lock.readLock().lock();
+        try {
+            return residentStates.size();
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the accumulated size (as estimated by {@link SystemStateHandler#getSize(Object)}) of all system states
+     * that are currently stored in this tree.
+     *
+     * @return the accumulated size of all resident system states
+     */
+    public long getSystemStateSize() {
+        return residentSize.get();
+    }
+
     @Override
     public Collection<ReuseNode<S, I, O>> getNodes() {
         Collection<ReuseNode<S, I, O>> collection = new ArrayList<>();
@@ -0,0 +1,56 @@
+/* Copyright (C) 2013-2024 TU Dortmund University
+ * This file is part of LearnLib, http://www.learnlib.de/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.learnlib.filter.reuse.tree;
+
+/**
+ * A system state that is resident in a {@link ReuseNode} together with the (estimated) size it occupies. Entries are
+ * compared by identity, so that distinct but equal system states can be told apart. The {@link ReuseTree} orders its
+ * entries by their {@link #priority} and {@link #sequence}.
+ *
+ * @param <S>
+ *         system state class
+ * @param <I>
+ *         input symbol class
+ * @param <O>
+ *         output symbol class
+ */
+final class SystemStateEntry<S, I, O> {
+
+    final ReuseNode<S, I, O> node;
+    final S state;
+    final long size;
+    final long sequence;
+    // the score at the time this entry has last been (re-)inserted into the index of the tree
+    double priority;
+
+    SystemStateEntry(ReuseNode<S, I, O> node, S state, long size, long sequence) {
+        this.node = node;
+        this.state = state;
+        this.size = size;
+        this.sequence = sequence;
+    }
+
+    /**
+     * Returns the cost-benefit ratio of keeping this system state, i.e., the number of input symbols whose replay it is
+     * expected to save (the depth of its node weighted by the number of previous reuses at this node) per unit of size.
+     *
+     * @return the cost-benefit ratio of keeping this system state
+     */
+    double getScore() {
+        final double benefit = (double) node.getDepth() * (1 + node.getReuseCount());
+        return benefit / Math.max(size, 1);
+    }
+}
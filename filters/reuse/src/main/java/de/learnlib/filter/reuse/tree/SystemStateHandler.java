@@ -40,4 +40,21 @@ public interface SystemStateHandler<S> {
      *         The state to remove.
      */
     void dispose(S state);
+
+    /**
+     * Returns the (estimated) size of the given system state, e.g., the number of bytes of a snapshot. The sizes of all
+     * system states that are stored in a {@link ReuseTree} are accumulated and checked against the limit set via
+     * {@link ReuseOracleBuilder#withMaxSystemStateSize(long)}.
+     * <p>
+     * The default implementation returns {@code 1}, i.e., the limit then restricts the total number of stored system
+     * states.
+     *
+     * @param state
+     *         the system state whose size should be estimated
+     *
+     * @return the (estimated) size of the given system state
+     */
+    default long getSize(S state) {
+        return 1;
+    }
 }
@@ -0,0 +1,150 @@
+/* Copyright (C) 2013-2024 TU Dortmund University
+ * This file is part of LearnLib, http://www.learnlib.de/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.learnlib.filter.reuse.test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import de.learnlib.filter.reuse.ReuseCapableOracle;
+import de.learnlib.filter.reuse.ReuseOracle;
+import de.learnlib.filter.reuse.ReuseOracleBuilder;
+import de.learnlib.query.DefaultQuery;
+import net.automatalib.alphabet.Alphabet;
+import net.automatalib.alphabet.impl.Alphabets;
+import net.automatalib.word.Word;
+import net.automatalib.word.WordBuilder;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Tests for the batch processing of the reuse oracle.
+ */
+public class BatchReuseOracleTest {
+
+    private static final Alphabet<Integer> ALPHABET = Alphabets.integers(0, 3);
+
+    private ExecutorService executor;
+
+    @BeforeClass
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterClass
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void testSequentialBatch() {
+        final CountingOracle oracle = new CountingOracle();
+        final ReuseOracle<Integer, Integer, Integer> reuseOracle =
+                new ReuseOracleBuilder<Integer, Integer, Integer>(ALPHABET, () -> oracle).build();
+
+        final List<DefaultQuery<Integer, Word<Integer>>> queries =
+                createQueries(Arrays.asList(Word.fromSymbols(1, 1, 1), Word.fromSymbols(1), Word.fromSymbols(1, 1)));
+
+        reuseOracle.processQueries(queries);
+        checkAnswers(queries);
+
+        // 1 is processed first, 11 and 111 reuse the system states of their prefixes
+        Assert.assertEquals(oracle.processed.get(), 1);
+        Assert.assertEquals(oracle.continued.get(), 2);
+    }
+
+    @Test
+    public void testParallelBatch() {
+        final CountingOracle oracle = new CountingOracle();
+        final ReuseOracle<Integer, Integer, Integer> reuseOracle =
+                new ReuseOracleBuilder<Integer, Integer, Integer>(ALPHABET, () -> oracle).withExecutor(executor)
+                                                                                        .build();
+
+        final Random random = new Random(42);
+        final List<Word<Integer>> words = new ArrayList<>();
+
+        for (int i = 0; i < 200; i++) {
+            final int length = random.nextInt(6);
+            final WordBuilder<Integer> wb = new WordBuilder<>(length);
+            for (int j = 0; j < length; j++) {
+                wb.add(ALPHABET.getSymbol(random.nextInt(ALPHABET.size())));
+            }
+            words.add(wb.toWord());
+        }
+
+        final List<DefaultQuery<Integer, Word<Integer>>> queries = createQueries(words);
+
+        reuseOracle.processQueries(queries);
+        checkAnswers(queries);
+
+        // every system state must have been continued at most once
+        Assert.assertTrue(oracle.claimedTwice.isEmpty());
+    }
+
+    private static List<DefaultQuery<Integer, Word<Integer>>> createQueries(List<Word<Integer>> words) {
+        final List<DefaultQuery<Integer, Word<Integer>>> result = new ArrayList<>(words.size());
+        for (Word<Integer> w : words) {
+            result.add(new DefaultQuery<>(w));
+        }
+        return result;
+    }
+
+    private static void checkAnswers(List<DefaultQuery<Integer, Word<Integer>>> queries) {
+        for (DefaultQuery<Integer, Word<Integer>> q : queries) {
+            Assert.assertEquals(q.getOutput(), CountingOracle.computeOutput(q.getInput()));
+        }
+    }
+
+    /**
+     * A (thread-safe) system that outputs the successor of each input symbol and tracks the usage of its system
+     * states.
+     */
+    private static final class CountingOracle implements ReuseCapableOracle<Integer, Integer, Integer> {
+
+        private final AtomicInteger stateCounter = new AtomicInteger();
+        private final AtomicInteger processed = new AtomicInteger();
+        private final AtomicInteger continued = new AtomicInteger();
+        private final Set<Integer> claimed = ConcurrentHashMap.newKeySet();
+        private final Set<Integer> claimedTwice = ConcurrentHashMap.newKeySet();
+
+        static Word<Integer> computeOutput(Word<Integer> input) {
+            return input.transform(i -> i + 1);
+        }
+
+        @Override
+        public QueryResult<Integer, Integer> continueQuery(Word<Integer> trace, Integer s) {
+            continued.incrementAndGet();
+            if (!claimed.add(s)) {
+                claimedTwice.add(s);
+            }
+            return new QueryResult<>(computeOutput(trace), stateCounter.incrementAndGet());
+        }
+
+        @Override
+        public QueryResult<Integer, Integer> processQuery(Word<Integer> trace) {
+            processed.incrementAndGet();
+            return new QueryResult<>(computeOutput(trace), stateCounter.incrementAndGet());
+        }
+    }
+}
@@ -0,0 +1,186 @@
+/* Copyright (C) 2013-2024 TU Dortmund University
+ * This file is part of LearnLib, http://www.learnlib.de/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.learnlib.filter.reuse.test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import de.learnlib.filter.reuse.ReuseCapableOracle.QueryResult;
+import de.learnlib.filter.reuse.tree.ReuseNode;
+import de.learnlib.filter.reuse.tree.ReuseNode.NodeResult;
+import de.learnlib.filter.reuse.tree.ReuseTree;
+import de.learnlib.filter.reuse.tree.ReuseTreeBuilder;
+import de.learnlib.filter.reuse.tree.SystemStateHandler;
+import net.automatalib.alphabet.Alphabet;
+import net.automatalib.alphabet.impl.Alphabets;
+import net.automatalib.word.Word;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests for the size-based eviction of system states in the reuse tree.
+ */
+public class ReuseTreeEvictionTest {
+
+    private List<Integer> disposed;
+    private ReuseTree<Integer, Integer, String> reuseTree;
+
+    @BeforeMethod
+    protected void setUp() {
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 10);
+
+        disposed = new ArrayList<>();
+
+        // the system states are the sizes of their snapshots
+        final SystemStateHandler<Integer> handler = new SystemStateHandler<Integer>() {
+
+            @Override
+            public void dispose(Integer state) {
+                disposed.add(state);
+            }
+
+            @Override
+            public long getSize(Integer state) {
+                return state;
+            }
+        };
+
+        reuseTree = new ReuseTreeBuilder<Integer, Integer, String>(alphabet).withSystemStateHandler(handler)
+                                                                             .withMaxSystemStateSize(25)
+                                                                             .build();
+    }
+
+    @Test
+    public void testSizeAccounting() {
+        reuseTree.insert(getInput(1), new QueryResult<>(getOutput("ok"), 10));
+        reuseTree.insert(getInput(1, 2, 3), new QueryResult<>(getOutput("ok", "ok", "ok"), 11));
+
+        Assert.assertEquals(reuseTree.getNumberOfSystemStates(), 2);
+        Assert.assertEquals(reuseTree.getSystemStateSize(), 21);
+        Assert.assertTrue(disposed.isEmpty());
+
+        // fetching invalidates the system state
+        final NodeResult<Integer, Integer, String> node = reuseTree.fetchSystemState(getInput(1, 2, 3, 4));
+        Assert.assertNotNull(node);
+        Assert.assertEquals(node.systemState.intValue(), 11);
+        Assert.assertEquals(reuseTree.getNumberOfSystemStates(), 1);
+        Assert.assertEquals(reuseTree.getSystemStateSize(), 10);
+
+        reuseTree.disposeSystemStates();
+
+        Assert.assertEquals(reuseTree.getNumberOfSystemStates(), 0);
+        Assert.assertEquals(reuseTree.getSystemStateSize(), 0);
+        Assert.assertEquals(disposed, Collections.singletonList(10));
+    }
+
+    @Test
+    public void testCostBenefitEviction() {
+        // score (depth / size): 1 / 10
+        reuseTree.insert(getInput(1), new QueryResult<>(getOutput("ok"), 10));
+        // score (depth / size): 3 / 10
+        reuseTree.insert(getInput(1, 2, 3), new QueryResult<>(getOutput("ok", "ok", "ok"), 10));
+        // score (depth / size): 2 / 8, exceeds the limit and evicts the shallow state
+        reuseTree.insert(getInput(2, 2), new QueryResult<>(getOutput("ok", "ok"), 8));
+
+        Assert.assertEquals(disposed, Collections.singletonList(10));
+        Assert.assertEquals(reuseTree.getSystemStateSize(), 18);
+        Assert.assertNull(reuseTree.fetchSystemState(getInput(1)));
+        Assert.assertNotNull(reuseTree.getOutput(getInput(1)));
+
+        // a large state with little expected replay savings is evicted right away
+        reuseTree.insert(getInput(3), new QueryResult<>(getOutput("ok"), 30));
+
+        Assert.assertEquals(disposed, Arrays.asList(10, 30));
+        Assert.assertEquals(reuseTree.getSystemStateSize(), 18);
+    }
+
+    @Test
+    public void testReusedStatesAreKept() {
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 10);
+        final ReuseTree<Integer, Integer, String> tree =
+                new ReuseTreeBuilder<Integer, Integer, String>(alphabet).withEnabledSystemStateInvalidation(false)
+                                                                        .withMaxSystemStateSize(2)
+                                                                        .build();
+
+        tree.insert(getInput(1, 1), new QueryResult<>(getOutput("ok", "ok"), 1));
+        tree.insert(getInput(2, 2), new QueryResult<>(getOutput("ok", "ok"), 2));
+
+        // reusing the second state increases its expected replay savings
+        Assert.assertNotNull(tree.fetchSystemState(getInput(2, 2, 2)));
+
+        tree.insert(getInput(3, 3), new QueryResult<>(getOutput("ok", "ok"), 3));
+
+        Assert.assertEquals(tree.getNumberOfSystemStates(), 2);
+        Assert.assertNull(tree.fetchSystemState(getInput(1, 1)));
+        Assert.assertNotNull(tree.fetchSystemState(getInput(2, 2)));
+        Assert.assertNotNull(tree.fetchSystemState(getInput(3, 3)));
+    }
+
+    @Test
+    public void testLazyRescoring() {
+        final Alphabet<Integer> alphabet = Alphabets.integers(0, 10);
+        final ReuseTree<Integer, Integer, String> tree =
+                new ReuseTreeBuilder<Integer, Integer, String>(alphabet).withEnabledSystemStateInvalidation(false)
+                                                                        .withMaxSystemStateSize(2)
+                                                                        .build();
+
+        tree.insert(getInput(2, 2), new QueryResult<>(getOutput("ok", "ok"), 2));
+        tree.insert(getInput(1, 1), new QueryResult<>(getOutput("ok", "ok"), 1));
+
+        // the older state has the same initial score but is reused afterwards
+        Assert.assertNotNull(tree.fetchSystemState(getInput(2, 2, 2)));
+
+        tree.insert(getInput(3, 3), new QueryResult<>(getOutput("ok", "ok"), 3));
+
+        Assert.assertEquals(tree.getNumberOfSystemStates(), 2);
+        Assert.assertNull(tree.fetchSystemState(getInput(1, 1)));
+        Assert.assertNotNull(tree.fetchSystemState(getInput(2, 2)));
+        Assert.assertNotNull(tree.fetchSystemState(getInput(3, 3)));
+    }
+
+    @Test
+    public void testDisposalOfDirectlyAddedStates() {
+        reuseTree.insert(getInput(1, 2), new QueryResult<>(getOutput("ok", "ok"), 10));
+
+        final ReuseNode<Integer, Integer, String> node = reuseTree.getRoot().getTargetNodeForInput(1);
+        Assert.assertNotNull(node);
+        Assert.assertNull(node.addSystemState(5));
+        reuseTree.getRoot().addSystemState(3);
+
+        // directly added states do not count towards the size limit
+        Assert.assertEquals(reuseTree.getNumberOfSystemStates(), 1);
+        Assert.assertEquals(reuseTree.getSystemStateSize(), 10);
+
+        reuseTree.disposeSystemStates();
+
+        Assert.assertEquals(new HashSet<>(disposed), new HashSet<>(Arrays.asList(3, 5, 10)));
+        Assert.assertEquals(disposed.size(), 3);
+        Assert.assertFalse(node.hasSystemStates());
+        Assert.assertFalse(reuseTree.getRoot().hasSystemStates());
+    }
+
+    private static Word<Integer> getInput(Integer... param) {
+        return Word.fromSymbols(param);
+    }
+
+    private static Word<String> getOutput(String... param) {
+        return Word.fromSymbols(param);
+    }
+}
@@ -15,35 +15,36 @@
  */
 package de.learnlib.filter.statistic;
 
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
- * A simple counter.
+ * A simple counter. The counter is backed by a {@link LongAdder} so that concurrent increments (e.g., from parallel
+ * oracles) do not contend on a single memory location.
  */
 public class Counter extends AbstractStatisticData {
 
-    private final AtomicLong count;
+    private final LongAdder count;
 
     public Counter(String name, String unit) {
         super(name, unit);
-        this.count = new AtomicLong(0L);
+        this.count = new LongAdder();
     }
 
     public void increment(long inc) {
-        count.addAndGet(inc);
+        count.add(inc);
     }
 
     public void increment() {
-        count.incrementAndGet();
+        count.increment();
     }
 
     public long getCount() {
-        return count.get();
+        return count.sum();
     }
 
     @Override
     public String getSummary() {
-        return getName() + " [" + getUnit() + "]: " + count;
+        return getName() + " [" + getUnit() + "]: " + getCount();
     }
 
     @Override
@@ -0,0 +1,203 @@
+/* Copyright (C) 2013-2024 TU Dortmund University
+ * This file is part of LearnLib, http://www.learnlib.de/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.learnlib.filter.statistic;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of latencies (in nanoseconds). Values are recorded in logarithmically sized buckets (each power of two
+ * is divided into 16 linear sub-buckets) so that percentiles can be reported with a relative error of at most 6.25%
+ * while only requiring constant memory. Recording values is lock-free and can safely be performed concurrently.
+ */
+public class LatencyHistogram extends AbstractStatisticData {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int HALF_SUB_BUCKETS = SUB_BUCKETS / 2;
+    private static final int NUM_BUCKETS = SUB_BUCKETS + (Long.SIZE - SUB_BUCKET_BITS) * HALF_SUB_BUCKETS;
+
+    private final AtomicLongArray buckets;
+    private final LongAdder count;
+    private final LongAdder sum;
+
+    public LatencyHistogram(String name) {
+        super(name, "ns");
+        this.buckets = new AtomicLongArray(NUM_BUCKETS);
+        this.count = new LongAdder();
+        this.sum = new LongAdder();
+    }
+
+    /**
+     * Records a single latency.
+     *
+     * @param nanos
+     *         the latency in nanoseconds
+     */
+    public void record(long nanos) {
+        record(nanos, 1);
+    }
+
+    /**
+     * Records the given latency multiple times.
+     *
+     * @param nanos
+     *         the latency in nanoseconds
+     * @param times
+     *         the number of times the latency should be recorded
+     */
+    public void record(long nanos, long times) {
+        final long value = Math.max(0, nanos);
+        buckets.addAndGet(indexOf(value), times);
+        count.add(times);
+        sum.add(value * times);
+    }
+
+    /**
+     * Returns the number of recorded latencies.
+     *
+     * @return the number of recorded latencies
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Returns the sum of all recorded latencies (in nanoseconds).
+     *
+     * @return the sum of all recorded latencies
+     */
+    public long getSum() {
+        return sum.sum();
+    }
+
+    /**
+     * Returns the mean of all recorded latencies (in nanoseconds).
+     *
+     * @return the mean of all recorded latencies
+     */
+    public double getMean() {
+        final long c = getCount();
+        return c == 0 ? 0 : (double) getSum() / c;
+    }
+
+    /**
+     * Returns the (approximated) latency at the given percentile, i.e., the largest value of the bucket that contains
+     * the given percentile.
+     *
+     * @param percentile
+     *         the percentile, in the range of {@code [0, 100]}
+     *
+     * @return the (approximated) latency at the given percentile, or {@code 0} if no latencies have been recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be in [0, 100]");
+        }
+
+        final long[] snapshot = new long[NUM_BUCKETS];
+        long total = 0;
+        for (int i = 0; i < NUM_BUCKETS; i++) {
+            snapshot[i] = buckets.get(i);
+            total += snapshot[i];
+        }
+
+        if (total == 0) {
+            return 0;
+        }
+
+        final long target = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long cumulative = 0;
+        for (int i = 0; i < NUM_BUCKETS; i++) {
+            cumulative += snapshot[i];
+            if (cumulative >= target) {
+                return highestValueOf(i);
+            }
+        }
+
+        return highestValueOf(NUM_BUCKETS - 1);
+    }
+
+    /**
+     * Returns the throughput, i.e., the number of recorded operations per second of recorded latency.
+     *
+     * @return the throughput in operations per second
+     */
+    public double getThroughput() {
+        final long s = getSum();
+        return s == 0 ? 0 : getCount() * (double) TimeUnit.SECONDS.toNanos(1) / s;
+    }
+
+    @Override
+    public String getSummary() {
+        return getName() + " [" + getUnit() + "]: " + getCount() + " (count), " + getMean() + " (mean), " +
+               getValueAtPercentile(50) + " (p50), " + getValueAtPercentile(99) + " (p99), " +
+               getValueAtPercentile(99.9) + " (p999), " + getThroughput() + " (ops/s)";
+    }
+
+    @Override
+    public String getDetails() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append(getSummary()).append(System.lineSeparator());
+        for (int i = 0; i < NUM_BUCKETS; i++) {
+            final long c = buckets.get(i);
+            if (c > 0) {
+                sb.append('\t')
+                  .append(lowestValueOf(i))
+                  .append('-')
+                  .append(highestValueOf(i))
+                  .append(", ")
+                  .append(c)
+                  .append(System.lineSeparator());
+            }
+        }
+        return sb.toString();
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+
+        // keep the SUB_BUCKET_BITS most significant bits of the value
+        final int shift = Long.SIZE - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        final int mantissa = (int) (value >>> shift);
+        return SUB_BUCKETS + (shift - 1) * HALF_SUB_BUCKETS + (mantissa - HALF_SUB_BUCKETS);
+    }
+
+    static long lowestValueOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+
+        final int offset = index - SUB_BUCKETS;
+        final int shift = offset / HALF_SUB_BUCKETS + 1;
+        final long mantissa = offset % HALF_SUB_BUCKETS + HALF_SUB_BUCKETS;
+        return mantissa << shift;
+    }
+
+    static long highestValueOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+
+        final int offset = index - SUB_BUCKETS;
+        final int shift = offset / HALF_SUB_BUCKETS + 1;
+        final long mantissa = offset % HALF_SUB_BUCKETS + HALF_SUB_BUCKETS;
+        return ((mantissa + 1) << shift) - 1;
+    }
+}
@@ -18,7 +18,7 @@ package de.learnlib.filter.statistic.oracle;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 import de.learnlib.oracle.AdaptiveMembershipOracle;
 import de.learnlib.query.AdaptiveQuery;
@@ -36,19 +36,19 @@ import de.learnlib.query.AdaptiveQuery.Response;
 public class CounterAdaptiveQueryOracle<I, O> implements AdaptiveMembershipOracle<I, O> {
 
     private final AdaptiveMembershipOracle<I, O> delegate;
-    private final AtomicLong resetCounter = new AtomicLong();
-    private final AtomicLong symbolCounter = new AtomicLong();
+    private final LongAdder resetCounter = new LongAdder();
+    private final LongAdder symbolCounter = new LongAdder();
 
     public CounterAdaptiveQueryOracle(AdaptiveMembershipOracle<I, O> delegate) {
         this.delegate = delegate;
     }
 
     public long getResetCount() {
-        return resetCounter.get();
+        return resetCounter.sum();
     }
 
     public long getSymbolCount() {
-        return symbolCounter.get();
+        return symbolCounter.sum();
     }
 
     @Override
@@ -77,12 +77,12 @@ public class CounterAdaptiveQueryOracle<I, O> implements AdaptiveMembershipOracl
 
         @Override
         public Response processOutput(O out) {
-            symbolCounter.incrementAndGet();
+            symbolCounter.increment();
 
             final Response response = delegate.processOutput(out);
 
             if (response != Response.SYMBOL) {
-                resetCounter.incrementAndGet();
+                resetCounter.increment();
             }
 
             return response;
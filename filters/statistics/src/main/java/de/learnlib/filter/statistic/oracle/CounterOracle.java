@@ -81,10 +81,12 @@ public class CounterOracle<I, D> implements StatisticOracle<I, D> {
 
     @Override
     public void processQueries(Collection<? extends Query<I, D>> queries) {
-        queryCounter.increment(queries.size());
+        long symbols = 0;
         for (Query<I, D> qry : queries) {
-            symbolCounter.increment(qry.getPrefix().length() + qry.getSuffix().length());
+            symbols += qry.getPrefix().length() + qry.getSuffix().length();
         }
+        queryCounter.increment(queries.size());
+        symbolCounter.increment(symbols);
         delegate.processQueries(queries);
     }
 
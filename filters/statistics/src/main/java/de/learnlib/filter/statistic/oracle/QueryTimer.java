@@ -0,0 +1,61 @@
+/* Copyright (C) 2013-2024 TU Dortmund University
+ * This file is part of LearnLib, http://www.learnlib.de/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.learnlib.filter.statistic.oracle;
+
+import de.learnlib.filter.statistic.LatencyHistogram;
+
+/**
+ * Records the latencies of the individual queries of a single batch. Since oracles do not report when they start to
+ * process a query, the latency of a query is measured as the time between its answer and the previous answer given by
+ * the same thread (or the start of the batch, if there is none). For oracles that answer their queries one after
+ * another (per thread), this is the time spent on the individual query.
+ * <p>
+ * The time of the previous answer is kept in a plain field for the thread that has started the batch (the common case
+ * of synchronous oracles) and in a thread-local primitive slot for all other threads, so that recording an answer
+ * neither allocates nor boxes.
+ */
+final class QueryTimer {
+
+    private final LatencyHistogram histogram;
+    private final Thread owner;
+    private final ThreadLocal<long[]> lastForeignAnswer;
+    private long lastOwnerAnswer;
+
+    QueryTimer(LatencyHistogram histogram) {
+        final long start = System.nanoTime();
+
+        this.histogram = histogram;
+        this.owner = Thread.currentThread();
+        this.lastForeignAnswer = ThreadLocal.withInitial(() -> new long[] {start});
+        this.lastOwnerAnswer = start;
+    }
+
+    void answered() {
+        final long now = System.nanoTime();
+        final long last;
+
+        if (Thread.currentThread() == owner) {
+            last = lastOwnerAnswer;
+            lastOwnerAnswer = now;
+        } else {
+            final long[] slot = lastForeignAnswer.get();
+            last = slot[0];
+            slot[0] = now;
+        }
+
+        histogram.record(now - last);
+    }
+}
@@ -0,0 +1,85 @@
+/* Copyright (C) 2013-2024 TU Dortmund University
+ * This file is part of LearnLib, http://www.learnlib.de/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.learnlib.filter.statistic.oracle;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import de.learnlib.filter.statistic.LatencyHistogram;
+import de.learnlib.oracle.AdaptiveMembershipOracle;
+import de.learnlib.query.AdaptiveQuery;
+import de.learnlib.query.AdaptiveQuery.Response;
+import de.learnlib.statistic.StatisticCollector;
+
+/**
+ * Collects a {@link LatencyHistogram histogram} of the per-symbol latencies of an {@link AdaptiveMembershipOracle},
+ * i.e., the time between requesting an {@link AdaptiveQuery#getInput() input} and receiving its
+ * {@link AdaptiveQuery#processOutput(Object) output}.
+ *
+ * @param <I>
+ *         input symbol type
+ * @param <O>
+ *         output symbol type
+ */
+public class TimingAdaptiveQueryOracle<I, O> implements AdaptiveMembershipOracle<I, O>, StatisticCollector {
+
+    private final AdaptiveMembershipOracle<I, O> delegate;
+    private final LatencyHistogram histogram;
+
+    public TimingAdaptiveQueryOracle(AdaptiveMembershipOracle<I, O> delegate, String name) {
+        this.delegate = delegate;
+        this.histogram = new LatencyHistogram(name);
+    }
+
+    @Override
+    public void processQueries(Collection<? extends AdaptiveQuery<I, O>> queries) {
+        final List<TimingQuery> wrappers = new ArrayList<>(queries.size());
+        for (AdaptiveQuery<I, O> q : queries) {
+            wrappers.add(new TimingQuery(q));
+        }
+
+        this.delegate.processQueries(wrappers);
+    }
+
+    @Override
+    public LatencyHistogram getStatisticalData() {
+        return this.histogram;
+    }
+
+    private class TimingQuery implements AdaptiveQuery<I, O> {
+
+        private final AdaptiveQuery<I, O> delegate;
+        private long start;
+
+        TimingQuery(AdaptiveQuery<I, O> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public I getInput() {
+            final I input = delegate.getInput();
+            start = System.nanoTime();
+            return input;
+        }
+
+        @Override
+        public Response processOutput(O out) {
+            histogram.record(System.nanoTime() - start);
+            return delegate.processOutput(out);
+        }
+    }
+}
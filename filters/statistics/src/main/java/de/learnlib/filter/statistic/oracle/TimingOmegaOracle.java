@@ -0,0 +1,100 @@
+/* Copyright (C) 2013-2024 TU Dortmund University
+ * This file is part of LearnLib, http://www.learnlib.de/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.learnlib.filter.statistic.oracle;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import de.learnlib.filter.statistic.LatencyHistogram;
+import de.learnlib.oracle.MembershipOracle;
+import de.learnlib.oracle.OmegaMembershipOracle;
+import de.learnlib.query.OmegaQuery;
+import de.learnlib.statistic.StatisticCollector;
+import net.automatalib.word.Word;
+
+/**
+ * Collects a {@link LatencyHistogram histogram} of omega query latencies. Since the delegate oracle answers queries in
+ * batches, the latency of a query is measured as the time between its answer and the previous answer given by the same
+ * thread (or the start of the batch). For delegates that answer queries one after another (per thread), this is the
+ * time spent on the individual query.
+ *
+ * @param <S>
+ *         state type
+ * @param <I>
+ *         input symbol type
+ * @param <D>
+ *         output domain type
+ */
+public class TimingOmegaOracle<S, I, D> implements OmegaMembershipOracle<S, I, D>, StatisticCollector {
+
+    private final LatencyHistogram histogram;
+    private final OmegaMembershipOracle<S, I, D> delegate;
+
+    public TimingOmegaOracle(OmegaMembershipOracle<S, I, D> delegate, String name) {
+        this.delegate = delegate;
+        this.histogram = new LatencyHistogram(name);
+    }
+
+    @Override
+    public void processQueries(Collection<? extends OmegaQuery<I, D>> queries) {
+        if (queries.isEmpty()) {
+            return;
+        }
+
+        final QueryTimer timer = new QueryTimer(this.histogram);
+        final List<TimedOmegaQuery<I, D>> timedQueries = new ArrayList<>(queries.size());
+        for (OmegaQuery<I, D> q : queries) {
+            timedQueries.add(new TimedOmegaQuery<>(q, timer));
+        }
+
+        this.delegate.processQueries(timedQueries);
+    }
+
+    @Override
+    public MembershipOracle<I, D> getMembershipOracle() {
+        return delegate.getMembershipOracle();
+    }
+
+    @Override
+    public boolean isSameState(Word<I> w1, S s1, Word<I> w2, S s2) {
+        return delegate.isSameState(w1, s1, w2, s2);
+    }
+
+    @Override
+    public LatencyHistogram getStatisticalData() {
+        return this.histogram;
+    }
+
+    private static final class TimedOmegaQuery<I, D> extends OmegaQuery<I, D> {
+
+        private final OmegaQuery<I, D> delegate;
+        private final QueryTimer timer;
+
+        TimedOmegaQuery(OmegaQuery<I, D> delegate, QueryTimer timer) {
+            super(delegate.getPrefix(), delegate.getLoop(), delegate.getRepeat());
+            this.delegate = delegate;
+            this.timer = timer;
+        }
+
+        @Override
+        public void answer(D output, int periodicity) {
+            timer.answered();
+            super.answer(output, periodicity);
+            delegate.answer(output, periodicity);
+        }
+    }
+}
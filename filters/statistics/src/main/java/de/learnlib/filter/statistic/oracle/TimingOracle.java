@@ -0,0 +1,132 @@
+/* Copyright (C) 2013-2024 TU Dortmund University
+ * This file is part of LearnLib, http://www.learnlib.de/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.learnlib.filter.statistic.oracle;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import de.learnlib.filter.statistic.LatencyHistogram;
+import de.learnlib.oracle.MembershipOracle;
+import de.learnlib.oracle.MembershipOracle.DFAMembershipOracle;
+import de.learnlib.oracle.MembershipOracle.MealyMembershipOracle;
+import de.learnlib.oracle.MembershipOracle.MooreMembershipOracle;
+import de.learnlib.query.Query;
+import de.learnlib.statistic.StatisticOracle;
+import de.learnlib.tooling.annotation.refinement.GenerateRefinement;
+import de.learnlib.tooling.annotation.refinement.Generic;
+import de.learnlib.tooling.annotation.refinement.Interface;
+import de.learnlib.tooling.annotation.refinement.Mapping;
+import net.automatalib.word.Word;
+
+/**
+ * Collects a {@link LatencyHistogram histogram} of query latencies. Since the delegate oracle answers queries in
+ * batches, the latency of a query is measured as the time between its answer and the previous answer given by the same
+ * thread (or the start of the batch). For delegates that answer queries one after another (per thread), this is the
+ * time spent on the individual query.
+ *
+ * @param <I>
+ *         input symbol type
+ * @param <D>
+ *         output domain type
+ */
+@GenerateRefinement(name = "DFATimingOracle",
+                    generics = @Generic(value = "I", desc = "input symbol type"),
+                    parentGenerics = {@Generic("I"), @Generic(clazz = Boolean.class)},
+                    typeMappings = @Mapping(from = MembershipOracle.class,
+                                            to = DFAMembershipOracle.class,
+                                            generics = @Generic("I")),
+                    interfaces = @Interface(clazz = DFAMembershipOracle.class, generics = @Generic("I")))
+@GenerateRefinement(name = "MealyTimingOracle",
+                    generics = {@Generic(value = "I", desc = "input symbol type"),
+                                @Generic(value = "O", desc = "output symbol type")},
+                    parentGenerics = {@Generic("I"), @Generic(clazz = Word.class, generics = "O")},
+                    typeMappings = @Mapping(from = MembershipOracle.class,
+                                            to = MealyMembershipOracle.class,
+                                            generics = {@Generic("I"), @Generic("O")}),
+                    interfaces = @Interface(clazz = MealyMembershipOracle.class,
+                                            generics = {@Generic("I"), @Generic("O")}))
+@GenerateRefinement(name = "MooreTimingOracle",
+                    generics = {@Generic(value = "I", desc = "input symbol type"),
+                                @Generic(value = "O", desc = "output symbol type")},
+                    parentGenerics = {@Generic("I"), @Generic(clazz = Word.class, generics = "O")},
+                    typeMappings = @Mapping(from = MembershipOracle.class,
+                                            to = MooreMembershipOracle.class,
+                                            generics = {@Generic("I"), @Generic("O")}),
+                    interfaces = @Interface(clazz = MooreMembershipOracle.class,
+                                            generics = {@Generic("I"), @Generic("O")}))
+public class TimingOracle<I, D> implements StatisticOracle<I, D> {
+
+    private final LatencyHistogram histogram;
+    private final MembershipOracle<I, D> delegate;
+
+    public TimingOracle(MembershipOracle<I, D> delegate, String name) {
+        this.delegate = delegate;
+        this.histogram = new LatencyHistogram(name);
+    }
+
+    @Override
+    public final void processQueries(Collection<? extends Query<I, D>> queries) {
+        if (queries.isEmpty()) {
+            return;
+        }
+
+        final QueryTimer timer = new QueryTimer(this.histogram);
+        final List<TimedQuery<I, D>> timedQueries = new ArrayList<>(queries.size());
+        for (Query<I, D> q : queries) {
+            timedQueries.add(new TimedQuery<>(q, timer));
+        }
+
+        this.delegate.processQueries(timedQueries);
+    }
+
+    @Override
+    public final LatencyHistogram getStatisticalData() {
+        return this.histogram;
+    }
+
+    private static final class TimedQuery<I, D> extends Query<I, D> {
+
+        private final Query<I, D> delegate;
+        private final QueryTimer timer;
+
+        TimedQuery(Query<I, D> delegate, QueryTimer timer) {
+            this.delegate = delegate;
+            this.timer = timer;
+        }
+
+        @Override
+        public void answer(D output) {
+            timer.answered();
+            delegate.answer(output);
+        }
+
+        @Override
+        public Word<I> getPrefix() {
+            return delegate.getPrefix();
+        }
+
+        @Override
+        public Word<I> getSuffix() {
+            return delegate.getSuffix();
+        }
+
+        @Override
+        public String toString() {
+            return delegate.toString();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/* Copyright (C) 2013-2024 TU Dortmund University
+ * This file is part of LearnLib, http://www.learnlib.de/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.learnlib.filter.statistic.sul;
+
+import de.learnlib.filter.statistic.LatencyHistogram;
+import de.learnlib.statistic.StatisticSUL;
+import de.learnlib.sul.SUL;
+
+/**
+ * Collects a {@link LatencyHistogram histogram} of the latencies of individual {@link #step(Object) steps}. Forks of
+ * this SUL share the same histogram.
+ *
+ * @param <I>
+ *         input symbol type
+ * @param <O>
+ *         output symbol type
+ */
+public class TimingSUL<I, O> implements StatisticSUL<I, O> {
+
+    private final SUL<I, O> sul;
+    private final LatencyHistogram histogram;
+
+    public TimingSUL(String name, SUL<I, O> sul) {
+        this(new LatencyHistogram(name), sul);
+    }
+
+    protected TimingSUL(LatencyHistogram histogram, SUL<I, O> sul) {
+        this.histogram = histogram;
+        this.sul = sul;
+    }
+
+    @Override
+    public void pre() {
+        sul.pre();
+    }
+
+    @Override
+    public void post() {
+        sul.post();
+    }
+
+    @Override
+    public O step(I in) {
+        final long start = System.nanoTime();
+        final O out = sul.step(in);
+        histogram.record(System.nanoTime() - start);
+        return out;
+    }
+
+    @Override
+    public boolean canFork() {
+        return sul.canFork();
+    }
+
+    @Override
+    public SUL<I, O> fork() {
+        return new TimingSUL<>(histogram, sul.fork());
+    }
+
+    @Override
+    public LatencyHistogram getStatisticalData() {
+        return histogram;
+    }
+}
@@ -0,0 +1,98 @@
+/* Copyright (C) 2013-2024 TU Dortmund University
+ * This file is part of LearnLib, http://www.learnlib.de/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.learnlib.filter.statistic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testBuckets() {
+        long previous = -1;
+        for (int i = 0; i < 960; i++) {
+            final long low = LatencyHistogram.lowestValueOf(i);
+            final long high = LatencyHistogram.highestValueOf(i);
+
+            // buckets are contiguous and consistent with the index computation
+            Assert.assertEquals(low, previous + 1);
+            Assert.assertEquals(LatencyHistogram.indexOf(low), i);
+            Assert.assertEquals(LatencyHistogram.indexOf(high), i);
+            previous = high;
+        }
+
+        Assert.assertEquals(previous, Long.MAX_VALUE);
+    }
+
+    @Test
+    public void testPercentiles() {
+        final LatencyHistogram histogram = new LatencyHistogram("test");
+
+        Assert.assertEquals(histogram.getValueAtPercentile(50), 0);
+        Assert.assertEquals(histogram.getThroughput(), 0.0);
+
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i);
+        }
+
+        Assert.assertEquals(histogram.getCount(), 1000);
+        Assert.assertEquals(histogram.getSum(), 500_500);
+        Assert.assertEquals(histogram.getMean(), 500.5);
+        assertWithinError(histogram.getValueAtPercentile(50), 500);
+        assertWithinError(histogram.getValueAtPercentile(99), 990);
+        assertWithinError(histogram.getValueAtPercentile(99.9), 999);
+        Assert.assertEquals(histogram.getValueAtPercentile(0), 1);
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> histogram.getValueAtPercentile(101));
+    }
+
+    @Test
+    public void testConcurrentRecording() throws InterruptedException, ExecutionException {
+        final LatencyHistogram histogram = new LatencyHistogram("test");
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            final List<Future<?>> futures = new ArrayList<>(4);
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        histogram.record(i);
+                    }
+                }));
+            }
+
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Assert.assertEquals(histogram.getCount(), 40_000);
+        Assert.assertEquals(histogram.getSum(), 4 * 49_995_000L);
+    }
+
+    private static void assertWithinError(long actual, long expected) {
+        Assert.assertTrue(Math.abs(actual - expected) <= expected / 16, actual + " vs. " + expected);
+    }
+}
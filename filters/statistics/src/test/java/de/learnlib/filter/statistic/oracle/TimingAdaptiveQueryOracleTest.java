@@ -0,0 +1,93 @@
+/* Copyright (C) 2013-2024 TU Dortmund University
+ * This file is part of LearnLib, http://www.learnlib.de/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.learnlib.filter.statistic.oracle;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import de.learnlib.filter.statistic.LatencyHistogram;
+import de.learnlib.oracle.AdaptiveMembershipOracle;
+import de.learnlib.query.AdaptiveQuery;
+import de.learnlib.query.AdaptiveQuery.Response;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class TimingAdaptiveQueryOracleTest {
+
+    private static final long SLOW_MILLIS = 20;
+
+    @Test
+    public void testPerSymbolLatencies() {
+        // answers all symbols immediately, except for 'b'
+        final AdaptiveMembershipOracle<Character, Character> delegate = queries -> {
+            for (AdaptiveQuery<Character, Character> q : queries) {
+                Response response;
+                do {
+                    final Character input = q.getInput();
+                    if (input == 'b') {
+                        sleep();
+                    }
+                    response = q.processOutput(input);
+                } while (response == Response.SYMBOL);
+            }
+        };
+
+        final TimingAdaptiveQueryOracle<Character, Character> oracle =
+                new TimingAdaptiveQueryOracle<>(delegate, "timing");
+        final LatencyHistogram histogram = oracle.getStatisticalData();
+        final FixedQuery query = new FixedQuery("aaaaaaaaab");
+
+        oracle.processQueries(Collections.singleton(query));
+
+        Assert.assertEquals(query.outputs.toString(), "aaaaaaaaab");
+
+        // the slow symbol only shows up in the tail of the distribution
+        final long slow = TimeUnit.MILLISECONDS.toNanos(SLOW_MILLIS);
+        Assert.assertEquals(histogram.getCount(), 10);
+        Assert.assertTrue(histogram.getValueAtPercentile(50) < slow);
+        Assert.assertTrue(histogram.getValueAtPercentile(100) >= slow);
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(SLOW_MILLIS);
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class FixedQuery implements AdaptiveQuery<Character, Character> {
+
+        private final String inputs;
+        private final StringBuilder outputs;
+
+        FixedQuery(String inputs) {
+            this.inputs = inputs;
+            this.outputs = new StringBuilder();
+        }
+
+        @Override
+        public Character getInput() {
+            return inputs.charAt(outputs.length());
+        }
+
+        @Override
+        public Response processOutput(Character out) {
+            outputs.append(out);
+            return outputs.length() < inputs.length() ? Response.SYMBOL : Response.FINISHED;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/* Copyright (C) 2013-2024 TU Dortmund University
+ * This file is part of LearnLib, http://www.learnlib.de/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.learnlib.filter.statistic.oracle;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import de.learnlib.filter.statistic.LatencyHistogram;
+import de.learnlib.oracle.MembershipOracle;
+import de.learnlib.oracle.OmegaMembershipOracle;
+import de.learnlib.query.OmegaQuery;
+import net.automatalib.word.Word;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class TimingOmegaOracleTest {
+
+    private static final long SLOW_MILLIS = 20;
+
+    @Test
+    public void testPerQueryLatencies() {
+        final TimingOmegaOracle<Integer, Character, Boolean> oracle =
+                new TimingOmegaOracle<>(new DelayingOmegaOracle(), "timing");
+        final LatencyHistogram histogram = oracle.getStatisticalData();
+
+        final List<OmegaQuery<Character, Boolean>> queries = new ArrayList<>();
+        for (int i = 0; i < 9; i++) {
+            queries.add(new OmegaQuery<>(Word.epsilon(), Word.fromLetter('a'), 1));
+        }
+        queries.add(new OmegaQuery<>(Word.fromLetter('a'), Word.fromLetter('a'), 1));
+
+        oracle.processQueries(queries);
+
+        for (OmegaQuery<Character, Boolean> q : queries) {
+            Assert.assertEquals(q.getOutput(), Boolean.TRUE);
+            Assert.assertEquals(q.getPeriodicity(), 1);
+        }
+
+        // the slow query only shows up in the tail of the distribution
+        final long slow = TimeUnit.MILLISECONDS.toNanos(SLOW_MILLIS);
+        Assert.assertEquals(histogram.getCount(), queries.size());
+        Assert.assertTrue(histogram.getValueAtPercentile(50) < slow);
+        Assert.assertTrue(histogram.getValueAtPercentile(100) >= slow);
+    }
+
+    /**
+     * Answers all queries immediately, except for queries with a non-empty prefix.
+     */
+    private static final class DelayingOmegaOracle implements OmegaMembershipOracle<Integer, Character, Boolean> {
+
+        @Override
+        public void processQueries(Collection<? extends OmegaQuery<Character, Boolean>> queries) {
+            for (OmegaQuery<Character, Boolean> q : queries) {
+                if (!q.getPrefix().isEmpty()) {
+                    try {
+                        Thread.sleep(SLOW_MILLIS);
+                    } catch (InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+                q.answer(true, 1);
+            }
+        }
+
+        @Override
+        public MembershipOracle<Character, Boolean> getMembershipOracle() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean isSameState(Word<Character> w1, Integer s1, Word<Character> w2, Integer s2) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/* Copyright (C) 2013-2024 TU Dortmund University
+ * This file is part of LearnLib, http://www.learnlib.de/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.learnlib.filter.statistic.oracle;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import de.learnlib.filter.statistic.LatencyHistogram;
+import de.learnlib.oracle.MembershipOracle;
+import de.learnlib.query.DefaultQuery;
+import de.learnlib.query.Query;
+import net.automatalib.word.Word;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class TimingOracleTest {
+
+    private static final long SLOW_MILLIS = 20;
+
+    @Test
+    public void testPerQueryLatencies() {
+        // answers all queries immediately, except for queries of length 1
+        final MembershipOracle<Character, Boolean> delegate = queries -> {
+            for (Query<Character, Boolean> q : queries) {
+                if (q.getInput().length() == 1) {
+                    sleep();
+                }
+                q.answer(true);
+            }
+        };
+
+        final TimingOracle<Character, Boolean> oracle = new TimingOracle<>(delegate, "timing");
+        final LatencyHistogram histogram = oracle.getStatisticalData();
+
+        oracle.processQueries(Collections.emptyList());
+        Assert.assertEquals(histogram.getCount(), 0);
+
+        final List<DefaultQuery<Character, Boolean>> queries = new ArrayList<>();
+        for (int i = 0; i < 9; i++) {
+            queries.add(new DefaultQuery<>(Word.epsilon()));
+        }
+        queries.add(new DefaultQuery<>(Word.fromLetter('a')));
+
+        oracle.processQueries(queries);
+
+        for (DefaultQuery<Character, Boolean> q : queries) {
+            Assert.assertEquals(q.getOutput(), Boolean.TRUE);
+        }
+
+        // the slow query only shows up in the tail of the distribution
+        final long slow = TimeUnit.MILLISECONDS.toNanos(SLOW_MILLIS);
+        Assert.assertEquals(histogram.getCount(), queries.size());
+        Assert.assertTrue(histogram.getValueAtPercentile(50) < slow);
+        Assert.assertTrue(histogram.getValueAtPercentile(100) >= slow);
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(SLOW_MILLIS);
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/* Copyright (C) 2013-2024 TU Dortmund University
+ * This file is part of LearnLib, http://www.learnlib.de/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.learnlib.filter.statistic.sul;
+
+import java.util.concurrent.TimeUnit;
+
+import de.learnlib.filter.statistic.LatencyHistogram;
+import de.learnlib.sul.SUL;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class TimingSULTest {
+
+    private static final long SLOW_MILLIS = 20;
+
+    @Test
+    public void testStepLatencies() {
+        final TimingSUL<Character, Character> sul = new TimingSUL<>("timing", new DelayingSUL());
+        final LatencyHistogram histogram = sul.getStatisticalData();
+
+        sul.pre();
+        for (int i = 0; i < 9; i++) {
+            Assert.assertEquals(sul.step('a').charValue(), 'a');
+        }
+        sul.post();
+
+        // forks share the histogram
+        Assert.assertTrue(sul.canFork());
+        final SUL<Character, Character> fork = sul.fork();
+        fork.pre();
+        Assert.assertEquals(fork.step('b').charValue(), 'b');
+        fork.post();
+
+        // the slow step only shows up in the tail of the distribution
+        final long slow = TimeUnit.MILLISECONDS.toNanos(SLOW_MILLIS);
+        Assert.assertEquals(histogram.getCount(), 10);
+        Assert.assertTrue(histogram.getValueAtPercentile(50) < slow);
+        Assert.assertTrue(histogram.getValueAtPercentile(100) >= slow);
+    }
+
+    /**
+     * Mirrors its inputs and delays the input 'b'.
+     */
+    private static final class DelayingSUL implements SUL<Character, Character> {
+
+        @Override
+        public void pre() {}
+
+        @Override
+        public void post() {}
+
+        @Override
+        public Character step(Character in) {
+            if (in == 'b') {
+                try {
+                    Thread.sleep(SLOW_MILLIS);
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            return in;
+        }
+
+        @Override
+        public boolean canFork() {
+            return true;
+        }
+
+        @Override
+        public SUL<Character, Character> fork() {
+            return new DelayingSUL();
+        }
+    }
+}
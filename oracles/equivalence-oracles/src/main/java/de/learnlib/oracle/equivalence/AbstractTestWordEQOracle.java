@@ -20,6 +20,7 @@ import java.util.List;
 import java.util.Objects;
 import java.util.stream.Stream;
 
+import de.learnlib.exception.BatchInterruptedException;
 import de.learnlib.logging.Category;
 import de.learnlib.oracle.EquivalenceOracle;
 import de.learnlib.oracle.MembershipOracle;
@@ -37,6 +38,9 @@ import org.slf4j.LoggerFactory;
  * <p>
  * Being {@link Stream stream}-based, this oracle encourages the lazy computation of counterexamples, so that all
  * counterexamples do not have to be computed upfront, but only until the first valid counterexample is found.
+ * <p>
+ * The search is cancelled with a {@link BatchInterruptedException} if the current thread is interrupted, which is
+ * checked before each test word. This allows, e.g., an {@link EQOracleChain} to stop oracles that have lost a race.
  *
  * @param <A>
  *         hypothesis type
@@ -72,7 +76,7 @@ public abstract class AbstractTestWordEQOracle<A extends Output<I, D>, I, D> imp
             return null;
         }
 
-        final Stream<Word<I>> testWordStream = generateTestWords(hypothesis, inputs);
+        final Stream<Word<I>> testWordStream = generateTestWords(hypothesis, inputs).peek(w -> checkInterrupted());
         final Stream<DefaultQuery<I, D>> queryStream = testWordStream.map(DefaultQuery::new);
         final Stream<DefaultQuery<I, D>> answeredQueryStream = answerQueries(queryStream);
 
@@ -112,4 +116,10 @@ public abstract class AbstractTestWordEQOracle<A extends Output<I, D>, I, D> imp
         return this.batchSize > 1;
     }
 
+    private static void checkInterrupted() {
+        if (Thread.interrupted()) {
+            throw new BatchInterruptedException(new InterruptedException());
+        }
+    }
+
 }
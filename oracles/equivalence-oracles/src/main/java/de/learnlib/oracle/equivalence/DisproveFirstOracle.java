@@ -19,7 +19,11 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
+import de.learnlib.exception.BatchInterruptedException;
 import de.learnlib.oracle.BlackBoxOracle;
 import de.learnlib.oracle.BlackBoxOracle.DFABlackBoxOracle;
 import de.learnlib.oracle.BlackBoxOracle.MealyBlackBoxOracle;
@@ -34,6 +38,7 @@ import de.learnlib.tooling.annotation.refinement.Mapping;
 import net.automatalib.automaton.concept.Output;
 import net.automatalib.automaton.fsa.DFA;
 import net.automatalib.automaton.transducer.MealyMachine;
+import net.automatalib.common.util.exception.ExceptionUtil;
 import net.automatalib.word.Word;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
@@ -42,6 +47,9 @@ import org.checkerframework.checker.nullness.qual.Nullable;
  * the given hypothesis.
  * <p>
  * One may favor this implementation if refining a hypothesis is expensive compared to trying to disprove properties.
+ * <p>
+ * If an {@link ExecutorService} is provided, the (not yet disproved) properties are checked concurrently. Note that in
+ * this case the property oracles must not share non-thread-safe resources such as (non-thread-safe) membership oracles.
  *
  * @param <A>
  *         automaton type
@@ -75,6 +83,7 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 public class DisproveFirstOracle<A extends Output<I, D>, I, D> implements BlackBoxOracle<A, I, D> {
 
     private final List<PropertyOracle<I, ? super A, ?, D>> propertyOracles;
+    private final @Nullable ExecutorService executor;
 
     public DisproveFirstOracle() {
         this(Collections.emptyList());
@@ -86,6 +95,21 @@ public class DisproveFirstOracle<A extends Output<I, D>, I, D> implements BlackB
 
     public DisproveFirstOracle(Collection<? extends PropertyOracle<I, ? super A, ?, D>> propertyOracles) {
         this.propertyOracles = new ArrayList<>(propertyOracles);
+        this.executor = null;
+    }
+
+    /**
+     * Constructor for concurrently disproving properties.
+     *
+     * @param propertyOracles
+     *         the property oracles
+     * @param executor
+     *         the executor used for concurrently disproving properties. The executor is not shut down by this oracle
+     */
+    public DisproveFirstOracle(Collection<? extends PropertyOracle<I, ? super A, ?, D>> propertyOracles,
+                               ExecutorService executor) {
+        this.propertyOracles = new ArrayList<>(propertyOracles);
+        this.executor = executor;
     }
 
     @Override
@@ -95,10 +119,25 @@ public class DisproveFirstOracle<A extends Output<I, D>, I, D> implements BlackB
 
     @Override
     public @Nullable DefaultQuery<I, D> findCounterExample(A hypothesis, Collection<? extends I> inputs) {
-        for (PropertyOracle<I, ? super A, ?, D> po : propertyOracles) {
-            if (!po.isDisproved()) {
-                po.disprove(hypothesis, inputs);
+        try {
+            return searchCounterExample(hypothesis, inputs);
+        } finally {
+            // the hypothesis may be refined in-place after this round
+            for (PropertyOracle<I, ? super A, ?, D> po : propertyOracles) {
+                po.invalidateCache();
+            }
+        }
+    }
+
+    private @Nullable DefaultQuery<I, D> searchCounterExample(A hypothesis, Collection<? extends I> inputs) {
+        if (executor == null) {
+            for (PropertyOracle<I, ? super A, ?, D> po : propertyOracles) {
+                if (!po.isDisproved()) {
+                    po.disprove(hypothesis, inputs);
+                }
             }
+        } else {
+            disproveConcurrently(executor, hypothesis, inputs);
         }
 
         for (PropertyOracle<I, ? super A, ?, D> po : propertyOracles) {
@@ -113,4 +152,30 @@ public class DisproveFirstOracle<A extends Output<I, D>, I, D> implements BlackB
 
         return null;
     }
+
+    private void disproveConcurrently(ExecutorService executor, A hypothesis, Collection<? extends I> inputs) {
+        final List<Future<?>> futures = new ArrayList<>(propertyOracles.size());
+
+        try {
+            for (PropertyOracle<I, ? super A, ?, D> po : propertyOracles) {
+                if (!po.isDisproved()) {
+                    futures.add(executor.submit(() -> po.disprove(hypothesis, inputs)));
+                }
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            ExceptionUtil.throwIfUnchecked(e.getCause());
+            throw new AssertionError("Property oracles must not throw checked exceptions", e);
+        } catch (InterruptedException e) {
+            Thread.interrupted();
+            throw new BatchInterruptedException(e);
+        } finally {
+            for (Future<?> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
 }
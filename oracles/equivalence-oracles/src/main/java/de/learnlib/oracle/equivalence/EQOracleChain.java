@@ -19,7 +19,16 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import de.learnlib.exception.BatchInterruptedException;
 import de.learnlib.oracle.EquivalenceOracle;
 import de.learnlib.oracle.EquivalenceOracle.DFAEquivalenceOracle;
 import de.learnlib.oracle.EquivalenceOracle.MealyEquivalenceOracle;
@@ -32,9 +41,31 @@ import de.learnlib.tooling.annotation.refinement.Mapping;
 import net.automatalib.automaton.fsa.DFA;
 import net.automatalib.automaton.transducer.MealyMachine;
 import net.automatalib.automaton.transducer.MooreMachine;
+import net.automatalib.common.util.exception.ExceptionUtil;
 import net.automatalib.word.Word;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+/**
+ * An {@link EquivalenceOracle} that chains multiple equivalence oracles and returns the first counterexample found.
+ * <p>
+ * By default, the oracles are queried sequentially in the order of the chain. If an {@link ExecutorService} is
+ * provided, the oracles are raced against each other instead: all oracles are submitted concurrently (in the order of
+ * the chain, so that earlier oracles take precedence if the executor provides fewer threads than there are oracles) and
+ * the first counterexample returned by any oracle is reported. Oracles that have not been started at this point are
+ * skipped and running oracles are interrupted. The method only returns after all running oracles have finished, so
+ * that no oracle is still in use after returning. Oracles based on {@link AbstractTestWordEQOracle} as well as the
+ * {@link de.learnlib.oracle.equivalence.mealy.RandomWalkEQOracle} stop at their next test word or step upon an
+ * interrupt, whereas other oracles that ignore interrupts delay the result until they have finished. Note that in this
+ * mode the chained oracles are executed in parallel and therefore must not share non-thread-safe resources such as
+ * (non-thread-safe) membership oracles or SULs.
+ *
+ * @param <A>
+ *         automaton type
+ * @param <I>
+ *         input symbol type
+ * @param <D>
+ *         output domain type
+ */
 @GenerateRefinement(name = "DFAEQOracleChain",
                     generics = @Generic(value = "I", desc = "input symbol type"),
                     parentGenerics = {@Generic(clazz = DFA.class, generics = {"?", "I"}),
@@ -69,6 +100,7 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 public class EQOracleChain<A, I, D> implements EquivalenceOracle<A, I, D> {
 
     private final List<EquivalenceOracle<? super A, I, D>> oracles;
+    private final @Nullable ExecutorService executor;
 
     @SafeVarargs
     public EQOracleChain(EquivalenceOracle<? super A, I, D>... oracles) {
@@ -77,6 +109,20 @@ public class EQOracleChain<A, I, D> implements EquivalenceOracle<A, I, D> {
 
     public EQOracleChain(List<? extends EquivalenceOracle<? super A, I, D>> oracles) {
         this.oracles = new ArrayList<>(oracles);
+        this.executor = null;
+    }
+
+    /**
+     * Constructor for a chain whose oracles are raced against each other.
+     *
+     * @param oracles
+     *         the oracles of the chain
+     * @param executor
+     *         the executor used for concurrently running the oracles. The executor is not shut down by this oracle
+     */
+    public EQOracleChain(List<? extends EquivalenceOracle<? super A, I, D>> oracles, ExecutorService executor) {
+        this.oracles = new ArrayList<>(oracles);
+        this.executor = executor;
     }
 
     public void addOracle(EquivalenceOracle<? super A, I, D> oracle) {
@@ -85,6 +131,10 @@ public class EQOracleChain<A, I, D> implements EquivalenceOracle<A, I, D> {
 
     @Override
     public @Nullable DefaultQuery<I, D> findCounterExample(A hypothesis, Collection<? extends I> inputs) {
+        if (executor != null) {
+            return raceCounterExample(executor, hypothesis, inputs);
+        }
+
         for (EquivalenceOracle<? super A, I, D> eqOracle : oracles) {
             DefaultQuery<I, D> ceQry = eqOracle.findCounterExample(hypothesis, inputs);
             if (ceQry != null) {
@@ -94,4 +144,92 @@ public class EQOracleChain<A, I, D> implements EquivalenceOracle<A, I, D> {
         return null;
     }
 
+    private @Nullable DefaultQuery<I, D> raceCounterExample(ExecutorService executor,
+                                                            A hypothesis,
+                                                            Collection<? extends I> inputs) {
+        final CompletionService<@Nullable DefaultQuery<I, D>> completionService =
+                new ExecutorCompletionService<>(executor);
+        final List<RacingOracle<A, I, D>> racers = new ArrayList<>(oracles.size());
+        final List<Future<@Nullable DefaultQuery<I, D>>> futures = new ArrayList<>(oracles.size());
+
+        try {
+            for (EquivalenceOracle<? super A, I, D> eqOracle : oracles) {
+                final RacingOracle<A, I, D> racer = new RacingOracle<>(eqOracle, hypothesis, inputs);
+                racers.add(racer);
+                futures.add(completionService.submit(racer));
+            }
+
+            for (int i = 0; i < futures.size(); i++) {
+                final DefaultQuery<I, D> ceQry = completionService.take().get();
+                if (ceQry != null) {
+                    return ceQry;
+                }
+            }
+            return null;
+        } catch (ExecutionException e) {
+            ExceptionUtil.throwIfUnchecked(e.getCause());
+            throw new AssertionError("Equivalence oracles must not throw checked exceptions", e);
+        } catch (InterruptedException e) {
+            Thread.interrupted();
+            throw new BatchInterruptedException(e);
+        } finally {
+            // interrupt the remaining oracles (see AbstractTestWordEQOracle) ...
+            for (Future<?> future : futures) {
+                future.cancel(true);
+            }
+            // ... and wait for them, so that no oracle is still in use after returning
+            stopAll(racers);
+        }
+    }
+
+    private static void stopAll(List<? extends RacingOracle<?, ?, ?>> racers) {
+        try {
+            for (RacingOracle<?, ?, ?> racer : racers) {
+                racer.stop();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class RacingOracle<A, I, D> implements Callable<@Nullable DefaultQuery<I, D>> {
+
+        private final EquivalenceOracle<? super A, I, D> oracle;
+        private final A hypothesis;
+        private final Collection<? extends I> inputs;
+
+        private final AtomicBoolean claimed;
+        private final CountDownLatch finished;
+
+        RacingOracle(EquivalenceOracle<? super A, I, D> oracle, A hypothesis, Collection<? extends I> inputs) {
+            this.oracle = oracle;
+            this.hypothesis = hypothesis;
+            this.inputs = inputs;
+            this.claimed = new AtomicBoolean();
+            this.finished = new CountDownLatch(1);
+        }
+
+        @Override
+        public @Nullable DefaultQuery<I, D> call() {
+            // the race has already been decided
+            if (!claimed.compareAndSet(false, true)) {
+                return null;
+            }
+
+            try {
+                return oracle.findCounterExample(hypothesis, inputs);
+            } finally {
+                finished.countDown();
+            }
+        }
+
+        /**
+         * Prevents the oracle from being started, or waits for it to finish if it has already been started.
+         */
+        void stop() throws InterruptedException {
+            if (!claimed.compareAndSet(false, true)) {
+                finished.await();
+            }
+        }
+    }
 }
@@ -15,17 +15,25 @@
  */
 package de.learnlib.oracle.equivalence.mealy;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import de.learnlib.exception.BatchInterruptedException;
 import de.learnlib.logging.Category;
 import de.learnlib.oracle.EquivalenceOracle.MealyEquivalenceOracle;
 import de.learnlib.query.DefaultQuery;
 import de.learnlib.sul.SUL;
 import net.automatalib.automaton.transducer.MealyMachine;
 import net.automatalib.common.util.collection.CollectionUtil;
+import net.automatalib.common.util.exception.ExceptionUtil;
 import net.automatalib.word.Word;
 import net.automatalib.word.WordBuilder;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -36,6 +44,16 @@ import org.slf4j.LoggerFactory;
  * Performs a random walk over the hypothesis. A random walk restarts with a fixed probability after every step and
  * terminates after a fixed number of steps or with a counterexample. The number of steps to termination may be reset
  * for every new search.
+ * <p>
+ * Optionally, multiple walkers may explore the hypothesis concurrently. In this case, each walker operates on its own
+ * {@link SUL#fork() fork} of the given SUL and its own {@link Random} instance (seeded from the given one), and the
+ * remaining steps are evenly partitioned among the walkers. If a walker finds a counterexample, all walkers with a
+ * higher index are stopped and the counterexample of the walker with the lowest index is returned. Stopped walkers are
+ * charged their full share of steps. As a result, the returned counterexamples and the step count only depend on the
+ * given {@link Random} instance and not on the scheduling of the walkers.
+ * <p>
+ * The search is cancelled with a {@link BatchInterruptedException} if the thread of a walker is interrupted, which is
+ * checked before each step.
  *
  * @param <I>
  *         input symbol type
@@ -63,6 +81,14 @@ public class RandomWalkEQOracle<I, O> implements MealyEquivalenceOracle<I, O> {
      * System under learning.
      */
     private final SUL<I, O> sul;
+    /**
+     * (forked) systems under learning of the individual walkers.
+     */
+    private final List<SUL<I, O>> walkerSULs;
+    /**
+     * executor for running multiple walkers.
+     */
+    private final @Nullable ExecutorService executor;
     /**
      * step counter.
      */
@@ -86,6 +112,54 @@ public class RandomWalkEQOracle<I, O> implements MealyEquivalenceOracle<I, O> {
         this.maxSteps = maxSteps;
         this.random = random;
         this.sul = sul;
+        this.walkerSULs = new ArrayList<>(1);
+        this.walkerSULs.add(sul);
+        this.executor = null;
+    }
+
+    /**
+     * Constructor for running multiple concurrent walkers.
+     *
+     * @param sul
+     *         the system under learning. Must be {@link SUL#canFork() forkable} if more than one walker is used
+     * @param restartProbability
+     *         the probability to restart before each step
+     * @param maxSteps
+     *         the maximum number of steps (shared among all walkers)
+     * @param resetStepCount
+     *         flag for resetting the step count after every search
+     * @param random
+     *         the RNG used for seeding the RNGs of the individual walkers
+     * @param numWalkers
+     *         the number of concurrent walkers
+     * @param executor
+     *         the executor used for running the walkers. The executor is not shut down by this oracle
+     */
+    public RandomWalkEQOracle(SUL<I, O> sul,
+                              double restartProbability,
+                              long maxSteps,
+                              boolean resetStepCount,
+                              Random random,
+                              int numWalkers,
+                              ExecutorService executor) {
+        if (numWalkers < 1) {
+            throw new IllegalArgumentException("At least one walker is required");
+        }
+        if (numWalkers > 1 && !sul.canFork()) {
+            throw new IllegalArgumentException("Multiple walkers require a forkable SUL");
+        }
+
+        this.restartProbability = restartProbability;
+        this.maxSteps = maxSteps;
+        this.resetStepCount = resetStepCount;
+        this.random = random;
+        this.sul = sul;
+        this.walkerSULs = new ArrayList<>(numWalkers);
+        this.walkerSULs.add(sul);
+        for (int i = 1; i < numWalkers; i++) {
+            this.walkerSULs.add(sul.fork());
+        }
+        this.executor = executor;
     }
 
     @Override
@@ -94,8 +168,8 @@ public class RandomWalkEQOracle<I, O> implements MealyEquivalenceOracle<I, O> {
         return doFindCounterExample(hypothesis, inputs);
     }
 
-    private <S, T> @Nullable DefaultQuery<I, Word<O>> doFindCounterExample(MealyMachine<S, I, T, O> hypothesis,
-                                                                           Collection<? extends I> inputs) {
+    private <S> @Nullable DefaultQuery<I, Word<O>> doFindCounterExample(MealyMachine<S, I, ?, O> hypothesis,
+                                                                        Collection<? extends I> inputs) {
         // reset termination counter?
         if (resetStepCount) {
             steps = 0;
@@ -107,55 +181,153 @@ public class RandomWalkEQOracle<I, O> implements MealyEquivalenceOracle<I, O> {
             return null;
         }
 
-        List<? extends I> choices = CollectionUtil.randomAccessList(inputs);
-        int bound = choices.size();
-        S cur = hypothesis.getInitialState();
-        WordBuilder<I> wbIn = new WordBuilder<>();
-        WordBuilder<O> wbOut = new WordBuilder<>();
+        final List<? extends I> choices = CollectionUtil.randomAccessList(inputs);
+        final AtomicInteger ceIndex = new AtomicInteger(Integer.MAX_VALUE);
+
+        if (executor == null) {
+            final Walker<S> walker = new Walker<>(hypothesis, choices, sul, random, maxSteps - steps, 0, ceIndex);
+            final DefaultQuery<I, Word<O>> ce = walker.call();
+            steps += walker.steps;
+            return ce;
+        }
+
+        final int numWalkers = walkerSULs.size();
+        final long remaining = Math.max(0, maxSteps - steps);
+        final List<Walker<S>> walkers = new ArrayList<>(numWalkers);
+        final List<Future<@Nullable DefaultQuery<I, Word<O>>>> futures = new ArrayList<>(numWalkers);
+
+        for (int i = 0; i < numWalkers; i++) {
+            final long budget = remaining / numWalkers + (i < remaining % numWalkers ? 1 : 0);
+            walkers.add(new Walker<>(hypothesis,
+                                     choices,
+                                     walkerSULs.get(i),
+                                     new Random(random.nextLong()),
+                                     budget,
+                                     i,
+                                     ceIndex));
+        }
 
-        boolean first = true;
-        sul.pre();
         try {
-            while (steps < maxSteps) {
-
-                if (first) {
-                    first = false;
-                } else {
-                    // restart?
-                    double restart = random.nextDouble();
-                    if (restart < restartProbability) {
-                        sul.post();
-                        sul.pre();
-                        cur = hypothesis.getInitialState();
-                        wbIn.clear();
-                        wbOut.clear();
-                        first = true;
-                    }
+            for (Walker<S> walker : walkers) {
+                futures.add(executor.submit(walker));
+            }
+
+            // await all walkers so that no SUL is still in use after returning
+            final List<@Nullable DefaultQuery<I, Word<O>>> results = new ArrayList<>(numWalkers);
+            for (Future<@Nullable DefaultQuery<I, Word<O>>> future : futures) {
+                results.add(future.get());
+            }
+
+            // Walkers with a higher index than the winning walker are stopped after a number of steps that depends on
+            // the scheduling. They are charged their full budget so that the step count (and therefore the remaining
+            // budget of subsequent searches) only depends on the given Random instance.
+            @Nullable DefaultQuery<I, Word<O>> result = null;
+            for (int i = 0; i < numWalkers; i++) {
+                final Walker<S> walker = walkers.get(i);
+                steps += result == null ? walker.steps : walker.budget;
+                if (result == null) {
+                    result = results.get(i);
                 }
+            }
+            return result;
+        } catch (ExecutionException e) {
+            ExceptionUtil.throwIfUnchecked(e.getCause());
+            throw new AssertionError("Walkers must not throw checked exceptions", e);
+        } catch (InterruptedException e) {
+            Thread.interrupted();
+            throw new BatchInterruptedException(e);
+        } finally {
+            for (Future<?> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    private final class Walker<S> implements Callable<@Nullable DefaultQuery<I, Word<O>>> {
 
-                // step
-                steps++;
-                I in = choices.get(random.nextInt(bound));
-                O outSul;
+        private final MealyMachine<S, I, ?, O> hypothesis;
+        private final List<? extends I> choices;
+        private final SUL<I, O> sul;
+        private final Random random;
+        private final long budget;
+        private final int index;
+        private final AtomicInteger ceIndex;
 
-                outSul = sul.step(in);
+        private long steps;
 
-                assert cur != null;
-                O outHyp = hypothesis.getTransitionProperty(cur, in);
-                wbIn.add(in);
-                wbOut.add(outSul);
+        Walker(MealyMachine<S, I, ?, O> hypothesis,
+               List<? extends I> choices,
+               SUL<I, O> sul,
+               Random random,
+               long budget,
+               int index,
+               AtomicInteger ceIndex) {
+            this.hypothesis = hypothesis;
+            this.choices = choices;
+            this.sul = sul;
+            this.random = random;
+            this.budget = budget;
+            this.index = index;
+            this.ceIndex = ceIndex;
+        }
 
-                // ce?
-                if (!Objects.equals(outSul, outHyp)) {
-                    DefaultQuery<I, Word<O>> ce = new DefaultQuery<>(wbIn.toWord());
-                    ce.answer(wbOut.toWord());
-                    return ce;
+        @Override
+        public @Nullable DefaultQuery<I, Word<O>> call() {
+            int bound = choices.size();
+            S cur = hypothesis.getInitialState();
+            WordBuilder<I> wbIn = new WordBuilder<>();
+            WordBuilder<O> wbOut = new WordBuilder<>();
+
+            boolean first = true;
+            sul.pre();
+            try {
+                // stop if a walker with a lower index has already found a counterexample
+                while (steps < budget && ceIndex.get() > index) {
+
+                    if (Thread.interrupted()) {
+                        throw new BatchInterruptedException(new InterruptedException());
+                    }
+
+                    if (first) {
+                        first = false;
+                    } else {
+                        // restart?
+                        double restart = random.nextDouble();
+                        if (restart < restartProbability) {
+                            sul.post();
+                            sul.pre();
+                            cur = hypothesis.getInitialState();
+                            wbIn.clear();
+                            wbOut.clear();
+                            first = true;
+                        }
+                    }
+
+                    // step
+                    steps++;
+                    I in = choices.get(random.nextInt(bound));
+                    O outSul;
+
+                    outSul = sul.step(in);
+
+                    assert cur != null;
+                    O outHyp = hypothesis.getTransitionProperty(cur, in);
+                    wbIn.add(in);
+                    wbOut.add(outSul);
+
+                    // ce?
+                    if (!Objects.equals(outSul, outHyp)) {
+                        ceIndex.accumulateAndGet(index, Math::min);
+                        DefaultQuery<I, Word<O>> ce = new DefaultQuery<>(wbIn.toWord());
+                        ce.answer(wbOut.toWord());
+                        return ce;
+                    }
+                    cur = hypothesis.getSuccessor(cur, in);
                 }
-                cur = hypothesis.getSuccessor(cur, in);
+                return null;
+            } finally {
+                sul.post();
             }
-            return null;
-        } finally {
-            sul.post();
         }
     }
 }
@@ -17,6 +17,8 @@ package de.learnlib.oracle.equivalence;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import de.learnlib.oracle.BlackBoxOracle;
 import de.learnlib.oracle.PropertyOracle;
@@ -94,4 +96,23 @@ public class DisproveFirstOracleTest {
         Mockito.verify(po2).disprove(automaton, inputs);
         Mockito.verify(po2, Mockito.never()).doFindCounterExample(automaton, inputs);
     }
+
+    @Test
+    public void testFindCounterExampleConcurrently() {
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            final BlackBoxOracle<Output<Boolean, Boolean>, Boolean, Boolean> concurrentOracle =
+                    new DisproveFirstOracle<>(Arrays.asList(po1, po2), executor);
+            final DefaultQuery<Boolean, Boolean> ce = concurrentOracle.findCounterExample(automaton, inputs);
+
+            Assert.assertEquals(ce, query);
+
+            Mockito.verify(po1).disprove(automaton, inputs);
+            Mockito.verify(po2).disprove(automaton, inputs);
+            Mockito.verify(po2, Mockito.never()).doFindCounterExample(automaton, inputs);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 }
@@ -0,0 +1,163 @@
+/* Copyright (C) 2013-2024 TU Dortmund University
+ * This file is part of LearnLib, http://www.learnlib.de/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.learnlib.oracle.equivalence;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import de.learnlib.oracle.EquivalenceOracle;
+import de.learnlib.oracle.MembershipOracle;
+import de.learnlib.query.DefaultQuery;
+import net.automatalib.automaton.concept.Output;
+import net.automatalib.word.Word;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+public class EQOracleChainTest {
+
+    private static final DefaultQuery<Character, Boolean> CE = new DefaultQuery<>(Word.fromLetter('a'), true);
+
+    private ExecutorService executor;
+
+    @BeforeClass
+    public void setUp() {
+        this.executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterClass
+    public void tearDown() {
+        this.executor.shutdownNow();
+    }
+
+    @Test
+    public void testSequential() {
+        final EquivalenceOracle<Object, Character, Boolean> none = (hyp, inputs) -> null;
+        final EquivalenceOracle<Object, Character, Boolean> ce = (hyp, inputs) -> CE;
+
+        Assert.assertNull(new EQOracleChain<>(none, none).findCounterExample(null, Collections.emptyList()));
+        Assert.assertSame(new EQOracleChain<>(none, ce).findCounterExample(null, Collections.emptyList()), CE);
+    }
+
+    @Test(timeOut = 10000)
+    public void testRacing() throws InterruptedException {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch cancelled = new CountDownLatch(1);
+
+        final EquivalenceOracle<Object, Character, Boolean> slow = (hyp, inputs) -> {
+            started.countDown();
+            try {
+                Thread.sleep(Long.MAX_VALUE);
+            } catch (InterruptedException e) {
+                cancelled.countDown();
+            }
+            return null;
+        };
+        final EquivalenceOracle<Object, Character, Boolean> fast = (hyp, inputs) -> {
+            try {
+                started.await();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            return CE;
+        };
+
+        final EQOracleChain<Object, Character, Boolean> chain =
+                new EQOracleChain<>(Arrays.asList(slow, fast), executor);
+
+        Assert.assertSame(chain.findCounterExample(null, Collections.emptyList()), CE);
+        Assert.assertTrue(cancelled.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test(timeOut = 10000)
+    public void testRacingAwaitsUninterruptibleOracles() {
+        final CountDownLatch started = new CountDownLatch(1);
+        final AtomicBoolean finished = new AtomicBoolean();
+
+        final EquivalenceOracle<Object, Character, Boolean> uninterruptible = (hyp, inputs) -> {
+            started.countDown();
+            final long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(200);
+            while (System.nanoTime() < end) {
+                Thread.yield(); // ignores interrupts
+            }
+            finished.set(true);
+            return null;
+        };
+        final EquivalenceOracle<Object, Character, Boolean> fast = (hyp, inputs) -> {
+            try {
+                started.await();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            return CE;
+        };
+
+        final EQOracleChain<Object, Character, Boolean> chain =
+                new EQOracleChain<>(Arrays.asList(uninterruptible, fast), executor);
+
+        Assert.assertSame(chain.findCounterExample(null, Collections.emptyList()), CE);
+        Assert.assertTrue(finished.get());
+    }
+
+    @Test(timeOut = 10000)
+    public void testRacingStopsTestWordOracles() {
+        final CountDownLatch started = new CountDownLatch(1);
+
+        final MembershipOracle<Character, Boolean> mqOracle = queries -> queries.forEach(q -> q.answer(false));
+        // generates test words until it is interrupted
+        final EquivalenceOracle<Output<Character, Boolean>, Character, Boolean> endless =
+                new AbstractTestWordEQOracle<Output<Character, Boolean>, Character, Boolean>(mqOracle) {
+
+                    @Override
+                    protected Stream<Word<Character>> generateTestWords(Output<Character, Boolean> hypothesis,
+                                                                        Collection<? extends Character> inputs) {
+                        started.countDown();
+                        return Stream.generate(() -> Word.fromLetter('a'));
+                    }
+                };
+        final EquivalenceOracle<Output<Character, Boolean>, Character, Boolean> fast = (hyp, inputs) -> {
+            try {
+                started.await();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            return CE;
+        };
+
+        final EQOracleChain<Output<Character, Boolean>, Character, Boolean> chain =
+                new EQOracleChain<>(Arrays.asList(endless, fast), executor);
+        final Output<Character, Boolean> hypothesis = input -> false;
+
+        Assert.assertSame(chain.findCounterExample(hypothesis, Collections.singleton('a')), CE);
+    }
+
+    @Test(timeOut = 10000)
+    public void testRacingWithoutCounterexample() {
+        final EquivalenceOracle<Object, Character, Boolean> none = (hyp, inputs) -> null;
+        final EQOracleChain<Object, Character, Boolean> chain =
+                new EQOracleChain<>(Arrays.asList(none, none, none), executor);
+
+        Assert.assertNull(chain.findCounterExample(null, Collections.emptyList()));
+    }
+}
@@ -15,8 +15,14 @@
  */
 package de.learnlib.oracle.equivalence.mealy;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
 
+import de.learnlib.exception.BatchInterruptedException;
 import de.learnlib.oracle.EquivalenceOracle.MealyEquivalenceOracle;
 import de.learnlib.query.DefaultQuery;
 import de.learnlib.sul.SUL;
@@ -53,6 +59,117 @@ public class RandomWalkEQOracleTest {
         Assert.assertTrue(dummySUL.isCalledPost());
     }
 
+    @Test
+    public void testMultipleWalkers() {
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            final DummyMealy hyp = new DummyMealy(ALPHABET, true);
+
+            final MealyEquivalenceOracle<Character, Character> o1 =
+                    new RandomWalkEQOracle<>(new ForkableSUL(), 0.1, 10_000, true, new Random(42), 4, executor);
+            final MealyEquivalenceOracle<Character, Character> o2 =
+                    new RandomWalkEQOracle<>(new ForkableSUL(), 0.1, 10_000, true, new Random(42), 4, executor);
+
+            final DefaultQuery<Character, Word<Character>> ce1 = o1.findCounterExample(hyp, ALPHABET);
+            final DefaultQuery<Character, Word<Character>> ce2 = o2.findCounterExample(hyp, ALPHABET);
+
+            Assert.assertNotNull(ce1);
+            Assert.assertEquals(ce1.getInput().suffix(2), Word.fromString("ef"));
+            Assert.assertNotEquals(hyp.computeOutput(ce1.getInput()), ce1.getOutput());
+
+            // same seed, same counterexample
+            Assert.assertNotNull(ce2);
+            Assert.assertEquals(ce2.getInput(), ce1.getInput());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testSharedStepBudget() {
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            final DummyMealy hyp = new DummyMealy(ALPHABET, true);
+            final AtomicLong counter = new AtomicLong();
+            final long budget = 1_000;
+
+            final MealyEquivalenceOracle<Character, Character> oracle =
+                    new RandomWalkEQOracle<>(new ForkableSUL(counter), 0.1, budget, false, new Random(42), 4, executor);
+
+            // walkers that did not report a counterexample must count towards the budget as well
+            while (oracle.findCounterExample(hyp, ALPHABET) != null) {
+                Assert.assertTrue(counter.get() <= budget);
+            }
+
+            Assert.assertTrue(counter.get() <= budget);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testReproducibleStepBudget() {
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            final DummyMealy hyp = new DummyMealy(ALPHABET, true);
+            final List<Word<Character>> ces1 = collectCounterExamples(hyp, executor);
+            final List<Word<Character>> ces2 = collectCounterExamples(hyp, executor);
+
+            // the remaining budget of subsequent searches does not depend on the scheduling of the walkers
+            Assert.assertFalse(ces1.isEmpty());
+            Assert.assertEquals(ces2, ces1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testInterrupt() {
+        final DummySUL dummySUL = new DummySUL();
+        final MealyEquivalenceOracle<Character, Character> mOracle =
+                new RandomWalkEQOracle<>(dummySUL, 0.01, MAX_LENGTH, new Random(42));
+
+        Thread.currentThread().interrupt();
+        Assert.assertThrows(BatchInterruptedException.class,
+                            () -> mOracle.findCounterExample(new DummyMealy(ALPHABET), ALPHABET));
+        Assert.assertFalse(Thread.interrupted());
+        Assert.assertTrue(dummySUL.isCalledPost());
+    }
+
+    @Test
+    public void testNonForkableSUL() {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            Assert.assertThrows(IllegalArgumentException.class,
+                                () -> new RandomWalkEQOracle<>(new DummySUL(),
+                                                               0.1,
+                                                               MAX_LENGTH,
+                                                               true,
+                                                               new Random(42),
+                                                               2,
+                                                               executor));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static List<Word<Character>> collectCounterExamples(DummyMealy hyp, ExecutorService executor) {
+        final MealyEquivalenceOracle<Character, Character> oracle =
+                new RandomWalkEQOracle<>(new ForkableSUL(), 0.1, 2_000, false, new Random(42), 4, executor);
+        final List<Word<Character>> result = new ArrayList<>();
+
+        DefaultQuery<Character, Word<Character>> ce;
+        while ((ce = oracle.findCounterExample(hyp, ALPHABET)) != null) {
+            result.add(ce.getInput());
+        }
+
+        return result;
+    }
+
     private static class DummySUL implements SUL<Character, Character> {
 
         private boolean calledPre;
@@ -94,13 +211,60 @@ public class RandomWalkEQOracleTest {
         }
     }
 
+    /**
+     * A SUL that mirrors its inputs, except for the input 'f' directly following 'e'.
+     */
+    private static class ForkableSUL implements SUL<Character, Character> {
+
+        private final AtomicLong counter;
+        private @Nullable Character last;
+
+        ForkableSUL() {
+            this(new AtomicLong());
+        }
+
+        ForkableSUL(AtomicLong counter) {
+            this.counter = counter;
+        }
+
+        @Override
+        public void pre() {
+            last = null;
+        }
+
+        @Override
+        public void post() {}
+
+        @Override
+        public Character step(Character in) {
+            counter.incrementAndGet();
+            final Character out = Character.valueOf('e').equals(last) && in == 'f' ? 'z' : in;
+            last = in;
+            return out;
+        }
+
+        @Override
+        public boolean canFork() {
+            return true;
+        }
+
+        @Override
+        public SUL<Character, Character> fork() {
+            return new ForkableSUL(counter);
+        }
+    }
+
     private static class DummyMealy extends CompactMealy<Character, Character> {
 
         DummyMealy(Alphabet<Character> alphabet) {
+            this(alphabet, false);
+        }
+
+        DummyMealy(Alphabet<Character> alphabet, boolean mirror) {
             super(alphabet);
             final Integer init = super.addInitialState();
 
-            alphabet.forEach(s -> super.addTransition(init, s, init, null));
+            alphabet.forEach(s -> super.addTransition(init, s, init, mirror ? s : null));
         }
     }
 
@@ -17,7 +17,10 @@ package de.learnlib.oracle.membership;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 import de.learnlib.oracle.MembershipOracle.MealyMembershipOracle;
 import de.learnlib.oracle.OmegaMembershipOracle;
@@ -36,7 +39,10 @@ import org.checkerframework.checker.nullness.qual.Nullable;
  * The behavior is similar to a {@link SULOracle}, except that this class answers {@link OmegaQuery}s.
  * <p>
  * After some symbols (i.e. after {@link OmegaQuery#getPrefix()}, and after each {@link OmegaQuery#getLoop()}) the state
- * of the {@link ObservableSUL} is retrieved, and used to answer the query.
+ * of the {@link ObservableSUL} is retrieved, and used to answer the query. Retrieved states are indexed by their
+ * {@link Object#hashCode() hash codes}, so that a new state is only compared (see
+ * {@link #isSameState(Word, Object, Word, Object)}) with previous states of the same hash code. Hence, implementations
+ * must ensure that states with different hash codes are never considered equivalent.
  * <p>
  * This class is <b>not</b> thread-safe.
  *
@@ -85,11 +91,13 @@ public abstract class AbstractSULOmegaOracle<S extends Object, I, O, Q> implemen
             final WordBuilder<I> inputBuilder = new WordBuilder<>(traceLength, prefix);
             final WordBuilder<O> outputBuilder = new WordBuilder<>(traceLength);
             final List<Q> states = new ArrayList<>(repeat + 1);
+            // maps hash codes to the indices (i.e., the number of loop iterations) of the states in the history
+            final Map<Integer, List<Integer>> index = new HashMap<>();
 
             for (int i = 0; i < prefix.length(); i++) {
                 outputBuilder.append(sul.step(prefix.getSymbol(i)));
             }
-            states.add(getQueryState(sul));
+            addState(states, index, getQueryState(sul));
 
             for (int i = 0; i < repeat; i++) {
                 inputBuilder.append(loop);
@@ -97,15 +105,19 @@ public abstract class AbstractSULOmegaOracle<S extends Object, I, O, Q> implemen
                     outputBuilder.append(sul.step(loop.getSymbol(j)));
                 }
                 final Q nextState = getQueryState(sul);
+                final List<Integer> candidates = index.get(Objects.hashCode(nextState));
 
-                int prefixLength = prefix.length();
-                for (Q q : states) {
-                    if (isSameState(inputBuilder.toWord(), nextState, inputBuilder.toWord(0, prefixLength), q)) {
-                        return Pair.of(outputBuilder.toWord(), i + 1);
+                if (candidates != null) {
+                    final Word<I> input = inputBuilder.toWord();
+                    for (int k : candidates) {
+                        final Word<I> stateInput = inputBuilder.toWord(0, prefix.length() + k * loop.length());
+                        if (isSameState(input, nextState, stateInput, states.get(k))) {
+                            return Pair.of(outputBuilder.toWord(), i + 1);
+                        }
                     }
-                    prefixLength += loop.length();
                 }
-                states.add(nextState);
+
+                addState(states, index, nextState);
             }
 
             return Pair.of(null, -1);
@@ -114,6 +126,11 @@ public abstract class AbstractSULOmegaOracle<S extends Object, I, O, Q> implemen
         }
     }
 
+    private void addState(List<Q> states, Map<Integer, List<Integer>> index, Q state) {
+        index.computeIfAbsent(Objects.hashCode(state), k -> new ArrayList<>(1)).add(states.size());
+        states.add(state);
+    }
+
     @Override
     public MealyMembershipOracle<I, O> getMembershipOracle() {
         return new SULOracle<>(sul);
@@ -179,7 +196,9 @@ public abstract class AbstractSULOmegaOracle<S extends Object, I, O, Q> implemen
     /**
      * A {@link AbstractSULOmegaOracle} that uses {@link Object#hashCode()}, and {@link Object#equals(Object)} to test
      * for state equivalence. When the hash codes of two states are equal this class will use two access sequences to
-     * move two {@link ObservableSUL}s to those states and perform an equality check.
+     * move two {@link ObservableSUL}s to those states and perform an equality check. During a query, the forked
+     * {@link ObservableSUL} is kept in the last state it has been moved to, so that subsequent checks only need to
+     * execute the remaining symbols of an access sequence if it extends the previous one.
      * <p>
      * The state information used to answer {@link OmegaQuery}s is of type {@link Integer}. The values of those integers
      * are actually hash codes of states of the {@link ObservableSUL}.
@@ -199,6 +218,12 @@ public abstract class AbstractSULOmegaOracle<S extends Object, I, O, Q> implemen
          */
         private final ObservableSUL<S, I, O> forkedSUL;
 
+        /**
+         * The input the forked {@link SUL} has been stepped with, {@code null} if it has not been set up.
+         */
+        private @Nullable Word<I> forkedInput;
+        private boolean keepFork;
+
         /**
          * Constructs a new {@link ShallowCopySULOmegaOracle}, use {@link #newOracle(ObservableSUL)} to create an
          * instance. This method makes sure the invariants of the {@link ObservableSUL} are satisfied (i.e., the
@@ -226,6 +251,17 @@ public abstract class AbstractSULOmegaOracle<S extends Object, I, O, Q> implemen
             return sul.getState().hashCode();
         }
 
+        @Override
+        public Pair<@Nullable Word<O>, Integer> answerQuery(Word<I> prefix, Word<I> loop, int repeat) {
+            keepFork = true;
+            try {
+                return super.answerQuery(prefix, loop, repeat);
+            } finally {
+                keepFork = false;
+                releaseFork();
+            }
+        }
+
         /**
          * Test for state equivalence, by means of {@link Object#hashCode()}, and {@link Object#equals(Object)}.
          *
@@ -249,12 +285,9 @@ public abstract class AbstractSULOmegaOracle<S extends Object, I, O, Q> implemen
                 // assert sul1 is already in the correct state
                 assert s1.equals(sul1.getState().hashCode());
 
-                sul2.pre();
                 try {
                     // step through the second SUL
-                    for (I sym : input2) {
-                        sul2.step(sym);
-                    }
+                    moveFork(input2);
 
                     assert sul1.getState().hashCode() == sul2.getState().hashCode();
                     assert s2.equals(sul2.getState().hashCode());
@@ -262,10 +295,38 @@ public abstract class AbstractSULOmegaOracle<S extends Object, I, O, Q> implemen
                     // check for state equivalence
                     return sul1.getState().equals(sul2.getState());
                 } finally {
-                    sul2.post();
+                    if (!keepFork) {
+                        releaseFork();
+                    }
                 }
             }
         }
+
+        private void moveFork(Word<I> input) {
+            final int offset;
+
+            if (forkedInput != null && forkedInput.isPrefixOf(input)) {
+                offset = forkedInput.length();
+            } else {
+                releaseFork();
+                forkedSUL.pre();
+                forkedInput = Word.epsilon();
+                offset = 0;
+            }
+
+            for (int i = offset; i < input.length(); i++) {
+                forkedSUL.step(input.getSymbol(i));
+            }
+
+            forkedInput = input;
+        }
+
+        private void releaseFork() {
+            if (forkedInput != null) {
+                forkedInput = null;
+                forkedSUL.post();
+            }
+        }
     }
 
     /**
@@ -15,7 +15,9 @@
  */
 package de.learnlib.oracle.membership;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import de.learnlib.driver.simulator.ObservableMealySimulatorSUL;
@@ -67,6 +69,25 @@ public class SULOmegaOracleTest {
         Assert.assertThrows(IllegalArgumentException.class, () -> AbstractSULOmegaOracle.newOracle(mock, false));
     }
 
+    @Test
+    public void testHashCollisions() {
+        final int modulus = 50;
+        final CounterSUL sul = new CounterSUL(modulus);
+        final MealyOmegaMembershipOracle<?, Character, Integer> omq = AbstractSULOmegaOracle.newOracle(sul, false);
+
+        final OmegaQuery<Character, Word<Integer>> query =
+                new OmegaQuery<>(Word.epsilon(), Word.fromLetter('a'), modulus + 10);
+        omq.processQueries(Collections.singleton(query));
+
+        Assert.assertTrue(query.isUltimatelyPeriodic());
+        Assert.assertEquals(query.getPeriodicity(), modulus);
+        Assert.assertEquals(query.getOutput().length(), modulus);
+
+        // all states collide, but the forked SUL only needs to catch up to the current iteration once per iteration
+        Assert.assertEquals(sul.forks.size(), 1);
+        Assert.assertTrue(sul.forks.get(0).steps <= modulus * (modulus + 1) / 2);
+    }
+
     private void queryAndValidateCoffeeMachine(ObservableSUL<?, Input, String> sul) {
         final MealyOmegaMembershipOracle<?, Input, String> omq = AbstractSULOmegaOracle.newOracle(sul);
 
@@ -103,4 +124,71 @@ public class SULOmegaOracleTest {
         // after two loops, we cannot observe periodicity
         Assert.assertNull(litterbug.getOutput());
     }
+
+    /**
+     * A cyclic counter whose states all share the same hash code.
+     */
+    private static final class CounterSUL implements ObservableSUL<CounterState, Character, Integer> {
+
+        private final int modulus;
+        private final List<CounterSUL> forks;
+        private int value;
+        private int steps;
+
+        CounterSUL(int modulus) {
+            this.modulus = modulus;
+            this.forks = new ArrayList<>();
+        }
+
+        @Override
+        public void pre() {
+            value = 0;
+        }
+
+        @Override
+        public void post() {}
+
+        @Override
+        public Integer step(Character in) {
+            steps++;
+            value = (value + 1) % modulus;
+            return value;
+        }
+
+        @Override
+        public boolean canFork() {
+            return true;
+        }
+
+        @Override
+        public CounterSUL fork() {
+            final CounterSUL fork = new CounterSUL(modulus);
+            forks.add(fork);
+            return fork;
+        }
+
+        @Override
+        public CounterState getState() {
+            return new CounterState(value);
+        }
+    }
+
+    private static final class CounterState {
+
+        private final int value;
+
+        CounterState(int value) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof CounterState && ((CounterState) o).value == value;
+        }
+
+        @Override
+        public int hashCode() {
+            return 0;
+        }
+    }
 }
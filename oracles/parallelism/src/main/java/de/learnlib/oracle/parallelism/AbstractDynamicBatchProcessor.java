@@ -17,22 +17,43 @@ package de.learnlib.oracle.parallelism;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 
 import de.learnlib.exception.BatchInterruptedException;
+import de.learnlib.exception.SULException;
+import de.learnlib.jfr.Event;
+import de.learnlib.jfr.EventType;
+import de.learnlib.jfr.QueryEvents;
 import de.learnlib.oracle.BatchProcessor;
 import de.learnlib.oracle.ThreadPool;
+import de.learnlib.oracle.parallelism.AbstractDynamicBatchProcessorBuilder.StaticOracleProvider;
 import de.learnlib.setting.LearnLibProperty;
 import de.learnlib.setting.LearnLibSettings;
 import net.automatalib.common.util.exception.ExceptionUtil;
 import org.checkerframework.checker.index.qual.NonNegative;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * A batch processor that dynamically distributes queries to worker threads.
+ * <p>
+ * Via a {@link FaultTolerancePolicy}, the processor can be configured to time out hanging jobs and to retry failing
+ * jobs. Thread-local (sub-) processors that failed or timed out are replaced by new instances of the given supplier
+ * (unless the processor is constructed from a fixed collection of (sub-) processors). Since the (sub-) processor of a
+ * timed out job may still answer its queries, timed out jobs are only retried if a hedger is provided.
  *
  * @param <Q>
  *         query type
@@ -59,13 +80,51 @@ public abstract class AbstractDynamicBatchProcessor<Q, P extends BatchProcessor<
     private final ThreadLocal<P> threadLocalOracle;
     private final ExecutorService executor;
     private final @NonNegative int batchSize;
+    private final FaultTolerancePolicy faultTolerancePolicy;
+    private final boolean replaceable;
+    private final @Nullable UnaryOperator<Q> hedger;
 
     public AbstractDynamicBatchProcessor(Supplier<? extends P> oracleSupplier,
                                          @NonNegative int batchSize,
                                          ExecutorService executor) {
+        this(oracleSupplier, batchSize, executor, FaultTolerancePolicy.DISABLED);
+    }
+
+    public AbstractDynamicBatchProcessor(Supplier<? extends P> oracleSupplier,
+                                         @NonNegative int batchSize,
+                                         ExecutorService executor,
+                                         FaultTolerancePolicy faultTolerancePolicy) {
+        this(oracleSupplier, batchSize, executor, faultTolerancePolicy, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param oracleSupplier
+     *         the supplier for the thread-local (sub-) processors
+     * @param batchSize
+     *         the number of queries per job
+     * @param executor
+     *         the executor service for processing the jobs
+     * @param faultTolerancePolicy
+     *         the policy for handling failing and hanging jobs
+     * @param hedger
+     *         the function for copying queries of timed out jobs so that they can be re-executed concurrently. Only the
+     *         first answer of all copies (including copies of copies) must be forwarded to the original query. May be
+     *         {@code null} to disable hedging
+     */
+    public AbstractDynamicBatchProcessor(Supplier<? extends P> oracleSupplier,
+                                         @NonNegative int batchSize,
+                                         ExecutorService executor,
+                                         FaultTolerancePolicy faultTolerancePolicy,
+                                         @Nullable UnaryOperator<Q> hedger) {
         this.threadLocalOracle = ThreadLocal.withInitial(oracleSupplier);
         this.executor = executor;
         this.batchSize = batchSize;
+        this.faultTolerancePolicy = faultTolerancePolicy;
+        // a fixed collection of processors cannot provide replacements
+        this.replaceable = !(oracleSupplier instanceof StaticOracleProvider);
+        this.hedger = hedger;
     }
 
     @Override
@@ -84,6 +143,13 @@ public abstract class AbstractDynamicBatchProcessor<Q, P extends BatchProcessor<
             return;
         }
 
+        if (faultTolerancePolicy.isEnabled()) {
+            processBatchTolerantly(queries);
+            return;
+        }
+
+        final Event event = EventType.QUERY_BATCH.begin();
+
         int numQueries = queries.size();
         int numJobs = (numQueries - 1) / batchSize + 1;
         List<Q> currentBatch = null;
@@ -121,10 +187,212 @@ public abstract class AbstractDynamicBatchProcessor<Q, P extends BatchProcessor<
             Thread.interrupted();
             throw new BatchInterruptedException(e);
         }
+
+        if (event.isEnabled()) {
+            event.set("queries", numQueries)
+                 .set("symbols", QueryEvents.countSymbols(queries))
+                 .set("jobs", numJobs)
+                 .commit();
+        }
+    }
+
+    private void processBatchTolerantly(Collection<? extends Q> queries) {
+        final Event event = EventType.QUERY_BATCH.begin();
+
+        final long queryTimeout = faultTolerancePolicy.getQueryTimeout(TimeUnit.NANOSECONDS);
+        final long batchTimeout = faultTolerancePolicy.getBatchTimeout(TimeUnit.NANOSECONDS);
+        final long batchDeadline = batchTimeout > 0 ? System.nanoTime() + batchTimeout : Long.MAX_VALUE;
+
+        final CompletionService<@Nullable Void> completionService = new ExecutorCompletionService<>(executor);
+        final Map<Future<@Nullable Void>, TolerantJob> running = new HashMap<>();
+        final List<RuntimeException> failures = new ArrayList<>();
+        int numJobs = 0;
+
+        List<Q> currentBatch = new ArrayList<>(batchSize);
+        for (Q query : queries) {
+            currentBatch.add(hedger == null ? query : hedger.apply(query));
+            if (currentBatch.size() == batchSize) {
+                submit(completionService, running, new TolerantJob(currentBatch, 0));
+                currentBatch = new ArrayList<>(batchSize);
+                numJobs++;
+            }
+        }
+
+        if (!currentBatch.isEmpty()) {
+            submit(completionService, running, new TolerantJob(currentBatch, 0));
+            numJobs++;
+        }
+
+        try {
+            while (!running.isEmpty()) {
+                final long remaining = batchDeadline - System.nanoTime();
+
+                if (remaining <= 0) {
+                    for (TolerantJob job : running.values()) {
+                        job.abandon();
+                    }
+                    running.clear();
+                    failures.add(new SULException(new TimeoutException("Batch timed out")));
+                    break;
+                }
+
+                final long wait = queryTimeout > 0 ? Math.min(queryTimeout, remaining) : remaining;
+                final Future<@Nullable Void> future = completionService.poll(wait, TimeUnit.NANOSECONDS);
+
+                if (future != null) {
+                    final TolerantJob job = running.remove(future);
+                    // abandoned jobs have already been handled
+                    if (job != null) {
+                        complete(completionService, running, job, future, failures);
+                    }
+                }
+
+                if (queryTimeout > 0) {
+                    checkTimeouts(completionService, running, queryTimeout, failures);
+                }
+            }
+        } catch (InterruptedException e) {
+            for (TolerantJob job : running.values()) {
+                job.abandon();
+            }
+            Thread.interrupted();
+            throw new BatchInterruptedException(e);
+        }
+
+        if (!failures.isEmpty()) {
+            final RuntimeException failure = failures.get(0);
+            for (int i = 1; i < failures.size(); i++) {
+                failure.addSuppressed(failures.get(i));
+            }
+            throw failure;
+        }
+
+        if (event.isEnabled()) {
+            event.set("queries", queries.size())
+                 .set("symbols", QueryEvents.countSymbols(queries))
+                 .set("jobs", numJobs)
+                 .commit();
+        }
+    }
+
+    private void complete(CompletionService<@Nullable Void> completionService,
+                          Map<Future<@Nullable Void>, TolerantJob> running,
+                          TolerantJob job,
+                          Future<@Nullable Void> future,
+                          List<RuntimeException> failures) throws InterruptedException {
+        try {
+            future.get();
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+
+            if (cause instanceof SULException && job.attempt < faultTolerancePolicy.getMaxRetries()) {
+                submit(completionService, running, new TolerantJob(job.queries, job.attempt + 1));
+            } else if (cause instanceof RuntimeException) {
+                failures.add((RuntimeException) cause);
+            } else {
+                ExceptionUtil.throwIfUnchecked(cause);
+                throw new AssertionError("Runnables must not throw checked exceptions", e);
+            }
+        }
+    }
+
+    private void checkTimeouts(CompletionService<@Nullable Void> completionService,
+                               Map<Future<@Nullable Void>, TolerantJob> running,
+                               long queryTimeout,
+                               List<RuntimeException> failures) {
+        final long now = System.nanoTime();
+        final List<TolerantJob> retries = new ArrayList<>();
+        final Iterator<Entry<Future<@Nullable Void>, TolerantJob>> iter = running.entrySet().iterator();
+
+        while (iter.hasNext()) {
+            final TolerantJob job = iter.next().getValue();
+            final long started = job.started;
+
+            if (started != 0 && now - started > queryTimeout * job.queries.size()) {
+                job.abandon();
+                iter.remove();
+
+                if (hedger != null && job.attempt < faultTolerancePolicy.getMaxRetries()) {
+                    final List<Q> copies = new ArrayList<>(job.queries.size());
+                    for (Q q : job.queries) {
+                        copies.add(hedger.apply(q));
+                    }
+                    retries.add(new TolerantJob(copies, job.attempt + 1));
+                } else {
+                    failures.add(new SULException(new TimeoutException("Query timed out")));
+                }
+            }
+        }
+
+        for (TolerantJob job : retries) {
+            submit(completionService, running, job);
+        }
+    }
+
+    private void submit(CompletionService<@Nullable Void> completionService,
+                        Map<Future<@Nullable Void>, TolerantJob> running,
+                        TolerantJob job) {
+        final Future<@Nullable Void> future = completionService.submit(job);
+        job.future = future;
+        running.put(future, job);
     }
 
     protected P getProcessor() {
         return threadLocalOracle.get();
     }
 
+    /**
+     * A job that processes its queries with the thread-local (sub-) processor, optionally after a backoff delay, and
+     * discards the processor if it failed or has been abandoned.
+     */
+    private final class TolerantJob implements Callable<@Nullable Void> {
+
+        private final List<Q> queries;
+        private final int attempt;
+        private volatile long started;
+        private volatile boolean abandoned;
+        private @Nullable Future<?> future;
+
+        TolerantJob(List<Q> queries, int attempt) {
+            this.queries = queries;
+            this.attempt = attempt;
+        }
+
+        @Override
+        public @Nullable Void call() throws InterruptedException {
+            if (attempt > 0) {
+                final long backoff = faultTolerancePolicy.getRetryBackoff(TimeUnit.NANOSECONDS);
+                TimeUnit.NANOSECONDS.sleep(backoff * (1L << Math.min(attempt - 1, 30)));
+            }
+
+            started = System.nanoTime();
+
+            try {
+                threadLocalOracle.get().processBatch(queries);
+            } catch (SULException e) {
+                discardProcessor();
+                throw e;
+            } finally {
+                if (abandoned) {
+                    discardProcessor();
+                }
+            }
+
+            return null;
+        }
+
+        void abandon() {
+            abandoned = true;
+            final Future<?> f = this.future;
+            if (f != null) {
+                f.cancel(true);
+            }
+        }
+
+        private void discardProcessor() {
+            if (replaceable) {
+                threadLocalOracle.remove();
+            }
+        }
+    }
 }
@@ -47,6 +47,7 @@ public abstract class AbstractDynamicBatchProcessorBuilder<Q, P extends BatchPro
     private @NonNegative int batchSize = AbstractDynamicBatchProcessor.BATCH_SIZE;
     private @NonNegative int poolSize = AbstractDynamicBatchProcessor.POOL_SIZE;
     private PoolPolicy poolPolicy = AbstractDynamicBatchProcessor.POOL_POLICY;
+    private FaultTolerancePolicy faultTolerancePolicy = FaultTolerancePolicy.DISABLED;
 
     public AbstractDynamicBatchProcessorBuilder(Supplier<? extends P> oracleSupplier) {
         this.oracleSupplier = oracleSupplier;
@@ -81,6 +82,20 @@ public abstract class AbstractDynamicBatchProcessorBuilder<Q, P extends BatchPro
         return this;
     }
 
+    /**
+     * Sets the policy for dealing with hanging or failing (sub-) processors. By default, no timeouts or retries are
+     * used.
+     *
+     * @param policy
+     *         the fault tolerance policy
+     *
+     * @return {@code this}
+     */
+    public AbstractDynamicBatchProcessorBuilder<Q, P, OR> withFaultTolerancePolicy(FaultTolerancePolicy policy) {
+        this.faultTolerancePolicy = policy;
+        return this;
+    }
+
     @SuppressWarnings("PMD.CloseResource") // false positive on JDK21 builds
     public OR create() {
 
@@ -107,10 +122,13 @@ public abstract class AbstractDynamicBatchProcessorBuilder<Q, P extends BatchPro
             supplier = oracleSupplier;
         }
 
-        return buildOracle(supplier, batchSize, executor);
+        return buildOracle(supplier, batchSize, executor, faultTolerancePolicy);
     }
 
-    protected abstract OR buildOracle(Supplier<? extends P> supplier, int batchSize, ExecutorService executorService);
+    protected abstract OR buildOracle(Supplier<? extends P> supplier,
+                                      int batchSize,
+                                      ExecutorService executorService,
+                                      FaultTolerancePolicy faultTolerancePolicy);
 
     static class StaticOracleProvider<P extends BatchProcessor<?>> implements Supplier<P> {
 
@@ -17,6 +17,8 @@ package de.learnlib.oracle.parallelism;
 
 import java.util.Collection;
 
+import de.learnlib.jfr.Event;
+import de.learnlib.jfr.EventType;
 import de.learnlib.oracle.BatchProcessor;
 
 /**
@@ -30,16 +32,25 @@ import de.learnlib.oracle.BatchProcessor;
 abstract class AbstractQueriesJob<Q> implements Runnable {
 
     private final Collection<? extends Q> queries;
+    private final long scheduled;
 
     AbstractQueriesJob(Collection<? extends Q> queries) {
         this.queries = queries;
+        this.scheduled = System.nanoTime();
     }
 
     @Override
     public void run() {
+        final Event event = EventType.PARALLEL_JOB.begin();
+        final long started = System.nanoTime();
+
         BatchProcessor<Q> oracle = getOracle();
 
         oracle.processBatch(queries);
+
+        if (event.isEnabled()) {
+            event.set("queries", queries.size()).set("queueTime", started - scheduled).commit();
+        }
     }
 
     protected abstract BatchProcessor<Q> getOracle();
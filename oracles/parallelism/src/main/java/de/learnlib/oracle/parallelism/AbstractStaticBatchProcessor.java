@@ -23,8 +23,13 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.UnaryOperator;
 
 import de.learnlib.exception.BatchInterruptedException;
+import de.learnlib.jfr.Event;
+import de.learnlib.jfr.EventType;
+import de.learnlib.jfr.QueryEvents;
 import de.learnlib.oracle.BatchProcessor;
 import de.learnlib.oracle.ThreadPool;
 import de.learnlib.setting.LearnLibProperty;
@@ -32,6 +37,7 @@ import de.learnlib.setting.LearnLibSettings;
 import net.automatalib.common.util.array.ArrayStorage;
 import net.automatalib.common.util.exception.ExceptionUtil;
 import org.checkerframework.checker.index.qual.NonNegative;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * A batch processor that statically distributes a set of queries among several threads.
@@ -39,6 +45,16 @@ import org.checkerframework.checker.index.qual.NonNegative;
  * An incoming set of queries is divided into a given number of batches, such that the sizes of all batches differ by at
  * most one. This keeps the required synchronization effort low, but if some batches are "harder" (for whatever reason)
  * than others, the load can be very unbalanced.
+ * <p>
+ * To mitigate such stragglers, a (positive) straggler factor can be specified. In this case, all batches are processed
+ * by the thread pool in chunks of {@code minBatchSize} queries. Whenever a thread has finished its batch and another
+ * batch has been running for longer than the given factor times the median processing time of the finished batches,
+ * the remaining chunks of the lagging batch are re-split and processed by the idle thread. If a hedger is provided,
+ * chunks that are still in progress by a lagging thread are additionally re-executed by an idle thread and the first
+ * answer is kept. In this case, {@link #processBatch(Collection)} may return before the
+ * lagging (sub-) processor has finished. The (sub-) processor is then not used by subsequent batches until it has
+ * finished and is quarantined (i.e., not used anymore at all) if it has lagged behind in a given number of consecutive
+ * batches.
  *
  * @param <Q>
  *         query type
@@ -66,16 +82,82 @@ public abstract class AbstractStaticBatchProcessor<Q, P extends BatchProcessor<Q
     private final @NonNegative int minBatchSize;
     private final ArrayStorage<P> oracles;
     private final ExecutorService executor;
+    private final double stragglerFactor;
+    private final @NonNegative int quarantineThreshold;
+    private final @Nullable UnaryOperator<Q> hedger;
+    private final boolean[] busy;
+    private final int[] strikes;
 
     public AbstractStaticBatchProcessor(Collection<? extends P> oracles,
                                         @NonNegative int minBatchSize,
                                         PoolPolicy policy) {
+        this(oracles, minBatchSize, policy, 0, 0);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param oracles
+     *         the (sub-) processors to distribute the queries to
+     * @param minBatchSize
+     *         the minimum number of queries per batch
+     * @param policy
+     *         the pool policy
+     * @param stragglerFactor
+     *         the factor by which a batch may exceed the median processing time of the other batches before its
+     *         remaining queries are re-distributed. A non-positive value disables straggler mitigation
+     * @param quarantineThreshold
+     *         the number of consecutive batches in which a (sub-) processor may lag behind before it is quarantined. A
+     *         value of {@code 0} disables quarantining
+     */
+    public AbstractStaticBatchProcessor(Collection<? extends P> oracles,
+                                        @NonNegative int minBatchSize,
+                                        PoolPolicy policy,
+                                        double stragglerFactor,
+                                        @NonNegative int quarantineThreshold) {
+        this(oracles, minBatchSize, policy, stragglerFactor, quarantineThreshold, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param oracles
+     *         the (sub-) processors to distribute the queries to
+     * @param minBatchSize
+     *         the minimum number of queries per batch
+     * @param policy
+     *         the pool policy
+     * @param stragglerFactor
+     *         the factor by which a batch may exceed the median processing time of the other batches before its
+     *         remaining queries are re-distributed. A non-positive value disables straggler mitigation
+     * @param quarantineThreshold
+     *         the number of consecutive batches in which a (sub-) processor may lag behind before it is quarantined. A
+     *         value of {@code 0} disables quarantining
+     * @param hedger
+     *         the function for copying queries of lagging batches so that they can be re-executed concurrently. Only
+     *         the first answer of all copies (including copies of copies) must be forwarded to the original query. May
+     *         be {@code null} to disable hedging
+     */
+    public AbstractStaticBatchProcessor(Collection<? extends P> oracles,
+                                        @NonNegative int minBatchSize,
+                                        PoolPolicy policy,
+                                        double stragglerFactor,
+                                        @NonNegative int quarantineThreshold,
+                                        @Nullable UnaryOperator<Q> hedger) {
 
         this.oracles = new ArrayStorage<>(oracles);
+        this.stragglerFactor = stragglerFactor;
+        this.quarantineThreshold = quarantineThreshold;
+        this.hedger = hedger;
+        this.busy = new boolean[this.oracles.size()];
+        this.strikes = new int[this.oracles.size()];
+
+        // with straggler mitigation, all batches are processed by the thread pool
+        final int poolSize = stragglerFactor > 0 ? this.oracles.size() : this.oracles.size() - 1;
 
         switch (policy) {
             case FIXED:
-                this.executor = Executors.newFixedThreadPool(this.oracles.size() - 1);
+                this.executor = Executors.newFixedThreadPool(poolSize);
                 break;
             case CACHED:
                 this.executor = Executors.newCachedThreadPool();
@@ -93,6 +175,13 @@ public abstract class AbstractStaticBatchProcessor<Q, P extends BatchProcessor<Q
             return;
         }
 
+        if (stragglerFactor > 0) {
+            processBatchMitigated(queries);
+            return;
+        }
+
+        final Event event = EventType.QUERY_BATCH.begin();
+
         int numBatches = (num - minBatchSize) / minBatchSize + 1;
         if (numBatches > oracles.size()) {
             numBatches = oracles.size();
@@ -104,6 +193,13 @@ public abstract class AbstractStaticBatchProcessor<Q, P extends BatchProcessor<Q
 
         if (externalBatches == 0) {
             processQueriesLocally(queries);
+
+            if (event.isEnabled()) {
+                event.set("queries", num)
+                     .set("symbols", QueryEvents.countSymbols(queries))
+                     .set("jobs", 1)
+                     .commit();
+            }
             return;
         }
 
@@ -151,10 +247,160 @@ public abstract class AbstractStaticBatchProcessor<Q, P extends BatchProcessor<Q
             Thread.interrupted();
             throw new BatchInterruptedException(ex);
         }
+
+        if (event.isEnabled()) {
+            event.set("queries", num)
+                 .set("symbols", QueryEvents.countSymbols(queries))
+                 .set("jobs", numBatches)
+                 .commit();
+        }
+    }
+
+    private void processBatchMitigated(Collection<? extends Q> queries) {
+        final Event event = EventType.QUERY_BATCH.begin();
+        final int num = queries.size();
+        final List<Integer> available = awaitAvailableOracles();
+
+        int numBatches = (num - minBatchSize) / minBatchSize + 1;
+        if (numBatches > available.size()) {
+            numBatches = available.size();
+        }
+
+        final int chunkSize = Math.max(1, minBatchSize);
+        final int fullBatchSize = (num - 1) / numBatches + 1;
+        final int nonFullBatches = fullBatchSize * numBatches - num;
+        final Iterator<? extends Q> queryIt = queries.iterator();
+        final StragglerAwareBatch<Q> batch = new StragglerAwareBatch<>(numBatches, stragglerFactor, hedger);
+
+        for (int i = 0; i < numBatches; i++) {
+            int bs = fullBatchSize;
+            if (i < nonFullBatches) {
+                bs--;
+            }
+            List<Q> chunk = new ArrayList<>(Math.min(bs, chunkSize));
+            for (int j = 0; j < bs; j++) {
+                final Q q = queryIt.next();
+                chunk.add(hedger == null ? q : hedger.apply(q));
+                if (chunk.size() == chunkSize) {
+                    batch.addChunk(i, chunk);
+                    chunk = new ArrayList<>(Math.min(bs - j - 1, chunkSize));
+                }
+            }
+            if (!chunk.isEmpty()) {
+                batch.addChunk(i, chunk);
+            }
+        }
+
+        try {
+            for (int i = 0; i < numBatches; i++) {
+                final int slice = i;
+                final int idx = available.get(i);
+                final P oracle = oracles.get(idx);
+
+                // Processors remain busy until their worker has finished (e.g., with a hedged chunk or with a chunk
+                // of a failed batch) so that subsequent batches do not use them concurrently.
+                setBusy(idx, true);
+                try {
+                    executor.submit(() -> {
+                        try {
+                            batch.work(slice, oracle);
+                        } finally {
+                            setBusy(idx, false);
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    setBusy(idx, false);
+                    throw e;
+                }
+            }
+
+            batch.await();
+        } catch (InterruptedException ex) {
+            Thread.interrupted();
+            throw new BatchInterruptedException(ex);
+        } finally {
+            // stop handing out chunks once the results are no longer awaited
+            batch.cancel();
+        }
+
+        final Throwable failure = batch.getFailure();
+        if (failure != null) {
+            ExceptionUtil.throwIfUnchecked(failure);
+            throw new AssertionError("Runnable must not throw checked exceptions", failure);
+        }
+
+        for (int i = 0; i < numBatches; i++) {
+            final int idx = available.get(i);
+
+            if (batch.isStraggler(i)) {
+                strikes[idx]++;
+            } else {
+                strikes[idx] = 0;
+            }
+        }
+
+        if (event.isEnabled()) {
+            event.set("queries", num)
+                 .set("symbols", QueryEvents.countSymbols(queries))
+                 .set("jobs", numBatches)
+                 .commit();
+        }
+    }
+
+    /**
+     * Returns the indices of all (sub-) processors that are neither quarantined nor still busy with a previous batch.
+     * If all non-quarantined processors are busy, this method blocks until one of them has finished.
+     */
+    private List<Integer> awaitAvailableOracles() {
+        final List<Integer> result = new ArrayList<>(oracles.size());
+        int healthy = 0;
+
+        for (int i = 0; i < oracles.size(); i++) {
+            if (quarantineThreshold == 0 || strikes[i] < quarantineThreshold) {
+                healthy++;
+            }
+        }
+
+        synchronized (busy) {
+            while (true) {
+                for (int i = 0; i < oracles.size(); i++) {
+                    // never quarantine all processors
+                    if (quarantineThreshold > 0 && strikes[i] >= quarantineThreshold && healthy > 0) {
+                        continue;
+                    }
+
+                    if (!busy[i]) {
+                        result.add(i);
+                    }
+                }
+
+                if (!result.isEmpty()) {
+                    return result;
+                }
+
+                try {
+                    busy.wait();
+                } catch (InterruptedException ex) {
+                    Thread.interrupted();
+                    throw new BatchInterruptedException(ex);
+                }
+            }
+        }
+    }
+
+    private void setBusy(int idx, boolean value) {
+        synchronized (busy) {
+            busy[idx] = value;
+            busy.notifyAll();
+        }
     }
 
     private void processQueriesLocally(Collection<? extends Q> localBatch) {
-        oracles.get(0).processBatch(localBatch);
+        if (EventType.PARALLEL_JOB.isEnabled()) {
+            new StaticQueriesJob<>(localBatch, oracles.get(0)).run();
+        } else {
+            oracles.get(0).processBatch(localBatch);
+        }
     }
 
     @Override
@@ -42,6 +42,8 @@ public abstract class AbstractStaticBatchProcessorBuilder<Q, P extends BatchProc
     private @NonNegative int minBatchSize = AbstractStaticBatchProcessor.MIN_BATCH_SIZE;
     private @NonNegative int numInstances = AbstractStaticBatchProcessor.NUM_INSTANCES;
     private PoolPolicy poolPolicy = AbstractStaticBatchProcessor.POOL_POLICY;
+    private double stragglerFactor;
+    private @NonNegative int quarantineThreshold;
 
     public AbstractStaticBatchProcessorBuilder(Collection<? extends P> oracles) {
         if (oracles.isEmpty()) {
@@ -71,6 +73,35 @@ public abstract class AbstractStaticBatchProcessorBuilder<Q, P extends BatchProc
         return this;
     }
 
+    /**
+     * Enables straggler mitigation. Batches that take longer than the given factor times the median processing time of
+     * the other batches have their remaining queries re-distributed among idle threads. A non-positive factor (the
+     * default) disables straggler mitigation.
+     *
+     * @param stragglerFactor
+     *         the straggler factor
+     *
+     * @return {@code this}
+     */
+    public AbstractStaticBatchProcessorBuilder<Q, P, OR> withStragglerFactor(double stragglerFactor) {
+        this.stragglerFactor = stragglerFactor;
+        return this;
+    }
+
+    /**
+     * Sets the number of consecutive batches in which a (sub-) processor may lag behind before it is no longer used.
+     * Only takes effect if straggler mitigation is enabled. A value of {@code 0} (the default) disables quarantining.
+     *
+     * @param quarantineThreshold
+     *         the quarantine threshold
+     *
+     * @return {@code this}
+     */
+    public AbstractStaticBatchProcessorBuilder<Q, P, OR> withQuarantineThreshold(@NonNegative int quarantineThreshold) {
+        this.quarantineThreshold = quarantineThreshold;
+        return this;
+    }
+
     @SuppressWarnings("nullness") // the constructors guarantee that oracles and oracleSupplier are null exclusively
     public OR create() {
         Collection<? extends P> oracleInstances;
@@ -84,9 +115,13 @@ public abstract class AbstractStaticBatchProcessorBuilder<Q, P extends BatchProc
             oracleInstances = oracleList;
         }
 
-        return buildOracle(oracleInstances, minBatchSize, poolPolicy);
+        return buildOracle(oracleInstances, minBatchSize, poolPolicy, stragglerFactor, quarantineThreshold);
     }
 
-    protected abstract OR buildOracle(Collection<? extends P> oracleInstances, int minBatchSize, PoolPolicy poolPolicy);
+    protected abstract OR buildOracle(Collection<? extends P> oracleInstances,
+                                      int minBatchSize,
+                                      PoolPolicy poolPolicy,
+                                      double stragglerFactor,
+                                      int quarantineThreshold);
 
 }
@@ -43,6 +43,13 @@ public class DynamicParallelAdaptiveOracle<I, O>
         super(oracleSupplier, batchSize, executor);
     }
 
+    public DynamicParallelAdaptiveOracle(Supplier<? extends AdaptiveMembershipOracle<I, O>> oracleSupplier,
+                                         @NonNegative int batchSize,
+                                         ExecutorService executor,
+                                         FaultTolerancePolicy faultTolerancePolicy) {
+        super(oracleSupplier, batchSize, executor, faultTolerancePolicy);
+    }
+
     @Override
     public void processQueries(Collection<? extends AdaptiveQuery<I, O>> queries) {
         processBatch(queries);
@@ -44,7 +44,8 @@ public class DynamicParallelAdaptiveOracleBuilder<I, O>
     @Override
     protected DynamicParallelAdaptiveOracle<I, O> buildOracle(Supplier<? extends AdaptiveMembershipOracle<I, O>> supplier,
                                                               int batchSize,
-                                                              ExecutorService executorService) {
-        return new DynamicParallelAdaptiveOracle<>(supplier, batchSize, executorService);
+                                                              ExecutorService executorService,
+                                                              FaultTolerancePolicy faultTolerancePolicy) {
+        return new DynamicParallelAdaptiveOracle<>(supplier, batchSize, executorService, faultTolerancePolicy);
     }
 }
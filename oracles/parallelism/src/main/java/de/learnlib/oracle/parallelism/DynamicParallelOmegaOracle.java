@@ -45,6 +45,13 @@ public class DynamicParallelOmegaOracle<S, I, D>
         super(oracleSupplier, batchSize, executor);
     }
 
+    public DynamicParallelOmegaOracle(Supplier<? extends OmegaMembershipOracle<S, I, D>> oracleSupplier,
+                                      @NonNegative int batchSize,
+                                      ExecutorService executor,
+                                      FaultTolerancePolicy faultTolerancePolicy) {
+        super(oracleSupplier, batchSize, executor, faultTolerancePolicy);
+    }
+
     @Override
     public void processQueries(Collection<? extends OmegaQuery<I, D>> omegaQueries) {
         processBatch(omegaQueries);
@@ -46,7 +46,8 @@ public class DynamicParallelOmegaOracleBuilder<S, I, D>
     @Override
     protected DynamicParallelOmegaOracle<S, I, D> buildOracle(Supplier<? extends OmegaMembershipOracle<S, I, D>> supplier,
                                                               int batchSize,
-                                                              ExecutorService executorService) {
-        return new DynamicParallelOmegaOracle<>(supplier, batchSize, executorService);
+                                                              ExecutorService executorService,
+                                                              FaultTolerancePolicy faultTolerancePolicy) {
+        return new DynamicParallelOmegaOracle<>(supplier, batchSize, executorService, faultTolerancePolicy);
     }
 }
@@ -42,6 +42,13 @@ public class DynamicParallelOracle<I, D> extends AbstractDynamicBatchProcessor<Q
         super(oracleSupplier, batchSize, executor);
     }
 
+    public DynamicParallelOracle(Supplier<? extends MembershipOracle<I, D>> oracleSupplier,
+                                 @NonNegative int batchSize,
+                                 ExecutorService executor,
+                                 FaultTolerancePolicy faultTolerancePolicy) {
+        super(oracleSupplier, batchSize, executor, faultTolerancePolicy, HedgedQuery::of);
+    }
+
     @Override
     public void processQueries(Collection<? extends Query<I, D>> queries) {
         processBatch(queries);
@@ -44,7 +44,8 @@ public class DynamicParallelOracleBuilder<I, D>
     @Override
     protected DynamicParallelOracle<I, D> buildOracle(Supplier<? extends MembershipOracle<I, D>> supplier,
                                                       int batchSize,
-                                                      ExecutorService executorService) {
-        return new DynamicParallelOracle<>(supplier, batchSize, executorService);
+                                                      ExecutorService executorService,
+                                                      FaultTolerancePolicy faultTolerancePolicy) {
+        return new DynamicParallelOracle<>(supplier, batchSize, executorService, faultTolerancePolicy);
     }
 }
@@ -0,0 +1,96 @@
+/* Copyright (C) 2013-2024 TU Dortmund University
+ * This file is part of LearnLib, http://www.learnlib.de/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.learnlib.oracle.parallelism;
+
+import java.util.concurrent.TimeUnit;
+
+import de.learnlib.exception.SULException;
+import org.checkerframework.checker.index.qual.NonNegative;
+
+/**
+ * The configuration of how an {@link AbstractDynamicBatchProcessor} deals with hanging or failing (sub-) processors.
+ * <ul>
+ *     <li>The query timeout determines how long a single query may take. A job that exceeds its timeout (the query
+ *     timeout times the number of its queries) is abandoned and its processor is replaced once it returns.</li>
+ *     <li>The batch timeout determines how long a complete batch may take. Once it is exceeded, all remaining jobs
+ *     are abandoned.</li>
+ *     <li>The maximum number of retries determines how often the queries of a job are re-submitted if the job failed
+ *     with a (transient) {@link SULException} or timed out. Processors that threw a {@link SULException} are replaced
+ *     as well.</li>
+ *     <li>The retry backoff determines the delay before the first retry of a job. The delay doubles with each further
+ *     retry.</li>
+ * </ul>
+ * Queries of successful jobs are always answered. Only after all jobs have either succeeded or exhausted their retries,
+ * the failure of a batch is reported by throwing the (first) exception of the failed jobs. Timeouts are reported as
+ * {@link SULException}s caused by a {@link java.util.concurrent.TimeoutException}.
+ */
+public final class FaultTolerancePolicy {
+
+    /**
+     * A policy without timeouts and retries which immediately reports failures.
+     */
+    public static final FaultTolerancePolicy DISABLED = new FaultTolerancePolicy(0, 0, 0, 0, TimeUnit.NANOSECONDS);
+
+    private final long queryTimeout;
+    private final long batchTimeout;
+    private final @NonNegative int maxRetries;
+    private final long retryBackoff;
+
+    /**
+     * Constructor.
+     *
+     * @param queryTimeout
+     *         the timeout per query, {@code 0} for no timeout
+     * @param batchTimeout
+     *         the timeout per batch, {@code 0} for no timeout
+     * @param maxRetries
+     *         the maximum number of retries per job
+     * @param retryBackoff
+     *         the delay before the first retry of a job
+     * @param unit
+     *         the time unit of the timeouts and the backoff
+     */
+    public FaultTolerancePolicy(long queryTimeout,
+                                long batchTimeout,
+                                @NonNegative int maxRetries,
+                                long retryBackoff,
+                                TimeUnit unit) {
+        this.queryTimeout = unit.toNanos(queryTimeout);
+        this.batchTimeout = unit.toNanos(batchTimeout);
+        this.maxRetries = maxRetries;
+        this.retryBackoff = unit.toNanos(retryBackoff);
+    }
+
+    public long getQueryTimeout(TimeUnit unit) {
+        return unit.convert(queryTimeout, TimeUnit.NANOSECONDS);
+    }
+
+    public long getBatchTimeout(TimeUnit unit) {
+        return unit.convert(batchTimeout, TimeUnit.NANOSECONDS);
+    }
+
+    public @NonNegative int getMaxRetries() {
+        return maxRetries;
+    }
+
+    public long getRetryBackoff(TimeUnit unit) {
+        return unit.convert(retryBackoff, TimeUnit.NANOSECONDS);
+    }
+
+    boolean isEnabled() {
+        return queryTimeout > 0 || batchTimeout > 0 || maxRetries > 0;
+    }
+}
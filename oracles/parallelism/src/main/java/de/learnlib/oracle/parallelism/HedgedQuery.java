@@ -0,0 +1,79 @@
+/* Copyright (C) 2013-2024 TU Dortmund University
+ * This file is part of LearnLib, http://www.learnlib.de/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.learnlib.oracle.parallelism;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import de.learnlib.query.Query;
+import net.automatalib.word.Word;
+
+/**
+ * A query that forwards its answer to a delegate if no other copy of the delegate has been answered before. This
+ * allows to (re-) execute a query multiple times concurrently, while only keeping the first answer.
+ *
+ * @param <I>
+ *         input symbol type
+ * @param <D>
+ *         output domain type
+ */
+final class HedgedQuery<I, D> extends Query<I, D> {
+
+    private final Query<I, D> delegate;
+    private final AtomicBoolean answered;
+
+    private HedgedQuery(Query<I, D> delegate, AtomicBoolean answered) {
+        this.delegate = delegate;
+        this.answered = answered;
+    }
+
+    /**
+     * Returns a copy of the given query. If the given query is a copy itself, the returned copy forwards its answer to
+     * the same original query.
+     *
+     * @param query
+     *         the (original or copied) query
+     * @param <I>
+     *         input symbol type
+     * @param <D>
+     *         output domain type
+     *
+     * @return the copy of the query
+     */
+    static <I, D> Query<I, D> of(Query<I, D> query) {
+        if (query instanceof HedgedQuery) {
+            final HedgedQuery<I, D> hedged = (HedgedQuery<I, D>) query;
+            return new HedgedQuery<>(hedged.delegate, hedged.answered);
+        }
+        return new HedgedQuery<>(query, new AtomicBoolean());
+    }
+
+    @Override
+    public void answer(D output) {
+        if (answered.compareAndSet(false, true)) {
+            delegate.answer(output);
+        }
+    }
+
+    @Override
+    public Word<I> getPrefix() {
+        return delegate.getPrefix();
+    }
+
+    @Override
+    public Word<I> getSuffix() {
+        return delegate.getSuffix();
+    }
+}
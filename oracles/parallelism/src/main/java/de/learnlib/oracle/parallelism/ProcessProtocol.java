@@ -0,0 +1,103 @@
+/* Copyright (C) 2013-2024 TU Dortmund University
+ * This file is part of LearnLib, http://www.learnlib.de/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.learnlib.oracle.parallelism;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
+
+import de.learnlib.query.Query;
+import net.automatalib.alphabet.Alphabet;
+import net.automatalib.word.Word;
+
+/**
+ * Utility methods for the binary framing between a {@link ProcessSULOracle} and a {@link ProcessSULWorker}.
+ * <p>
+ * All integers are encoded as unsigned variable-length integers (7 bits per byte, least significant group first, the
+ * most significant bit of each byte indicating whether further bytes follow) and all strings are encoded as in
+ * {@link DataOutput#writeUTF(String)}.
+ * <p>
+ * Upon connecting, the worker sends the token it has been launched with (see {@link ProcessSULWorker#TOKEN_VARIABLE})
+ * as a string.
+ * <p>
+ * A request consists of the (positive) number of queries followed by each query, which is encoded as the length of
+ * its prefix, the length of its suffix and the alphabet indices of its input symbols. A request of zero queries
+ * signals the worker to shut down. A response consists of a status ({@link #STATUS_OK} or {@link #STATUS_ERROR}) for
+ * each query in the order of the request. For {@link #STATUS_OK}, the status is followed by the (string-encoded) output
+ * symbols of the query suffix. For {@link #STATUS_ERROR}, the status is followed by an error message and the response
+ * ends, i.e., the remaining queries of the request are not answered. The worker sends the answers of a request
+ * incrementally, so that the coordinator only has to bound the time for answering a single query.
+ */
+final class ProcessProtocol {
+
+    static final int STATUS_OK = 0;
+    static final int STATUS_ERROR = 1;
+    static final int SHUTDOWN = 0;
+
+    private ProcessProtocol() {
+        // prevent instantiation
+    }
+
+    static <I> void writeRequest(DataOutput out, Alphabet<I> alphabet, Collection<? extends Query<I, ?>> queries)
+            throws IOException {
+        writeVarInt(out, queries.size());
+        for (Query<I, ?> q : queries) {
+            final Word<I> prefix = q.getPrefix();
+            final Word<I> suffix = q.getSuffix();
+            writeVarInt(out, prefix.length());
+            writeVarInt(out, suffix.length());
+            for (I i : prefix) {
+                writeVarInt(out, alphabet.getSymbolIndex(i));
+            }
+            for (I i : suffix) {
+                writeVarInt(out, alphabet.getSymbolIndex(i));
+            }
+        }
+    }
+
+    static void writeToken(OutputStream out, String token) throws IOException {
+        final DataOutputStream output = new DataOutputStream(out);
+        output.writeUTF(token);
+        output.flush();
+    }
+
+    static void writeVarInt(DataOutput out, int value) throws IOException {
+        int v = value;
+        while ((v & ~0x7F) != 0) {
+            out.writeByte((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        out.writeByte(v);
+    }
+
+    static int readVarInt(DataInput in) throws IOException {
+        int result = 0;
+        int shift = 0;
+        byte b;
+        do {
+            if (shift > 28) {
+                throw new IOException("Malformed variable-length integer");
+            }
+            b = in.readByte();
+            result |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return result;
+    }
+}
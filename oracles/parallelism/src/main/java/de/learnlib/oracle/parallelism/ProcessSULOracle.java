@@ -0,0 +1,412 @@
+/* Copyright (C) 2013-2024 TU Dortmund University
+ * This file is part of LearnLib, http://www.learnlib.de/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.learnlib.oracle.parallelism;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.ProcessBuilder.Redirect;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import de.learnlib.exception.SULException;
+import de.learnlib.oracle.MembershipOracle.MealyMembershipOracle;
+import de.learnlib.query.Query;
+import net.automatalib.alphabet.Alphabet;
+import net.automatalib.word.Word;
+import net.automatalib.word.WordBuilder;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A membership oracle that delegates its queries to a system under learning hosted in a separate worker process (see
+ * {@link ProcessSULWorker}). Running each system under learning in its own process isolates instances that rely on
+ * global (static) state or native resources and therefore cannot be {@link de.learnlib.sul.SUL#fork() forked} within
+ * a single JVM.
+ * <p>
+ * The worker process is launched lazily and connects back to this oracle via a loopback socket. To prevent other local
+ * processes from impersonating the worker, each launch generates a random token that is passed to the worker process
+ * via the {@link ProcessSULWorker#TOKEN_VARIABLE} variable and that the worker has to present upon connecting.
+ * Connections that do not present the token are rejected.
+ * <p>
+ * Each batch of queries is transmitted as a single frame of compactly encoded alphabet indices, whereas the worker
+ * sends the answers of a batch incrementally. If the worker process crashes, hangs (i.e., does not answer a query
+ * within a configurable read timeout), or the connection breaks while answering a batch, the worker is restarted and
+ * the complete batch is re-submitted, up to a configurable number of restarts. Exceptions thrown by the system under
+ * learning itself are reported back to the oracle and re-thrown as {@link SULException}s without restarting the
+ * worker.
+ * <p>
+ * Since the standard output and error streams of the worker process are not consumed by this oracle, streams that the
+ * given {@link ProcessBuilder} would {@link Redirect#PIPE pipe} (the default) are redirected to the respective streams
+ * of the current process. Otherwise, a worker that writes to these streams may block once the pipe buffer is full. The
+ * redirection (as well as the {@link ProcessSULWorker#PORT_VARIABLE} and {@link ProcessSULWorker#TOKEN_VARIABLE}
+ * variables) only applies to a private copy of the
+ * given builder, which itself remains unchanged.
+ * <p>
+ * Multiple instances can be combined into a worker pool via
+ * {@link ParallelOracleBuilders#newDynamicParallelOracle(Collection)}:
+ * <pre>
+ * List&lt;ProcessSULOracle&lt;I, O&gt;&gt; workers = new ArrayList&lt;&gt;();
+ * for (int i = 0; i &lt; n; i++) {
+ *     workers.add(new ProcessSULOracle&lt;&gt;(new ProcessBuilder("java", "-cp", cp, "MyWorker").inheritIO(),
+ *                                         alphabet,
+ *                                         parser));
+ * }
+ * ParallelOracle&lt;I, Word&lt;O&gt;&gt; oracle = ParallelOracleBuilders.newDynamicParallelOracle(workers).create();
+ * </pre>
+ * The worker processes are not terminated when the parallel oracle is shut down and have to be {@link #close() closed}
+ * separately.
+ * <p>
+ * This oracle is <b>not</b> thread-safe.
+ *
+ * @param <I>
+ *         input symbol type
+ * @param <O>
+ *         output symbol type
+ */
+public class ProcessSULOracle<I, O> implements MealyMembershipOracle<I, O>, AutoCloseable {
+
+    public static final int DEFAULT_MAX_RESTARTS = 3;
+    public static final int DEFAULT_CONNECT_TIMEOUT = 30_000;
+    public static final int DEFAULT_READ_TIMEOUT = 300_000;
+
+    private static final int TOKEN_LENGTH = 32;
+
+    private final Launcher launcher;
+    private final Alphabet<I> alphabet;
+    private final Function<String, ? extends O> outputParser;
+    private final int maxRestarts;
+    private final int connectTimeout;
+    private final int readTimeout;
+    private final SecureRandom random;
+
+    private @Nullable Connection connection;
+
+    /**
+     * Constructor that uses {@link #DEFAULT_MAX_RESTARTS}, {@link #DEFAULT_CONNECT_TIMEOUT}, and
+     * {@link #DEFAULT_READ_TIMEOUT}.
+     *
+     * @param processBuilder
+     *         the builder for launching the worker process
+     * @param alphabet
+     *         the input alphabet, which must match the alphabet of the worker process
+     * @param outputParser
+     *         the function for decoding the output symbols encoded by the worker process
+     *
+     * @see #ProcessSULOracle(ProcessBuilder, Alphabet, Function, int, int, int)
+     */
+    public ProcessSULOracle(ProcessBuilder processBuilder,
+                            Alphabet<I> alphabet,
+                            Function<String, ? extends O> outputParser) {
+        this(processBuilder, alphabet, outputParser, DEFAULT_MAX_RESTARTS, DEFAULT_CONNECT_TIMEOUT);
+    }
+
+    /**
+     * Constructor that uses {@link #DEFAULT_READ_TIMEOUT}.
+     *
+     * @param processBuilder
+     *         the builder for launching the worker process
+     * @param alphabet
+     *         the input alphabet, which must match the alphabet of the worker process
+     * @param outputParser
+     *         the function for decoding the output symbols encoded by the worker process
+     * @param maxRestarts
+     *         the maximum number of times the worker process is restarted for answering a single batch of queries
+     * @param connectTimeout
+     *         the time (in milliseconds) to wait for a launched worker process to connect
+     *
+     * @see #ProcessSULOracle(ProcessBuilder, Alphabet, Function, int, int, int)
+     */
+    public ProcessSULOracle(ProcessBuilder processBuilder,
+                            Alphabet<I> alphabet,
+                            Function<String, ? extends O> outputParser,
+                            int maxRestarts,
+                            int connectTimeout) {
+        this(processBuilder, alphabet, outputParser, maxRestarts, connectTimeout, DEFAULT_READ_TIMEOUT);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param processBuilder
+     *         the builder for launching the worker process. The builder is copied upon construction and not modified
+     *         by this oracle, so it may be shared between multiple oracles. Subsequent modifications of the builder do
+     *         not affect this oracle
+     * @param alphabet
+     *         the input alphabet, which must match the alphabet of the worker process
+     * @param outputParser
+     *         the function for decoding the output symbols encoded by the worker process
+     * @param maxRestarts
+     *         the maximum number of times the worker process is restarted for answering a single batch of queries
+     * @param connectTimeout
+     *         the time (in milliseconds) to wait for a launched worker process to connect
+     * @param readTimeout
+     *         the time (in milliseconds) to wait for the answer of a single query of a batch before the worker process
+     *         is considered hung and is restarted. A value of 0 disables the timeout
+     */
+    public ProcessSULOracle(ProcessBuilder processBuilder,
+                            Alphabet<I> alphabet,
+                            Function<String, ? extends O> outputParser,
+                            int maxRestarts,
+                            int connectTimeout,
+                            int readTimeout) {
+        this(launcher(copy(processBuilder)), alphabet, outputParser, maxRestarts, connectTimeout, readTimeout);
+    }
+
+    ProcessSULOracle(Launcher launcher,
+                     Alphabet<I> alphabet,
+                     Function<String, ? extends O> outputParser,
+                     int maxRestarts,
+                     int connectTimeout,
+                     int readTimeout) {
+        this.launcher = launcher;
+        this.alphabet = alphabet;
+        this.outputParser = outputParser;
+        this.maxRestarts = maxRestarts;
+        this.connectTimeout = connectTimeout;
+        this.readTimeout = readTimeout;
+        this.random = new SecureRandom();
+    }
+
+    @Override
+    public void processQueries(Collection<? extends Query<I, Word<O>>> queries) {
+        if (queries.isEmpty()) {
+            return;
+        }
+
+        int restarts = 0;
+
+        while (true) {
+            final List<Word<O>> answers;
+            try {
+                answers = exchange(getConnection(), queries);
+            } catch (IOException e) {
+                disconnect();
+                if (restarts++ >= maxRestarts) {
+                    throw new SULException(e);
+                }
+                continue;
+            }
+
+            int idx = 0;
+            for (Query<I, Word<O>> q : queries) {
+                q.answer(answers.get(idx++));
+            }
+            return;
+        }
+    }
+
+    /**
+     * Shuts down the worker process (if running). A subsequent query launches a new worker process.
+     */
+    @Override
+    public void close() {
+        final Connection conn = this.connection;
+
+        if (conn != null) {
+            try {
+                ProcessProtocol.writeVarInt(conn.output, ProcessProtocol.SHUTDOWN);
+                conn.output.flush();
+                conn.process.waitFor(connectTimeout, TimeUnit.MILLISECONDS);
+            } catch (IOException ignored) {
+                // the worker is terminated forcibly below
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                disconnect();
+            }
+        }
+    }
+
+    private List<Word<O>> exchange(Connection conn, Collection<? extends Query<I, Word<O>>> queries)
+            throws IOException {
+        ProcessProtocol.writeRequest(conn.output, alphabet, queries);
+        conn.output.flush();
+
+        // read the complete frame before parsing, so that parsing errors do not leave the connection in a broken state
+        final List<String[]> encodedAnswers = new ArrayList<>(queries.size());
+        for (Query<I, Word<O>> q : queries) {
+            final int status = conn.input.readByte();
+
+            if (status == ProcessProtocol.STATUS_ERROR) {
+                // the worker skips the remaining queries of the batch
+                throw new SULException(new IllegalStateException(conn.input.readUTF()));
+            } else if (status != ProcessProtocol.STATUS_OK) {
+                throw new IOException("Unknown response status: " + status);
+            }
+
+            final String[] encoded = new String[q.getSuffix().length()];
+            for (int i = 0; i < encoded.length; i++) {
+                encoded[i] = conn.input.readUTF();
+            }
+            encodedAnswers.add(encoded);
+        }
+
+        final List<Word<O>> answers = new ArrayList<>(encodedAnswers.size());
+        for (String[] encoded : encodedAnswers) {
+            final WordBuilder<O> wb = new WordBuilder<>(encoded.length);
+            for (String e : encoded) {
+                wb.add(outputParser.apply(e));
+            }
+            answers.add(wb.toWord());
+        }
+
+        return answers;
+    }
+
+    private Connection getConnection() throws IOException {
+        final Connection conn = this.connection;
+
+        if (conn != null) {
+            return conn;
+        }
+
+        final byte[] tokenBytes = new byte[TOKEN_LENGTH];
+        random.nextBytes(tokenBytes);
+        final String token = Base64.getUrlEncoder().withoutPadding().encodeToString(tokenBytes);
+
+        try (ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            final long deadline = System.currentTimeMillis() + connectTimeout;
+            final Process process = launcher.launch(server.getLocalPort(), token);
+            try {
+                while (true) {
+                    final int timeout = remainingConnectTimeout(deadline);
+                    server.setSoTimeout(timeout);
+                    final Socket socket = server.accept();
+                    try {
+                        socket.setSoTimeout(timeout);
+                        final Connection result = new Connection(process, socket);
+                        if (authenticate(result, token)) {
+                            socket.setSoTimeout(readTimeout);
+                            this.connection = result;
+                            return result;
+                        }
+                        socket.close();
+                    } catch (IOException e) {
+                        socket.close();
+                        throw e;
+                    }
+                }
+            } catch (IOException e) {
+                process.destroy();
+                throw e;
+            }
+        }
+    }
+
+    private int remainingConnectTimeout(long deadline) throws SocketTimeoutException {
+        if (connectTimeout == 0) {
+            return 0;
+        }
+
+        final long remaining = deadline - System.currentTimeMillis();
+
+        if (remaining <= 0) {
+            throw new SocketTimeoutException("Worker process did not connect within " + connectTimeout + " ms");
+        }
+
+        return (int) remaining;
+    }
+
+    private static boolean authenticate(Connection conn, String token) throws SocketTimeoutException {
+        try {
+            return MessageDigest.isEqual(conn.input.readUTF().getBytes(StandardCharsets.UTF_8),
+                                         token.getBytes(StandardCharsets.UTF_8));
+        } catch (SocketTimeoutException e) {
+            throw e;
+        } catch (IOException e) {
+            // the peer did not send a well-formed token and is treated like a peer sending a wrong one
+            return false;
+        }
+    }
+
+    private void disconnect() {
+        final Connection conn = this.connection;
+
+        if (conn != null) {
+            this.connection = null;
+            try {
+                conn.socket.close();
+            } catch (IOException ignored) {
+                // the process is destroyed anyway
+            }
+            // the process may be hung, so do not rely on it terminating gracefully
+            conn.process.destroyForcibly();
+        }
+    }
+
+    private static Launcher launcher(ProcessBuilder processBuilder) {
+        return (port, token) -> {
+            // the builder is a private copy of this oracle, so no synchronization is required
+            processBuilder.environment().put(ProcessSULWorker.PORT_VARIABLE, Integer.toString(port));
+            processBuilder.environment().put(ProcessSULWorker.TOKEN_VARIABLE, token);
+            return processBuilder.start();
+        };
+    }
+
+    private static ProcessBuilder copy(ProcessBuilder processBuilder) {
+        synchronized (processBuilder) {
+            final ProcessBuilder result = new ProcessBuilder(new ArrayList<>(processBuilder.command()));
+            result.directory(processBuilder.directory());
+            result.environment().clear();
+            result.environment().putAll(processBuilder.environment());
+            result.redirectInput(processBuilder.redirectInput());
+            result.redirectErrorStream(processBuilder.redirectErrorStream());
+            result.redirectOutput(inheritPipe(processBuilder.redirectOutput()));
+            result.redirectError(inheritPipe(processBuilder.redirectError()));
+            return result;
+        }
+    }
+
+    private static Redirect inheritPipe(Redirect redirect) {
+        return redirect == Redirect.PIPE ? Redirect.INHERIT : redirect;
+    }
+
+    @FunctionalInterface
+    interface Launcher {
+
+        Process launch(int port, String token) throws IOException;
+    }
+
+    private static final class Connection {
+
+        private final Process process;
+        private final Socket socket;
+        private final DataInputStream input;
+        private final DataOutputStream output;
+
+        Connection(Process process, Socket socket) throws IOException {
+            this.process = process;
+            this.socket = socket;
+
+            socket.setTcpNoDelay(true);
+            this.input = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            this.output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        }
+    }
+}
@@ -0,0 +1,216 @@
+/* Copyright (C) 2013-2024 TU Dortmund University
+ * This file is part of LearnLib, http://www.learnlib.de/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.learnlib.oracle.parallelism;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import de.learnlib.sul.SUL;
+import net.automatalib.alphabet.Alphabet;
+
+/**
+ * The worker-side counterpart of a {@link ProcessSULOracle}. A worker process hosts a single {@link SUL} instance and
+ * answers the batches of queries it receives from its (coordinating) {@link ProcessSULOracle}.
+ * <p>
+ * A typical worker process only consists of a main method that sets up the system under learning and calls
+ * {@link #run(SUL, Alphabet, Function)}:
+ * <pre>
+ * public static void main(String[] args) throws IOException {
+ *     ProcessSULWorker.run(new MySUL(), alphabet, Object::toString);
+ * }
+ * </pre>
+ */
+public final class ProcessSULWorker {
+
+    /**
+     * The name of the environment variable that contains the (loopback) port on which the coordinating
+     * {@link ProcessSULOracle} waits for the worker to connect.
+     */
+    public static final String PORT_VARIABLE = "LEARNLIB_WORKER_PORT";
+
+    /**
+     * The name of the environment variable that contains the token with which the worker has to authenticate itself
+     * at the coordinating {@link ProcessSULOracle}.
+     */
+    public static final String TOKEN_VARIABLE = "LEARNLIB_WORKER_TOKEN";
+
+    // stay well below the 64 KiB limit of DataOutput#writeUTF
+    private static final int MAX_MESSAGE_LENGTH = 4096;
+    // the (minimal) time in milliseconds between sending the answers of a batch that is still being processed
+    private static final long FLUSH_INTERVAL = 100;
+
+    private ProcessSULWorker() {
+        // prevent instantiation
+    }
+
+    /**
+     * Connects to the coordinating {@link ProcessSULOracle} via the port given by the {@link #PORT_VARIABLE}
+     * environment variable, authenticates itself with the token given by the {@link #TOKEN_VARIABLE} environment
+     * variable, and answers its queries until it shuts down the worker.
+     *
+     * @param sul
+     *         the system under learning to answer the queries with
+     * @param alphabet
+     *         the input alphabet, which must match the alphabet of the coordinating oracle
+     * @param outputSerializer
+     *         the function for encoding the output symbols of the system under learning
+     * @param <I>
+     *         input symbol type
+     * @param <O>
+     *         output symbol type
+     *
+     * @throws IOException
+     *         if the connection to the coordinating oracle fails
+     */
+    public static <I, O> void run(SUL<I, O> sul, Alphabet<I> alphabet, Function<? super O, String> outputSerializer)
+            throws IOException {
+        final String port = System.getenv(PORT_VARIABLE);
+        final String token = System.getenv(TOKEN_VARIABLE);
+
+        if (port == null) {
+            throw new IllegalStateException("Environment variable " + PORT_VARIABLE + " is not set");
+        }
+        if (token == null) {
+            throw new IllegalStateException("Environment variable " + TOKEN_VARIABLE + " is not set");
+        }
+
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), Integer.parseInt(port))) {
+            socket.setTcpNoDelay(true);
+            ProcessProtocol.writeToken(socket.getOutputStream(), token);
+            serve(sul, alphabet, outputSerializer, socket.getInputStream(), socket.getOutputStream());
+        }
+    }
+
+    /**
+     * Answers the queries read from the given input stream and writes the answers to the given output stream until
+     * either a shutdown request is read or the input stream is closed. Exceptions of the system under learning are
+     * reported to the coordinating oracle and do not terminate the worker. The answers of a batch are sent while the
+     * batch is being processed, so that the coordinating oracle can tell a slow batch from a hung worker.
+     *
+     * @param sul
+     *         the system under learning to answer the queries with
+     * @param alphabet
+     *         the input alphabet, which must match the alphabet of the coordinating oracle
+     * @param outputSerializer
+     *         the function for encoding the output symbols of the system under learning. A {@code null} encoding is
+     *         reported to the coordinating oracle like an exception of the system under learning
+     * @param in
+     *         the stream to read requests from
+     * @param out
+     *         the stream to write responses to
+     * @param <I>
+     *         input symbol type
+     * @param <O>
+     *         output symbol type
+     *
+     * @throws IOException
+     *         if reading a request or writing a response fails
+     */
+    public static <I, O> void serve(SUL<I, O> sul,
+                                    Alphabet<I> alphabet,
+                                    Function<? super O, String> outputSerializer,
+                                    InputStream in,
+                                    OutputStream out) throws IOException {
+        final DataInputStream input = new DataInputStream(new BufferedInputStream(in));
+        final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(out));
+
+        while (true) {
+            final int numQueries;
+            try {
+                numQueries = ProcessProtocol.readVarInt(input);
+            } catch (EOFException e) {
+                return;
+            }
+
+            if (numQueries == ProcessProtocol.SHUTDOWN) {
+                return;
+            }
+
+            // read the complete batch first, so that the coordinator never blocks on writing a large request
+            final int[] prefixLengths = new int[numQueries];
+            final int[][] queries = new int[numQueries][];
+            for (int i = 0; i < numQueries; i++) {
+                prefixLengths[i] = ProcessProtocol.readVarInt(input);
+                final int[] query = new int[prefixLengths[i] + ProcessProtocol.readVarInt(input)];
+                for (int j = 0; j < query.length; j++) {
+                    query[j] = ProcessProtocol.readVarInt(input);
+                }
+                queries[i] = query;
+            }
+
+            final List<String> answers = new ArrayList<>();
+            long lastFlush = System.currentTimeMillis();
+            for (int i = 0; i < numQueries; i++) {
+                answers.clear();
+                try {
+                    answer(sul, alphabet, outputSerializer, prefixLengths[i], queries[i], answers);
+                } catch (RuntimeException e) { // we want to report all exceptions of the SUL
+                    output.writeByte(ProcessProtocol.STATUS_ERROR);
+                    final String message = String.valueOf(e);
+                    output.writeUTF(message.substring(0, Math.min(message.length(), MAX_MESSAGE_LENGTH)));
+                    break;
+                }
+
+                output.writeByte(ProcessProtocol.STATUS_OK);
+                for (String a : answers) {
+                    output.writeUTF(a);
+                }
+
+                final long now = System.currentTimeMillis();
+                if (now - lastFlush >= FLUSH_INTERVAL) {
+                    output.flush();
+                    lastFlush = now;
+                }
+            }
+            output.flush();
+        }
+    }
+
+    private static <I, O> void answer(SUL<I, O> sul,
+                                      Alphabet<I> alphabet,
+                                      Function<? super O, String> outputSerializer,
+                                      int prefixLength,
+                                      int[] query,
+                                      List<String> answers) {
+        sul.pre();
+        try {
+            for (int i = 0; i < prefixLength; i++) {
+                sul.step(alphabet.getSymbol(query[i]));
+            }
+            for (int i = prefixLength; i < query.length; i++) {
+                final O output = sul.step(alphabet.getSymbol(query[i]));
+                final String encoded = outputSerializer.apply(output);
+                if (encoded == null) {
+                    throw new IllegalStateException("Output serializer returned null for output " + output);
+                }
+                answers.add(encoded);
+            }
+        } finally {
+            sul.post();
+        }
+    }
+}
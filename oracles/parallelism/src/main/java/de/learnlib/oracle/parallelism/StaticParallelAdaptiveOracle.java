@@ -41,6 +41,14 @@ public class StaticParallelAdaptiveOracle<I, O>
         super(oracles, minBatchSize, policy);
     }
 
+    public StaticParallelAdaptiveOracle(Collection<? extends AdaptiveMembershipOracle<I, O>> oracles,
+                                        @NonNegative int minBatchSize,
+                                        PoolPolicy policy,
+                                        double stragglerFactor,
+                                        @NonNegative int quarantineThreshold) {
+        super(oracles, minBatchSize, policy, stragglerFactor, quarantineThreshold);
+    }
+
     @Override
     public void processQueries(Collection<? extends AdaptiveQuery<I, O>> queries) {
         processBatch(queries);
@@ -44,7 +44,13 @@ public class StaticParallelAdaptiveOracleBuilder<I, O>
     @Override
     protected StaticParallelAdaptiveOracle<I, O> buildOracle(Collection<? extends AdaptiveMembershipOracle<I, O>> oracleInstances,
                                                              int minBatchSize,
-                                                             PoolPolicy poolPolicy) {
-        return new StaticParallelAdaptiveOracle<>(oracleInstances, minBatchSize, poolPolicy);
+                                                             PoolPolicy poolPolicy,
+                                                             double stragglerFactor,
+                                                             int quarantineThreshold) {
+        return new StaticParallelAdaptiveOracle<>(oracleInstances,
+                                                  minBatchSize,
+                                                  poolPolicy,
+                                                  stragglerFactor,
+                                                  quarantineThreshold);
     }
 }
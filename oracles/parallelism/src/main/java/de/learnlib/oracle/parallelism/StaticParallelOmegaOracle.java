@@ -43,6 +43,14 @@ public class StaticParallelOmegaOracle<S, I, D>
         super(oracles, minBatchSize, policy);
     }
 
+    public StaticParallelOmegaOracle(Collection<? extends OmegaMembershipOracle<S, I, D>> oracles,
+                                     @NonNegative int minBatchSize,
+                                     PoolPolicy policy,
+                                     double stragglerFactor,
+                                     @NonNegative int quarantineThreshold) {
+        super(oracles, minBatchSize, policy, stragglerFactor, quarantineThreshold);
+    }
+
     @Override
     public void processQueries(Collection<? extends OmegaQuery<I, D>> omegaQueries) {
         processBatch(omegaQueries);
@@ -37,7 +37,36 @@ public class StaticParallelOracle<I, D> extends AbstractStaticBatchProcessor<Que
     public StaticParallelOracle(Collection<? extends MembershipOracle<I, D>> oracles,
                                 @NonNegative int minBatchSize,
                                 PoolPolicy policy) {
-        super(oracles, minBatchSize, policy);
+        this(oracles, minBatchSize, policy, 0, 0, false);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param oracles
+     *         the oracles to distribute the queries to
+     * @param minBatchSize
+     *         the minimum number of queries per batch
+     * @param policy
+     *         the pool policy
+     * @param stragglerFactor
+     *         the factor by which a batch may exceed the median processing time of the other batches before its
+     *         remaining queries are re-distributed. A non-positive value disables straggler mitigation
+     * @param quarantineThreshold
+     *         the number of consecutive batches in which an oracle may lag behind before it is quarantined. A value of
+     *         {@code 0} disables quarantining
+     * @param hedging
+     *         whether queries of lagging batches should be re-executed by idle threads
+     *
+     * @see AbstractStaticBatchProcessor
+     */
+    public StaticParallelOracle(Collection<? extends MembershipOracle<I, D>> oracles,
+                                @NonNegative int minBatchSize,
+                                PoolPolicy policy,
+                                double stragglerFactor,
+                                @NonNegative int quarantineThreshold,
+                                boolean hedging) {
+        super(oracles, minBatchSize, policy, stragglerFactor, quarantineThreshold, hedging ? HedgedQuery::of : null);
     }
 
     @Override
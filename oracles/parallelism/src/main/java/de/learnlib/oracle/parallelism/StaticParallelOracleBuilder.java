@@ -21,6 +21,7 @@ import java.util.function.Supplier;
 import de.learnlib.oracle.MembershipOracle;
 import de.learnlib.oracle.ThreadPool.PoolPolicy;
 import de.learnlib.query.Query;
+import org.checkerframework.checker.index.qual.NonNegative;
 
 /**
  * A specialized {@link AbstractStaticBatchProcessorBuilder} for {@link MembershipOracle}s.
@@ -33,6 +34,8 @@ import de.learnlib.query.Query;
 public class StaticParallelOracleBuilder<I, D>
         extends AbstractStaticBatchProcessorBuilder<Query<I, D>, MembershipOracle<I, D>, StaticParallelOracle<I, D>> {
 
+    private boolean hedging;
+
     public StaticParallelOracleBuilder(Collection<? extends MembershipOracle<I, D>> oracles) {
         super(oracles);
     }
@@ -41,10 +44,63 @@ public class StaticParallelOracleBuilder<I, D>
         super(oracleSupplier);
     }
 
+    /**
+     * Enables hedging, i.e., queries that are currently processed by a lagging thread are additionally re-executed by
+     * idle threads and the first answer is kept. Only takes effect if straggler mitigation is enabled.
+     *
+     * @param hedging
+     *         whether queries should be hedged
+     *
+     * @return {@code this}
+     *
+     * @see #withStragglerFactor(double)
+     */
+    public StaticParallelOracleBuilder<I, D> withHedging(boolean hedging) {
+        this.hedging = hedging;
+        return this;
+    }
+
+    @Override
+    public StaticParallelOracleBuilder<I, D> withMinBatchSize(@NonNegative int minBatchSize) {
+        super.withMinBatchSize(minBatchSize);
+        return this;
+    }
+
+    @Override
+    public StaticParallelOracleBuilder<I, D> withPoolPolicy(PoolPolicy policy) {
+        super.withPoolPolicy(policy);
+        return this;
+    }
+
+    @Override
+    public StaticParallelOracleBuilder<I, D> withNumInstances(@NonNegative int numInstances) {
+        super.withNumInstances(numInstances);
+        return this;
+    }
+
+    @Override
+    public StaticParallelOracleBuilder<I, D> withStragglerFactor(double stragglerFactor) {
+        super.withStragglerFactor(stragglerFactor);
+        return this;
+    }
+
+    @Override
+    public StaticParallelOracleBuilder<I, D> withQuarantineThreshold(@NonNegative int quarantineThreshold) {
+        super.withQuarantineThreshold(quarantineThreshold);
+        return this;
+    }
+
     @Override
     protected StaticParallelOracle<I, D> buildOracle(Collection<? extends MembershipOracle<I, D>> oracleInstances,
                                                      int minBatchSize,
-                                                     PoolPolicy poolPolicy) {
-        return new StaticParallelOracle<>(oracleInstances, minBatchSize, poolPolicy);
+                                                     PoolPolicy poolPolicy,
+                                                     double stragglerFactor,
+                                                     int quarantineThreshold) {
+        return new StaticParallelOracle<>(oracleInstances,
+                                          minBatchSize,
+                                          poolPolicy,
+                                          stragglerFactor,
+                                          quarantineThreshold,
+                                          hedging);
     }
 }
@@ -0,0 +1,258 @@
+/* Copyright (C) 2013-2024 TU Dortmund University
+ * This file is part of LearnLib, http://www.learnlib.de/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.learnlib.oracle.parallelism;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+import de.learnlib.oracle.BatchProcessor;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * The shared state of a single batch processed by an {@link AbstractStaticBatchProcessor} with straggler mitigation.
+ * Each slice of the batch consists of a sequence of chunks which are processed by a dedicated thread. Threads that have
+ * finished their slice take over the remaining chunks of lagging slices or, if hedging is enabled, re-execute the
+ * chunks that lagging slices are currently processing.
+ *
+ * @param <Q>
+ *         query type
+ */
+final class StragglerAwareBatch<Q> {
+
+    private final List<Slice<Q>> slices;
+    private final List<Long> finishTimes;
+    private final double stragglerFactor;
+    private final @Nullable UnaryOperator<Q> hedger;
+    private final long start;
+
+    private int remaining;
+    private boolean cancelled;
+    private @Nullable Throwable failure;
+
+    StragglerAwareBatch(int numSlices, double stragglerFactor, @Nullable UnaryOperator<Q> hedger) {
+        this.slices = new ArrayList<>(numSlices);
+        this.finishTimes = new ArrayList<>(numSlices);
+        this.stragglerFactor = stragglerFactor;
+        this.hedger = hedger;
+        this.start = System.nanoTime();
+
+        for (int i = 0; i < numSlices; i++) {
+            this.slices.add(new Slice<>());
+        }
+    }
+
+    synchronized void addChunk(int slice, List<Q> queries) {
+        slices.get(slice).pending.add(new Chunk<>(queries, null));
+        remaining++;
+    }
+
+    /**
+     * Processes the chunks of the given slice (and, once finished, the chunks of lagging slices) with the given
+     * processor.
+     *
+     * @param slice
+     *         the index of the slice
+     * @param processor
+     *         the processor used for answering the queries
+     */
+    void work(int slice, BatchProcessor<Q> processor) {
+        Chunk<Q> chunk;
+        while ((chunk = next(slice)) != null) {
+            try {
+                processor.processBatch(chunk.queries);
+            } catch (RuntimeException | Error e) { // forward all failures to the coordinating thread
+                fail(chunk, e);
+                return;
+            }
+            complete(chunk);
+        }
+    }
+
+    /**
+     * Blocks until either all chunks have been processed or a processor has failed.
+     *
+     * @throws InterruptedException
+     *         if the waiting thread is interrupted
+     */
+    synchronized void await() throws InterruptedException {
+        while (remaining > 0 && failure == null) {
+            wait();
+        }
+    }
+
+    /**
+     * Prevents any further chunks from being handed out. Chunks that are currently processed are not affected.
+     */
+    synchronized void cancel() {
+        cancelled = true;
+        notifyAll();
+    }
+
+    synchronized @Nullable Throwable getFailure() {
+        return failure;
+    }
+
+    synchronized boolean isStraggler(int slice) {
+        return slices.get(slice).straggling;
+    }
+
+    private synchronized @Nullable Chunk<Q> next(int slice) {
+        final Slice<Q> own = slices.get(slice);
+
+        while (true) {
+            own.inFlight = null;
+
+            if (remaining == 0 || failure != null || cancelled) {
+                return null;
+            }
+
+            final Chunk<Q> chunk = own.pending.pollFirst();
+            if (chunk != null) {
+                own.inFlight = chunk;
+                return chunk;
+            }
+
+            if (own.finishTime < 0) {
+                own.finishTime = System.nanoTime() - start;
+                finishTimes.add(own.finishTime);
+            }
+
+            final Slice<Q> straggler = findStraggler(own);
+            if (straggler == null) {
+                return null;
+            }
+
+            final long elapsed = System.nanoTime() - start;
+            final long threshold = (long) (stragglerFactor * medianFinishTime());
+
+            if (elapsed < threshold) {
+                try {
+                    wait(Math.max(1, TimeUnit.NANOSECONDS.toMillis(threshold - elapsed)));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return null;
+                }
+                continue;
+            }
+
+            straggler.straggling = true;
+
+            if (!straggler.pending.isEmpty()) {
+                // re-split the lagging slice by taking over the latter half of its remaining chunks
+                final int steal = (straggler.pending.size() + 1) / 2;
+                for (int i = 0; i < steal; i++) {
+                    own.pending.addFirst(straggler.pending.removeLast());
+                }
+                continue;
+            }
+
+            // only hedged batches may select stragglers without pending chunks
+            final Chunk<Q> inFlight = straggler.inFlight;
+            final @Nullable UnaryOperator<Q> copier = hedger;
+            assert inFlight != null && copier != null;
+            final Chunk<Q> original = inFlight.getOriginal();
+            original.hedged = true;
+
+            final List<Q> copies = new ArrayList<>(inFlight.queries.size());
+            for (Q q : inFlight.queries) {
+                copies.add(copier.apply(q));
+            }
+
+            final Chunk<Q> copy = new Chunk<>(copies, original);
+            own.inFlight = copy;
+            return copy;
+        }
+    }
+
+    private @Nullable Slice<Q> findStraggler(Slice<Q> own) {
+        Slice<Q> result = null;
+
+        for (Slice<Q> s : slices) {
+            if (s == own) {
+                continue;
+            }
+
+            if (!s.pending.isEmpty()) {
+                if (result == null || s.pending.size() > result.pending.size()) {
+                    result = s;
+                }
+            } else if (result == null && hedger != null) {
+                final Chunk<Q> inFlight = s.inFlight;
+                if (inFlight != null && !inFlight.getOriginal().done && !inFlight.getOriginal().hedged) {
+                    result = s;
+                }
+            }
+        }
+
+        return result;
+    }
+
+    private long medianFinishTime() {
+        final List<Long> sorted = new ArrayList<>(finishTimes);
+        Collections.sort(sorted);
+        return sorted.get(sorted.size() / 2);
+    }
+
+    private synchronized void complete(Chunk<Q> chunk) {
+        final Chunk<Q> original = chunk.getOriginal();
+
+        if (!original.done) {
+            original.done = true;
+            remaining--;
+        }
+
+        notifyAll();
+    }
+
+    private synchronized void fail(Chunk<Q> chunk, Throwable t) {
+        // failures of chunks that have already been answered by a hedged execution are irrelevant
+        if (!chunk.getOriginal().done && failure == null) {
+            failure = t;
+        }
+
+        notifyAll();
+    }
+
+    private static final class Slice<Q> {
+
+        private final Deque<Chunk<Q>> pending = new ArrayDeque<>();
+        private @Nullable Chunk<Q> inFlight;
+        private long finishTime = -1;
+        private boolean straggling;
+    }
+
+    private static final class Chunk<Q> {
+
+        private final List<Q> queries;
+        private final @Nullable Chunk<Q> original;
+        private boolean done;
+        private boolean hedged;
+
+        Chunk(List<Q> queries, @Nullable Chunk<Q> original) {
+            this.queries = queries;
+            this.original = original;
+        }
+
+        Chunk<Q> getOriginal() {
+            return original == null ? this : original;
+        }
+    }
+}
@@ -29,6 +29,7 @@
 open module de.learnlib.oracle.parallelism {
 
     requires de.learnlib.api;
+    requires de.learnlib.jfr;
     requires de.learnlib.oracle.membership;
     requires de.learnlib.setting;
     requires net.automatalib.api;
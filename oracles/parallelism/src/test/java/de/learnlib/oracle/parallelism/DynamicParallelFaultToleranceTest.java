@@ -0,0 +1,217 @@
+/* Copyright (C) 2013-2024 TU Dortmund University
+ * This file is part of LearnLib, http://www.learnlib.de/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.learnlib.oracle.parallelism;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import de.learnlib.exception.SULException;
+import de.learnlib.oracle.MembershipOracle;
+import de.learnlib.oracle.ParallelOracle;
+import de.learnlib.oracle.ThreadPool.PoolPolicy;
+import de.learnlib.query.DefaultQuery;
+import de.learnlib.query.Query;
+import net.automatalib.word.Word;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class DynamicParallelFaultToleranceTest {
+
+    private static final int POOL_SIZE = 4;
+    private static final int NUM_QUERIES = 100;
+
+    @Test
+    public void testRetryAndReplacement() {
+        final AtomicInteger instances = new AtomicInteger();
+        // the first instances fail upon their first batch
+        final ParallelOracle<Integer, Integer> oracle = createOracle(() -> {
+            final int id = instances.getAndIncrement();
+            return new TestOracle(id, id < POOL_SIZE ? new AtomicInteger(1) : new AtomicInteger(), q -> false, null);
+        }, new FaultTolerancePolicy(0, 0, 3, 1, TimeUnit.MILLISECONDS));
+
+        try {
+            final List<DefaultQuery<Integer, Integer>> queries = createQueries();
+            oracle.processQueries(queries);
+
+            checkAnswers(queries);
+            Assert.assertTrue(instances.get() > POOL_SIZE);
+        } finally {
+            oracle.shutdown();
+        }
+    }
+
+    @Test
+    public void testExhaustedRetries() {
+        final ParallelOracle<Integer, Integer> oracle =
+                createOracle(() -> new TestOracle(0, new AtomicInteger(), q -> q.getSuffix().firstSymbol() == 42, null),
+                             new FaultTolerancePolicy(0, 0, 2, 1, TimeUnit.MILLISECONDS));
+
+        try {
+            final List<DefaultQuery<Integer, Integer>> queries = createQueries();
+            Assert.assertThrows(SULException.class, () -> oracle.processQueries(queries));
+
+            // all other queries have been answered
+            for (DefaultQuery<Integer, Integer> q : queries) {
+                if (q.getSuffix().firstSymbol() != 42) {
+                    Assert.assertNotNull(q.getOutput());
+                }
+            }
+        } finally {
+            oracle.shutdown();
+        }
+    }
+
+    @Test
+    public void testQueryTimeout() {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final AtomicInteger instances = new AtomicInteger();
+        // the first instance hangs
+        final ParallelOracle<Integer, Integer> oracle = createOracle(() -> {
+            final int id = instances.getAndIncrement();
+            return new TestOracle(id, new AtomicInteger(), q -> false, id == 0 ? latch : null);
+        }, new FaultTolerancePolicy(50, 0, 1, 0, TimeUnit.MILLISECONDS));
+
+        try {
+            final List<DefaultQuery<Integer, Integer>> queries = createQueries();
+            oracle.processQueries(queries);
+
+            checkAnswers(queries);
+            for (DefaultQuery<Integer, Integer> q : queries) {
+                Assert.assertNotEquals(q.getOutput(), Integer.valueOf(0));
+            }
+        } finally {
+            latch.countDown();
+            oracle.shutdown();
+        }
+    }
+
+    @Test
+    public void testBatchTimeout() {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final ParallelOracle<Integer, Integer> oracle =
+                createOracle(() -> new TestOracle(0, new AtomicInteger(), q -> false, latch),
+                             new FaultTolerancePolicy(0, 100, 0, 0, TimeUnit.MILLISECONDS));
+
+        try {
+            final SULException ex =
+                    Assert.expectThrows(SULException.class, () -> oracle.processQueries(createQueries()));
+            Assert.assertTrue(ex.getCause() instanceof TimeoutException);
+        } finally {
+            latch.countDown();
+            oracle.shutdown();
+        }
+    }
+
+    @Test
+    public void testFixedOracles() {
+        final List<TestOracle> oracles = new ArrayList<>(POOL_SIZE);
+        for (int i = 0; i < POOL_SIZE; i++) {
+            oracles.add(new TestOracle(i, new AtomicInteger(1), q -> false, null));
+        }
+
+        final FaultTolerancePolicy policy = new FaultTolerancePolicy(0, 0, 1, 0, TimeUnit.MILLISECONDS);
+        final ParallelOracle<Integer, Integer> oracle =
+                ParallelOracleBuilders.newDynamicParallelOracle(oracles).withFaultTolerancePolicy(policy).create();
+
+        try {
+            // failing instances cannot be replaced but are re-used
+            final List<DefaultQuery<Integer, Integer>> queries = createQueries();
+            oracle.processQueries(queries);
+            checkAnswers(queries);
+        } finally {
+            oracle.shutdown();
+        }
+    }
+
+    private static ParallelOracle<Integer, Integer> createOracle(Supplier<TestOracle> supplier,
+                                                                 FaultTolerancePolicy policy) {
+        return ParallelOracleBuilders.newDynamicParallelOracle(supplier)
+                                     .withPoolSize(POOL_SIZE)
+                                     .withPoolPolicy(PoolPolicy.FIXED)
+                                     .withFaultTolerancePolicy(policy)
+                                     .create();
+    }
+
+    private static List<DefaultQuery<Integer, Integer>> createQueries() {
+        final List<DefaultQuery<Integer, Integer>> result = new ArrayList<>(NUM_QUERIES);
+
+        for (int i = 0; i < NUM_QUERIES; i++) {
+            result.add(new DefaultQuery<>(Word.epsilon(), Word.fromLetter(i)));
+        }
+
+        return result;
+    }
+
+    private static void checkAnswers(List<DefaultQuery<Integer, Integer>> queries) {
+        for (DefaultQuery<Integer, Integer> q : queries) {
+            Assert.assertNotNull(q.getOutput());
+        }
+    }
+
+    private static final class TestOracle implements MembershipOracle<Integer, Integer> {
+
+        private final int id;
+        private final AtomicInteger failures;
+        private final Predicate<Query<Integer, Integer>> failing;
+        private final CountDownLatch latch;
+
+        TestOracle(int id,
+                   AtomicInteger failures,
+                   Predicate<Query<Integer, Integer>> failing,
+                   CountDownLatch latch) {
+            this.id = id;
+            this.failures = failures;
+            this.failing = failing;
+            this.latch = latch;
+        }
+
+        @Override
+        public void processQueries(Collection<? extends Query<Integer, Integer>> queries) {
+            if (latch != null) {
+                boolean interrupted = false;
+                // ignore interrupts to simulate a hanging SUL
+                while (latch.getCount() > 0) {
+                    try {
+                        latch.await();
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            if (failures.getAndDecrement() > 0) {
+                throw new SULException(new IllegalStateException("transient failure"));
+            }
+
+            for (Query<Integer, Integer> q : queries) {
+                if (failing.test(q)) {
+                    throw new SULException(new IllegalStateException("permanent failure"));
+                }
+                q.answer(id);
+            }
+        }
+    }
+}
@@ -0,0 +1,438 @@
+/* Copyright (C) 2013-2024 TU Dortmund University
+ * This file is part of LearnLib, http://www.learnlib.de/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.learnlib.oracle.parallelism;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import de.learnlib.exception.SULException;
+import de.learnlib.oracle.MembershipOracle;
+import de.learnlib.oracle.ParallelOracle;
+import de.learnlib.query.DefaultQuery;
+import de.learnlib.sul.SUL;
+import net.automatalib.alphabet.Alphabet;
+import net.automatalib.alphabet.impl.Alphabets;
+import net.automatalib.word.Word;
+import net.automatalib.word.WordBuilder;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class ProcessSULOracleTest {
+
+    private static final Alphabet<Character> ALPHABET = Alphabets.characters('a', 'c');
+
+    @Test
+    public void testAnswers() {
+        final AtomicInteger launches = new AtomicInteger();
+        final ProcessSULOracle<Character, Integer> oracle = createOracle(launches, 0, 0);
+
+        try {
+            for (int i = 0; i < 3; i++) {
+                checkAnswers(oracle, createQueries(50, i));
+            }
+            Assert.assertEquals(launches.get(), 1);
+        } finally {
+            oracle.close();
+        }
+    }
+
+    @Test
+    public void testRestart() {
+        final AtomicInteger launches = new AtomicInteger();
+        final ProcessSULOracle<Character, Integer> oracle = createOracle(launches, 2, 2);
+
+        try {
+            checkAnswers(oracle, createQueries(50, 42));
+            Assert.assertEquals(launches.get(), 3);
+
+            // the restarted worker is re-used
+            checkAnswers(oracle, createQueries(50, 43));
+            Assert.assertEquals(launches.get(), 3);
+        } finally {
+            oracle.close();
+        }
+    }
+
+    @Test
+    public void testExhaustedRestarts() {
+        final AtomicInteger launches = new AtomicInteger();
+        final ProcessSULOracle<Character, Integer> oracle = createOracle(launches, 3, 2);
+
+        try {
+            Assert.assertThrows(SULException.class, () -> oracle.processQueries(createQueries(5, 42)));
+            Assert.assertEquals(launches.get(), 3);
+        } finally {
+            oracle.close();
+        }
+    }
+
+    @Test
+    public void testHangingWorker() {
+        final AtomicInteger launches = new AtomicInteger();
+        final ProcessSULOracle<Character, Integer> oracle = createOracle(launches, 1, 1, true);
+
+        try {
+            // the first worker never responds and is treated like a crashed one after the read timeout
+            checkAnswers(oracle, createQueries(50, 42));
+            Assert.assertEquals(launches.get(), 2);
+        } finally {
+            oracle.close();
+        }
+    }
+
+    @Test
+    public void testSlowBatch() {
+        final AtomicInteger launches = new AtomicInteger();
+        final ProcessSULOracle.Launcher launcher = createLauncher(launches, 0, false, 20);
+        final ProcessSULOracle<Character, Integer> oracle =
+                new ProcessSULOracle<>(launcher, ALPHABET, Integer::valueOf, 0, 5_000, 1_000);
+
+        try {
+            // the batch takes longer than the read timeout but each of its queries is answered in time
+            checkAnswers(oracle, createQueries(100, 42));
+            Assert.assertEquals(launches.get(), 1);
+        } finally {
+            oracle.close();
+        }
+    }
+
+    @Test
+    public void testAuthentication() throws IOException {
+        final AtomicInteger launches = new AtomicInteger();
+        final ProcessSULOracle.Launcher launcher = createLauncher(launches, 0, false);
+        final List<Socket> impostors = new ArrayList<>();
+
+        final ProcessSULOracle<Character, Integer> oracle = new ProcessSULOracle<>((port, token) -> {
+            // connect with a wrong token before the actual worker connects
+            final Socket impostor = new Socket(InetAddress.getLoopbackAddress(), port);
+            ProcessProtocol.writeToken(impostor.getOutputStream(), token + 'x');
+            impostors.add(impostor);
+            return launcher.launch(port, token);
+        }, ALPHABET, Integer::valueOf, 0, 5_000, 1_000);
+
+        try {
+            checkAnswers(oracle, createQueries(50, 42));
+            Assert.assertEquals(launches.get(), 1);
+            Assert.assertEquals(impostors.size(), 1);
+
+            // the impostor has been disconnected
+            try (Socket impostor = impostors.get(0)) {
+                Assert.assertEquals(impostor.getInputStream().read(), -1);
+            }
+        } finally {
+            oracle.close();
+        }
+    }
+
+    @Test
+    public void testSULException() {
+        final AtomicInteger launches = new AtomicInteger();
+        final ProcessSULOracle<Character, Integer> oracle = createOracle(launches, 0, 0);
+
+        try {
+            final DefaultQuery<Character, Word<Integer>> invalid =
+                    new DefaultQuery<>(Word.fromString("ab"), Word.fromString("cccccccccccccccccccccccccc"));
+            Assert.assertThrows(SULException.class, () -> oracle.processQuery(invalid));
+
+            // errors of the SUL do not require a restart
+            checkAnswers(oracle, createQueries(50, 42));
+            Assert.assertEquals(launches.get(), 1);
+        } finally {
+            oracle.close();
+        }
+    }
+
+    @Test
+    public void testPool() {
+        final AtomicInteger launches = new AtomicInteger();
+        final List<ProcessSULOracle<Character, Integer>> workers = new ArrayList<>();
+
+        for (int i = 0; i < 4; i++) {
+            workers.add(createOracle(launches, 0, 0));
+        }
+
+        final ParallelOracle<Character, Word<Integer>> oracle =
+                ParallelOracleBuilders.newDynamicParallelOracle(workers).withBatchSize(10).create();
+
+        try {
+            checkAnswers(oracle, createQueries(200, 42));
+            Assert.assertTrue(launches.get() <= workers.size());
+        } finally {
+            oracle.shutdown();
+            workers.forEach(ProcessSULOracle::close);
+        }
+    }
+
+    @Test
+    public void testProtocol() throws IOException {
+        final List<DefaultQuery<Character, Word<Integer>>> queries = createQueries(50, 42);
+
+        final ByteArrayOutputStream request = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(request)) {
+            ProcessProtocol.writeRequest(out, ALPHABET, queries);
+            ProcessProtocol.writeVarInt(out, ProcessProtocol.SHUTDOWN);
+        }
+
+        final ByteArrayOutputStream response = new ByteArrayOutputStream();
+        ProcessSULWorker.serve(new CounterSUL(),
+                               ALPHABET,
+                               Object::toString,
+                               new ByteArrayInputStream(request.toByteArray()),
+                               response);
+
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(response.toByteArray()))) {
+            for (DefaultQuery<Character, Word<Integer>> q : queries) {
+                Assert.assertEquals(in.readByte(), ProcessProtocol.STATUS_OK);
+                final Word<Integer> expected = CounterSUL.answer(q.getPrefix(), q.getSuffix());
+                for (Integer o : expected) {
+                    Assert.assertEquals(Integer.valueOf(in.readUTF()), o);
+                }
+            }
+            Assert.assertEquals(in.read(), -1);
+        }
+    }
+
+    @Test
+    public void testNullOutput() throws IOException {
+        final List<DefaultQuery<Character, Word<Integer>>> queries = createQueries(50, 42);
+
+        final ByteArrayOutputStream request = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(request)) {
+            ProcessProtocol.writeRequest(out, ALPHABET, queries);
+            ProcessProtocol.writeRequest(out, ALPHABET, queries);
+        }
+
+        final ByteArrayOutputStream response = new ByteArrayOutputStream();
+        final AtomicInteger calls = new AtomicInteger();
+        ProcessSULWorker.serve(new CounterSUL(),
+                               ALPHABET,
+                               o -> calls.getAndIncrement() == 0 ? null : o.toString(),
+                               new ByteArrayInputStream(request.toByteArray()),
+                               response);
+
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(response.toByteArray()))) {
+            // a null encoding is reported as an error and does not terminate the worker
+            Assert.assertEquals(in.readByte(), ProcessProtocol.STATUS_ERROR);
+            in.readUTF();
+            Assert.assertEquals(in.readByte(), ProcessProtocol.STATUS_OK);
+        }
+    }
+
+    private static void checkAnswers(MembershipOracle<Character, Word<Integer>> oracle,
+                                     List<DefaultQuery<Character, Word<Integer>>> queries) {
+        oracle.processQueries(queries);
+
+        for (DefaultQuery<Character, Word<Integer>> q : queries) {
+            Assert.assertEquals(q.getOutput(), CounterSUL.answer(q.getPrefix(), q.getSuffix()));
+        }
+    }
+
+    private static List<DefaultQuery<Character, Word<Integer>>> createQueries(int num, long seed) {
+        final Random random = new Random(seed);
+        final List<DefaultQuery<Character, Word<Integer>>> result = new ArrayList<>(num);
+
+        for (int i = 0; i < num; i++) {
+            result.add(new DefaultQuery<>(createWord(random), createWord(random)));
+        }
+
+        return result;
+    }
+
+    private static Word<Character> createWord(Random random) {
+        final int length = random.nextInt(10);
+        final WordBuilder<Character> wb = new WordBuilder<>(length);
+
+        for (int i = 0; i < length; i++) {
+            wb.add(ALPHABET.getSymbol(random.nextInt(ALPHABET.size())));
+        }
+
+        return wb.toWord();
+    }
+
+    private static ProcessSULOracle<Character, Integer> createOracle(AtomicInteger launches,
+                                                                     int crashes,
+                                                                     int maxRestarts) {
+        return createOracle(launches, crashes, maxRestarts, false);
+    }
+
+    /**
+     * Creates a {@link ProcessSULOracle} whose workers are run as threads of the current JVM. The first {@code crashes}
+     * workers terminate directly after authenticating or, if {@code hang} is set, never respond.
+     */
+    private static ProcessSULOracle<Character, Integer> createOracle(AtomicInteger launches,
+                                                                     int crashes,
+                                                                     int maxRestarts,
+                                                                     boolean hang) {
+        return new ProcessSULOracle<>(createLauncher(launches, crashes, hang),
+                                      ALPHABET,
+                                      Integer::valueOf,
+                                      maxRestarts,
+                                      5_000,
+                                      1_000);
+    }
+
+    private static ProcessSULOracle.Launcher createLauncher(AtomicInteger launches, int crashes, boolean hang) {
+        return createLauncher(launches, crashes, hang, 0);
+    }
+
+    private static ProcessSULOracle.Launcher createLauncher(AtomicInteger launches,
+                                                            int crashes,
+                                                            boolean hang,
+                                                            long delay) {
+        return (port, token) -> {
+            final boolean crash = launches.getAndIncrement() < crashes;
+            final Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+            final Thread worker = new Thread(() -> {
+                try (Socket s = socket) {
+                    ProcessProtocol.writeToken(s.getOutputStream(), token);
+                    if (crash && hang) {
+                        // consume requests until the connection is closed by the oracle
+                        while (s.getInputStream().read() >= 0) {}
+                    } else if (!crash) {
+                        ProcessSULWorker.serve(new CounterSUL(delay),
+                                               ALPHABET,
+                                               Object::toString,
+                                               s.getInputStream(),
+                                               s.getOutputStream());
+                    }
+                } catch (IOException e) {
+                    if (!socket.isClosed()) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            });
+            worker.start();
+            return new ThreadProcess(worker, socket);
+        };
+    }
+
+    /**
+     * A SUL that sums up the alphabet indices of its inputs and fails once the sum exceeds a threshold. Each query can
+     * be delayed by a fixed time.
+     */
+    private static final class CounterSUL implements SUL<Character, Integer> {
+
+        private static final int LIMIT = 50;
+
+        private final long delay;
+        private int counter;
+
+        CounterSUL() {
+            this(0);
+        }
+
+        CounterSUL(long delay) {
+            this.delay = delay;
+        }
+
+        @Override
+        public void pre() {
+            counter = 0;
+            if (delay > 0) {
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        @Override
+        public void post() {}
+
+        @Override
+        public Integer step(Character in) {
+            counter += ALPHABET.getSymbolIndex(in);
+            if (counter > LIMIT) {
+                throw new IllegalArgumentException("limit exceeded");
+            }
+            return counter;
+        }
+
+        static Word<Integer> answer(Word<Character> prefix, Word<Character> suffix) {
+            final CounterSUL sul = new CounterSUL();
+            final WordBuilder<Integer> wb = new WordBuilder<>(suffix.length());
+
+            sul.pre();
+            prefix.forEach(sul::step);
+            suffix.forEach(s -> wb.add(sul.step(s)));
+            sul.post();
+
+            return wb.toWord();
+        }
+    }
+
+    private static final class ThreadProcess extends Process {
+
+        private final Thread thread;
+        private final Socket socket;
+
+        ThreadProcess(Thread thread, Socket socket) {
+            this.thread = thread;
+            this.socket = socket;
+        }
+
+        @Override
+        public OutputStream getOutputStream() {
+            return new ByteArrayOutputStream();
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return new ByteArrayInputStream(new byte[0]);
+        }
+
+        @Override
+        public InputStream getErrorStream() {
+            return new ByteArrayInputStream(new byte[0]);
+        }
+
+        @Override
+        public int waitFor() throws InterruptedException {
+            thread.join();
+            return 0;
+        }
+
+        @Override
+        public int exitValue() {
+            if (thread.isAlive()) {
+                throw new IllegalThreadStateException();
+            }
+            return 0;
+        }
+
+        @Override
+        public void destroy() {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
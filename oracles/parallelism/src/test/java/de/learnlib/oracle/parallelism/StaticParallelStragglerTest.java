@@ -0,0 +1,250 @@
+/* Copyright (C) 2013-2024 TU Dortmund University
+ * This file is part of LearnLib, http://www.learnlib.de/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.learnlib.oracle.parallelism;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import de.learnlib.oracle.MembershipOracle;
+import de.learnlib.oracle.ThreadPool.PoolPolicy;
+import de.learnlib.query.DefaultQuery;
+import de.learnlib.query.Query;
+import net.automatalib.word.Word;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class StaticParallelStragglerTest {
+
+    private static final int NUM_ORACLES = 4;
+    private static final int MIN_BATCH_SIZE = 10;
+    private static final int NUM_QUERIES = 400;
+
+    @Test
+    public void testResplit() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final List<TestOracle> oracles = createOracles(latch);
+        final StaticParallelOracle<Integer, Integer> oracle =
+                createBuilder(oracles, PoolPolicy.FIXED).withStragglerFactor(2).create();
+
+        final Thread releaser = new Thread(() -> {
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            latch.countDown();
+        });
+
+        try {
+            releaser.start();
+            final List<DefaultQuery<Integer, Integer>> queries = createQueries();
+            oracle.processQueries(queries);
+
+            checkAnswers(queries);
+            // the remaining chunks of the blocked oracle have been re-distributed
+            Assert.assertEquals(oracles.get(0).queries.get(), MIN_BATCH_SIZE);
+        } finally {
+            releaser.join();
+            oracle.shutdown();
+        }
+    }
+
+    @Test
+    public void testHedging() {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final List<TestOracle> oracles = createOracles(latch);
+        final StaticParallelOracle<Integer, Integer> oracle =
+                createBuilder(oracles, PoolPolicy.FIXED).withStragglerFactor(2).withHedging(true).create();
+
+        try {
+            final List<DefaultQuery<Integer, Integer>> queries = createQueries();
+            oracle.processQueries(queries);
+
+            checkAnswers(queries);
+            for (DefaultQuery<Integer, Integer> q : queries) {
+                Assert.assertNotEquals(q.getOutput(), Integer.valueOf(0));
+            }
+
+            // the blocked oracle is still busy and must not be used
+            final List<DefaultQuery<Integer, Integer>> queries2 = createQueries();
+            oracle.processQueries(queries2);
+
+            checkAnswers(queries2);
+            Assert.assertEquals(oracles.get(0).queries.get(), MIN_BATCH_SIZE);
+        } finally {
+            latch.countDown();
+            oracle.shutdown();
+        }
+    }
+
+    @Test
+    public void testQuarantine() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final List<TestOracle> oracles = createOracles(latch);
+        final StaticParallelOracleBuilder<Integer, Integer> builder = createBuilder(oracles, PoolPolicy.CACHED);
+        final StaticParallelOracle<Integer, Integer> oracle =
+                builder.withStragglerFactor(2).withHedging(true).withQuarantineThreshold(1).create();
+
+        try {
+            final List<DefaultQuery<Integer, Integer>> queries = createQueries();
+            oracle.processQueries(queries);
+            checkAnswers(queries);
+
+            latch.countDown();
+            Assert.assertTrue(oracles.get(0).finished.await(10, TimeUnit.SECONDS));
+
+            // the oracle is idle again but quarantined
+            for (int i = 0; i < 3; i++) {
+                final List<DefaultQuery<Integer, Integer>> queries2 = createQueries();
+                oracle.processQueries(queries2);
+                checkAnswers(queries2);
+            }
+            Assert.assertEquals(oracles.get(0).queries.get(), MIN_BATCH_SIZE);
+        } finally {
+            oracle.shutdown();
+        }
+    }
+
+    @Test
+    public void testFailure() {
+        final List<TestOracle> oracles = createOracles(new CountDownLatch(0));
+        // chunks may be processed by any oracle
+        setFailing(oracles, 0, true);
+        final StaticParallelOracle<Integer, Integer> oracle =
+                createBuilder(oracles, PoolPolicy.FIXED).withStragglerFactor(2).create();
+
+        try {
+            Assert.assertThrows(IllegalStateException.class, () -> oracle.processQueries(createQueries()));
+        } finally {
+            oracle.shutdown();
+        }
+    }
+
+    @Test(timeOut = 10000)
+    public void testFailureWithBlockedSlice() {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final List<TestOracle> oracles = createOracles(latch);
+        setFailing(oracles, 1, true);
+        final StaticParallelOracle<Integer, Integer> oracle =
+                createBuilder(oracles, PoolPolicy.FIXED).withStragglerFactor(2).create();
+
+        try {
+            Assert.assertThrows(IllegalStateException.class, () -> oracle.processQueries(createQueries()));
+            setFailing(oracles, 1, false);
+
+            // the blocked oracle is still busy with a chunk of the failed batch and must not be used
+            final List<DefaultQuery<Integer, Integer>> queries = createQueries();
+            oracle.processQueries(queries);
+
+            checkAnswers(queries);
+            Assert.assertEquals(oracles.get(0).queries.get(), MIN_BATCH_SIZE);
+        } finally {
+            latch.countDown();
+            oracle.shutdown();
+        }
+    }
+
+    private static StaticParallelOracleBuilder<Integer, Integer> createBuilder(List<TestOracle> oracles,
+                                                                               PoolPolicy policy) {
+        return ParallelOracleBuilders.newStaticParallelOracle(oracles)
+                                     .withMinBatchSize(MIN_BATCH_SIZE)
+                                     .withPoolPolicy(policy);
+    }
+
+    private static List<TestOracle> createOracles(CountDownLatch latch) {
+        final List<TestOracle> result = new ArrayList<>(NUM_ORACLES);
+        final CountDownLatch started = new CountDownLatch(1);
+
+        // only the first oracle blocks, the other oracles wait until it has started so that it is guaranteed to block
+        result.add(new TestOracle(0, latch, started));
+        for (int i = 1; i < NUM_ORACLES; i++) {
+            result.add(new TestOracle(i, null, started));
+        }
+
+        return result;
+    }
+
+    private static void setFailing(List<TestOracle> oracles, int offset, boolean fail) {
+        for (int i = offset; i < oracles.size(); i++) {
+            oracles.get(i).fail = fail;
+        }
+    }
+
+    private static List<DefaultQuery<Integer, Integer>> createQueries() {
+        final List<DefaultQuery<Integer, Integer>> result = new ArrayList<>(NUM_QUERIES);
+
+        for (int i = 0; i < NUM_QUERIES; i++) {
+            result.add(new DefaultQuery<>(Word.epsilon(), Word.fromLetter(i)));
+        }
+
+        return result;
+    }
+
+    private static void checkAnswers(List<DefaultQuery<Integer, Integer>> queries) {
+        for (DefaultQuery<Integer, Integer> q : queries) {
+            Assert.assertNotNull(q.getOutput());
+        }
+    }
+
+    private static final class TestOracle implements MembershipOracle<Integer, Integer> {
+
+        private final int id;
+        private final CountDownLatch blocker;
+        private final CountDownLatch started;
+        private final CountDownLatch finished;
+        private final AtomicInteger queries;
+        private boolean fail;
+
+        TestOracle(int id, CountDownLatch blocker, CountDownLatch started) {
+            this.id = id;
+            this.blocker = blocker;
+            this.started = started;
+            this.finished = new CountDownLatch(1);
+            this.queries = new AtomicInteger();
+        }
+
+        @Override
+        public void processQueries(Collection<? extends Query<Integer, Integer>> queries) {
+            this.queries.addAndGet(queries.size());
+
+            try {
+                if (blocker == null) {
+                    started.await();
+                } else {
+                    started.countDown();
+                    blocker.await();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            // fail only once the blocking oracle has started so that it is guaranteed to be busy
+            if (fail) {
+                throw new IllegalStateException();
+            }
+
+            for (Query<Integer, Integer> q : queries) {
+                q.answer(id);
+            }
+
+            finished.countDown();
+        }
+    }
+}
@@ -27,6 +27,13 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 /**
  * A {@link PropertyOracle} that uses {@link InclusionOracle}s and {@link EmptinessOracle}s to find counter examples and
  * disprove properties.
+ * <p>
+ * Since {@link #findCounterExample(Output, Collection)} (and other black-box oracles) first try to
+ * {@link #disprove(Output, Collection) disprove} the property and then {@link #doFindCounterExample(Output, Collection)
+ * search for a counterexample} for the same hypothesis, the result of the model checker computed by the former call is
+ * re-used by an immediately following call of the latter for the identical hypothesis and inputs. Since hypotheses may
+ * be refined in-place, the cached result is discarded by {@link #invalidateCache()}, which black-box oracles call at
+ * the end of each round.
  *
  * @param <I>
  *         the input type
@@ -47,6 +54,11 @@ abstract class AbstractPropertyOracle<I, A extends Output<I, D>, P, D, R extends
     private final P property;
     private @Nullable DefaultQuery<I, D> counterExample;
 
+    private boolean hasCachedResult;
+    private @Nullable A cachedHypothesis;
+    private @Nullable Collection<? extends I> cachedInputs;
+    private @Nullable R cachedResult;
+
     protected AbstractPropertyOracle(P property,
                                      InclusionOracle<A, I, D> inclusionOracle,
                                      EmptinessOracle<R, I, D> emptinessOracle) {
@@ -74,14 +86,45 @@ abstract class AbstractPropertyOracle<I, A extends Output<I, D>, P, D, R extends
 
     @Override
     public @Nullable DefaultQuery<I, D> doFindCounterExample(A hypothesis, Collection<? extends I> inputs) {
-        final A result = modelCheck(hypothesis, inputs);
+        final A result;
+
+        if (hasCachedResult && cachedHypothesis == hypothesis && cachedInputs == inputs) {
+            result = cachedResult;
+        } else {
+            result = modelCheck(hypothesis, inputs);
+        }
+
+        clearCachedResult();
         return result != null ? inclusionOracle.findCounterExample(result, inputs) : null;
     }
 
     @Override
     public @Nullable DefaultQuery<I, D> disprove(A hypothesis, Collection<? extends I> inputs) {
         final R ce = modelCheck(hypothesis, inputs);
+        final DefaultQuery<I, D> result =
+                ce != null ? setCounterExample(emptinessOracle.findCounterExample(ce, inputs)) : null;
+
+        if (result == null) {
+            this.hasCachedResult = true;
+            this.cachedHypothesis = hypothesis;
+            this.cachedInputs = inputs;
+            this.cachedResult = ce;
+        } else {
+            clearCachedResult();
+        }
+
+        return result;
+    }
+
+    @Override
+    public void invalidateCache() {
+        clearCachedResult();
+    }
 
-        return ce != null ? setCounterExample(emptinessOracle.findCounterExample(ce, inputs)) : null;
+    private void clearCachedResult() {
+        this.hasCachedResult = false;
+        this.cachedHypothesis = null;
+        this.cachedInputs = null;
+        this.cachedResult = null;
     }
 }
@@ -103,6 +103,11 @@ public class LoggingPropertyOracle<I, A extends Output<I, D>, P, D> implements P
         return result;
     }
 
+    @Override
+    public void invalidateCache() {
+        propertyOracle.invalidateCache();
+    }
+
     @Override
     public String toString() {
         return String.valueOf(propertyOracle.getProperty());
@@ -122,6 +122,13 @@ public class PropertyOracleChain<I, A extends Output<I, D>, @Nullable P, D> impl
         return null;
     }
 
+    @Override
+    public void invalidateCache() {
+        for (PropertyOracle<I, ? super A, P, D> oracle : oracles) {
+            oracle.invalidateCache();
+        }
+    }
+
     @Override
     public P getProperty() {
         return property;
@@ -0,0 +1,139 @@
+/* Copyright (C) 2013-2024 TU Dortmund University
+ * This file is part of LearnLib, http://www.learnlib.de/.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.learnlib.oracle.property;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import de.learnlib.oracle.BlackBoxOracle.MealyBlackBoxOracle;
+import de.learnlib.oracle.MembershipOracle.MealyMembershipOracle;
+import de.learnlib.oracle.PropertyOracle.MealyPropertyOracle;
+import de.learnlib.oracle.emptiness.MealyBFEmptinessOracle;
+import de.learnlib.oracle.equivalence.MealyBFInclusionOracle;
+import de.learnlib.oracle.equivalence.MealyDisproveFirstOracle;
+import de.learnlib.oracle.membership.MealySimulatorOracle;
+import de.learnlib.query.DefaultQuery;
+import net.automatalib.alphabet.Alphabet;
+import net.automatalib.alphabet.impl.Alphabets;
+import net.automatalib.automaton.transducer.MealyMachine;
+import net.automatalib.automaton.transducer.impl.CompactMealy;
+import net.automatalib.modelchecking.ModelChecker.MealyModelChecker;
+import net.automatalib.util.automaton.builder.AutomatonBuilders;
+import net.automatalib.word.Word;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class AbstractPropertyOracleTest {
+
+    private static final Alphabet<Character> ALPHABET = Alphabets.singleton('a');
+
+    private static final DefaultQuery<Character, Word<Character>> CE =
+            new DefaultQuery<>(Word.fromLetter('a'), Word.fromLetter('2'));
+
+    @Test
+    public void testReuseOfModelCheckingResult() {
+        final CompactMealy<Character, Character> hyp = createHypothesis();
+        final AtomicInteger counter = new AtomicInteger();
+        final MealyFinitePropertyOracle<Character, Character, String> oracle = createOracle(hyp, counter);
+
+        Assert.assertNull(oracle.disprove(hyp, ALPHABET));
+        Assert.assertNull(oracle.doFindCounterExample(hyp, ALPHABET));
+        Assert.assertEquals(counter.get(), 1);
+
+        // the cached result is only used once
+        Assert.assertNull(oracle.doFindCounterExample(hyp, ALPHABET));
+        Assert.assertEquals(counter.get(), 2);
+
+        Assert.assertNull(oracle.disprove(hyp, ALPHABET));
+        oracle.invalidateCache();
+        Assert.assertNull(oracle.doFindCounterExample(hyp, ALPHABET));
+        Assert.assertEquals(counter.get(), 4);
+    }
+
+    /**
+     * If a black-box oracle returns early, the results cached by the remaining property oracles must not survive the
+     * round, since the (identical) hypothesis is refined in-place afterwards.
+     */
+    @Test
+    public void testInvalidationAfterRound() {
+        final CompactMealy<Character, Character> hyp = createHypothesis();
+        final AtomicInteger counter = new AtomicInteger();
+        final MealyFinitePropertyOracle<Character, Character, String> oracle = createOracle(hyp, counter);
+
+        final MealyBlackBoxOracle<Character, Character> blackBoxOracle =
+                new MealyDisproveFirstOracle<>(Arrays.asList(new CounterExampleOracle(), oracle));
+
+        Assert.assertSame(blackBoxOracle.findCounterExample(hyp, ALPHABET), CE);
+        Assert.assertEquals(counter.get(), 1);
+
+        // refine the hypothesis in-place
+        hyp.addState();
+
+        Assert.assertNull(oracle.doFindCounterExample(hyp, ALPHABET));
+        Assert.assertEquals(counter.get(), 2);
+    }
+
+    private static CompactMealy<Character, Character> createHypothesis() {
+        // @formatter:off
+        return AutomatonBuilders.<Character, Character>newMealy(ALPHABET)
+                                .withInitial("q0")
+                                .from("q0").on('a').withOutput('1').loop()
+                                .create();
+        // @formatter:on
+    }
+
+    private static MealyFinitePropertyOracle<Character, Character, String> createOracle(CompactMealy<Character, Character> sys,
+                                                                                        AtomicInteger counter) {
+        final MealyMembershipOracle<Character, Character> mqo = new MealySimulatorOracle<>(sys);
+        final MealyModelChecker<Character, Character, String, MealyMachine<?, Character, ?, Character>> modelChecker =
+                (automaton, inputs, property) -> {
+                    counter.incrementAndGet();
+                    return null;
+                };
+
+        return new MealyFinitePropertyOracle<>("true",
+                                               new MealyBFInclusionOracle<>(mqo, 1.0),
+                                               new MealyBFEmptinessOracle<>(mqo, 1.0),
+                                               modelChecker);
+    }
+
+    private static final class CounterExampleOracle implements MealyPropertyOracle<Character, Character, String> {
+
+        @Override
+        public String getProperty() {
+            return "false";
+        }
+
+        @Override
+        public @Nullable DefaultQuery<Character, Word<Character>> getCounterExample() {
+            return null;
+        }
+
+        @Override
+        public @Nullable DefaultQuery<Character, Word<Character>> disprove(MealyMachine<?, Character, ?, Character> hyp,
+                                                                           Collection<? extends Character> inputs) {
+            return null;
+        }
+
+        @Override
+        public DefaultQuery<Character, Word<Character>> doFindCounterExample(MealyMachine<?, Character, ?, Character> hyp,
+                                                                             Collection<? extends Character> inputs) {
+            return CE;
+        }
+    }
+}